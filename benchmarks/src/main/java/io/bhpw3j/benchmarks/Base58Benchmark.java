@@ -0,0 +1,69 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.contract.ScriptHash;
+import io.bhpw3j.crypto.Base58;
+import io.bhpw3j.utils.Keys;
+import io.bhpw3j.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base58 encoding and decoding of addresses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Base58Benchmark {
+
+    private byte[] decodedAddress;
+
+    private byte[] scriptHash;
+
+    private ScriptHash scriptHashObject;
+
+    @Setup
+    public void setUp() {
+        decodedAddress = Base58.decode(Fixtures.ADDRESS);
+        scriptHash = Numeric.hexStringToByteArray(Fixtures.SCRIPT_HASH);
+        scriptHashObject = new ScriptHash(scriptHash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base58.encode(decodedAddress);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Base58.decode(Fixtures.ADDRESS);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String toAddress() {
+        return Keys.toAddress(scriptHash);
+    }
+
+    @Benchmark
+    public String scriptHashToAddress() {
+        return scriptHashObject.toAddress();
+    }
+
+    @Benchmark
+    public ScriptHash scriptHashFromAddress() {
+        return ScriptHash.fromAddress(Fixtures.ADDRESS);
+    }
+}
@@ -0,0 +1,87 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.transaction.ContractTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of a contract transaction through {@link BinaryWriter} and {@link BinaryReader}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryReaderWriterBenchmark {
+
+    @Param({"1", "20"})
+    public int inputsAndOutputs;
+
+    private RawTransaction transaction;
+
+    private byte[] serialized;
+
+    private BinaryWriter bufferWriter;
+
+    @Setup
+    public void setUp() {
+        transaction = Fixtures.contractTransaction(inputsAndOutputs, inputsAndOutputs);
+        serialized = transaction.toArray();
+        bufferWriter = new BinaryWriter();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        BinaryWriter writer = new BinaryWriter(stream);
+        transaction.serialize(writer);
+        writer.flush();
+        return stream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeIntoReusedBuffer() throws IOException {
+        bufferWriter.reset();
+        transaction.serialize(bufferWriter);
+        return bufferWriter.toByteArray();
+    }
+
+    @Benchmark
+    public RawTransaction readFromStream() throws IOException {
+        RawTransaction result = new ContractTransaction();
+        result.deserialize(new BinaryReader(new ByteArrayInputStream(serialized)));
+        return result;
+    }
+
+    @Benchmark
+    public RawTransaction read() throws IOException {
+        RawTransaction result = new ContractTransaction();
+        result.deserialize(new BinaryReader(serialized));
+        return result;
+    }
+
+    @Benchmark
+    public RawTransaction roundTrip() throws IOException {
+        RawTransaction result = new ContractTransaction();
+        result.deserialize(new BinaryReader(write()));
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.wallet.BranchAndBoundInputCalculationStrategy;
+import io.bhpw3j.wallet.InputCalculationStrategy;
+import io.bhpw3j.wallet.KnapsackInputCalculationStrategy;
+import io.bhpw3j.wallet.LargestFirstInputCalculationStrategy;
+import io.bhpw3j.wallet.LeftToRightInputCalculationStrategy;
+import io.bhpw3j.wallet.SmallestFirstInputCalculationStrategy;
+import io.bhpw3j.wallet.Utxo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of the inputs for a transfer of {@link #AMOUNT} BHP from a fragmented account. The
+ * UTXO values are drawn from an exponential distribution with a mean of 10 BHP and a fixed seed.
+ * The size of the resulting signed transaction, with a change output if needed, doesn't depend on
+ * the run and is printed by {@link #main(String[])} instead, to keep it out of the JMH output.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CoinSelectionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal(1234);
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int utxoCount;
+
+    @Param({"leftToRight", "largestFirst", "smallestFirst", "branchAndBound", "knapsack"})
+    public String strategyName;
+
+    private InputCalculationStrategy strategy;
+
+    private List<Utxo> utxos;
+
+    @Setup
+    public void setUp() {
+        strategy = strategy(strategyName);
+        utxos = utxos(utxoCount);
+    }
+
+    @Benchmark
+    public List<Utxo> calculateInputs() {
+        return strategy.calculateInputs(utxos, AMOUNT);
+    }
+
+    /**
+     * Prints the number of inputs and outputs and the size of the transaction for every
+     * combination of the benchmark parameters.
+     */
+    public static void main(String[] args) throws NoSuchFieldException {
+        String[] utxoCounts = CoinSelectionBenchmark.class.getField("utxoCount")
+                .getAnnotation(Param.class).value();
+        String[] strategyNames = CoinSelectionBenchmark.class.getField("strategyName")
+                .getAnnotation(Param.class).value();
+        for (String utxoCount : utxoCounts) {
+            List<Utxo> utxos = utxos(Integer.parseInt(utxoCount));
+            for (String strategyName : strategyNames) {
+                List<Utxo> inputs = strategy(strategyName).calculateInputs(utxos, AMOUNT);
+                BigDecimal sum = inputs.stream().map(Utxo::getValue).reduce(BigDecimal::add).get();
+                int outputs = sum.compareTo(AMOUNT) > 0 ? 2 : 1;
+                int size = Fixtures.contractTransaction(inputs.size(), outputs).toArray().length;
+                System.out.println(strategyName + " with " + utxoCount + " UTXOs: "
+                        + inputs.size() + " inputs, " + outputs + " outputs, " + size + " bytes");
+            }
+        }
+    }
+
+    private static List<Utxo> utxos(int count) {
+        Random random = new Random(42);
+        List<Utxo> utxos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // BHP is indivisible, so the values are whole numbers of at least 1.
+            long value = 1 + (long) (-Math.log(1 - random.nextDouble()) * 10);
+            utxos.add(new Utxo(BhpAsset.HASH_ID, Integer.toHexString(i), 0,
+                    BigDecimal.valueOf(value)));
+        }
+        return utxos;
+    }
+
+    private static InputCalculationStrategy strategy(String name) {
+        switch (name) {
+            case "leftToRight":
+                return new LeftToRightInputCalculationStrategy();
+            case "largestFirst":
+                return new LargestFirstInputCalculationStrategy();
+            case "smallestFirst":
+                return new SmallestFirstInputCalculationStrategy();
+            case "branchAndBound":
+                return new BranchAndBoundInputCalculationStrategy();
+            case "knapsack":
+                return new KnapsackInputCalculationStrategy(
+                        KnapsackInputCalculationStrategy.DEFAULT_ITERATIONS, new Random(42));
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + name + ".");
+        }
+    }
+}
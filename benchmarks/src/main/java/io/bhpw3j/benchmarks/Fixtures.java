@@ -0,0 +1,77 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.crypto.ECKeyPair;
+import io.bhpw3j.crypto.transaction.RawInvocationScript;
+import io.bhpw3j.crypto.transaction.RawScript;
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.crypto.transaction.RawTransactionInput;
+import io.bhpw3j.crypto.transaction.RawTransactionOutput;
+import io.bhpw3j.crypto.transaction.RawVerificationScript;
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.transaction.ContractTransaction;
+import io.bhpw3j.utils.Numeric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fixed inputs shared by the benchmarks, so that their results stay comparable between runs.
+ */
+final class Fixtures {
+
+    static final String PRIVATE_KEY =
+            "9117f4bf9be717c9a90994326897f4243503accd06712162267e77f18b49c3a3";
+
+    static final String PUBLIC_KEY =
+            "0265bf906bf385fbf3f777832e55a87991bcfbe19b097fb7c5ca2e4025a4d5e5d6";
+
+    static final String INVOCATION_SCRIPT =
+            "40a1c29ef0b8215d5bf8f3649ff1eae3fd5d74bf38c92007ce6aceea60efa5a986ed1c3d7669f9073f57"
+                    + "2a52dbbdc7ad7908fe22c2859e85d979e405807ce3d644";
+
+    static final String ADDRESS = "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y";
+
+    static final String SCRIPT_HASH = "23ba2703c53263e8d6e522dc32203339dcd8eee9";
+
+    private Fixtures() {
+    }
+
+    static ECKeyPair keyPair() {
+        return ECKeyPair.create(Numeric.hexStringToByteArray(PRIVATE_KEY));
+    }
+
+    /**
+     * Builds a signed contract transaction with the given number of inputs and outputs.
+     */
+    static RawTransaction contractTransaction(int inputs, int outputs) {
+        ContractTransaction.Builder builder = new ContractTransaction.Builder();
+        for (int i = 0; i < inputs; i++) {
+            builder.input(new RawTransactionInput(
+                    "c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", i));
+        }
+        for (int i = 0; i < outputs; i++) {
+            builder.output(new RawTransactionOutput(BhpAsset.HASH_ID, "10.0", ADDRESS));
+        }
+        return builder
+                .script(new RawScript(
+                        new RawInvocationScript(Numeric.hexStringToByteArray(INVOCATION_SCRIPT)),
+                        RawVerificationScript.fromPublicKey(Numeric.toBigIntNoPrefix(PUBLIC_KEY))))
+                .build();
+    }
+
+    static byte[] resource(String name) throws IOException {
+        try (InputStream input = Fixtures.class.getResourceAsStream("/" + name)) {
+            if (input == null) {
+                throw new IOException("Resource " + name + " not found");
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                output.write(chunk, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.crypto.Hash;
+import io.bhpw3j.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing of transaction ids and script hashes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashBenchmark {
+
+    private byte[] transaction;
+
+    private byte[] verificationScript;
+
+    private byte[] output;
+
+    @Setup
+    public void setUp() {
+        transaction = Fixtures.contractTransaction(2, 2).toArrayWithoutScripts();
+        verificationScript = Numeric.hexStringToByteArray(
+                "21" + Fixtures.PUBLIC_KEY + "ac");
+        output = new byte[Hash.SHA256_LENGTH];
+    }
+
+    @Benchmark
+    public byte[] hash256() {
+        return Hash.hash256(transaction);
+    }
+
+    @Benchmark
+    public byte[] hash256IntoOutputArray() {
+        Hash.hash256(transaction, 0, transaction.length, output, 0);
+        return output;
+    }
+
+    @Benchmark
+    public byte[] hash160() {
+        return Hash.hash160(verificationScript);
+    }
+}
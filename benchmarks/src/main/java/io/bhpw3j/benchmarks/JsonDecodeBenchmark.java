@@ -0,0 +1,72 @@
+package io.bhpw3j.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bhpw3j.protocol.ObjectMapperFactory;
+import io.bhpw3j.protocol.core.methods.response.BhpGetBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a canned {@code getblock} response with full transactions. The block contains
+ * the three transactions of the canned response, repeated {@link #repetitions} times.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonDecodeBenchmark {
+
+    @Param({"1", "500"})
+    public int repetitions;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper rawResponseObjectMapper;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ObjectMapperFactory.getObjectMapper();
+        rawResponseObjectMapper = ObjectMapperFactory.getObjectMapper(true);
+
+        ObjectNode response = (ObjectNode) objectMapper.readTree(Fixtures.resource("getblock.json"));
+        ArrayNode transactions = (ArrayNode) response.get("result").get("tx");
+        ArrayNode cannedTransactions = transactions.deepCopy();
+        for (int i = 1; i < repetitions; i++) {
+            for (JsonNode transaction : cannedTransactions) {
+                transactions.add(transaction.deepCopy());
+            }
+        }
+        payload = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public BhpGetBlock decode() throws IOException {
+        return objectMapper.readValue(payload, BhpGetBlock.class);
+    }
+
+    @Benchmark
+    public BhpGetBlock decodeWithRawResponse() throws IOException {
+        return rawResponseObjectMapper.readValue(
+                new ByteArrayInputStream(payload), BhpGetBlock.class);
+    }
+}
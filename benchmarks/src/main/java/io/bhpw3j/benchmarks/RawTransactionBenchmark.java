@@ -0,0 +1,64 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.transaction.TransactionDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and hashing of a signed contract transaction. The transaction caches its unsigned
+ * bytes and its txid, so every invocation gets a freshly decoded copy to measure the work of the
+ * first call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RawTransactionBenchmark {
+
+    @Param({"1", "20"})
+    public int inputsAndOutputs;
+
+    private byte[] serialized;
+
+    private RawTransaction transaction;
+
+    @Setup
+    public void setUp() {
+        serialized = Fixtures.contractTransaction(inputsAndOutputs, inputsAndOutputs).toArray();
+    }
+
+    @Setup(Level.Invocation)
+    public void decode() {
+        transaction = TransactionDeserializer.fromArray(serialized);
+    }
+
+    @Benchmark
+    public String getTxId() {
+        return transaction.getTxId();
+    }
+
+    @Benchmark
+    public byte[] toArray() {
+        return transaction.toArray();
+    }
+
+    @Benchmark
+    public byte[] toArrayWithoutScripts() {
+        return transaction.toArrayWithoutScripts();
+    }
+}
@@ -0,0 +1,50 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.contract.ContractParameter;
+import io.bhpw3j.contract.ScriptBuilder;
+import io.bhpw3j.contract.ScriptHash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the script of a NEP-5 like transfer invocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScriptBuilderBenchmark {
+
+    private ScriptHash contract;
+
+    private List<ContractParameter> params;
+
+    @Setup
+    public void setUp() {
+        contract = new ScriptHash(Fixtures.SCRIPT_HASH);
+        params = Arrays.asList(
+                ContractParameter.byteArrayFromAddress(Fixtures.ADDRESS),
+                ContractParameter.byteArrayFromAddress(Fixtures.ADDRESS),
+                ContractParameter.integer(BigInteger.valueOf(100000000L)));
+    }
+
+    @Benchmark
+    public byte[] appCall() {
+        return new ScriptBuilder().appCall(contract, "transfer", params).toArray();
+    }
+}
@@ -0,0 +1,86 @@
+package io.bhpw3j.benchmarks;
+
+import io.bhpw3j.crypto.ECKeyPair;
+import io.bhpw3j.crypto.ECPointCache;
+import io.bhpw3j.crypto.Sign;
+import io.bhpw3j.crypto.Sign.SignatureData;
+import io.bhpw3j.crypto.transaction.RawScript;
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.crypto.transaction.WitnessVerifier;
+import io.bhpw3j.utils.Numeric;
+import org.bouncycastle.math.ec.ECPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing of a transaction sized message, verification of its signature and public key
+ * derivation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SignBenchmark {
+
+    private ECKeyPair keyPair;
+
+    private byte[] message;
+
+    private SignatureData signature;
+
+    private ECPoint publicKey;
+
+    private RawTransaction transaction;
+
+    private WitnessVerifier verifier;
+
+    @Setup
+    public void setUp() {
+        keyPair = Fixtures.keyPair();
+        message = Fixtures.contractTransaction(2, 2).toArrayWithoutScripts();
+        signature = Sign.signMessageWithoutRecoveryId(message, keyPair);
+        publicKey = ECPointCache.getDefault().decode(Numeric.hexStringToByteArray(Fixtures.PUBLIC_KEY));
+        transaction = Fixtures.contractTransaction(2, 2);
+        transaction.addScript(RawScript.createWitness(transaction.toArrayWithoutScripts(), keyPair));
+        verifier = new WitnessVerifier();
+    }
+
+    @Benchmark
+    public SignatureData signMessage() {
+        return Sign.signMessage(message, keyPair);
+    }
+
+    @Benchmark
+    public SignatureData signMessageWithoutRecoveryId() {
+        return Sign.signMessageWithoutRecoveryId(message, keyPair);
+    }
+
+    @Benchmark
+    public BigInteger publicKeyFromPrivate() {
+        return Sign.publicKeyFromPrivate(keyPair.getPrivateKey());
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return Sign.verifySignature(message, signature, publicKey);
+    }
+
+    @Benchmark
+    public List<WitnessVerifier.Result> verifyWitness() {
+        return verifier.verify(transaction);
+    }
+}
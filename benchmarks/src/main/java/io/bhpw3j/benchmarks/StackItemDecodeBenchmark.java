@@ -0,0 +1,146 @@
+package io.bhpw3j.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bhpw3j.protocol.ObjectMapperFactory;
+import io.bhpw3j.protocol.Service;
+import io.bhpw3j.protocol.core.BatchResponse;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.protocol.core.methods.response.BhpInvokeFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of {@code invokefunction} responses, whose stacks go through the {@link
+ * io.bhpw3j.protocol.core.methods.response.StackItem} deserializer. A single response has a stack
+ * of {@link #stackItems} items, each a struct of a byte array, an integer, a boolean and a map.
+ * The batch contains {@link #stackItems} such responses with a stack of ten items each, in reverse
+ * order of the requests, so that every element is matched to its request by id.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackItemDecodeBenchmark {
+
+    @Param({"10", "1000"})
+    public int stackItems;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] invocation;
+
+    private BatchDecoder batchDecoder;
+
+    private List<Request<?, ? extends Response<?>>> batchRequests;
+
+    private byte[] batch;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = ObjectMapperFactory.getObjectMapper();
+        invocation = objectMapper.writeValueAsBytes(invocationResponse(1, stackItems));
+
+        batchDecoder = new BatchDecoder();
+        batchRequests = new ArrayList<>(stackItems);
+        ArrayNode responses = objectMapper.createArrayNode();
+        for (int i = 0; i < stackItems; i++) {
+            Request<?, BhpInvokeFunction> request = new Request<>("invokefunction",
+                    Collections.emptyList(), batchDecoder, BhpInvokeFunction.class);
+            batchRequests.add(request);
+            responses.insert(0, invocationResponse(request.getId(), 10));
+        }
+        batch = objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public BhpInvokeFunction decodeInvocation() throws IOException {
+        return objectMapper.readValue(invocation, BhpInvokeFunction.class);
+    }
+
+    @Benchmark
+    public BatchResponse decodeBatch() throws IOException {
+        return batchDecoder.decode(new ByteArrayInputStream(batch), batchRequests);
+    }
+
+    private ObjectNode invocationResponse(long id, int items) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.put("id", id);
+        ObjectNode result = response.putObject("result");
+        result.put("script", "00046e616d65675f0e5a86edd8e1f62b68d2b3f7c0a761fc5a67dc");
+        result.put("state", "HALT, BREAK");
+        result.put("gas_consumed", "2.489");
+        ArrayNode stack = result.putArray("stack");
+        for (int i = 0; i < items; i++) {
+            ObjectNode struct = stack.addObject();
+            struct.put("type", "Struct");
+            ArrayNode fields = struct.putArray("value");
+            fields.add(stackItem("ByteArray", "576f6f6c6f6e67"));
+            fields.add(stackItem("Integer", Integer.toString(i)));
+            ObjectNode bool = fields.addObject();
+            bool.put("type", "Boolean");
+            bool.put("value", i % 2 == 0);
+            ObjectNode map = fields.addObject();
+            map.put("type", "Map");
+            ObjectNode entry = map.putArray("value").addObject();
+            entry.set("key", stackItem("ByteArray", "6964"));
+            entry.set("value", stackItem("Integer", "1"));
+        }
+        result.put("tx", "d1011b00046e616d65675f0e5a86edd8e1f62b68d2b3f7c0a761fc5a67dc0000000000");
+        return response;
+    }
+
+    private ObjectNode stackItem(String type, String value) {
+        ObjectNode item = objectMapper.createObjectNode();
+        item.put("type", type);
+        item.put("value", value);
+        return item;
+    }
+
+    /**
+     * Exposes the batch response decoding of {@link Service} without any transport.
+     */
+    private static class BatchDecoder extends Service {
+
+        BatchDecoder() {
+            super(false);
+        }
+
+        BatchResponse decode(InputStream result,
+                             List<Request<?, ? extends Response<?>>> requests)
+                throws IOException {
+            return readBatchResponse(result, requests);
+        }
+
+        @Override
+        protected InputStream performIO(String payload) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -4,16 +4,12 @@ import io.bhpw3j.constants.BHPConstants;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 
 public class ContractDeploymentScript extends BhpSerializable {
 
-    private static final Logger LOG = LoggerFactory.getLogger(ContractDeploymentScript.class);
-
     private byte[] scriptBinary;
 
     private ContractDescriptionProperties descriptionProperties;
@@ -62,16 +58,10 @@ public class ContractDeploymentScript extends BhpSerializable {
 
     @Override
     public void deserialize(BinaryReader reader) throws IOException {
-        try {
-            this.descriptionProperties = reader.readSerializable(ContractDescriptionProperties.class);
-            this.functionProperties = reader.readSerializable(ContractFunctionProperties.class);
-            this.scriptBinary = reader.readPushData();
-            this.contractScriptHash = ScriptHash.fromScript(this.scriptBinary);
-        } catch (IllegalAccessException e) {
-            LOG.error("Can't access the specified object.", e);
-        } catch (InstantiationException e) {
-            LOG.error("Can't instantiate the specified object type.", e);
-        }
+        this.descriptionProperties = reader.readSerializable(ContractDescriptionProperties::new);
+        this.functionProperties = reader.readSerializable(ContractFunctionProperties::new);
+        this.scriptBinary = reader.readPushData();
+        this.contractScriptHash = ScriptHash.fromScript(this.scriptBinary);
     }
 
     @Override
@@ -32,4 +32,9 @@ public class ContractParameterTypeSerializable extends BhpSerializable {
         writer.writeByte(contractParameterType.byteValue());
     }
 
+    @Override
+    public int getSize() {
+        return 1;
+    }
+
 }
@@ -129,6 +129,7 @@ public class ContractFunctionPropertiesTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void test_Deserialize() throws IllegalAccessException, InstantiationException {
         ContractFunctionProperties expected = new ContractFunctionProperties(
                 Arrays.asList(ContractParameterType.STRING, ContractParameterType.ARRAY,
@@ -205,6 +206,7 @@ public class ContractFunctionPropertiesTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testSerializeAndDeserialize1() throws IllegalAccessException, InstantiationException {
         ContractFunctionProperties properties = new ContractFunctionProperties(
                 Arrays.asList(ContractParameterType.STRING),
@@ -220,6 +222,22 @@ public class ContractFunctionPropertiesTest {
     }
 
     @Test
+    public void testSerializeAndDeserialize1WithSupplier() {
+        ContractFunctionProperties properties = new ContractFunctionProperties(
+                Arrays.asList(ContractParameterType.STRING),
+                ContractParameterType.INTEROP_INTERFACE,
+                true, true, true);
+
+        byte[] rawProperties = properties.toArray();
+        assertThat(rawProperties, is(Numeric.hexStringToByteArray("5702f0000107")));
+
+        ContractFunctionProperties deserializedProps = BhpSerializableInterface.from(rawProperties,
+                ContractFunctionProperties::new);
+        assertThat(deserializedProps, is(properties));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
     public void testSerializeAndDeserialize2() throws IllegalAccessException, InstantiationException {
         ContractFunctionProperties properties = new ContractFunctionProperties(
                 Arrays.asList(ContractParameterType.INTEROP_INTERFACE),
@@ -0,0 +1,104 @@
+package io.bhpw3j.block;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.io.IOUtils;
+import io.bhpw3j.transaction.TransactionDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A block in its binary representation, as returned by the {@code getblock} RPC method with
+ * {@code verbose = 0}.</p>
+ * <br>
+ * <p>The transactions are decoded into the class matching their type, see
+ * {@link TransactionDeserializer}.</p>
+ * <br>
+ * <p>Transactions aren't prefixed with their size, so a transaction of a type that isn't
+ * supported yet can't be skipped. Decoding stops at the first such transaction, and the rest of
+ * the block is kept as undecoded bytes. The header and the transactions before it stay
+ * available, see {@link #isFullyDecoded()}. A block is therefore read up to the end of its
+ * input.</p>
+ */
+public class RawBlock extends RawBlockHeader {
+
+    private long transactionCount;
+    private List<RawTransaction> transactions;
+    private byte[] undecodedTransactions = new byte[0];
+
+    public RawBlock() { }
+
+    /**
+     * @return the decoded transactions. These are all transactions of the block if it is
+     * {@link #isFullyDecoded() fully decoded}, and the ones before the first unsupported
+     * transaction otherwise.
+     */
+    public List<RawTransaction> getTransactions() {
+        return Collections.unmodifiableList(transactions);
+    }
+
+    /**
+     * @return the number of transactions in the block, including the undecoded ones.
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * @return true if all transactions of the block were decoded. False, if the block contains a
+     * transaction of a type that isn't supported yet.
+     */
+    public boolean isFullyDecoded() {
+        return transactions.size() == transactionCount;
+    }
+
+    /**
+     * @return the serialized transactions from the first unsupported one to the end of the block,
+     * or an empty array if the block is fully decoded.
+     */
+    public byte[] getUndecodedTransactions() {
+        return undecodedTransactions.clone();
+    }
+
+    @Override
+    public void deserialize(BinaryReader reader) throws IOException {
+        deserializeBase(reader);
+        this.transactionCount = reader.readVarInt(0x10000);
+        List<RawTransaction> txs = new ArrayList<>((int) transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            if (!TransactionDeserializer.canDeserialize(reader)) {
+                this.undecodedTransactions = reader.readToEnd();
+                break;
+            }
+            txs.add(TransactionDeserializer.deserialize(reader));
+        }
+        this.transactions = txs;
+    }
+
+    @Override
+    public void serialize(BinaryWriter writer) throws IOException {
+        serializeBase(writer);
+        writer.writeVarInt(this.transactionCount);
+        writer.writeSerializableFixed(this.transactions);
+        writer.write(this.undecodedTransactions);
+    }
+
+    @Override
+    public int getSize() {
+        return getBaseSize() + IOUtils.getVarSize(this.transactionCount)
+                + IOUtils.getSize(this.transactions) + this.undecodedTransactions.length;
+    }
+
+    @Override
+    public String toString() {
+        return "RawBlock{" +
+                "index=" + getIndex() +
+                ", hash='" + getHash() + '\'' +
+                ", transactions=" + transactionCount +
+                '}';
+    }
+}
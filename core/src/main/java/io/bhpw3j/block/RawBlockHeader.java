@@ -0,0 +1,191 @@
+package io.bhpw3j.block;
+
+import io.bhpw3j.contract.ScriptHash;
+import io.bhpw3j.crypto.Hash;
+import io.bhpw3j.crypto.transaction.RawScript;
+import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.utils.ArrayUtils;
+import io.bhpw3j.utils.Numeric;
+
+import java.io.IOException;
+
+/**
+ * <p>A block header in its binary representation, as returned by the {@code getblockheader} RPC
+ * method with {@code verbose = 0}.</p>
+ * <br>
+ * <p>Decoding the binary representation avoids the much larger JSON representation of the verbose
+ * RPC result.</p>
+ */
+public class RawBlockHeader extends BhpSerializable {
+
+    /**
+     * Size of the header without its witness, i.e. of the signed part.
+     */
+    private static final int UNSIGNED_SIZE = 4 + 32 + 32 + 4 + 4 + 8 + 20;
+
+    private int version;
+    private String prevHash;
+    private String merkleRoot;
+    private long timestamp;
+    private long index;
+    private long consensusData;
+    private ScriptHash nextConsensus;
+    private RawScript script;
+
+    private volatile String hash;
+
+    public RawBlockHeader() { }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the hash of the previous block in big-endian order.
+     */
+    public String getPrevHash() {
+        return prevHash;
+    }
+
+    /**
+     * @return the merkle root of the block's transactions in big-endian order.
+     */
+    public String getMerkleRoot() {
+        return merkleRoot;
+    }
+
+    /**
+     * @return the block time in seconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the block index, i.e. the height of the block.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public long getConsensusData() {
+        return consensusData;
+    }
+
+    /**
+     * @return the script hash of the validators of the next block.
+     */
+    public ScriptHash getNextConsensus() {
+        return nextConsensus;
+    }
+
+    /**
+     * @return the witness of the validators that signed the block.
+     */
+    public RawScript getScript() {
+        return script;
+    }
+
+    /**
+     * Gets the block hash, i.e. the double SHA-256 hash of the header without its witness. The
+     * hash is calculated once and cached.
+     *
+     * @return the block hash in big-endian order.
+     */
+    public String getHash() {
+        String h = this.hash;
+        if (h == null) {
+            try (BinaryWriter writer = new BinaryWriter(UNSIGNED_SIZE)) {
+                serializeUnsigned(writer);
+                h = Numeric.toHexStringNoPrefix(
+                        ArrayUtils.reverseArray(Hash.hash256(writer.toByteArray())));
+            } catch (IOException ex) {
+                throw new UnsupportedOperationException(ex);
+            }
+            this.hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public void deserialize(BinaryReader reader) throws IOException {
+        deserializeBase(reader);
+        if (reader.readByte() != 0) {
+            throw new IOException("A block header must not contain transactions.");
+        }
+    }
+
+    @Override
+    public void serialize(BinaryWriter writer) throws IOException {
+        serializeBase(writer);
+        writer.writeByte((byte) 0);
+    }
+
+    @Override
+    public int getSize() {
+        return getBaseSize() + 1;
+    }
+
+    /**
+     * Reads the header fields and the witness, which are shared by headers and full blocks.
+     *
+     * @param reader the reader.
+     * @throws IOException if the header can't be read.
+     */
+    protected void deserializeBase(BinaryReader reader) throws IOException {
+        this.hash = null;
+        this.version = reader.readInt();
+        this.prevHash = readHash(reader);
+        this.merkleRoot = readHash(reader);
+        this.timestamp = Integer.toUnsignedLong(reader.readInt());
+        this.index = Integer.toUnsignedLong(reader.readInt());
+        this.consensusData = reader.readLong();
+        this.nextConsensus = new ScriptHash(reader.readBytes(20));
+        if (reader.readByte() != 1) {
+            throw new IOException("Expected exactly one witness in the block header.");
+        }
+        this.script = reader.readSerializable(RawScript::new);
+    }
+
+    /**
+     * Writes the header fields and the witness, which are shared by headers and full blocks.
+     *
+     * @param writer the writer.
+     * @throws IOException if the header can't be written.
+     */
+    protected void serializeBase(BinaryWriter writer) throws IOException {
+        serializeUnsigned(writer);
+        writer.writeByte((byte) 1);
+        writer.writeSerializableFixed(this.script);
+    }
+
+    protected int getBaseSize() {
+        return UNSIGNED_SIZE + 1 + this.script.getSize();
+    }
+
+    private void serializeUnsigned(BinaryWriter writer) throws IOException {
+        writer.writeInt(this.version);
+        writer.write(ArrayUtils.reverseArray(Numeric.hexStringToByteArray(this.prevHash)));
+        writer.write(ArrayUtils.reverseArray(Numeric.hexStringToByteArray(this.merkleRoot)));
+        writer.writeInt((int) this.timestamp);
+        writer.writeInt((int) this.index);
+        writer.writeLong(this.consensusData);
+        writer.write(this.nextConsensus.toArray());
+    }
+
+    private static String readHash(BinaryReader reader) throws IOException {
+        return Numeric.toHexStringNoPrefix(ArrayUtils.reverseArray(reader.readBytes(32)));
+    }
+
+    @Override
+    public String toString() {
+        return "RawBlockHeader{" +
+                "index=" + index +
+                ", hash='" + getHash() + '\'' +
+                ", prevHash='" + prevHash + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
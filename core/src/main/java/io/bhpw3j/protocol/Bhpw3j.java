@@ -1,5 +1,6 @@
 package io.bhpw3j.protocol;
 
+import io.bhpw3j.protocol.core.Batcher;
 import io.bhpw3j.protocol.core.JsonRpc2_0Bhpw3J;
 import io.bhpw3j.protocol.core.Bhp;
 import io.bhpw3j.protocol.rx.Bhpw3jRx;
@@ -9,7 +10,7 @@ import java.util.concurrent.ScheduledExecutorService;
 /**
  * JSON-RPC Request object building factory.
  */
-public interface Bhpw3j extends Bhp, Bhpw3jRx {
+public interface Bhpw3j extends Bhp, Bhpw3jRx, Batcher {
 
     /**
      * Construct a new Bhpw3j instance.
@@ -25,16 +26,17 @@ public interface Bhpw3j extends Bhp, Bhpw3jRx {
      * Construct a new Bhpw3j instance.
      *
      * @param bhpw3jService            bhpw3j service instance - i.e. HTTP or IPC
-     * @param pollingInterval          polling interval for responses from network nodes
+     * @param blockTime                the expected time between two blocks in milliseconds,
+     *                                 which the polling for new blocks adapts to
      * @param scheduledExecutorService executor service to use for scheduled tasks.
      *                                 <strong>You are responsible for terminating this thread
      *                                 pool</strong>
      * @return new Bhpw3j instance
      */
     static Bhpw3j build(
-            Bhpw3jService bhpw3jService, long pollingInterval,
+            Bhpw3jService bhpw3jService, long blockTime,
             ScheduledExecutorService scheduledExecutorService) {
-        return new JsonRpc2_0Bhpw3J(bhpw3jService, pollingInterval, scheduledExecutorService);
+        return new JsonRpc2_0Bhpw3J(bhpw3jService, blockTime, scheduledExecutorService);
     }
 
     /**
@@ -1,11 +1,15 @@
 package io.bhpw3j.protocol;
 
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
 import io.bhpw3j.protocol.core.Request;
 import io.bhpw3j.protocol.core.Response;
 import io.bhpw3j.protocol.notifications.Notification;
 import rx.Observable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -37,6 +41,49 @@ public interface Bhpw3jService {
     <T extends Response> CompletableFuture<T> sendAsync(
             Request request, Class<T> responseType);
 
+    /**
+     * Performs a batch of JSON-RPC requests in a single synchronous call.
+     * <br>
+     * The default implementation sends the requests one after the other with
+     * {@link #send(Request, Class)}. Services that support JSON-RPC batches override it.
+     *
+     * @param batchRequest the batch of requests to perform
+     * @return the deserialized JSON-RPC responses, in the order of the batch's requests
+     * @throws IOException thrown if failed to perform the batch request
+     */
+    default BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<Response<?>> responses = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            responses.add(send(request, request.getResponseType()));
+        }
+        return new BatchResponse(requests, responses);
+    }
+
+    /**
+     * Performs a batch of JSON-RPC requests asynchronously in a single call.
+     * <br>
+     * The default implementation sends the requests separately with
+     * {@link #sendAsync(Request, Class)}. Services that support JSON-RPC batches override it.
+     *
+     * @param batchRequest the batch of requests to perform
+     * @return CompletableFuture that will be completed when the responses are returned or if the
+     * batch request has failed
+     */
+    default CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        List<CompletableFuture<? extends Response<?>>> futures = new ArrayList<>(requests.size());
+        for (Request<?, ? extends Response<?>> request : requests) {
+            futures.add(sendAsync(request, request.getResponseType()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<Response<?>> responses = new ArrayList<>(futures.size());
+                    futures.forEach(f -> responses.add(f.join()));
+                    return new BatchResponse(requests, responses);
+                });
+    }
+
     /**
      * <p>Subscribe to a stream of notifications. A stream of notifications is opened by
      * by performing a specified JSON-RPC request and is closed by calling
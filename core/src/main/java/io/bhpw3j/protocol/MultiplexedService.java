@@ -0,0 +1,179 @@
+package io.bhpw3j.protocol;
+
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Base class of the services that send any number of requests over one connection without
+ * waiting for the responses of earlier requests.</p>
+ * <br>
+ * <p>Requests are registered with the {@link PendingRequests} before they are written, and
+ * subclasses complete them with the responses they read from the connection. The synchronous
+ * methods wait for the asynchronous ones.</p>
+ */
+public abstract class MultiplexedService extends Service {
+
+    protected final PendingRequests pending = new PendingRequests();
+
+    /**
+     * @param executorService     an external ExecutorService where the responses of asynchronous
+     *                            {@link Request} calls are processed. If null, they are processed
+     *                            on the thread that received them.
+     * @param includeRawResponses option to include or not raw responses on the {@link Response}
+     *                            object.
+     */
+    protected MultiplexedService(ExecutorService executorService, boolean includeRawResponses) {
+        super(executorService, includeRawResponses);
+    }
+
+    protected MultiplexedService(boolean includeRawResponses) {
+        super(includeRawResponses);
+    }
+
+    /**
+     * Registers the requests with {@link #pending} and writes the payload to the connection. If
+     * the payload can't be written, the requests have to be unregistered again.
+     *
+     * @param payload  the serialized request or batch.
+     * @param ids      the ids of the requests.
+     * @param response the future to complete with the serialized response.
+     * @throws IOException if the requests can't be registered or the payload can't be written.
+     */
+    protected abstract void write(byte[] payload, List<Long> ids,
+                                  CompletableFuture<byte[]> response) throws IOException;
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return PendingRequests.await(sendAsync(request, responseType));
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request,
+                                                               Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        sendAsync(request, responseType, result);
+        return result;
+    }
+
+    /**
+     * Sends a request and completes the given future with its response. Unless an executor
+     * service was given, callbacks attached to the future before the call run on the thread that
+     * read the response, before it reads the next message from the connection.
+     *
+     * @param request      the request.
+     * @param responseType the type of the response.
+     * @param result       the future to complete with the response.
+     * @param <T>          the type of the response.
+     */
+    protected <T extends Response> void sendAsync(Request request, Class<T> responseType,
+                                                  CompletableFuture<T> result) {
+        exchange(request, Collections.singletonList(request.getId()),
+                bytes -> readResponse(bytes, responseType), result);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return PendingRequests.await(sendBatchAsync(batchRequest));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(new BatchResponse(requests, new ArrayList<>()));
+        }
+        List<Long> ids = new ArrayList<>(requests.size());
+        for (Request<?, ?> request : requests) {
+            ids.add(request.getId());
+        }
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        exchange(requests, ids, bytes -> readBatchResponse(bytes, requests), result);
+        return result;
+    }
+
+    /**
+     * Sends a payload that was already serialized, e.g. by {@link Service#send}. The ids are
+     * read back from the payload to match the response.
+     */
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        byte[] bytes = payload.getBytes(UTF_8);
+        List<Long> ids = PendingRequests.readIds(objectMapper.getFactory(), bytes, bytes.length);
+        if (ids.isEmpty()) {
+            throw new IOException("The request has no id to match the response by.");
+        }
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        write(bytes, ids, response);
+        return new ByteArrayInputStream(PendingRequests.await(response));
+    }
+
+    /**
+     * @return the number of requests waiting for their response, counting each request of a
+     * batch.
+     */
+    public int getPendingRequests() {
+        return pending.size();
+    }
+
+    /**
+     * The callbacks are attached before the payload is written, so that a response that arrives
+     * right away is still handed to the reader on the thread that received it.
+     */
+    private <T> void exchange(Object payload, List<Long> ids, ResponseReader<T> reader,
+                              CompletableFuture<T> result) {
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        response.whenComplete((bytes, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else if (asyncExecutorService != null) {
+                asyncExecutorService.execute(() -> complete(result, bytes, reader));
+            } else {
+                complete(result, bytes, reader);
+            }
+        });
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                pending.unregister(ids);
+            }
+        });
+        try {
+            write(objectMapper.writeValueAsBytes(payload), ids, response);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        if (result.isCancelled()) {
+            // Cancelled while the request was written.
+            pending.unregister(ids);
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, byte[] bytes,
+                                     ResponseReader<T> reader) {
+        try {
+            result.complete(reader.read(new ByteArrayInputStream(bytes)));
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Reads the response of an asynchronous call.
+     */
+    private interface ResponseReader<T> {
+        T read(InputStream result) throws IOException;
+    }
+}
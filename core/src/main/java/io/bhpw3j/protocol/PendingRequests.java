@@ -0,0 +1,206 @@
+package io.bhpw3j.protocol;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>The requests that were sent over a multiplexed connection and wait for their responses.</p>
+ * <br>
+ * <p>Responses are matched to their requests by the JSON-RPC id. A batch is registered with the
+ * ids of all its requests and completed by the first response that contains one of them.</p>
+ */
+public class PendingRequests {
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a request, or a batch of requests, before it is sent.
+     *
+     * @param ids      the ids of the requests.
+     * @param response the future to complete with the serialized response.
+     * @throws IOException if a request with one of the ids is already waiting.
+     */
+    public void register(List<Long> ids, CompletableFuture<byte[]> response) throws IOException {
+        register(ids, response, null);
+    }
+
+    /**
+     * Registers a request, or a batch of requests, that is sent on the given connection.
+     *
+     * @param ids        the ids of the requests.
+     * @param response   the future to complete with the serialized response.
+     * @param connection the connection the requests are sent on, see {@link #failAll(Object,
+     *                   Throwable)}.
+     * @throws IOException if a request with one of the ids is already waiting.
+     */
+    public void register(List<Long> ids, CompletableFuture<byte[]> response, Object connection)
+            throws IOException {
+        Pending p = new Pending(ids, response, connection);
+        for (int i = 0; i < ids.size(); i++) {
+            if (pending.putIfAbsent(ids.get(i), p) != null) {
+                unregister(ids.subList(0, i));
+                throw new IOException("A request with the id " + ids.get(i) + " is already pending.");
+            }
+        }
+    }
+
+    /**
+     * Removes the requests with the given ids, e.g. because they could not be sent or were
+     * cancelled.
+     *
+     * @param ids the ids.
+     */
+    public void unregister(List<Long> ids) {
+        for (Long id : ids) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Completes the request that the response with the given ids belongs to.
+     *
+     * @param ids      the ids found in the response.
+     * @param response the serialized response.
+     * @return false if no waiting request matches the ids.
+     */
+    public boolean complete(List<Long> ids, byte[] response) {
+        for (Long id : ids) {
+            Pending p = pending.get(id);
+            if (p != null) {
+                unregister(p.ids);
+                p.response.complete(response);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fails all waiting requests, e.g. because the connection was lost.
+     *
+     * @param cause the failure.
+     */
+    public void failAll(Throwable cause) {
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            Pending p = pending.remove(id);
+            if (p != null) {
+                p.response.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Fails the waiting requests that were sent on the given connection, e.g. because that
+     * connection was lost. Requests sent on a newer connection keep waiting.
+     *
+     * @param connection the connection, as passed to {@link #register(List, CompletableFuture,
+     *                   Object)}.
+     * @param cause      the failure.
+     */
+    public void failAll(Object connection, Throwable cause) {
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            Pending p = entry.getValue();
+            if (p.connection == connection && pending.remove(entry.getKey(), p)) {
+                p.response.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * @return the number of waiting requests, counting each request of a batch.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Waits for the response of a request sent asynchronously, for the synchronous variants of
+     * the service methods.
+     *
+     * @param future the future of the response.
+     * @param <T>    the type of the response.
+     * @return the response.
+     * @throws IOException if the request failed with an {@link IOException}, or if the thread
+     *                     was interrupted.
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("Interrupted while waiting for the response.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Reads the top-level ids of a JSON-RPC request or response, or of all elements of a batch.
+     *
+     * @param factory the JSON factory.
+     * @param json    the serialized request or response.
+     * @param length  the number of bytes of {@code json} to read.
+     * @return the ids, or an empty list if there are none.
+     * @throws IOException if the JSON can't be parsed.
+     */
+    public static List<Long> readIds(JsonFactory factory, byte[] json, int length)
+            throws IOException {
+        List<Long> ids = new ArrayList<>(1);
+        try (JsonParser parser = factory.createParser(json, 0, length)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readId(parser, ids);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                readId(parser, ids);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reads the id of the object the parser is at and skips to the end of the object.
+     */
+    private static void readId(JsonParser parser, List<Long> ids) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(fieldName) && value == JsonToken.VALUE_NUMBER_INT) {
+                ids.add(parser.getLongValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static class Pending {
+
+        private final List<Long> ids;
+        private final CompletableFuture<byte[]> response;
+        private final Object connection;
+
+        Pending(List<Long> ids, CompletableFuture<byte[]> response, Object connection) {
+            this.ids = ids;
+            this.response = response;
+            this.connection = connection;
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package io.bhpw3j.protocol;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
 import io.bhpw3j.protocol.core.Request;
 import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.protocol.exceptions.ClientConnectionException;
 import io.bhpw3j.protocol.notifications.Notification;
 import io.bhpw3j.utils.Async;
 import rx.Observable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
@@ -49,11 +60,25 @@ public abstract class Service implements Bhpw3jService {
         String payload = objectMapper.writeValueAsString(request);
 
         try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                return objectMapper.readValue(result, responseType);
-            } else {
-                return null;
-            }
+            return readResponse(result, responseType);
+        }
+    }
+
+    /**
+     * Deserializes the given JSON-RPC response.
+     *
+     * @param result       the response payload, or null if there was none
+     * @param responseType class of a data item returned by the request
+     * @param <T>          type of a data item returned by the request
+     * @return the deserialized response, or null if there was no payload
+     * @throws IOException thrown if the payload could not be read
+     */
+    protected <T extends Response> T readResponse(
+            InputStream result, Class<T> responseType) throws IOException {
+        if (result != null) {
+            return objectMapper.readValue(result, responseType);
+        } else {
+            return null;
         }
     }
 
@@ -64,6 +89,103 @@ public abstract class Service implements Bhpw3jService {
                 send(jsonRpc20Request, responseType), asyncExecutorService);
     }
 
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return new BatchResponse(requests, new ArrayList<>());
+        }
+        String payload = objectMapper.writeValueAsString(requests);
+
+        try (InputStream result = performIO(payload)) {
+            return readBatchResponse(result, requests);
+        }
+    }
+
+    /**
+     * Deserializes the given JSON-RPC batch response.
+     *
+     * @param result   the response payload, or null if there was none
+     * @param requests the requests of the batch
+     * @return the deserialized responses, or null if there was no payload
+     * @throws IOException thrown if the payload could not be read
+     */
+    protected BatchResponse readBatchResponse(
+            InputStream result, List<Request<?, ? extends Response<?>>> requests)
+            throws IOException {
+        if (result == null) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(result)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ClientConnectionException(
+                        "Invalid batch response received: " + objectMapper.readTree(parser));
+            }
+            return new BatchResponse(requests, Arrays.asList(demultiplex(requests, parser)));
+        }
+    }
+
+    /**
+     * Matches the elements of a JSON-RPC batch response to the requests by their id. JSON-RPC
+     * allows the node to return the responses in any order, so the tokens of each element are
+     * buffered until its id is known. No intermediate tree is built for the responses.
+     */
+    private Response<?>[] demultiplex(List<Request<?, ? extends Response<?>>> requests,
+                                      JsonParser parser) throws IOException {
+
+        Map<Long, Integer> indexById = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            indexById.put(requests.get(i).getId(), i);
+        }
+        Response<?>[] responses = new Response<?>[requests.size()];
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            TokenBuffer element = new TokenBuffer(parser);
+            element.copyCurrentStructure(parser);
+            Long id = readId(element);
+            Integer index = id == null ? null : indexById.get(id);
+            if (index == null) {
+                throw new ClientConnectionException("Batch response with unknown id received: "
+                        + objectMapper.writeValueAsString(element));
+            }
+            Response<?> response;
+            try (JsonParser elementParser = element.asParser(parser.getCodec())) {
+                response = objectMapper.readValue(elementParser, requests.get(index).getResponseType());
+            }
+            if (response.getRawResponse() != null) {
+                response.setRawResponse(objectMapper.writeValueAsString(element));
+            }
+            responses[index] = response;
+        }
+        return responses;
+    }
+
+    /**
+     * Reads the top-level id of a buffered batch response element.
+     *
+     * @return the id, or null if the element is no object or has no integral id
+     */
+    private Long readId(TokenBuffer element) throws IOException {
+        try (JsonParser parser = element.asParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(fieldName)) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest), asyncExecutorService);
+    }
+
     @Override
     public <T extends Notification<?>> Observable<T> subscribe(
             Request request, String unsubscribeMethod, Class<T> responseType) {
@@ -0,0 +1,175 @@
+package io.bhpw3j.protocol.balancing;
+
+import io.bhpw3j.protocol.Bhpw3jService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A node behind a {@link LoadBalancingService}, together with the statistics the
+ * {@link LoadBalancer} chooses by.</p>
+ * <br>
+ * <p>Each endpoint has a circuit breaker. After a number of consecutive connection failures the
+ * circuit opens and the endpoint gets no requests for a while. Then a single trial request is let
+ * through, which closes the circuit again if it succeeds. If the trial fails, or ends without a
+ * verdict, e.g. because it was cancelled, the circuit opens again for another period.</p>
+ */
+public class Endpoint {
+
+    /**
+     * Weight of a new latency sample in the moving average.
+     */
+    static final double LATENCY_EWMA_WEIGHT = 0.3;
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final String name;
+    private final Bhpw3jService service;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger circuit = new AtomicInteger(CLOSED);
+    private volatile long openedAt;
+    private volatile double latencyEwmaNanos = -1;
+    private volatile long height = -1;
+    private volatile boolean healthy = true;
+
+    Endpoint(String name, Bhpw3jService service, int failureThreshold, long openNanos) {
+        this.name = name;
+        this.service = service;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Bhpw3jService getService() {
+        return service;
+    }
+
+    /**
+     * @return the number of requests currently in flight on this endpoint.
+     */
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return the exponentially weighted moving average of the response times in milliseconds,
+     * or a negative value if no request has completed yet.
+     */
+    public double getLatencyMillis() {
+        double ewma = latencyEwmaNanos;
+        return ewma < 0 ? ewma : ewma / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    double getLatencyNanos() {
+        return latencyEwmaNanos;
+    }
+
+    /**
+     * @return the block height reported by the last health check, or -1 if unknown.
+     */
+    public long getHeight() {
+        return height;
+    }
+
+    /**
+     * @return false if the last health check failed or found the endpoint lagging behind.
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return true if the circuit breaker currently keeps requests away from this endpoint.
+     */
+    public boolean isCircuitOpen() {
+        return circuit.get() != CLOSED;
+    }
+
+    /**
+     * @return true if the endpoint would accept a request at the given time.
+     */
+    boolean isAvailable(long now) {
+        if (!healthy) {
+            return false;
+        }
+        int state = circuit.get();
+        return state == CLOSED || (state == OPEN && now - openedAt >= openNanos);
+    }
+
+    /**
+     * Reserves the endpoint for a request. Moves an open circuit to half-open if the open period
+     * is over, so that only one trial request gets through.
+     *
+     * @return false if the circuit breaker rejects the request.
+     */
+    boolean tryAcquire(long now) {
+        int state = circuit.get();
+        if (state == HALF_OPEN) {
+            return false;
+        }
+        if (state == OPEN && (now - openedAt < openNanos || !circuit.compareAndSet(OPEN, HALF_OPEN))) {
+            return false;
+        }
+        outstanding.incrementAndGet();
+        return true;
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos) {
+        consecutiveFailures.set(0);
+        circuit.set(CLOSED);
+        double ewma = latencyEwmaNanos;
+        latencyEwmaNanos = ewma < 0 ? latencyNanos
+                : ewma + LATENCY_EWMA_WEIGHT * (latencyNanos - ewma);
+    }
+
+    void onConnectionFailure(long now) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (circuit.get() == HALF_OPEN || failures >= failureThreshold) {
+            openedAt = now;
+            circuit.set(OPEN);
+        }
+    }
+
+    /**
+     * Settles a request that ended without telling whether the endpoint is reachable, e.g. a
+     * cancelled request or one that failed with an error other than a connection failure. If it
+     * was the trial request of a half-open circuit, the circuit opens again for another period, so
+     * that a new trial follows. Otherwise, nothing changes.
+     */
+    void onInconclusive(long now) {
+        if (circuit.get() == HALF_OPEN) {
+            openedAt = now;
+            circuit.compareAndSet(HALF_OPEN, OPEN);
+        }
+    }
+
+    void onHealthCheck(long height, boolean healthy) {
+        this.height = height;
+        this.healthy = healthy;
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{" +
+                "name='" + name + '\'' +
+                ", outstanding=" + outstanding.get() +
+                ", latencyMillis=" + getLatencyMillis() +
+                ", height=" + height +
+                ", healthy=" + healthy +
+                ", circuitOpen=" + isCircuitOpen() +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package io.bhpw3j.protocol.balancing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the endpoint for the next request of a {@link LoadBalancingService}.
+ */
+@FunctionalInterface
+public interface LoadBalancer {
+
+    /**
+     * Chooses one of the given endpoints.
+     *
+     * @param endpoints the endpoints that are healthy and accept requests. Never empty.
+     * @return the chosen endpoint.
+     */
+    Endpoint select(List<Endpoint> endpoints);
+
+    /**
+     * @return a balancer that uses the endpoints in turn.
+     */
+    static LoadBalancer roundRobin() {
+        AtomicInteger next = new AtomicInteger();
+        return endpoints -> endpoints.get(Math.floorMod(next.getAndIncrement(), endpoints.size()));
+    }
+
+    /**
+     * @return a balancer that chooses the endpoint with the fewest requests in flight.
+     */
+    static LoadBalancer leastOutstanding() {
+        return endpoints -> {
+            Endpoint best = endpoints.get(0);
+            for (int i = 1; i < endpoints.size(); i++) {
+                Endpoint e = endpoints.get(i);
+                if (e.getOutstandingRequests() < best.getOutstandingRequests()) {
+                    best = e;
+                }
+            }
+            return best;
+        };
+    }
+
+    /**
+     * Creates a balancer that chooses the endpoint with the lowest expected response time. That
+     * is the moving average of its response times multiplied by the requests it has in flight,
+     * so that a fast endpoint doesn't get all the load. Endpoints without any response time yet
+     * are preferred, so that every endpoint gets measured.
+     *
+     * @return the balancer.
+     */
+    static LoadBalancer latencyEwma() {
+        return endpoints -> {
+            Endpoint best = null;
+            double bestCost = Double.MAX_VALUE;
+            for (Endpoint e : endpoints) {
+                double latency = e.getLatencyNanos();
+                if (latency < 0) {
+                    return e;
+                }
+                double cost = latency * (e.getOutstandingRequests() + 1);
+                if (cost < bestCost) {
+                    best = e;
+                    bestCost = cost;
+                }
+            }
+            return best;
+        };
+    }
+}
@@ -0,0 +1,630 @@
+package io.bhpw3j.protocol.balancing;
+
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import io.bhpw3j.protocol.exceptions.ClientConnectionException;
+import io.bhpw3j.protocol.notifications.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>A service that spreads the requests over several nodes, e.g. several {@code HttpService}s
+ * or {@code IpcService}s.</p>
+ * <br>
+ * <p>The {@link LoadBalancer} chooses the node for each request among the nodes that are healthy
+ * and whose circuit breaker is closed, see {@link Endpoint}. Connection failures, i.e.
+ * {@link IOException}s and {@link ClientConnectionException}s, count towards the circuit breaker.
+ * JSON-RPC errors returned by a node don't.</p>
+ * <br>
+ * <p>Idempotent read methods, see {@link #DEFAULT_IDEMPOTENT_METHODS}, are retried on another
+ * node after a connection failure. They can also be hedged: if the first node hasn't answered
+ * after the hedging delay, the request is sent to a second node as well and the first response
+ * wins. Other methods, e.g. {@code sendrawtransaction}, are sent to exactly one node.</p>
+ * <br>
+ * <p>The optional health check asks every node for its block count and takes nodes that lag
+ * more than the allowed number of blocks behind the highest node out of the rotation. The check
+ * doesn't block the scheduler that starts the hedged requests. A node that doesn't answer
+ * within the check interval counts as unhealthy until the next check.</p>
+ */
+public class LoadBalancingService implements Bhpw3jService {
+
+    /**
+     * The read methods whose result doesn't depend on the node's wallet or peers.
+     */
+    public static final Set<String> DEFAULT_IDEMPOTENT_METHODS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(
+                    "getaccountstate", "getapplicationlog", "getassetstate", "getbestblockhash",
+                    "getblock", "getblockcount", "getblockhash", "getblockheader",
+                    "getblocksysfee", "getclaimable", "getcontractstate", "getrawtransaction",
+                    "getstorage", "gettxout", "getutxoofaddress", "getvalidators", "invoke",
+                    "invokefunction", "invokescript", "validateaddress")));
+
+    private static final Logger log = LoggerFactory.getLogger(LoadBalancingService.class);
+
+    private final List<Endpoint> endpoints;
+    private final LoadBalancer loadBalancer;
+    private final Set<String> idempotentMethods;
+    private final long hedgeDelayNanos;
+    private final long maxHeightLag;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final LongSupplier clock;
+    private final long healthCheckIntervalNanos;
+    private ScheduledFuture<?> healthCheck;
+    private CompletableFuture<Void> runningHealthCheck;
+
+    private LoadBalancingService(Builder builder) {
+        this.endpoints = Collections.unmodifiableList(new ArrayList<>(builder.endpoints));
+        this.loadBalancer = builder.loadBalancer;
+        this.idempotentMethods = builder.idempotentMethods;
+        this.hedgeDelayNanos = builder.hedgeDelayNanos;
+        this.maxHeightLag = builder.maxHeightLag;
+        this.clock = builder.clock;
+        this.healthCheckIntervalNanos = builder.healthCheckIntervalNanos;
+        boolean needsScheduler = hedgeDelayNanos > 0 || healthCheckIntervalNanos > 0;
+        if (builder.scheduler == null && needsScheduler) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "bhpw3j-load-balancing");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ownsScheduler = true;
+        } else {
+            this.scheduler = builder.scheduler;
+            this.ownsScheduler = false;
+        }
+    }
+
+    /**
+     * Schedules the periodic health check, if one is configured. Called once the service is
+     * constructed, so that the scheduler never sees a partially constructed service.
+     */
+    private synchronized void startHealthChecks() {
+        if (healthCheckIntervalNanos > 0) {
+            healthCheck = scheduler.scheduleWithFixedDelay(this::checkHealthPeriodically, 0,
+                    healthCheckIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return the endpoints with their current statistics.
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType)
+            throws IOException {
+        boolean idempotent = isIdempotent(request);
+        if (idempotent && isHedging()) {
+            return await(sendAsync(request, responseType));
+        }
+        return execute(service -> service.send(request, responseType), idempotent);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request,
+                                                               Class<T> responseType) {
+        return new AsyncCall<T>(service -> service.sendAsync(request, responseType),
+                isIdempotent(request)).start();
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        boolean idempotent = isIdempotent(batchRequest);
+        if (idempotent && isHedging()) {
+            return await(sendBatchAsync(batchRequest));
+        }
+        return execute(service -> service.sendBatch(batchRequest), idempotent);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return new AsyncCall<BatchResponse>(service -> service.sendBatchAsync(batchRequest),
+                isIdempotent(batchRequest)).start();
+    }
+
+    /**
+     * Subscribes on the endpoint chosen by the load balancer. Subscriptions are not moved to
+     * another endpoint if that endpoint fails later.
+     */
+    @Override
+    public <T extends Notification<?>> Observable<T> subscribe(Request request,
+                                                               String unsubscribeMethod,
+                                                               Class<T> responseType) {
+        Endpoint endpoint = acquire(Collections.emptySet());
+        if (endpoint == null) {
+            throw new ClientConnectionException("No endpoint available.");
+        }
+        try {
+            return endpoint.getService().subscribe(request, unsubscribeMethod, responseType);
+        } finally {
+            endpoint.onInconclusive(clock.getAsLong());
+            endpoint.release();
+        }
+    }
+
+    /**
+     * Asks all endpoints for their block count and updates their health. An endpoint is healthy
+     * if it answers and is at most the allowed number of blocks behind the highest endpoint.
+     *
+     * @return a future that is completed once all endpoints have answered or failed and their
+     * health is updated.
+     */
+    public CompletableFuture<Void> checkHealth() {
+        return checkHealth(0);
+    }
+
+    /**
+     * @param timeoutNanos the time after which an endpoint that hasn't answered counts as
+     *                     failed, or 0 to wait for all answers.
+     */
+    private CompletableFuture<Void> checkHealth(long timeoutNanos) {
+        List<CompletableFuture<Long>> heights = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            Request<?, BhpBlockCount> request = new Request<>("getblockcount",
+                    Collections.<String>emptyList(), endpoint.getService(), BhpBlockCount.class);
+            CompletableFuture<Long> height;
+            try {
+                height = request.sendAsync().handle((count, throwable) -> {
+                    if (throwable != null || count == null || count.hasError()) {
+                        if (isConnectionFailure(unwrap(throwable))) {
+                            endpoint.onConnectionFailure(clock.getAsLong());
+                        }
+                        return -1L;
+                    }
+                    return count.getBlockIndex().longValue();
+                });
+            } catch (RuntimeException e) {
+                height = CompletableFuture.completedFuture(-1L);
+            }
+            if (timeoutNanos > 0 && !height.isDone()) {
+                CompletableFuture<Long> pending = height;
+                ScheduledFuture<?> timeout = scheduler.schedule(() -> pending.complete(-1L),
+                        timeoutNanos, TimeUnit.NANOSECONDS);
+                pending.whenComplete((h, throwable) -> timeout.cancel(false));
+            }
+            heights.add(height);
+        }
+        return CompletableFuture.allOf(heights.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
+                    long maxHeight = -1;
+                    for (CompletableFuture<Long> height : heights) {
+                        maxHeight = Math.max(maxHeight, height.join());
+                    }
+                    for (int i = 0; i < endpoints.size(); i++) {
+                        long height = heights.get(i).join();
+                        endpoints.get(i).onHealthCheck(height,
+                                height >= 0 && maxHeight - height <= maxHeightLag);
+                    }
+                });
+    }
+
+    /**
+     * Starts a health check on the scheduler without waiting for the answers. A check is skipped
+     * while the previous one is still running.
+     */
+    private void checkHealthPeriodically() {
+        CompletableFuture<Void> check;
+        synchronized (this) {
+            if (runningHealthCheck != null && !runningHealthCheck.isDone()) {
+                return;
+            }
+            check = checkHealth(healthCheckIntervalNanos);
+            runningHealthCheck = check;
+        }
+        check.whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                log.warn("Health check failed.", throwable);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (healthCheck != null) {
+                healthCheck.cancel(false);
+            }
+        }
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+        IOException failure = null;
+        for (Endpoint endpoint : endpoints) {
+            try {
+                endpoint.getService().close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean isHedging() {
+        return hedgeDelayNanos > 0 && endpoints.size() > 1;
+    }
+
+    private boolean isIdempotent(Request<?, ?> request) {
+        return request.getMethod() != null && idempotentMethods.contains(request.getMethod());
+    }
+
+    private boolean isIdempotent(BatchRequest batchRequest) {
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            if (!isIdempotent(request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs a synchronous call, retrying idempotent calls on the other endpoints after a
+     * connection failure.
+     */
+    private <T> T execute(ServiceCall<T> call, boolean idempotent) throws IOException {
+        Set<Endpoint> tried = new HashSet<>();
+        Exception lastFailure = null;
+        Endpoint endpoint;
+        while ((endpoint = acquire(tried)) != null) {
+            tried.add(endpoint);
+            long start = clock.getAsLong();
+            try {
+                T result = call.call(endpoint.getService());
+                endpoint.onSuccess(clock.getAsLong() - start);
+                return result;
+            } catch (IOException | ClientConnectionException e) {
+                endpoint.onConnectionFailure(clock.getAsLong());
+                if (!idempotent) {
+                    throw e;
+                }
+                lastFailure = e;
+            } catch (RuntimeException e) {
+                endpoint.onInconclusive(clock.getAsLong());
+                throw e;
+            } finally {
+                endpoint.release();
+            }
+        }
+        if (lastFailure instanceof IOException) {
+            throw (IOException) lastFailure;
+        }
+        if (lastFailure != null) {
+            throw (ClientConnectionException) lastFailure;
+        }
+        throw new ClientConnectionException("No endpoint available.");
+    }
+
+    /**
+     * Lets the load balancer choose among the available endpoints that were not tried yet and
+     * reserves the chosen endpoint.
+     *
+     * @return the endpoint, or null if none is available.
+     */
+    private Endpoint acquire(Set<Endpoint> excluded) {
+        long now = clock.getAsLong();
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (!excluded.contains(endpoint) && endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        while (!candidates.isEmpty()) {
+            Endpoint endpoint = loadBalancer.select(candidates);
+            if (endpoint.tryAcquire(now)) {
+                return endpoint;
+            }
+            candidates.remove(endpoint);
+        }
+        return null;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IOException("Interrupted while waiting for the response.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static boolean isConnectionFailure(Throwable throwable) {
+        return throwable instanceof IOException || throwable instanceof ClientConnectionException;
+    }
+
+    private interface ServiceCall<T> {
+        T call(Bhpw3jService service) throws IOException;
+    }
+
+    private interface AsyncServiceCall<T> {
+        CompletableFuture<T> call(Bhpw3jService service);
+    }
+
+    /**
+     * An asynchronous call with its attempts on the different endpoints. The first successful
+     * attempt completes the call and cancels the others.
+     */
+    private final class AsyncCall<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AsyncServiceCall<T> call;
+        private final boolean idempotent;
+        private final Set<Endpoint> tried = new HashSet<>();
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>(2);
+        private int pending;
+        private ScheduledFuture<?> hedge;
+
+        AsyncCall(AsyncServiceCall<T> call, boolean idempotent) {
+            this.call = call;
+            this.idempotent = idempotent;
+        }
+
+        CompletableFuture<T> start() {
+            synchronized (this) {
+                if (!startAttempt()) {
+                    result.completeExceptionally(
+                            new ClientConnectionException("No endpoint available."));
+                    return result;
+                }
+                if (idempotent && isHedging() && !result.isDone()) {
+                    hedge = scheduler.schedule(this::startHedge, hedgeDelayNanos,
+                            TimeUnit.NANOSECONDS);
+                }
+            }
+            result.whenComplete((value, throwable) -> cancelAttempts());
+            return result;
+        }
+
+        private synchronized void startHedge() {
+            if (!result.isDone()) {
+                startAttempt();
+            }
+        }
+
+        /**
+         * @return false if no endpoint was left for the attempt.
+         */
+        private synchronized boolean startAttempt() {
+            Endpoint endpoint = acquire(tried);
+            if (endpoint == null) {
+                return false;
+            }
+            tried.add(endpoint);
+            pending++;
+            long start = clock.getAsLong();
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.call(endpoint.getService());
+            } catch (RuntimeException e) {
+                attempt = new CompletableFuture<>();
+                attempt.completeExceptionally(e);
+            }
+            attempts.add(attempt);
+            attempt.whenComplete((value, throwable) -> onAttemptComplete(
+                    endpoint, clock.getAsLong() - start, value, throwable));
+            return true;
+        }
+
+        private void onAttemptComplete(Endpoint endpoint, long latencyNanos, T value,
+                                       Throwable throwable) {
+            endpoint.release();
+            Throwable cause = unwrap(throwable);
+            if (cause == null) {
+                endpoint.onSuccess(latencyNanos);
+                result.complete(value);
+                return;
+            }
+            boolean connectionFailure = isConnectionFailure(cause);
+            if (connectionFailure) {
+                endpoint.onConnectionFailure(clock.getAsLong());
+            } else {
+                endpoint.onInconclusive(clock.getAsLong());
+            }
+            synchronized (this) {
+                pending--;
+                if (result.isDone() || cause instanceof CancellationException) {
+                    return;
+                }
+                if (idempotent && connectionFailure && startAttempt()) {
+                    return;
+                }
+                if (pending == 0) {
+                    result.completeExceptionally(cause);
+                }
+            }
+        }
+
+        private synchronized void cancelAttempts() {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            for (CompletableFuture<T> attempt : attempts) {
+                if (!attempt.isDone()) {
+                    attempt.cancel(true);
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Bhpw3jService> services = new ArrayList<>();
+        private final List<Endpoint> endpoints = new ArrayList<>();
+        private LoadBalancer loadBalancer = LoadBalancer.roundRobin();
+        private Set<String> idempotentMethods = DEFAULT_IDEMPOTENT_METHODS;
+        private int failureThreshold = 3;
+        private long openNanos = TimeUnit.SECONDS.toNanos(30);
+        private long hedgeDelayNanos;
+        private long healthCheckIntervalNanos;
+        private long maxHeightLag = Long.MAX_VALUE;
+        private ScheduledExecutorService scheduler;
+        private LongSupplier clock = System::nanoTime;
+
+        public Builder() {
+        }
+
+        /**
+         * Adds a node.
+         *
+         * @param service the service of the node, e.g. an {@code HttpService}.
+         * @return this builder.
+         */
+        public Builder endpoint(Bhpw3jService service) {
+            return endpoint("endpoint-" + services.size(), service);
+        }
+
+        /**
+         * Adds a node.
+         *
+         * @param name    the name of the node, e.g. its URL.
+         * @param service the service of the node, e.g. an {@code HttpService}.
+         * @return this builder.
+         */
+        public Builder endpoint(String name, Bhpw3jService service) {
+            names.add(name);
+            services.add(service);
+            return this;
+        }
+
+        /**
+         * @param loadBalancer the strategy to choose the node for a request. Defaults to
+         *                     {@link LoadBalancer#roundRobin()}.
+         * @return this builder.
+         */
+        public Builder loadBalancer(LoadBalancer loadBalancer) {
+            this.loadBalancer = loadBalancer;
+            return this;
+        }
+
+        /**
+         * @param idempotentMethods the methods that may be retried and hedged. Defaults to
+         *                          {@link #DEFAULT_IDEMPOTENT_METHODS}.
+         * @return this builder.
+         */
+        public Builder idempotentMethods(Collection<String> idempotentMethods) {
+            this.idempotentMethods = Collections.unmodifiableSet(new HashSet<>(idempotentMethods));
+            return this;
+        }
+
+        /**
+         * Configures the circuit breakers of the nodes. Defaults to 3 failures and 30 seconds.
+         *
+         * @param failureThreshold the number of consecutive connection failures that open the
+         *                         circuit.
+         * @param openDuration     how long an open circuit keeps requests away from the node.
+         * @param unit             the unit of the duration.
+         * @return this builder.
+         */
+        public Builder circuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("The failure threshold must be positive.");
+            }
+            this.failureThreshold = failureThreshold;
+            this.openNanos = unit.toNanos(openDuration);
+            return this;
+        }
+
+        /**
+         * Sends idempotent requests to a second node if the first one hasn't answered after the
+         * given delay. Disabled by default.
+         *
+         * @param delay the hedging delay, e.g. a high percentile of the response times.
+         * @param unit  the unit of the delay.
+         * @return this builder.
+         */
+        public Builder hedging(long delay, TimeUnit unit) {
+            this.hedgeDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * Checks the health of the nodes periodically, see
+         * {@link LoadBalancingService#checkHealth()}. Disabled by default.
+         *
+         * @param interval     the time between two checks. 0 disables the periodic check, so
+         *                     that only explicit calls check the health.
+         * @param unit         the unit of the interval.
+         * @param maxHeightLag the number of blocks a node may be behind the highest node.
+         * @return this builder.
+         */
+        public Builder healthCheck(long interval, TimeUnit unit, long maxHeightLag) {
+            this.healthCheckIntervalNanos = unit.toNanos(interval);
+            this.maxHeightLag = maxHeightLag;
+            return this;
+        }
+
+        /**
+         * @param scheduler the executor for the hedged requests and health checks. If none is
+         *                  set, the service creates a single daemon thread when needed.
+         * @return this builder.
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public LoadBalancingService build() {
+            if (services.isEmpty()) {
+                throw new IllegalStateException("At least one endpoint is required.");
+            }
+            endpoints.clear();
+            for (int i = 0; i < services.size(); i++) {
+                endpoints.add(new Endpoint(names.get(i), services.get(i), failureThreshold,
+                        openNanos));
+            }
+            LoadBalancingService service = new LoadBalancingService(this);
+            service.startHealthChecks();
+            return service;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.bhpw3j.protocol.caching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.bhpw3j.protocol.core.Request;
+
+/**
+ * Decides which results a {@link CachingService} may cache. Only results that never change
+ * should be cached, e.g. blocks requested by their hash.
+ */
+public interface CachePolicy {
+
+    /**
+     * Checks the request before it is sent.
+     *
+     * @param request the request.
+     * @return true if the result of the request may be cached. False, otherwise.
+     */
+    boolean isCacheable(Request<?, ?> request);
+
+    /**
+     * Checks the result of a request that passed {@link #isCacheable(Request)} before it is
+     * cached, e.g. whether a transaction is confirmed already. Error responses and null results
+     * are never cached and don't get here.
+     *
+     * @param request the request.
+     * @param result  the result of the request.
+     * @return true if the result may be cached. False, otherwise.
+     */
+    default boolean isCacheable(Request<?, ?> request, JsonNode result) {
+        return true;
+    }
+
+    /**
+     * <p>The policy for results that can't change once they exist:</p>
+     * <ul>
+     * <li>{@code getblock} and {@code getblockheader} by hash.</li>
+     * <li>{@code getblockhash} and {@code getblocksysfee} by index.</li>
+     * <li>{@code getrawtransaction}.</li>
+     * <li>{@code getapplicationlog}.</li>
+     * </ul>
+     * <br>
+     * <p>Only the serialized forms of blocks and transactions are cached. The verbose forms
+     * count the {@code confirmations} since the block and are always sent to the node.
+     * {@code getassetstate} is not cached either, since the owner of an asset can change its
+     * state, e.g. renew it or transfer the ownership.</p>
+     *
+     * @return the policy.
+     */
+    static CachePolicy immutableResults() {
+        return ImmutableResultsPolicy.INSTANCE;
+    }
+}
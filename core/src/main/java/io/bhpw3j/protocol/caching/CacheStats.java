@@ -0,0 +1,56 @@
+package io.bhpw3j.protocol.caching;
+
+/**
+ * The hit and miss counts of a {@link CachingService} at some point in time.
+ */
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long bypassCount;
+
+    CacheStats(long hitCount, long missCount, long bypassCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.bypassCount = bypassCount;
+    }
+
+    /**
+     * @return the number of requests answered from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of cacheable requests that had to be sent to the node.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of requests that are not cacheable by the policy and were passed
+     * through.
+     */
+    public long getBypassCount() {
+        return bypassCount;
+    }
+
+    /**
+     * @return the share of cacheable requests answered from the cache, or 0 if there were none.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", bypassCount=" + bypassCount +
+                '}';
+    }
+}
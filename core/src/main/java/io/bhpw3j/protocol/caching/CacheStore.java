@@ -0,0 +1,26 @@
+package io.bhpw3j.protocol.caching;
+
+import java.io.IOException;
+
+/**
+ * Stores the raw JSON results cached by a {@link CachingService}. Implementations have to be
+ * thread-safe and bound their size themselves, e.g. by evicting the least recently used entries.
+ */
+public interface CacheStore {
+
+    /**
+     * @param key the key of the request.
+     * @return the cached result as UTF-8 encoded JSON, or null if there is none.
+     * @throws IOException if the store can't be read.
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * Caches a result. An existing result with the same key is replaced.
+     *
+     * @param key    the key of the request.
+     * @param result the result as UTF-8 encoded JSON.
+     * @throws IOException if the store can't be written.
+     */
+    void put(String key, byte[] result) throws IOException;
+}
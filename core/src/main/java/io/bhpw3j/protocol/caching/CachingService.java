@@ -0,0 +1,303 @@
+package io.bhpw3j.protocol.caching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.ObjectMapperFactory;
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.protocol.notifications.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>A service that caches the results of requests that never change, e.g. blocks requested by
+ * their hash, and answers repeated requests without asking the node. The {@link CachePolicy}
+ * decides which results are cached, see {@link CachePolicy#immutableResults()}.</p>
+ * <br>
+ * <p>The results are cached as the JSON the node sent and deserialized anew for every hit, so
+ * callers never share response objects. The caches are checked in the order they were added to
+ * the builder, e.g. a {@link MemoryCacheStore} in front of a {@link DiskCacheStore}. A result
+ * found in a later cache is copied to the earlier ones.</p>
+ * <br>
+ * <p>Batch requests and subscriptions are passed through without caching. A cache that fails to
+ * read or write is skipped, the request then goes to the node.</p>
+ */
+public class CachingService implements Bhpw3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingService.class);
+
+    private final Bhpw3jService delegate;
+    private final CachePolicy policy;
+    private final List<CacheStore> stores;
+    private final ObjectMapper objectMapper;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    private CachingService(Builder builder) {
+        this.delegate = builder.delegate;
+        this.policy = builder.policy;
+        this.stores = Collections.unmodifiableList(new ArrayList<>(builder.stores));
+        this.objectMapper = ObjectMapperFactory.getObjectMapper(builder.includeRawResponses);
+    }
+
+    /**
+     * @return the hit and miss counts so far.
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), bypasses.sum());
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType)
+            throws IOException {
+        if (!policy.isCacheable(request)) {
+            bypasses.increment();
+            return delegate.send(request, responseType);
+        }
+        String key = cacheKey(request);
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return fromCache(request, cached, responseType);
+        }
+        misses.increment();
+        RawResult result = delegate.send(rawRequest(request), RawResult.class);
+        return fromNode(request, key, result, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request,
+                                                               Class<T> responseType) {
+        if (!policy.isCacheable(request)) {
+            bypasses.increment();
+            return delegate.sendAsync(request, responseType);
+        }
+        CompletableFuture<T> response = new CompletableFuture<>();
+        try {
+            String key = cacheKey(request);
+            byte[] cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                response.complete(fromCache(request, cached, responseType));
+                return response;
+            }
+            misses.increment();
+            delegate.sendAsync(rawRequest(request), RawResult.class)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            response.completeExceptionally(throwable);
+                            return;
+                        }
+                        try {
+                            response.complete(fromNode(request, key, result, responseType));
+                        } catch (Throwable e) {
+                            response.completeExceptionally(e);
+                        }
+                    });
+        } catch (IOException e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return delegate.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return delegate.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Observable<T> subscribe(Request request,
+                                                               String unsubscribeMethod,
+                                                               Class<T> responseType) {
+        return delegate.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private String cacheKey(Request<?, ?> request) throws IOException {
+        return request.getMethod() + objectMapper.writeValueAsString(request.getParams());
+    }
+
+    /**
+     * The same request, but with the result kept as a JSON tree.
+     */
+    private Request<?, RawResult> rawRequest(Request<?, ?> request) {
+        Request<?, RawResult> raw = new Request<>(request.getMethod(), request.getParams(),
+                delegate, RawResult.class);
+        raw.setId(request.getId());
+        return raw;
+    }
+
+    private byte[] lookup(String key) {
+        for (int i = 0; i < stores.size(); i++) {
+            byte[] cached;
+            try {
+                cached = stores.get(i).get(key);
+            } catch (IOException e) {
+                log.warn("Failed to read from cache.", e);
+                continue;
+            }
+            if (cached != null) {
+                for (int j = 0; j < i; j++) {
+                    put(stores.get(j), key, cached);
+                }
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private <T extends Response> T fromNode(Request<?, ?> request, String key, RawResult result,
+                                            Class<T> responseType) throws IOException {
+        JsonNode value = result.getResult();
+        if (!result.hasError() && value != null && !value.isNull()
+                && policy.isCacheable(request, value)) {
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            for (CacheStore store : stores) {
+                put(store, key, bytes);
+            }
+        }
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("jsonrpc", result.getJsonrpc());
+        envelope.put("id", result.getId());
+        if (result.hasError()) {
+            Response.Error error = result.getError();
+            ObjectNode errorNode = envelope.putObject("error");
+            errorNode.put("code", error.getCode());
+            errorNode.put("message", error.getMessage());
+            if (error.getData() != null) {
+                errorNode.set("data", objectMapper.readTree(error.getData()));
+            }
+        } else {
+            envelope.set("result", value);
+        }
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(envelope), responseType);
+    }
+
+    private <T extends Response> T fromCache(Request<?, ?> request, byte[] result,
+                                             Class<T> responseType) throws IOException {
+        byte[] prefix = ("{\"jsonrpc\":\"2.0\",\"id\":" + request.getId() + ",\"result\":")
+                .getBytes(UTF_8);
+        byte[] envelope = new byte[prefix.length + result.length + 1];
+        System.arraycopy(prefix, 0, envelope, 0, prefix.length);
+        System.arraycopy(result, 0, envelope, prefix.length, result.length);
+        envelope[envelope.length - 1] = '}';
+        return objectMapper.readValue(envelope, responseType);
+    }
+
+    private static void put(CacheStore store, String key, byte[] result) {
+        try {
+            store.put(key, result);
+        } catch (IOException e) {
+            log.warn("Failed to write to cache.", e);
+        }
+    }
+
+    /**
+     * A response whose result is kept as the JSON tree the node sent.
+     */
+    static class RawResult extends Response<JsonNode> {
+    }
+
+    public static class Builder {
+
+        private final Bhpw3jService delegate;
+        private final List<CacheStore> stores = new ArrayList<>();
+        private CachePolicy policy = CachePolicy.immutableResults();
+        private boolean includeRawResponses;
+
+        /**
+         * @param delegate the service to send the requests to that can't be answered from the
+         *                 cache.
+         */
+        public Builder(Bhpw3jService delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the policy that decides which results are cached. Defaults to
+         * {@link CachePolicy#immutableResults()}.
+         *
+         * @param policy the policy.
+         * @return this builder.
+         */
+        public Builder policy(CachePolicy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * Adds a {@link MemoryCacheStore}.
+         *
+         * @param maxBytes the maximum total size of the cached results in bytes.
+         * @return this builder.
+         */
+        public Builder memoryCache(long maxBytes) {
+            return cache(new MemoryCacheStore(maxBytes));
+        }
+
+        /**
+         * Adds a {@link DiskCacheStore}.
+         *
+         * @param directory the directory to keep the cached results in.
+         * @param maxBytes  the maximum total size of the cached results in bytes.
+         * @return this builder.
+         * @throws IOException if the directory can't be created or read.
+         */
+        public Builder diskCache(Path directory, long maxBytes) throws IOException {
+            return cache(new DiskCacheStore(directory, maxBytes));
+        }
+
+        /**
+         * Adds a cache. Caches are checked in the order they are added.
+         *
+         * @param store the cache.
+         * @return this builder.
+         */
+        public Builder cache(CacheStore store) {
+            stores.add(store);
+            return this;
+        }
+
+        /**
+         * @param includeRawResponses option to include or not raw responses on the
+         *                            {@link Response} objects returned by the service.
+         * @return this builder.
+         */
+        public Builder includeRawResponses(boolean includeRawResponses) {
+            this.includeRawResponses = includeRawResponses;
+            return this;
+        }
+
+        public CachingService build() {
+            if (stores.isEmpty()) {
+                throw new IllegalStateException("At least one cache is required.");
+            }
+            return new CachingService(this);
+        }
+    }
+}
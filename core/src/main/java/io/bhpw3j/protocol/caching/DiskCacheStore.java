@@ -0,0 +1,163 @@
+package io.bhpw3j.protocol.caching;
+
+import io.bhpw3j.crypto.Hash;
+import io.bhpw3j.utils.Numeric;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Keeps the cached results in files in a directory, so that they survive restarts of the
+ * application and don't take up heap.</p>
+ * <br>
+ * <p>Each result is written to a file named after the SHA-256 hash of its key. Files are written
+ * to a temporary file first and then moved into place, so a crash never leaves a partial result
+ * behind. The least recently used results are deleted once the size limit is reached. Results
+ * that are already in the directory when the store is opened are taken over, oldest first.</p>
+ * <br>
+ * <p>The directory must not be shared with other stores or other files.</p>
+ */
+public class DiskCacheStore implements CacheStore {
+
+    private static final String SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long evictionCount;
+
+    /**
+     * Opens the store, creating the directory if it doesn't exist.
+     *
+     * @param directory the directory to keep the files in.
+     * @param maxBytes  the maximum total size of the files in bytes.
+     * @throws IOException if the directory can't be created or read.
+     */
+    public DiskCacheStore(Path directory, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    private void load() throws IOException {
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    existing.add(file);
+                }
+            }
+        }
+        existing.sort(Comparator.comparingLong(DiskCacheStore::lastModified));
+        for (Path file : existing) {
+            long size = Files.size(file);
+            files.put(file.getFileName().toString(), size);
+            bytes += size;
+        }
+        evict();
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        String name = fileName(key);
+        synchronized (this) {
+            if (files.get(name) == null) {
+                return null;
+            }
+        }
+        try {
+            return Files.readAllBytes(directory.resolve(name));
+        } catch (NoSuchFileException e) {
+            // Evicted in the meantime.
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] result) throws IOException {
+        if (result.length > maxBytes) {
+            return;
+        }
+        String name = fileName(key);
+        Path temp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+        try {
+            Files.write(temp, result);
+            Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        synchronized (this) {
+            Long previous = files.put(name, (long) result.length);
+            if (previous != null) {
+                bytes -= previous;
+            }
+            bytes += result.length;
+            evict();
+        }
+    }
+
+    private synchronized void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = files.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<String, Long> entry = eldest.next();
+            Files.deleteIfExists(directory.resolve(entry.getKey()));
+            bytes -= entry.getValue();
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * @return the number of cached results.
+     */
+    public synchronized int size() {
+        return files.size();
+    }
+
+    /**
+     * @return the total size of the cached results in bytes.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of results evicted to stay within the size limit.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private static String fileName(String key) {
+        return Numeric.toHexStringNoPrefix(Hash.sha256(key.getBytes(UTF_8))) + SUFFIX;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.bhpw3j.protocol.caching;
+
+import io.bhpw3j.protocol.core.Request;
+
+import java.util.List;
+
+/**
+ * See {@link CachePolicy#immutableResults()}.
+ */
+class ImmutableResultsPolicy implements CachePolicy {
+
+    static final ImmutableResultsPolicy INSTANCE = new ImmutableResultsPolicy();
+
+    private ImmutableResultsPolicy() {
+    }
+
+    @Override
+    public boolean isCacheable(Request<?, ?> request) {
+        List<?> params = request.getParams();
+        switch (request.getMethod()) {
+            case "getblock":
+            case "getblockheader":
+                return !params.isEmpty() && params.get(0) instanceof String && !isVerbose(params);
+            case "getrawtransaction":
+                return !params.isEmpty() && !isVerbose(params);
+            case "getblockhash":
+            case "getblocksysfee":
+            case "getapplicationlog":
+                return !params.isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The verbose results contain {@code confirmations}, which grows with every block, and the
+     * {@code nextblockhash} of a block, which is missing until the next block exists. The node
+     * returns the serialized form unless the second parameter is set.
+     */
+    private static boolean isVerbose(List<?> params) {
+        if (params.size() < 2) {
+            return false;
+        }
+        Object verbose = params.get(1);
+        if (verbose instanceof Number) {
+            return ((Number) verbose).intValue() != 0;
+        }
+        return !Boolean.FALSE.equals(verbose);
+    }
+}
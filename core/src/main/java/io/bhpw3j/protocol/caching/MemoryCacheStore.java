@@ -0,0 +1,74 @@
+package io.bhpw3j.protocol.caching;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Keeps the cached results on the heap and evicts the least recently used results once the
+ * size limit is reached.</p>
+ * <br>
+ * <p>The results are kept as UTF-8 encoded JSON, which is a lot smaller than the deserialized
+ * response objects. The size of a result is its number of bytes.</p>
+ */
+public class MemoryCacheStore implements CacheStore {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long evictionCount;
+
+    /**
+     * @param maxBytes the maximum total size of the cached results in bytes.
+     */
+    public MemoryCacheStore(long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("The maximum size must be positive.");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(String key, byte[] result) {
+        if (result.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, result);
+        if (previous != null) {
+            bytes -= previous.length;
+        }
+        bytes += result.length;
+        Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().getValue().length;
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * @return the number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the cached results in bytes.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of results evicted to stay within the size limit.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
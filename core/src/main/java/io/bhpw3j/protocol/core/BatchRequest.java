@@ -0,0 +1,71 @@
+package io.bhpw3j.protocol.core;
+
+import io.bhpw3j.protocol.Bhpw3jService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>A collection of {@link Request}s that is sent to the node as a single JSON-RPC 2.0 batch,
+ * i.e. as one JSON array in one round trip.</p>
+ * <br>
+ * <p>The responses are matched back to their requests by the JSON-RPC id and deserialized
+ * into the response type of the respective request.</p>
+ */
+public class BatchRequest {
+
+    private final Bhpw3jService bhpw3jService;
+    private final List<Request<?, ? extends Response<?>>> requests = new ArrayList<>();
+    private final Set<Long> ids = new HashSet<>();
+
+    public BatchRequest(Bhpw3jService bhpw3jService) {
+        this.bhpw3jService = bhpw3jService;
+    }
+
+    /**
+     * Adds the given request to this batch.
+     *
+     * @param request the request to add.
+     * @return this batch.
+     * @throws IllegalArgumentException if the batch already contains a request with the same id,
+     *                                  since the responses are matched to the requests by id.
+     */
+    public BatchRequest add(Request<?, ? extends Response<?>> request) {
+        if (!ids.add(request.getId())) {
+            throw new IllegalArgumentException("The batch already contains a request with id "
+                    + request.getId() + ".");
+        }
+        requests.add(request);
+        return this;
+    }
+
+    /**
+     * Adds the given requests to this batch.
+     *
+     * @param requests the requests to add.
+     * @return this batch.
+     * @throws IllegalArgumentException if the batch already contains a request with the same id
+     *                                  as one of the given requests.
+     */
+    public BatchRequest addAll(List<? extends Request<?, ? extends Response<?>>> requests) {
+        requests.forEach(this::add);
+        return this;
+    }
+
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    public BatchResponse send() throws IOException {
+        return bhpw3jService.sendBatch(this);
+    }
+
+    public CompletableFuture<BatchResponse> sendAsync() {
+        return bhpw3jService.sendBatchAsync(this);
+    }
+}
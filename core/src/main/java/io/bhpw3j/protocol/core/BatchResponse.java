@@ -0,0 +1,51 @@
+package io.bhpw3j.protocol.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The responses to a {@link BatchRequest}. The response at a given position belongs to the
+ * request at the same position in {@link #getRequests()}, independent of the order in which
+ * the node returned them.
+ */
+public class BatchResponse {
+
+    private final List<Request<?, ? extends Response<?>>> requests;
+    private final List<? extends Response<?>> responses;
+    private final Map<Long, Integer> indexById;
+
+    public BatchResponse(List<Request<?, ? extends Response<?>>> requests,
+                         List<? extends Response<?>> responses) {
+        this.requests = requests;
+        this.responses = responses;
+        this.indexById = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            this.indexById.putIfAbsent(requests.get(i).getId(), i);
+        }
+    }
+
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return requests;
+    }
+
+    public List<? extends Response<?>> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Gets the response that belongs to the given request.
+     *
+     * @param request the request which is part of this batch.
+     * @param <T>     the response type of the request.
+     * @return the response, or null if the node did not answer the request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Response<?>> T getResponse(Request<?, T> request) {
+        Integer index = indexById.get(request.getId());
+        if (index == null || requests.get(index) != request) {
+            throw new IllegalArgumentException("The given request is not part of this batch.");
+        }
+        return (T) responses.get(index);
+    }
+}
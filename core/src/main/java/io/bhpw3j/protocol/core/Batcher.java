@@ -0,0 +1,14 @@
+package io.bhpw3j.protocol.core;
+
+/**
+ * Factory for {@link BatchRequest}s.
+ */
+public interface Batcher {
+
+    /**
+     * Creates a new, empty batch of JSON-RPC requests that are sent in a single round trip.
+     *
+     * @return the new batch.
+     */
+    BatchRequest newBatch();
+}
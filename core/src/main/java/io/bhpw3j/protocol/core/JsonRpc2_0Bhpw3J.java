@@ -37,9 +37,14 @@ import io.bhpw3j.protocol.core.methods.response.BhpSendMany;
 import io.bhpw3j.protocol.core.methods.response.BhpSendRawTransaction;
 import io.bhpw3j.protocol.core.methods.response.BhpSendToAddress;
 import io.bhpw3j.protocol.core.methods.response.BhpSubmitBlock;
+import io.bhpw3j.protocol.core.methods.response.BhpSubscribe;
 import io.bhpw3j.protocol.core.methods.response.BhpValidateAddress;
 import io.bhpw3j.protocol.core.methods.response.TransactionOutput;
+import io.bhpw3j.protocol.notifications.Notification;
 import io.bhpw3j.protocol.rx.JsonRpc2_0Rx;
+import io.bhpw3j.protocol.websocket.events.ApplicationLogNotification;
+import io.bhpw3j.protocol.websocket.events.NewBlocksNotification;
+import io.bhpw3j.protocol.websocket.events.NewTransactionsNotification;
 import io.bhpw3j.utils.Async;
 import rx.Observable;
 
@@ -70,11 +75,11 @@ public class JsonRpc2_0Bhpw3J implements Bhpw3j {
     }
 
     public JsonRpc2_0Bhpw3J(
-            Bhpw3jService bhpw3JService, long pollingInterval,
+            Bhpw3jService bhpw3JService, long blockTime,
             ScheduledExecutorService scheduledExecutorService) {
         this.bhpw3JService = bhpw3JService;
         this.bhpw3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService);
-        this.blockTime = pollingInterval;
+        this.blockTime = blockTime;
         this.scheduledExecutorService = scheduledExecutorService;
     }
 
@@ -512,6 +517,14 @@ public class JsonRpc2_0Bhpw3J implements Bhpw3j {
                 fullTransactionObjects, ascending);
     }
 
+    @Override
+    public Observable<BhpGetBlock> replayBlocksObservable(
+            BlockParameter startBlock, BlockParameter endBlock,
+            boolean fullTransactionObjects, boolean ascending, int maxConcurrentRequests) {
+        return bhpw3jRx.replayBlocksObservable(startBlock, endBlock,
+                fullTransactionObjects, ascending, maxConcurrentRequests);
+    }
+
     @Override
     public Observable<BhpGetBlock> catchUpToLatestBlockObservable(
             BlockParameter startBlock, boolean fullTransactionObjects,
@@ -533,6 +546,33 @@ public class JsonRpc2_0Bhpw3J implements Bhpw3j {
                 startBlock, fullTransactionObjects, blockTime);
     }
 
+    @Override
+    public Observable<NewBlocksNotification> newBlocksNotifications() {
+        return subscribe("newBlocks", NewBlocksNotification.class);
+    }
+
+    @Override
+    public Observable<NewTransactionsNotification> newTransactionsNotifications() {
+        return subscribe("newTransactions", NewTransactionsNotification.class);
+    }
+
+    @Override
+    public Observable<ApplicationLogNotification> applicationLogNotifications() {
+        return subscribe("applicationLogs", ApplicationLogNotification.class);
+    }
+
+    private <T extends Notification<?>> Observable<T> subscribe(String topic,
+                                                                Class<T> notificationType) {
+        return bhpw3JService.subscribe(
+                new Request<>(
+                        "subscribe",
+                        Collections.singletonList(topic),
+                        bhpw3JService,
+                        BhpSubscribe.class),
+                "unsubscribe",
+                notificationType);
+    }
+
     @Override
     public Request<?, BhpGetApplicationLog> getApplicationLog(String txId) {
         return new Request<>(
@@ -542,6 +582,11 @@ public class JsonRpc2_0Bhpw3J implements Bhpw3j {
                 BhpGetApplicationLog.class);
     }
 
+    @Override
+    public BatchRequest newBatch() {
+        return new BatchRequest(bhpw3JService);
+    }
+
     @Override
     public void shutdown() {
         scheduledExecutorService.shutdown();
@@ -1,5 +1,6 @@
 package io.bhpw3j.protocol.core;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.bhpw3j.protocol.Bhpw3jService;
 import rx.Observable;
 
@@ -66,6 +67,11 @@ public class Request<S, T extends Response> {
         this.id = id;
     }
 
+    @JsonIgnore
+    public Class<T> getResponseType() {
+        return responseType;
+    }
+
     public T send() throws IOException {
         return bhpw3JService.send(this, responseType);
     }
@@ -1,6 +1,10 @@
 package io.bhpw3j.protocol.core.methods.response;
 
+import io.bhpw3j.block.RawBlock;
+import io.bhpw3j.block.RawBlockHeader;
+import io.bhpw3j.io.BhpSerializableInterface;
 import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.utils.Numeric;
 
 public class BhpGetRawBlock extends Response<String> {
 
@@ -8,4 +12,33 @@ public class BhpGetRawBlock extends Response<String> {
         return getResult();
     }
 
+    /**
+     * Decodes the raw block.
+     *
+     * @return the block, or null if the response has no result.
+     * @throws IllegalArgumentException if the result is not a valid block.
+     */
+    public RawBlock getBlock() {
+        String rawBlock = getResult();
+        if (rawBlock == null) {
+            return null;
+        }
+        return BhpSerializableInterface.from(Numeric.hexStringToByteArray(rawBlock), RawBlock::new);
+    }
+
+    /**
+     * Decodes the raw block header, as returned by the {@code getblockheader} RPC method.
+     *
+     * @return the block header, or null if the response has no result.
+     * @throws IllegalArgumentException if the result is not a valid block header.
+     */
+    public RawBlockHeader getBlockHeader() {
+        String rawHeader = getResult();
+        if (rawHeader == null) {
+            return null;
+        }
+        return BhpSerializableInterface.from(Numeric.hexStringToByteArray(rawHeader),
+                RawBlockHeader::new);
+    }
+
 }
@@ -1,6 +1,8 @@
 package io.bhpw3j.protocol.core.methods.response;
 
+import io.bhpw3j.crypto.transaction.RawTransaction;
 import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.transaction.TransactionDeserializer;
 
 public class BhpGetRawTransaction extends Response<String> {
 
@@ -8,4 +10,18 @@ public class BhpGetRawTransaction extends Response<String> {
         return getResult();
     }
 
+    /**
+     * Decodes the raw transaction into the class matching its type.
+     *
+     * @return the transaction, or null if the response has no result.
+     * @throws IllegalArgumentException if the result is not a supported transaction.
+     */
+    public RawTransaction getTransaction() {
+        String rawTransaction = getResult();
+        if (rawTransaction == null) {
+            return null;
+        }
+        return TransactionDeserializer.fromHexString(rawTransaction);
+    }
+
 }
@@ -0,0 +1,11 @@
+package io.bhpw3j.protocol.core.methods.response;
+
+import io.bhpw3j.protocol.core.Response;
+
+public class BhpUnsubscribe extends Response<Boolean> {
+
+    public Boolean isUnsubscribed() {
+        return getResult();
+    }
+
+}
@@ -1,11 +1,12 @@
 package io.bhpw3j.protocol.core.methods.response;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.bhpw3j.model.types.StackItemType;
 import io.bhpw3j.protocol.core.methods.response.StackItem.StackDeserializer;
 import io.bhpw3j.utils.Numeric;
@@ -14,7 +15,6 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -172,63 +172,161 @@ public class StackItem {
         public StackItem deserialize(JsonParser jp, DeserializationContext ctxt)
                 throws IOException {
 
-            JsonNode node = jp.getCodec().readTree(jp);
-            return deserializeStackItem(node, jp);
+            return deserializeStackItem(jp, ctxt);
         }
 
-        private StackItem deserializeStackItem(JsonNode itemNode, JsonParser jp)
-                throws JsonProcessingException {
+        /**
+         * Reads a stack item directly from the token stream. The parser has to point at the
+         * first token of the item and is left at its last token. The stack item's value is
+         * usually preceded by its type and is then read without any intermediate buffering.
+         * Only if the value comes first, its tokens are buffered until the type is known.
+         */
+        private StackItem deserializeStackItem(JsonParser jp, DeserializationContext ctxt)
+                throws IOException {
 
-            JsonNode typeNode = itemNode.get("type");
-            JsonNode valueNode = itemNode.get("value");
+            if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+                jp.skipChildren();
+                return new StackItem(null, null);
+            }
             StackItemType type = null;
-            if (typeNode != null) {
-                type = jp.getCodec().treeToValue(typeNode, StackItemType.class);
+            StackItem item = null;
+            TokenBuffer bufferedValue = null;
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = jp.getCurrentName();
+                jp.nextToken();
+                if ("type".equals(fieldName)) {
+                    type = ctxt.readValue(jp, StackItemType.class);
+                } else if ("value".equals(fieldName)) {
+                    if (type != null) {
+                        item = deserializeValue(type, jp, ctxt);
+                    } else {
+                        bufferedValue = new TokenBuffer(jp, ctxt);
+                        bufferedValue.copyCurrentStructure(jp);
+                    }
+                } else {
+                    jp.skipChildren();
+                }
+            }
+            if (item != null) {
+                return item;
             }
-            if (valueNode == null) {
+            if (bufferedValue == null) {
                 return new StackItem(type, null);
             }
+            try (JsonParser valueParser = bufferedValue.asParser(jp.getCodec())) {
+                valueParser.nextToken();
+                return deserializeValue(type, valueParser, ctxt);
+            }
+        }
+
+        private StackItem deserializeValue(StackItemType type, JsonParser jp,
+                                           DeserializationContext ctxt) throws IOException {
+
             if (type == null) {
-                return new StackItem(null, valueNode.asText());
+                return new StackItem(null, readText(jp));
             }
             switch (type) {
                 case BYTE_ARRAY:
-                    return new ByteArrayStackItem(Numeric.hexStringToByteArray(valueNode.asText()));
+                    return new ByteArrayStackItem(Numeric.hexStringToByteArray(readText(jp)));
                 case BOOLEAN:
-                    return new BooleanStackItem(valueNode.asBoolean());
+                    return new BooleanStackItem(readBoolean(jp));
                 case INTEGER:
-                    if (valueNode.asText().isEmpty()) {
+                    String value = readText(jp);
+                    if (value.isEmpty()) {
                         return new IntegerStackItem(BigInteger.ZERO);
                     }
-                    return new IntegerStackItem(new BigInteger(valueNode.asText()));
+                    return new IntegerStackItem(new BigInteger(value));
                 case ARRAY:
-                    List<StackItem> items = new ArrayList<>();
-                    for (final JsonNode item : valueNode) {
-                        items.add(deserializeStackItem(item, jp));
-                    }
-                    return new ArrayStackItem(items);
+                    return new ArrayStackItem(readItems(jp, ctxt));
                 case MAP:
-                    Iterator<JsonNode> elements = valueNode.elements();
-                    Map<StackItem, StackItem> map = new HashMap<>();
-                    while (elements.hasNext()) {
-                        JsonNode element = elements.next();
-                        StackItem keyItem = deserializeStackItem(element.get("key"), jp);
-                        StackItem valueItem = deserializeStackItem(element.get("value"), jp);
-                        map.put(keyItem, valueItem);
-                    }
-                    return new MapStackItem(map);
+                    return new MapStackItem(readMapEntries(jp, ctxt));
                 case STRUCT:
-                    items = new ArrayList<>();
-                    for (final JsonNode item : valueNode) {
-                        items.add(deserializeStackItem(item, jp));
-                    }
-                    return new StructStackItem(items);
+                    return new StructStackItem(readItems(jp, ctxt));
                 case INTEROP_INTERFACE:
-                    return new StackItem(type, valueNode.asText());
+                    return new StackItem(type, readText(jp));
                 default:
                     throw new UnsupportedOperationException("Parameter type \'" + type +
                             "\' not supported.");
             }
         }
+
+        private List<StackItem> readItems(JsonParser jp, DeserializationContext ctxt)
+                throws IOException {
+
+            List<StackItem> items = new ArrayList<>();
+            if (jp.getCurrentToken() == JsonToken.START_ARRAY) {
+                while (jp.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(deserializeStackItem(jp, ctxt));
+                }
+            } else if (jp.getCurrentToken() == JsonToken.START_OBJECT) {
+                while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                    jp.nextToken();
+                    items.add(deserializeStackItem(jp, ctxt));
+                }
+            }
+            return items;
+        }
+
+        private Map<StackItem, StackItem> readMapEntries(JsonParser jp,
+                                                         DeserializationContext ctxt)
+                throws IOException {
+
+            Map<StackItem, StackItem> map = new HashMap<>();
+            if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+                jp.skipChildren();
+                return map;
+            }
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+                    jp.skipChildren();
+                    continue;
+                }
+                StackItem keyItem = null;
+                StackItem valueItem = null;
+                while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = jp.getCurrentName();
+                    jp.nextToken();
+                    if ("key".equals(fieldName)) {
+                        keyItem = deserializeStackItem(jp, ctxt);
+                    } else if ("value".equals(fieldName)) {
+                        valueItem = deserializeStackItem(jp, ctxt);
+                    } else {
+                        jp.skipChildren();
+                    }
+                }
+                map.put(keyItem, valueItem);
+            }
+            return map;
+        }
+
+        /**
+         * Reads the current value as text, with the same semantics as {@link JsonNode#asText()},
+         * i.e. containers are skipped and read as an empty string.
+         */
+        private String readText(JsonParser jp) throws IOException {
+            if (jp.getCurrentToken().isScalarValue()) {
+                return jp.getText();
+            }
+            jp.skipChildren();
+            return "";
+        }
+
+        /**
+         * Reads the current value as boolean, with the same semantics as
+         * {@link JsonNode#asBoolean()}.
+         */
+        private boolean readBoolean(JsonParser jp) throws IOException {
+            switch (jp.getCurrentToken()) {
+                case VALUE_TRUE:
+                    return true;
+                case VALUE_STRING:
+                    return "true".equals(jp.getText().trim());
+                case VALUE_NUMBER_INT:
+                    return jp.getBigIntegerValue().signum() != 0;
+                default:
+                    jp.skipChildren();
+                    return false;
+            }
+        }
     }
 }
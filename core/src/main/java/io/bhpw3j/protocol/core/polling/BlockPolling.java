@@ -3,29 +3,81 @@ package io.bhpw3j.protocol.core.polling;
 import io.bhpw3j.protocol.Bhpw3j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import rx.Observable;
 
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.IntStream;
+import java.util.function.LongSupplier;
 
+/**
+ * <p>Polls the node for new blocks and emits the index of every new block exactly once and in
+ * ascending order.</p>
+ * <br>
+ * <p>The polling interval adapts to the expected block time. Right after a new block, the poller
+ * waits half of the expected block time, then halves the wait with every poll as the next block
+ * becomes due, down to the minimum interval. If the block is overdue, i.e. the node seems stalled,
+ * the interval doubles with every poll up to the maximum interval.</p>
+ * <br>
+ * <p>A failed poll is retried after the minimum interval, doubling the wait with every further
+ * failure. If the maximum number of retries is exceeded, the error is passed to the error callback
+ * and polling stops.</p>
+ */
 public class BlockPolling {
 
     private static final Logger LOG = LoggerFactory.getLogger(BlockPolling.class);
 
+    /**
+     * The lower bound of the polling interval in milliseconds, if not specified otherwise.
+     */
+    public static final long DEFAULT_MIN_POLLING_INTERVAL = 1000;
+
+    /**
+     * The number of times a failed poll is retried before polling stops, if not specified
+     * otherwise.
+     */
+    public static final int DEFAULT_MAX_RETRIES = 5;
+
     private BigInteger currentBlock;
 
     private final Bhpw3j bhpw3J;
     private final Callback<BigInteger> callback;
+    private final Callback<Throwable> errorCallback;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService scheduledExecutorService;
+    private long blockTime;
+    private long minPollingInterval;
+    private long maxPollingInterval;
+    private int maxRetries;
 
+    private long lastBlockTime;
+    private int overduePolls;
+    private int failures;
+    private boolean cancelled;
     private ScheduledFuture<?> schedule;
 
     public BlockPolling(Bhpw3j bhpw3J, Callback<BigInteger> callback) {
+        this(bhpw3J, callback, e -> { });
+    }
+
+    /**
+     * @param bhpw3J        the client to poll with.
+     * @param callback      receives the index of each new block.
+     * @param errorCallback receives the error that stopped the polling.
+     */
+    public BlockPolling(Bhpw3j bhpw3J, Callback<BigInteger> callback,
+                        Callback<Throwable> errorCallback) {
+        this(bhpw3J, callback, errorCallback, System::currentTimeMillis);
+    }
+
+    BlockPolling(Bhpw3j bhpw3J, Callback<BigInteger> callback,
+                 Callback<Throwable> errorCallback, LongSupplier clock) {
         this.bhpw3J = bhpw3J;
         this.callback = callback;
+        this.errorCallback = errorCallback;
+        this.clock = clock;
     }
 
     public BigInteger getCurrentBlock() {
@@ -40,31 +92,120 @@ public class BlockPolling {
         return bhpw3J.getBlockCount().send().getBlockIndex();
     }
 
-    public void run(ScheduledExecutorService scheduledExecutorService, long pollingInterval) {
-        this.schedule = scheduledExecutorService.scheduleAtFixedRate(
-                () -> {
-                    try {
-                        BigInteger latestBlockNumber = getLatestBlockIndex().subtract(BigInteger.ONE);
-                        if (this.currentBlock == null) {
-                            this.currentBlock = latestBlockNumber;
-                        }
-                        if (latestBlockNumber.compareTo(getCurrentBlock()) == 1) {
-                            IntStream.rangeClosed(getCurrentBlock().add(BigInteger.ONE).intValue(), latestBlockNumber.intValue())
-                                    .forEachOrdered((blockIndex) -> {
-                                        callback.onEvent(BigInteger.valueOf(blockIndex));
-                                        nextBlock();
-                                    });
-                        }
-                    } catch (Throwable e) {
-                        LOG.error("Error on polling: {}", e);
-                        Observable.error(e);
-                    }
-                },
-                0, pollingInterval, TimeUnit.MILLISECONDS);
+    /**
+     * Starts polling with the default minimum interval and number of retries. The maximum interval
+     * is the block time.
+     *
+     * @param scheduledExecutorService the executor to poll on.
+     * @param blockTime                the expected time between two blocks in milliseconds.
+     */
+    public void run(ScheduledExecutorService scheduledExecutorService, long blockTime) {
+        run(scheduledExecutorService, blockTime, Math.min(DEFAULT_MIN_POLLING_INTERVAL, blockTime),
+                blockTime, DEFAULT_MAX_RETRIES);
+    }
+
+    /**
+     * Starts polling. The first poll happens immediately and only determines the current block.
+     *
+     * @param scheduledExecutorService the executor to poll on.
+     * @param blockTime                the expected time between two blocks in milliseconds.
+     * @param minPollingInterval       the lower bound of the polling interval in milliseconds.
+     * @param maxPollingInterval       the upper bound of the polling interval in milliseconds.
+     * @param maxRetries               the number of times a failed poll is retried before
+     *                                 polling stops.
+     */
+    public synchronized void run(ScheduledExecutorService scheduledExecutorService, long blockTime,
+                                 long minPollingInterval, long maxPollingInterval,
+                                 int maxRetries) {
+        if (minPollingInterval < 1 || maxPollingInterval < minPollingInterval) {
+            throw new IllegalArgumentException("The polling intervals must be positive and the "
+                    + "maximum interval must not be lower than the minimum interval.");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("The number of retries must not be negative.");
+        }
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.blockTime = blockTime;
+        this.minPollingInterval = minPollingInterval;
+        this.maxPollingInterval = maxPollingInterval;
+        this.maxRetries = maxRetries;
+        this.schedule = scheduledExecutorService.schedule(this::poll, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        long delay;
+        try {
+            delay = pollOnce();
+            failures = 0;
+        } catch (Throwable e) {
+            if (failures >= maxRetries) {
+                LOG.error("Polling for new blocks failed {} times, giving up.", failures + 1, e);
+                synchronized (this) {
+                    cancelled = true;
+                }
+                errorCallback.onEvent(e);
+                return;
+            }
+            LOG.warn("Polling for new blocks failed, retrying.", e);
+            delay = backOff(failures++);
+        }
+        synchronized (this) {
+            if (!cancelled) {
+                schedule = scheduledExecutorService.schedule(
+                        this::poll, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Emits the blocks added since the last poll.
+     *
+     * @return the delay until the next poll.
+     */
+    private long pollOnce() throws IOException {
+        BigInteger latestBlockIndex = getLatestBlockIndex().subtract(BigInteger.ONE);
+        long now = clock.getAsLong();
+        if (this.currentBlock == null) {
+            this.currentBlock = latestBlockIndex;
+            this.lastBlockTime = now;
+        }
+        if (latestBlockIndex.compareTo(getCurrentBlock()) > 0) {
+            // The current block is only advanced after the callback returns, so that no block is
+            // skipped if the callback fails.
+            while (getCurrentBlock().compareTo(latestBlockIndex) < 0) {
+                if (isCancelled()) {
+                    return 0;
+                }
+                callback.onEvent(getCurrentBlock().add(BigInteger.ONE));
+                nextBlock();
+            }
+            lastBlockTime = now;
+            overduePolls = 0;
+        }
+        long remaining = lastBlockTime + blockTime - now;
+        if (remaining > 0) {
+            return Math.min(maxPollingInterval, Math.max(minPollingInterval, remaining / 2));
+        }
+        return backOff(overduePolls++);
+    }
+
+    private long backOff(int attempt) {
+        if (attempt >= Long.numberOfLeadingZeros(minPollingInterval) - 1
+                || minPollingInterval << attempt > maxPollingInterval) {
+            return maxPollingInterval;
+        }
+        return minPollingInterval << attempt;
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
     }
 
-    public void cancel() {
-        schedule.cancel(false);
+    public synchronized void cancel() {
+        cancelled = true;
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
     }
 
 }
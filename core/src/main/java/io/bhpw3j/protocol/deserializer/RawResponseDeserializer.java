@@ -8,10 +8,10 @@ import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import io.bhpw3j.protocol.core.Response;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
 
 /**
  * A jackson deserializer that sets the rawResponse variable of Response objects.
@@ -53,7 +53,28 @@ public class RawResponseDeserializer
         return streamToString(inputSource);
     }
 
+    /**
+     * Reads the remaining bytes of the given stream as UTF-8 string. Like the regular
+     * expression based {@link java.util.Scanner} used before, a single trailing line
+     * terminator is dropped.
+     */
     private String streamToString(InputStream input) throws IOException {
-        return new Scanner(input, StandardCharsets.UTF_8.name()).useDelimiter("\\Z").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.available(), 32));
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            output.write(chunk, 0, read);
+        }
+        byte[] bytes = output.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\n') {
+            length--;
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+        } else if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
     }
 }
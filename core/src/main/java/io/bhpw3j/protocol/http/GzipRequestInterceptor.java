@@ -0,0 +1,49 @@
+package io.bhpw3j.protocol.http;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import java.io.IOException;
+
+/**
+ * Compresses request bodies with gzip and marks them with a {@code Content-Encoding} header.
+ * Only use this if the node, or a proxy in front of it, accepts compressed requests.
+ */
+class GzipRequestInterceptor implements Interceptor {
+
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    static final String GZIP = "gzip";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.body() == null || request.header(CONTENT_ENCODING) != null) {
+            return chain.proceed(request);
+        }
+        Request compressed = request.newBuilder()
+                .header(CONTENT_ENCODING, GZIP)
+                .method(request.method(), gzip(request.body()))
+                .build();
+        return chain.proceed(compressed);
+    }
+
+    /**
+     * Compresses the body up front, so that the request keeps a known content length and
+     * doesn't have to be sent chunked.
+     */
+    static RequestBody gzip(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink gzipSink = Okio.buffer(new GzipSink(buffer))) {
+            body.writeTo(gzipSink);
+        }
+        MediaType contentType = body.contentType();
+        return RequestBody.create(contentType, buffer.readByteString());
+    }
+}
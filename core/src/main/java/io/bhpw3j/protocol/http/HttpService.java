@@ -1,13 +1,19 @@
 package io.bhpw3j.protocol.http;
 
 import io.bhpw3j.protocol.Service;
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
 import io.bhpw3j.protocol.core.Request;
 import io.bhpw3j.protocol.core.Response;
 import io.bhpw3j.protocol.exceptions.ClientConnectionException;
-import io.bhpw3j.utils.Async;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -19,12 +25,31 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
- * HTTP implementation of the Service API.
+ * <p>HTTP implementation of the Service API.</p>
+ * <br>
+ * <p>Asynchronous requests are enqueued on the HTTP client's {@link Dispatcher} instead of
+ * being run as blocking calls on an {@link ExecutorService}. Requests exceeding the dispatcher's
+ * limits are queued without occupying a thread, see {@link #setMaxRequestsPerHost(int)}.</p>
+ * <br>
+ * <p>The responses of asynchronous {@link Request} calls are processed on the HTTP client's
+ * callback threads, unless an {@link ExecutorService} is given to the constructor. A call counts
+ * against the dispatcher's limits until its response is processed, so dependent stages of the
+ * returned futures shouldn't block.</p>
+ * <br>
+ * <p>Use the {@link Builder} to tune the connection pool, the dispatcher limits, the timeouts and
+ * the HTTP protocol of the underlying client.</p>
  */
 public class HttpService extends Service {
 
@@ -36,14 +61,14 @@ public class HttpService extends Service {
     private final String url;
     private final boolean includeRawResponses;
     private OkHttpClient httpClient;
-    private HashMap<String, String> headers = new HashMap<>();
+    private final HashMap<String, String> headers = new HashMap<>();
 
     /**
      * Create an {@link HttpService} instance.
      *
      * @param url                 the URL to the HTTP service (JSON-RPC).
      * @param httpClient          the HTTP client instance.
-     * @param executorService     an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService     an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      * @param includeRawResponses option to include or not raw responses on the {@link Response} object.
      */
     public HttpService(String url, OkHttpClient httpClient,
@@ -58,8 +83,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      *
      * @param url                 the URL to the HTTP service (JSON-RPC).
      * @param httpClient          the HTTP client instance.
@@ -75,7 +99,7 @@ public class HttpService extends Service {
      * <p>The URL is set to {@link HttpService#DEFAULT_URL}.</p>
      *
      * @param httpClient          the HTTP client instance.
-     * @param executorService     an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService     an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      * @param includeRawResponses option to include or not raw responses on the {@link Response} object.
      */
     public HttpService(OkHttpClient httpClient, ExecutorService executorService, boolean includeRawResponses) {
@@ -87,8 +111,7 @@ public class HttpService extends Service {
      * <br>
      * <p>The URL is set to {@link HttpService#DEFAULT_URL}.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      *
      * @param httpClient          the HTTP client instance.
      * @param includeRawResponses option to include or not raw responses on the {@link Response} object.
@@ -104,7 +127,7 @@ public class HttpService extends Service {
      *
      * @param url             the URL to the HTTP service (JSON-RPC).
      * @param httpClient      the HTTP client instance.
-     * @param executorService an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      */
     public HttpService(String url, OkHttpClient httpClient, ExecutorService executorService) {
         this(url, httpClient, executorService, false);
@@ -113,8 +136,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      * <br>
      * <p>The {@link #includeRawResponses} is set to false.</p>
      *
@@ -133,7 +155,7 @@ public class HttpService extends Service {
      * <p>The {@link #includeRawResponses} is set to false.</p>
      *
      * @param url             the URL to the HTTP service (JSON-RPC).
-     * @param executorService an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      */
     public HttpService(String url, ExecutorService executorService) {
         this(url, createOkHttpClient(), executorService);
@@ -142,8 +164,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      * <br>
      * <p>The HTTP client used is set by default by {@link #createOkHttpClient()}.</p>
      * <br>
@@ -161,7 +182,7 @@ public class HttpService extends Service {
      * <p>The HTTP client used is set by default by {@link #createOkHttpClient()}.</p>
      *
      * @param url                 the URL to the HTTP service (JSON-RPC).
-     * @param executorService     an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService     an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      * @param includeRawResponses option to include or not raw responses on the {@link Response} object.
      */
     public HttpService(String url, ExecutorService executorService, boolean includeRawResponses) {
@@ -171,8 +192,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      * <br>
      * <p>The HTTP client used is set by default by {@link #createOkHttpClient()}.</p>
      *
@@ -191,7 +211,7 @@ public class HttpService extends Service {
      * <p>The {@link #includeRawResponses} is set to false.</p>
      *
      * @param httpClient      the HTTP client instance.
-     * @param executorService an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      */
     public HttpService(OkHttpClient httpClient, ExecutorService executorService) {
         this(DEFAULT_URL, httpClient, executorService);
@@ -200,8 +220,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      * <br>
      * <p>The URL is set to {@link HttpService#DEFAULT_URL}.</p>
      * <br>
@@ -220,7 +239,7 @@ public class HttpService extends Service {
      * <br>
      * <p>The URL is set to {@link HttpService#DEFAULT_URL}.</p>
      *
-     * @param executorService     an external ExecutorService where asynchronous {@link Request} calls should run.
+     * @param executorService     an external ExecutorService where the responses of asynchronous {@link Request} calls are processed.
      * @param includeRawResponses option to include or not raw responses on the {@link Response} object.
      */
     public HttpService(ExecutorService executorService, boolean includeRawResponses) {
@@ -230,8 +249,7 @@ public class HttpService extends Service {
     /**
      * <p>Create an {@link HttpService} instance.</p>
      * <br>
-     * <p>An internal {@link ExecutorService} is used to run asynchronous {@link Request} calls,
-     * defined by {@link Async#defaultExecutorService()}.</p>
+     * <p>No executor service is used, see {@link HttpService}.</p>
      * <br>
      * <p>The HTTP client used is set by default by {@link #createOkHttpClient()}.</p>
      * <br>
@@ -263,17 +281,94 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        okhttp3.Response response = httpClient.newCall(buildRequest(request)).execute();
+        return processResponse(response);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return performIOAsync(request, result -> readResponse(result, responseType));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(new BatchResponse(requests, new ArrayList<>()));
+        }
+        return performIOAsync(requests, result -> readBatchResponse(result, requests));
+    }
+
+    /**
+     * Enqueues the given payload on the HTTP client. The returned future is completed from the
+     * HTTP client's callback, or on the external {@link ExecutorService} if one was provided.
+     * Cancelling the future cancels the HTTP call.
+     */
+    private <T> CompletableFuture<T> performIOAsync(Object payload, ResponseReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        okhttp3.Request httpRequest;
+        try {
+            httpRequest = buildRequest(objectMapper.writeValueAsString(payload));
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
 
+        Call call = httpClient.newCall(httpRequest);
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                if (asyncExecutorService != null) {
+                    try {
+                        asyncExecutorService.execute(() -> complete(result, response, reader));
+                    } catch (RejectedExecutionException e) {
+                        response.close();
+                        result.completeExceptionally(e);
+                    }
+                } else {
+                    complete(result, response, reader);
+                }
+            }
+        });
+        return result;
+    }
+
+    private <T> void complete(CompletableFuture<T> result, okhttp3.Response response,
+                              ResponseReader<T> reader) {
+        // we need to explicitly catch any exceptions,
+        // otherwise they will be silently discarded
+        try (InputStream inputStream = processResponse(response)) {
+            result.complete(reader.read(inputStream));
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private okhttp3.Request buildRequest(String request) {
         RequestBody requestBody = RequestBody.create(JSON_MEDIA_TYPE, request);
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+        return new okhttp3.Request.Builder()
                 .url(url)
                 .headers(headers)
                 .post(requestBody)
                 .build();
+    }
 
-        okhttp3.Response response = httpClient.newCall(httpRequest).execute();
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
         ResponseBody responseBody = response.body();
         if (response.isSuccessful()) {
             if (responseBody != null) {
@@ -343,7 +438,9 @@ public class HttpService extends Service {
     }
 
     /**
-     * Get all custom headers set to this service.
+     * <p>Get all custom headers set to this service.</p>
+     * <br>
+     * <p>Changes to the map apply to the following requests.</p>
      *
      * @return the map containing custom headers set.
      */
@@ -351,8 +448,265 @@ public class HttpService extends Service {
         return headers;
     }
 
+    /**
+     * <p>Limits the number of HTTP requests that this service has in flight to a single host at
+     * the same time. Further asynchronous requests are queued until a running request
+     * completes.</p>
+     * <br>
+     * <p>The service gets its own {@link Dispatcher} for this, so that an {@link OkHttpClient}
+     * shared with other components is not affected. The connection pool stays shared.</p>
+     *
+     * @param maxRequestsPerHost the maximum number of concurrent requests per host.
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(maxRequestsPerHost, dispatcher.getMaxRequests()));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        this.httpClient = httpClient.newBuilder().dispatcher(dispatcher).build();
+    }
+
+    /**
+     * Gets the maximum number of concurrent requests per host of this service's HTTP client.
+     *
+     * @return the maximum number of concurrent requests per host.
+     */
+    public int getMaxRequestsPerHost() {
+        return httpClient.dispatcher().getMaxRequestsPerHost();
+    }
+
+    OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Reads the result of an asynchronous HTTP call.
+     */
+    private interface ResponseReader<T> {
+        T read(InputStream result) throws IOException;
+    }
+
     @Override
     public void close() {
 
     }
+
+    /**
+     * <p>Builds an {@link HttpService} with a tuned HTTP client.</p>
+     * <br>
+     * <p>Settings that are not set keep the defaults of the {@link OkHttpClient}, or of the base
+     * client given with {@link #httpClient(OkHttpClient)}. Gzip compressed responses are always
+     * requested and decompressed transparently by the HTTP client.</p>
+     */
+    public static class Builder {
+
+        private String url = DEFAULT_URL;
+        private OkHttpClient httpClient;
+        private ExecutorService executorService;
+        private boolean includeRawResponses;
+        private int maxIdleConnections = -1;
+        private long keepAliveDurationMillis;
+        private int maxRequests = -1;
+        private int maxRequestsPerHost = -1;
+        private long connectTimeoutMillis = -1;
+        private long readTimeoutMillis = -1;
+        private long writeTimeoutMillis = -1;
+        private boolean http2PriorKnowledge;
+        private boolean gzipRequests;
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        public Builder() {
+        }
+
+        /**
+         * @param url the URL to the HTTP service (JSON-RPC). Defaults to
+         *            {@link HttpService#DEFAULT_URL}.
+         * @return this builder.
+         */
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * Derives the HTTP client from the given client instead of a new one. The derived client
+         * shares the connection pool and dispatcher of the given client unless they are
+         * configured on this builder.
+         *
+         * @param httpClient the base HTTP client.
+         * @return this builder.
+         */
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * @param executorService an external ExecutorService where the responses of asynchronous
+         *                        {@link Request} calls are processed.
+         * @return this builder.
+         */
+        public Builder executorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * @param includeRawResponses option to include or not raw responses on the
+         *                            {@link Response} object.
+         * @return this builder.
+         */
+        public Builder includeRawResponses(boolean includeRawResponses) {
+            this.includeRawResponses = includeRawResponses;
+            return this;
+        }
+
+        /**
+         * Gives the service its own connection pool.
+         *
+         * @param maxIdleConnections the maximum number of idle connections kept open.
+         * @param keepAliveDuration  how long idle connections are kept open.
+         * @param unit               the unit of the keep-alive duration.
+         * @return this builder.
+         */
+        public Builder connectionPool(int maxIdleConnections, long keepAliveDuration, TimeUnit unit) {
+            if (maxIdleConnections < 0 || keepAliveDuration <= 0) {
+                throw new IllegalArgumentException("The number of idle connections must not be " +
+                        "negative and the keep-alive duration must be positive.");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveDurationMillis = unit.toMillis(keepAliveDuration);
+            return this;
+        }
+
+        /**
+         * @param maxRequests the maximum number of concurrent requests over all hosts.
+         * @return this builder.
+         */
+        public Builder maxRequests(int maxRequests) {
+            this.maxRequests = checkPositive(maxRequests);
+            return this;
+        }
+
+        /**
+         * @param maxRequestsPerHost the maximum number of concurrent requests per host, see
+         *                           {@link HttpService#setMaxRequestsPerHost(int)}.
+         * @return this builder.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = checkPositive(maxRequestsPerHost);
+            return this;
+        }
+
+        public Builder connectTimeout(long timeout, TimeUnit unit) {
+            this.connectTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder readTimeout(long timeout, TimeUnit unit) {
+            this.readTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder writeTimeout(long timeout, TimeUnit unit) {
+            this.writeTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Speaks HTTP/2 over plain text (h2c) right away, without an HTTP/1.1 upgrade. All
+         * requests are then multiplexed over a single connection per host. The node, or a proxy
+         * in front of it, must support h2c and the URL must use the {@code http} scheme.
+         *
+         * @param http2PriorKnowledge true to use h2c with prior knowledge.
+         * @return this builder.
+         */
+        public Builder http2PriorKnowledge(boolean http2PriorKnowledge) {
+            this.http2PriorKnowledge = http2PriorKnowledge;
+            return this;
+        }
+
+        /**
+         * Compresses request bodies with gzip. Only enable this if the node, or a proxy in front
+         * of it, accepts compressed requests.
+         *
+         * @param gzipRequests true to compress requests.
+         * @return this builder.
+         */
+        public Builder gzipRequests(boolean gzipRequests) {
+            this.gzipRequests = gzipRequests;
+            return this;
+        }
+
+        /**
+         * Adds an HTTP header to all requests, see {@link HttpService#addHeader(String, String)}.
+         *
+         * @param key   the header name.
+         * @param value the header value.
+         * @return this builder.
+         */
+        public Builder header(String key, String value) {
+            this.headers.put(key, value);
+            return this;
+        }
+
+        public Builder headers(Map<String, String> headers) {
+            this.headers.putAll(headers);
+            return this;
+        }
+
+        public HttpService build() {
+            OkHttpClient.Builder builder;
+            if (httpClient != null) {
+                builder = httpClient.newBuilder();
+            } else {
+                builder = new OkHttpClient.Builder();
+                configureLogging(builder);
+            }
+            if (maxIdleConnections >= 0) {
+                builder.connectionPool(new ConnectionPool(
+                        maxIdleConnections, keepAliveDurationMillis, TimeUnit.MILLISECONDS));
+            }
+            if (maxRequests > 0 || maxRequestsPerHost > 0) {
+                Dispatcher dispatcher = new Dispatcher();
+                if (maxRequests > 0) {
+                    dispatcher.setMaxRequests(maxRequests);
+                } else {
+                    // Otherwise OkHttp's default of 64 requests caps a higher limit per host.
+                    dispatcher.setMaxRequests(
+                            Math.max(maxRequestsPerHost, dispatcher.getMaxRequests()));
+                }
+                if (maxRequestsPerHost > 0) {
+                    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+                }
+                builder.dispatcher(dispatcher);
+            }
+            if (connectTimeoutMillis >= 0) {
+                builder.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            if (readTimeoutMillis >= 0) {
+                builder.readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            if (writeTimeoutMillis >= 0) {
+                builder.writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            if (http2PriorKnowledge) {
+                builder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+            }
+            if (gzipRequests) {
+                builder.addInterceptor(new GzipRequestInterceptor());
+            }
+            HttpService service = new HttpService(
+                    url, builder.build(), executorService, includeRawResponses);
+            service.addHeaders(headers);
+            return service;
+        }
+
+        private static int checkPositive(int maxRequests) {
+            if (maxRequests <= 0) {
+                throw new IllegalArgumentException("The maximum number of requests must be " +
+                        "positive.");
+            }
+            return maxRequests;
+        }
+    }
 }
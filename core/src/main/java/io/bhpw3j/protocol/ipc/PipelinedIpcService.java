@@ -0,0 +1,205 @@
+package io.bhpw3j.protocol.ipc;
+
+import io.bhpw3j.protocol.MultiplexedService;
+import io.bhpw3j.protocol.PendingRequests;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>IPC service that keeps one persistent channel to the node and pipelines the requests on
+ * it.</p>
+ * <br>
+ * <p>Requests of any number of callers are written to the channel as they come, without waiting
+ * for the responses of earlier requests. A reader thread splits the incoming bytes into the
+ * newline-terminated responses and matches them to the waiting requests by their JSON-RPC id.
+ * Responses are handed to Jackson as bytes, without decoding them into strings first.</p>
+ * <br>
+ * <p>If the channel fails, the requests waiting for a response on it fail with the {@link
+ * IOException} and the next request opens a new channel. Requests already sent on the new channel
+ * are not affected by the failure of the old one.</p>
+ */
+public abstract class PipelinedIpcService extends MultiplexedService {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelinedIpcService.class);
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final byte NEWLINE = '\n';
+
+    private final int bufferSize;
+    private final Object writeLock = new Object();
+    private volatile Connection connection;
+    private volatile boolean closed;
+
+    /**
+     * @param executorService     an external ExecutorService where the responses of asynchronous
+     *                            {@link Request} calls are processed. If null, they are processed
+     *                            on the reader thread.
+     * @param includeRawResponses option to include or not raw responses on the {@link Response}
+     *                            object.
+     * @param bufferSize          the size of the read buffer.
+     */
+    protected PipelinedIpcService(ExecutorService executorService, boolean includeRawResponses,
+                                  int bufferSize) {
+        super(executorService, includeRawResponses);
+        this.bufferSize = bufferSize;
+    }
+
+    protected PipelinedIpcService(boolean includeRawResponses) {
+        this(null, includeRawResponses, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a new channel to the node. The channel has to be in blocking mode.
+     *
+     * @return the channel.
+     * @throws IOException if the channel can't be opened.
+     */
+    protected abstract ByteChannel openChannel() throws IOException;
+
+    /**
+     * Registers the requests with the connection they are written to, so that only the failure
+     * of that connection fails them.
+     */
+    @Override
+    protected void write(byte[] payload, List<Long> ids, CompletableFuture<byte[]> response)
+            throws IOException {
+        synchronized (writeLock) {
+            Connection c = connect();
+            pending.register(ids, response, c);
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(payload.length + 1);
+                buffer.put(payload).put(NEWLINE).flip();
+                while (buffer.hasRemaining()) {
+                    c.channel.write(buffer);
+                }
+            } catch (IOException e) {
+                pending.unregister(ids);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Gets the open connection or opens a new one. Must be called with the write lock held.
+     */
+    private Connection connect() throws IOException {
+        if (closed) {
+            throw new IOException("The service is closed.");
+        }
+        Connection c = this.connection;
+        if (c == null || !c.channel.isOpen()) {
+            c = new Connection(openChannel());
+            this.connection = c;
+            c.reader.start();
+        }
+        return c;
+    }
+
+    /**
+     * Matches a complete response to its request.
+     */
+    private void dispatch(byte[] frame, int length) {
+        List<Long> ids;
+        try {
+            ids = PendingRequests.readIds(objectMapper.getFactory(), frame, length);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable response: {}", new String(frame, 0, length, UTF_8));
+            return;
+        }
+        if (!pending.complete(ids, Arrays.copyOf(frame, length))) {
+            log.warn("Dropping response without matching request: {}",
+                    new String(frame, 0, length, UTF_8));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Connection c = this.connection;
+        if (c != null) {
+            c.channel.close();
+        }
+        pending.failAll(new IOException("The service was closed."));
+    }
+
+    /**
+     * An open channel with its reader thread.
+     */
+    private class Connection {
+
+        private final ByteChannel channel;
+        private final Thread reader;
+
+        Connection(ByteChannel channel) {
+            this.channel = channel;
+            this.reader = new Thread(this::read, "bhpw3j-ipc-reader");
+            this.reader.setDaemon(true);
+        }
+
+        /**
+         * Splits the incoming bytes into newline-terminated responses until the channel fails
+         * or is closed.
+         */
+        private void read() {
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            byte[] frame = new byte[bufferSize];
+            int frameLength = 0;
+            try {
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    byte[] array = buffer.array();
+                    int start = 0;
+                    for (int i = 0; i < buffer.limit(); i++) {
+                        if (array[i] != NEWLINE) {
+                            continue;
+                        }
+                        frame = append(frame, frameLength, array, start, i - start);
+                        frameLength += i - start;
+                        if (frameLength > 0) {
+                            dispatch(frame, frameLength);
+                        }
+                        frameLength = 0;
+                        start = i + 1;
+                    }
+                    frame = append(frame, frameLength, array, start, buffer.limit() - start);
+                    frameLength += buffer.limit() - start;
+                    buffer.clear();
+                }
+                throw new IOException("The IPC channel was closed by the node.");
+            } catch (IOException e) {
+                closeQuietly();
+                pending.failAll(this, e);
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the IPC channel.", e);
+            }
+        }
+    }
+
+    private static byte[] append(byte[] frame, int frameLength, byte[] bytes, int offset,
+                                 int length) {
+        if (frameLength + length > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, frameLength + length));
+        }
+        System.arraycopy(bytes, offset, frame, frameLength, length);
+        return frame;
+    }
+}
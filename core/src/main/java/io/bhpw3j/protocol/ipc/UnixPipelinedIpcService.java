@@ -0,0 +1,44 @@
+package io.bhpw3j.protocol.ipc;
+
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+
+import java.io.IOException;
+import java.nio.channels.ByteChannel;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Unix domain socket implementation of the {@link PipelinedIpcService}.
+ */
+public class UnixPipelinedIpcService extends PipelinedIpcService {
+
+    private final String ipcSocketPath;
+
+    /**
+     * @param ipcSocketPath       the path of the node's socket file.
+     * @param executorService     an external ExecutorService where the responses of asynchronous
+     *                            {@link Request} calls are processed.
+     * @param includeRawResponses option to include or not raw responses on the {@link Response}
+     *                            object.
+     */
+    public UnixPipelinedIpcService(String ipcSocketPath, ExecutorService executorService,
+                                   boolean includeRawResponses) {
+        super(executorService, includeRawResponses, DEFAULT_BUFFER_SIZE);
+        this.ipcSocketPath = ipcSocketPath;
+    }
+
+    public UnixPipelinedIpcService(String ipcSocketPath, boolean includeRawResponses) {
+        this(ipcSocketPath, null, includeRawResponses);
+    }
+
+    public UnixPipelinedIpcService(String ipcSocketPath) {
+        this(ipcSocketPath, false);
+    }
+
+    @Override
+    protected ByteChannel openChannel() throws IOException {
+        return UnixSocketChannel.open(new UnixSocketAddress(ipcSocketPath));
+    }
+}
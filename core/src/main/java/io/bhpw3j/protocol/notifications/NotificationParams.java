@@ -1,6 +1,7 @@
 package io.bhpw3j.protocol.notifications;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Generic class for a notification param. Contains a subscription id and a data item.
@@ -10,13 +11,23 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class NotificationParams<T> {
     private T result;
-    private String subsciption;
+
+    @JsonProperty("subscription")
+    private String subscription;
 
     public T getResult() {
         return result;
     }
 
+    public String getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * @deprecated use {@link #getSubscription()}.
+     */
+    @Deprecated
     public String getSubsciption() {
-        return subsciption;
+        return subscription;
     }
 }
@@ -4,6 +4,9 @@ import io.bhpw3j.protocol.core.BlockParameter;
 import io.bhpw3j.protocol.core.methods.response.BhpBlock;
 import io.bhpw3j.protocol.core.methods.response.BhpGetBlock;
 import io.bhpw3j.protocol.core.methods.response.Transaction;
+import io.bhpw3j.protocol.websocket.events.ApplicationLogNotification;
+import io.bhpw3j.protocol.websocket.events.NewBlocksNotification;
+import io.bhpw3j.protocol.websocket.events.NewTransactionsNotification;
 import rx.Observable;
 
 /**
@@ -50,6 +53,24 @@ public interface Bhpw3jRx {
             BlockParameter startBlock, BlockParameter endBlock,
             boolean fullTransactionObjects, boolean ascending);
 
+    /**
+     * Create an Observable that emits all blocks from the blockchain contained within the
+     * requested range, fetching up to {@code maxConcurrentRequests} blocks at once. The blocks
+     * are emitted in order and are only fetched ahead as far as the subscriber keeps up.
+     *
+     * @param startBlock             block number to commence with
+     * @param endBlock               block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *                               transaction hashes
+     * @param ascending              if true, emits blocks in ascending order between range, otherwise
+     *                               in descending order
+     * @param maxConcurrentRequests  the maximum number of block requests in flight at once
+     * @return Observable to emit these blocks
+     */
+    Observable<BhpGetBlock> replayBlocksObservable(
+            BlockParameter startBlock, BlockParameter endBlock,
+            boolean fullTransactionObjects, boolean ascending, int maxConcurrentRequests);
+
     /**
      * <p>Create an Observable that emits all transactions from the blockchain starting with a
      * provided block number. Once it has replayed up to the most current block, the provided
@@ -94,4 +115,32 @@ public interface Bhpw3jRx {
     Observable<BhpGetBlock> catchUpToLatestAndSubscribeToNewBlocksObservable(
             BlockParameter startBlock, boolean fullTransactionObjects);
 
+    /**
+     * <p>Creates an Observable that emits new blocks as the node pushes them. Unlike
+     * {@link #blockObservable(boolean)}, the node is not polled.</p>
+     * <br>
+     * <p>Requires a service that supports subscriptions, e.g. the
+     * {@link io.bhpw3j.protocol.websocket.WebSocketService}, and a node that exposes the
+     * {@code subscribe} and {@code unsubscribe} methods.</p>
+     *
+     * @return Observable that emits a notification for each new block
+     */
+    Observable<NewBlocksNotification> newBlocksNotifications();
+
+    /**
+     * Creates an Observable that emits new transactions as the node pushes them. See
+     * {@link #newBlocksNotifications()} for the requirements.
+     *
+     * @return Observable that emits a notification for each new transaction
+     */
+    Observable<NewTransactionsNotification> newTransactionsNotifications();
+
+    /**
+     * Creates an Observable that emits the application logs of executed transactions as the node
+     * pushes them. See {@link #newBlocksNotifications()} for the requirements.
+     *
+     * @return Observable that emits a notification for each application log
+     */
+    Observable<ApplicationLogNotification> applicationLogNotifications();
+
 }
@@ -25,6 +25,12 @@ import java.util.stream.Collectors;
  */
 public class JsonRpc2_0Rx {
 
+    /**
+     * The number of block requests that are in flight at once when replaying blocks, if not
+     * specified otherwise.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1;
+
     private final Bhpw3j bhpw3J;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Scheduler scheduler;
@@ -35,10 +41,18 @@ public class JsonRpc2_0Rx {
         this.scheduler = Schedulers.from(scheduledExecutorService);
     }
 
-    public Observable<BigInteger> bhpBlockObservable(long pollingInterval) {
+    /**
+     * Emits the index of every new block. The node is polled at an interval that adapts to the
+     * expected block time, see {@link BlockPolling}.
+     *
+     * @param blockTime the expected time between two blocks in milliseconds.
+     * @return the Observable of the block indices.
+     */
+    public Observable<BigInteger> bhpBlockObservable(long blockTime) {
         return Observable.create(subscriber -> {
-            BlockPolling blockPolling = new BlockPolling(bhpw3J, subscriber::onNext);
-            blockPolling.run(scheduledExecutorService, pollingInterval);
+            BlockPolling blockPolling = new BlockPolling(
+                    bhpw3J, subscriber::onNext, subscriber::onError);
+            blockPolling.run(scheduledExecutorService, blockTime);
             subscriber.add(Subscriptions.create(blockPolling::cancel));
         });
     }
@@ -52,47 +66,86 @@ public class JsonRpc2_0Rx {
     public Observable<BhpGetBlock> replayBlocksObservable(
             BlockParameter startBlock, BlockParameter endBlock,
             boolean fullTransactionObjects, boolean ascending) {
+        return replayBlocksObservable(startBlock, endBlock, fullTransactionObjects, ascending,
+                DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * <p>Replays the blocks in the given range with up to {@code maxConcurrentRequests} block
+     * requests in flight at once.</p>
+     * <br>
+     * <p>The blocks are still emitted strictly in ascending or descending order. The Observable
+     * supports backpressure, i.e. at most {@code maxConcurrentRequests} blocks are fetched ahead
+     * of what the subscriber requested.</p>
+     *
+     * @param startBlock             block number to commence with
+     * @param endBlock               block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *                               transaction hashes
+     * @param ascending              if true, emits blocks in ascending order between range,
+     *                               otherwise in descending order
+     * @param maxConcurrentRequests  the maximum number of block requests in flight
+     * @return Observable to emit these blocks
+     */
+    public Observable<BhpGetBlock> replayBlocksObservable(
+            BlockParameter startBlock, BlockParameter endBlock,
+            boolean fullTransactionObjects, boolean ascending, int maxConcurrentRequests) {
         // We use a scheduler to ensure this Observable runs asynchronously for users to be
         // consistent with the other Observables
-        return replayBlocksObservableSync(startBlock, endBlock, fullTransactionObjects, ascending)
+        return replayBlocksObservableSync(startBlock, endBlock, fullTransactionObjects, ascending,
+                maxConcurrentRequests)
                 .subscribeOn(scheduler);
     }
 
     private Observable<BhpGetBlock> replayBlocksObservableSync(
             BlockParameter startBlock, BlockParameter endBlock,
-            boolean fullTransactionObjects) {
-        return replayBlocksObservableSync(startBlock, endBlock, fullTransactionObjects, true);
+            boolean fullTransactionObjects, int maxConcurrentRequests) {
+        return replayBlocksObservableSync(startBlock, endBlock, fullTransactionObjects, true,
+                maxConcurrentRequests);
     }
 
     private Observable<BhpGetBlock> replayBlocksObservableSync(
             BlockParameter startBlock, BlockParameter endBlock,
-            boolean fullTransactionObjects, boolean ascending) {
+            boolean fullTransactionObjects, boolean ascending, int maxConcurrentRequests) {
 
-        BigInteger startBlockNumber = null;
-        BigInteger endBlockNumber = null;
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent requests must "
+                    + "be at least 1.");
+        }
+
+        BigInteger startBlockNumber;
+        BigInteger endBlockNumber;
         try {
             startBlockNumber = getBlockNumber(startBlock);
             endBlockNumber = getBlockNumber(endBlock);
         } catch (IOException e) {
-            Observable.error(e);
+            return Observable.error(e);
         }
 
-        if (ascending) {
-            return Observables.range(startBlockNumber, endBlockNumber)
-                    .flatMap(i -> bhpw3J.getBlock(new BlockParameterIndex(i), fullTransactionObjects).observable());
-        } else {
-            return Observables.range(startBlockNumber, endBlockNumber, false)
-                    .flatMap(i -> bhpw3J.getBlock(new BlockParameterIndex(i), fullTransactionObjects).observable());
-        }
+        // concatMapEager subscribes to up to maxConcurrentRequests requests at once, but emits
+        // their results in the order of the range. It only requests new block numbers from the
+        // range when the subscriber has consumed blocks.
+        return Observables.range(startBlockNumber, endBlockNumber, ascending)
+                .concatMapEager(i -> Observables.fromFuture(
+                        bhpw3J.getBlock(new BlockParameterIndex(i), fullTransactionObjects)
+                                .sendAsync()),
+                        maxConcurrentRequests, maxConcurrentRequests);
     }
 
     public Observable<BhpGetBlock> catchUpToLatestBlockObservable(
             BlockParameter startBlock, boolean fullTransactionObjects,
             Observable<BhpGetBlock> onCompleteObservable) {
+        return catchUpToLatestBlockObservable(startBlock, fullTransactionObjects,
+                onCompleteObservable, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    public Observable<BhpGetBlock> catchUpToLatestBlockObservable(
+            BlockParameter startBlock, boolean fullTransactionObjects,
+            Observable<BhpGetBlock> onCompleteObservable, int maxConcurrentRequests) {
         // We use a scheduler to ensure this Observable runs asynchronously for users to be
         // consistent with the other Observables
         return catchUpToLatestBlockObservableSync(
-                startBlock, fullTransactionObjects, onCompleteObservable)
+                startBlock, fullTransactionObjects, onCompleteObservable, maxConcurrentRequests)
                 .subscribeOn(scheduler);
     }
 
@@ -104,7 +157,7 @@ public class JsonRpc2_0Rx {
 
     private Observable<BhpGetBlock> catchUpToLatestBlockObservableSync(
             BlockParameter startBlock, boolean fullTransactionObjects,
-            Observable<BhpGetBlock> onCompleteObservable) {
+            Observable<BhpGetBlock> onCompleteObservable, int maxConcurrentRequests) {
 
         BigInteger startBlockNumber;
         BigInteger latestBlockNumber;
@@ -122,11 +175,13 @@ public class JsonRpc2_0Rx {
                     replayBlocksObservableSync(
                             new BlockParameterIndex(startBlockNumber),
                             new BlockParameterIndex(latestBlockNumber),
-                            fullTransactionObjects),
+                            fullTransactionObjects,
+                            maxConcurrentRequests),
                     Observable.defer(() -> catchUpToLatestBlockObservableSync(
                             new BlockParameterIndex(latestBlockNumber.add(BigInteger.ONE)),
                             fullTransactionObjects,
-                            onCompleteObservable)));
+                            onCompleteObservable,
+                            maxConcurrentRequests)));
         }
     }
 
@@ -139,16 +194,17 @@ public class JsonRpc2_0Rx {
 
     public Observable<BhpGetBlock> catchUpToLatestAndSubscribeToNewBlocksObservable(
             BlockParameter startBlock, boolean fullTransactionObjects,
-            long pollingInterval) {
+            long blockTime) {
 
         return catchUpToLatestBlockObservable(
                 startBlock, fullTransactionObjects,
-                blockObservable(fullTransactionObjects, pollingInterval));
+                blockObservable(fullTransactionObjects, blockTime));
     }
 
-    public Observable<BhpGetBlock> blockObservable(boolean fullTransactionObjects, long pollingInterval) {
-        return bhpBlockObservable(pollingInterval)
-                .flatMap(blockIndex ->
+    public Observable<BhpGetBlock> blockObservable(boolean fullTransactionObjects, long blockTime) {
+        // concatMap keeps the blocks in the order of their indices.
+        return bhpBlockObservable(blockTime)
+                .concatMap(blockIndex ->
                         bhpw3J.getBlock(new BlockParameterIndex(blockIndex), fullTransactionObjects).observable());
     }
 
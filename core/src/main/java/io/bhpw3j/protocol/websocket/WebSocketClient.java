@@ -0,0 +1,67 @@
+package io.bhpw3j.protocol.websocket;
+
+import org.java_websocket.handshake.ServerHandshake;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * WebSocket client that forwards its events to a {@link WebSocketListener}.
+ */
+public class WebSocketClient extends org.java_websocket.client.WebSocketClient {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketClient.class);
+
+    private volatile WebSocketListener listener;
+
+    public WebSocketClient(URI serverUri) {
+        super(serverUri);
+    }
+
+    /**
+     * @param serverUri   the URI of the node's WebSocket endpoint.
+     * @param httpHeaders HTTP headers sent with the handshake, e.g. for authorization.
+     */
+    public WebSocketClient(URI serverUri, Map<String, String> httpHeaders) {
+        super(serverUri, httpHeaders);
+    }
+
+    public void setListener(WebSocketListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onOpen(ServerHandshake serverHandshake) {
+        log.info("Opened WebSocket connection to {}", uri);
+    }
+
+    @Override
+    public void onMessage(String message) {
+        log.debug("Received message {} from server {}", message, uri);
+        WebSocketListener l = listener;
+        if (l != null) {
+            l.onMessage(message);
+        }
+    }
+
+    @Override
+    public void onClose(int code, String reason, boolean remote) {
+        log.info("Closed WebSocket connection to {}, because of reason: '{}'. " +
+                "Connection closed by remote: {}", uri, reason, remote);
+        WebSocketListener l = listener;
+        if (l != null) {
+            l.onClose(remote);
+        }
+    }
+
+    @Override
+    public void onError(Exception e) {
+        log.error(String.format("WebSocket connection to %s failed with error", uri), e);
+        WebSocketListener l = listener;
+        if (l != null) {
+            l.onError(e);
+        }
+    }
+}
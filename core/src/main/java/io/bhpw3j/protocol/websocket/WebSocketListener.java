@@ -0,0 +1,28 @@
+package io.bhpw3j.protocol.websocket;
+
+/**
+ * Receives the events of a {@link WebSocketClient}.
+ */
+public interface WebSocketListener {
+
+    /**
+     * Called when a text message is received.
+     *
+     * @param message the message.
+     */
+    void onMessage(String message);
+
+    /**
+     * Called when an error occurred on the connection.
+     *
+     * @param e the error.
+     */
+    void onError(Exception e);
+
+    /**
+     * Called when the connection was closed, by either side.
+     *
+     * @param remote true if the node closed the connection.
+     */
+    void onClose(boolean remote);
+}
@@ -0,0 +1,343 @@
+package io.bhpw3j.protocol.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.bhpw3j.protocol.MultiplexedService;
+import io.bhpw3j.protocol.PendingRequests;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.Response;
+import io.bhpw3j.protocol.core.methods.response.BhpSubscribe;
+import io.bhpw3j.protocol.core.methods.response.BhpUnsubscribe;
+import io.bhpw3j.protocol.notifications.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.subscriptions.Subscriptions;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>WebSocket implementation of the Service API.</p>
+ * <br>
+ * <p>Requests and push notifications share one connection. Responses are matched to their
+ * requests by the JSON-RPC id, so any number of requests can be in flight at once.
+ * Notifications are routed to the subscribers by their subscription id, see
+ * {@link #subscribe(Request, String, Class)}.</p>
+ * <br>
+ * <p>If the connection is lost, the requests in flight fail with an {@link IOException} and the
+ * service reconnects with an exponential backoff, see {@link #setReconnectDelay(long, long,
+ * TimeUnit)}. All active subscriptions are then established again. Notifications sent by the node
+ * while the connection was down are lost.</p>
+ */
+public class WebSocketService extends MultiplexedService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketService.class);
+
+    private final WebSocketClient client;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Set<WebSocketSubscription<?>> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<String, WebSocketSubscription<?>> subscriptionsById = new ConcurrentHashMap<>();
+
+    private volatile long initialReconnectDelayMillis = 1000;
+    private volatile long maxReconnectDelayMillis = 30000;
+    private final AtomicBoolean reconnecting = new AtomicBoolean();
+    private volatile boolean closed;
+    private int reconnectAttempts;
+
+    /**
+     * @param url                 the URL of the node's WebSocket endpoint, e.g.
+     *                            {@code ws://localhost:10334}.
+     * @param includeRawResponses option to include or not raw responses on the {@link Response}
+     *                            object.
+     */
+    public WebSocketService(String url, boolean includeRawResponses) {
+        this(new WebSocketClient(parseURI(url)), includeRawResponses);
+    }
+
+    public WebSocketService(WebSocketClient client, boolean includeRawResponses) {
+        this(client, null, includeRawResponses);
+    }
+
+    /**
+     * @param client              the WebSocket client.
+     * @param scheduler           the executor to reconnect on. If null, the service creates a
+     *                            single daemon thread.
+     * @param includeRawResponses option to include or not raw responses on the {@link Response}
+     *                            object.
+     */
+    public WebSocketService(WebSocketClient client, ScheduledExecutorService scheduler,
+                            boolean includeRawResponses) {
+        super(includeRawResponses);
+        this.client = client;
+        if (scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "bhpw3j-websocket-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ownsScheduler = true;
+        } else {
+            this.scheduler = scheduler;
+            this.ownsScheduler = false;
+        }
+        client.setListener(new WebSocketListener() {
+            @Override
+            public void onMessage(String message) {
+                WebSocketService.this.onMessage(message);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                log.debug("WebSocket error.", e);
+            }
+
+            @Override
+            public void onClose(boolean remote) {
+                WebSocketService.this.onClose();
+            }
+        });
+    }
+
+    /**
+     * Connects to the node. Has to be called before the first request.
+     *
+     * @throws ConnectException if the connection can't be established.
+     */
+    public void connect() throws ConnectException {
+        boolean connected;
+        try {
+            connected = client.connectBlocking();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while connecting via WebSocket", e);
+        }
+        if (!connected) {
+            throw new ConnectException("Failed to connect to WebSocket");
+        }
+    }
+
+    /**
+     * Sets the delays between reconnect attempts. The delay starts at the initial delay and
+     * doubles with each failed attempt, up to the maximum delay. Defaults to 1 and 30 seconds.
+     *
+     * @param initialDelay the delay before the first attempt.
+     * @param maxDelay     the maximum delay.
+     * @param unit         the unit of the delays.
+     */
+    public void setReconnectDelay(long initialDelay, long maxDelay, TimeUnit unit) {
+        this.initialReconnectDelayMillis = unit.toMillis(initialDelay);
+        this.maxReconnectDelayMillis = unit.toMillis(maxDelay);
+    }
+
+    @Override
+    protected void write(byte[] payload, List<Long> ids, CompletableFuture<byte[]> response)
+            throws IOException {
+        pending.register(ids, response);
+        try {
+            synchronized (client) {
+                client.send(new String(payload, UTF_8));
+            }
+        } catch (RuntimeException e) {
+            // Java-WebSocket signals a closed connection with unchecked exceptions.
+            pending.unregister(ids);
+            throw new IOException("The WebSocket is not connected.", e);
+        }
+    }
+
+    /**
+     * <p>Subscribes to notifications. The subscription request is sent when the returned
+     * Observable is subscribed to, and the node's reply has to contain the subscription id, see
+     * {@link BhpSubscribe}. Notifications are matched to the subscription by the {@code
+     * subscription} field of their params.</p>
+     * <br>
+     * <p>Each subscriber gets its own subscription on the node. Unsubscribing calls the
+     * unsubscribe method with the subscription id.</p>
+     */
+    @Override
+    public <T extends Notification<?>> Observable<T> subscribe(Request request,
+                                                               String unsubscribeMethod,
+                                                               Class<T> responseType) {
+        return Observable.create(subscriber -> {
+            WebSocketSubscription<T> subscription = new WebSocketSubscription<T>(
+                    request, unsubscribeMethod, responseType, subscriber);
+            subscriptions.add(subscription);
+            subscriber.add(Subscriptions.create(() -> unsubscribe(subscription)));
+            establish(subscription);
+        });
+    }
+
+    private void establish(WebSocketSubscription<?> subscription) {
+        // The handler is attached before the request is sent, so that the subscription id is known
+        // before the notifications that follow the reply are read.
+        CompletableFuture<BhpSubscribe> result = new CompletableFuture<>();
+        result.whenComplete((reply, throwable) -> {
+            if (throwable != null) {
+                if (reconnecting.get() && !closed) {
+                    // The subscription is established again after the reconnect.
+                    return;
+                }
+                subscriptions.remove(subscription);
+                subscription.getSubscriber().onError(throwable);
+                return;
+            }
+            if (reply.hasError()) {
+                subscriptions.remove(subscription);
+                subscription.getSubscriber().onError(new IOException(
+                        "Subscription request failed with error: " + reply.getError().getMessage()));
+                return;
+            }
+            String subscriptionId = reply.getSubscriptionId();
+            subscription.setSubscriptionId(subscriptionId);
+            subscriptionsById.put(subscriptionId, subscription);
+            if (!subscriptions.contains(subscription)) {
+                // Unsubscribed while the subscription request was in flight.
+                unsubscribe(subscription);
+            }
+        });
+        sendAsync(subscription.getRequest(), BhpSubscribe.class, result);
+    }
+
+    private void unsubscribe(WebSocketSubscription<?> subscription) {
+        subscriptions.remove(subscription);
+        String subscriptionId = subscription.getSubscriptionId();
+        if (subscriptionId == null || subscriptionsById.remove(subscriptionId) == null || closed) {
+            return;
+        }
+        Request<String, BhpUnsubscribe> request = new Request<>(subscription.getUnsubscribeMethod(),
+                Collections.singletonList(subscriptionId), this, BhpUnsubscribe.class);
+        sendAsync(request, BhpUnsubscribe.class).whenComplete((reply, throwable) -> {
+            if (throwable != null) {
+                log.debug("Failed to unsubscribe from subscription {}.", subscriptionId, throwable);
+            }
+        });
+    }
+
+    private void onMessage(String message) {
+        byte[] bytes = message.getBytes(UTF_8);
+        try {
+            List<Long> ids = PendingRequests.readIds(objectMapper.getFactory(), bytes, bytes.length);
+            if (!ids.isEmpty()) {
+                if (!pending.complete(ids, bytes)) {
+                    log.warn("Dropping response without matching request: {}", message);
+                }
+                return;
+            }
+            JsonNode subscriptionId = objectMapper.readTree(bytes).path("params").path("subscription");
+            WebSocketSubscription<?> subscription = subscriptionsById.get(subscriptionId.asText());
+            if (subscription == null) {
+                log.warn("Dropping message without matching request or subscription: {}", message);
+                return;
+            }
+            deliver(subscription, bytes);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable message: {}", message, e);
+        }
+    }
+
+    private <T extends Notification<?>> void deliver(WebSocketSubscription<T> subscription,
+                                                      byte[] bytes) throws IOException {
+        T notification = objectMapper.readValue(bytes, subscription.getNotificationType());
+        subscription.getSubscriber().onNext(notification);
+    }
+
+    private void onClose() {
+        subscriptionsById.clear();
+        if (closed) {
+            return;
+        }
+        // A failed reconnect attempt closes the connection again. The attempt schedules the next
+        // one itself, so only a close of an established connection starts reconnecting.
+        boolean startReconnecting = reconnecting.compareAndSet(false, true);
+        // The flag is set first, so that subscription requests still waiting for their reply
+        // are kept for the reconnect instead of failing. The requests in flight are failed before
+        // reconnecting, so that the subscription requests sent on the new connection are not
+        // failed with them.
+        pending.failAll(new IOException("The WebSocket connection was closed."));
+        if (startReconnecting) {
+            scheduleReconnect();
+        }
+    }
+
+    private synchronized void scheduleReconnect() {
+        long delay = Math.min(maxReconnectDelayMillis,
+                initialReconnectDelayMillis << Math.min(reconnectAttempts, 20));
+        reconnectAttempts++;
+        scheduler.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Attempts to reconnect, and schedules the next attempt if it fails. Only one attempt is
+     * scheduled or running at a time.
+     */
+    private void reconnect() {
+        if (closed) {
+            return;
+        }
+        boolean connected;
+        try {
+            connected = client.reconnectBlocking();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!connected) {
+            scheduleReconnect();
+            return;
+        }
+        synchronized (this) {
+            reconnectAttempts = 0;
+        }
+        reconnecting.set(false);
+        if (!client.isOpen() && reconnecting.compareAndSet(false, true)) {
+            // Closed again before onClose could start reconnecting.
+            scheduleReconnect();
+            return;
+        }
+        for (WebSocketSubscription<?> subscription : subscriptions) {
+            subscription.setSubscriptionId(null);
+            establish(subscription);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            client.closeBlocking();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.failAll(new IOException("The service was closed."));
+        for (WebSocketSubscription<?> subscription : new ArrayList<>(subscriptions)) {
+            subscriptions.remove(subscription);
+            subscription.getSubscriber().onCompleted();
+        }
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static URI parseURI(String serverUrl) {
+        try {
+            return new URI(serverUrl);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(String.format("Failed to parse URL: '%s'", serverUrl), e);
+        }
+    }
+}
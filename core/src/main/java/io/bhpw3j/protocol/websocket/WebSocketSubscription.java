@@ -0,0 +1,55 @@
+package io.bhpw3j.protocol.websocket;
+
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.notifications.Notification;
+import rx.Subscriber;
+
+/**
+ * A subscription to notifications that is kept across reconnects of the {@link WebSocketService}.
+ *
+ * @param <T> the type of the notifications.
+ */
+class WebSocketSubscription<T extends Notification<?>> {
+
+    private final Request<?, ?> request;
+    private final String unsubscribeMethod;
+    private final Class<T> notificationType;
+    private final Subscriber<? super T> subscriber;
+    private volatile String subscriptionId;
+
+    WebSocketSubscription(Request<?, ?> request, String unsubscribeMethod,
+                          Class<T> notificationType, Subscriber<? super T> subscriber) {
+        this.request = request;
+        this.unsubscribeMethod = unsubscribeMethod;
+        this.notificationType = notificationType;
+        this.subscriber = subscriber;
+    }
+
+    Request<?, ?> getRequest() {
+        return request;
+    }
+
+    String getUnsubscribeMethod() {
+        return unsubscribeMethod;
+    }
+
+    Class<T> getNotificationType() {
+        return notificationType;
+    }
+
+    Subscriber<? super T> getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * @return the id the node gave the subscription on the current connection, or null if the
+     * subscription is not established (yet).
+     */
+    String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    void setSubscriptionId(String subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+}
@@ -0,0 +1,10 @@
+package io.bhpw3j.protocol.websocket.events;
+
+import io.bhpw3j.protocol.core.methods.response.BhpApplicationLog;
+import io.bhpw3j.protocol.notifications.Notification;
+
+/**
+ * Notification about the application logs of executed transactions.
+ */
+public class ApplicationLogNotification extends Notification<BhpApplicationLog> {
+}
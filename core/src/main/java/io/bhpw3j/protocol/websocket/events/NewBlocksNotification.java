@@ -0,0 +1,10 @@
+package io.bhpw3j.protocol.websocket.events;
+
+import io.bhpw3j.protocol.core.methods.response.BhpBlock;
+import io.bhpw3j.protocol.notifications.Notification;
+
+/**
+ * Notification about new blocks.
+ */
+public class NewBlocksNotification extends Notification<BhpBlock> {
+}
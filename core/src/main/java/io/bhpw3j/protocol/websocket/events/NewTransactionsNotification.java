@@ -0,0 +1,10 @@
+package io.bhpw3j.protocol.websocket.events;
+
+import io.bhpw3j.protocol.core.methods.response.Transaction;
+import io.bhpw3j.protocol.notifications.Notification;
+
+/**
+ * Notification about new transactions.
+ */
+public class NewTransactionsNotification extends Notification<Transaction> {
+}
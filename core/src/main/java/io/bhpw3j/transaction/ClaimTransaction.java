@@ -24,11 +24,11 @@ public class ClaimTransaction extends RawTransaction {
 
     protected ClaimTransaction(Builder builder) {
         super(builder);
-        this.claims = builder.claims;
+        this.claims = new ArrayList<>(builder.claims);
     }
 
     public List<RawTransactionInput> getClaims() {
-        return claims;
+        return Collections.unmodifiableList(claims);
     }
 
     @Override
@@ -37,8 +37,8 @@ public class ClaimTransaction extends RawTransaction {
     }
 
     @Override
-    public void deserializeExclusive(BinaryReader reader) throws IOException, IllegalAccessException, InstantiationException {
-        claims = reader.readSerializableList(RawTransactionInput.class);
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        claims = reader.readSerializableList(RawTransactionInput::new);
     }
 
     public static ClaimTransaction fromClaimables(Claimables claimables, String receivingAddress) {
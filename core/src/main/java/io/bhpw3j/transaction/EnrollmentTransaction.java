@@ -0,0 +1,33 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.io.IOException;
+
+/**
+ * Enrolls a validator candidate. Deprecated on the network in favour of the
+ * {@link StateTransaction} and only decoded for completeness.
+ */
+public class EnrollmentTransaction extends RawTransaction {
+
+    private ECPoint publicKey;
+
+    public EnrollmentTransaction() { }
+
+    public ECPoint getPublicKey() {
+        return publicKey;
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) throws IOException {
+        writer.writeECPoint(publicKey);
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        this.publicKey = reader.readECPoint();
+    }
+}
@@ -25,19 +25,30 @@ public class InvocationTransaction extends RawTransaction {
     @Override
     public void serializeExclusive(BinaryWriter writer) throws IOException {
         writer.writeVarBytes(contractScript);
-        writer.write(Numeric.fromDecimalToFixed8ByteArray(this.systemFee));
+        if (getVersion() >= 1) {
+            writer.write(Numeric.fromDecimalToFixed8ByteArray(this.systemFee));
+        }
     }
 
     @Override
     public void deserializeExclusive(BinaryReader reader) throws IOException {
         this.contractScript = reader.readVarBytes();
-        this.systemFee = Numeric.fromFixed8ToDecimal(reader.readBytes(8));
+        if (getVersion() >= 1) {
+            this.systemFee = Numeric.fromFixed8ToDecimal(reader.readBytes(8));
+        } else {
+            // Version 0 transactions don't carry a system fee.
+            this.systemFee = BigDecimal.ZERO;
+        }
     }
 
     public byte[] getContractScript() {
         return this.contractScript;
     }
 
+    public BigDecimal getSystemFee() {
+        return this.systemFee;
+    }
+
     public static class Builder extends RawTransaction.Builder<Builder> {
 
         private byte[] contractScript;
@@ -0,0 +1,41 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.model.types.TransactionType;
+
+/**
+ * Issues assets that were registered with a {@link RegisterTransaction}.
+ */
+public class IssueTransaction extends RawTransaction {
+
+    public IssueTransaction() { }
+
+    protected IssueTransaction(Builder builder) {
+        super(builder);
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) {
+        // no type-specific serialization.
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) {
+        // no type-specific deserialization.
+    }
+
+    public static class Builder extends RawTransaction.Builder<Builder> {
+
+        public Builder() {
+            super();
+            transactionType(TransactionType.ISSUE_TRANSACTION);
+        }
+
+        @Override
+        public IssueTransaction build() {
+            return new IssueTransaction(this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.model.types.TransactionType;
+
+import java.io.IOException;
+
+/**
+ * The first transaction of every block, distributing the network fees to the validator.
+ */
+public class MinerTransaction extends RawTransaction {
+
+    private long nonce;
+
+    public MinerTransaction() { }
+
+    protected MinerTransaction(Builder builder) {
+        super(builder);
+        this.nonce = builder.nonce;
+    }
+
+    /**
+     * @return the nonce, an unsigned 32 bit integer.
+     */
+    public long getNonce() {
+        return nonce;
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) throws IOException {
+        writer.writeInt((int) nonce);
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        this.nonce = Integer.toUnsignedLong(reader.readInt());
+    }
+
+    public static class Builder extends RawTransaction.Builder<Builder> {
+
+        private long nonce;
+
+        public Builder() {
+            super();
+            transactionType(TransactionType.MINER_TRANSACTION);
+        }
+
+        public Builder nonce(long nonce) {
+            this.nonce = nonce; return this;
+        }
+
+        @Override
+        public MinerTransaction build() {
+            return new MinerTransaction(this);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.model.types.ContractParameterType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Publishes a contract. Deprecated on the network in favour of the {@link InvocationTransaction}
+ * and only decoded for completeness.
+ */
+public class PublishTransaction extends RawTransaction {
+
+    private byte[] script;
+    private List<ContractParameterType> parameterList;
+    private ContractParameterType returnType;
+    private boolean needStorage;
+    private String name;
+    private String codeVersion;
+    private String author;
+    private String email;
+    private String description;
+
+    public PublishTransaction() { }
+
+    public byte[] getScript() {
+        return script;
+    }
+
+    public List<ContractParameterType> getParameterList() {
+        return Collections.unmodifiableList(parameterList);
+    }
+
+    public ContractParameterType getReturnType() {
+        return returnType;
+    }
+
+    public boolean getNeedStorage() {
+        return needStorage;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCodeVersion() {
+        return codeVersion;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) throws IOException {
+        writer.writeVarBytes(script);
+        byte[] parameters = new byte[parameterList.size()];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = parameterList.get(i).byteValue();
+        }
+        writer.writeVarBytes(parameters);
+        writer.writeByte(returnType.byteValue());
+        if (getVersion() >= 1) {
+            writer.writeBoolean(needStorage);
+        }
+        writer.writeVarString(name);
+        writer.writeVarString(codeVersion);
+        writer.writeVarString(author);
+        writer.writeVarString(email);
+        writer.writeVarString(description);
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        this.script = reader.readVarBytes();
+        byte[] parameters = reader.readVarBytes();
+        try {
+            this.parameterList = new ArrayList<>(parameters.length);
+            for (byte parameter : parameters) {
+                this.parameterList.add(ContractParameterType.valueOf(parameter));
+            }
+            this.returnType = ContractParameterType.valueOf(reader.readByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown contract parameter type.", e);
+        }
+        this.needStorage = getVersion() >= 1 && reader.readBoolean();
+        this.name = reader.readVarString(252);
+        this.codeVersion = reader.readVarString(252);
+        this.author = reader.readVarString(252);
+        this.email = reader.readVarString(252);
+        this.description = reader.readVarString(65536);
+    }
+}
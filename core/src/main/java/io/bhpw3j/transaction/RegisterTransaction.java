@@ -0,0 +1,76 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.contract.ScriptHash;
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.model.types.AssetType;
+import io.bhpw3j.utils.Numeric;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Registers a global asset. Only used by the genesis block and decoded for completeness, new
+ * assets can't be registered with this transaction type anymore.
+ */
+public class RegisterTransaction extends RawTransaction {
+
+    private AssetType assetType;
+    private String name;
+    private BigDecimal amount;
+    private byte precision;
+    private ECPoint owner;
+    private ScriptHash admin;
+
+    public RegisterTransaction() { }
+
+    public AssetType getAssetType() {
+        return assetType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public byte getPrecision() {
+        return precision;
+    }
+
+    public ECPoint getOwner() {
+        return owner;
+    }
+
+    public ScriptHash getAdmin() {
+        return admin;
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) throws IOException {
+        writer.writeByte(assetType.byteValue());
+        writer.writeVarString(name);
+        writer.write(Numeric.fromDecimalToFixed8ByteArray(amount));
+        writer.writeByte(precision);
+        writer.writeECPoint(owner);
+        writer.write(admin.toArray());
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        try {
+            this.assetType = AssetType.valueOf(reader.readByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown asset type.", e);
+        }
+        this.name = reader.readVarString(1024);
+        this.amount = Numeric.fromFixed8ToDecimal(reader.readBytes(8));
+        this.precision = reader.readByte();
+        this.owner = reader.readECPoint();
+        this.admin = new ScriptHash(reader.readBytes(20));
+    }
+}
@@ -0,0 +1,72 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.io.IOUtils;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A change of the blockchain state in a {@link StateTransaction}, e.g. a vote of an account or the
+ * registration of a validator.
+ */
+public class StateDescriptor extends BhpSerializable {
+
+    public static final byte TYPE_ACCOUNT = 0x40;
+    public static final byte TYPE_VALIDATOR = 0x48;
+
+    private byte type;
+    private byte[] key;
+    private String field;
+    private byte[] value;
+
+    public StateDescriptor() { }
+
+    public StateDescriptor(byte type, byte[] key, String field, byte[] value) {
+        this.type = type;
+        this.key = key;
+        this.field = field;
+        this.value = value;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public byte[] getKey() {
+        return key;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public byte[] getValue() {
+        return value;
+    }
+
+    @Override
+    public void deserialize(BinaryReader reader) throws IOException {
+        this.type = reader.readByte();
+        this.key = reader.readVarBytes(100);
+        this.field = reader.readVarString(32);
+        this.value = reader.readVarBytes(65535);
+    }
+
+    @Override
+    public void serialize(BinaryWriter writer) throws IOException {
+        writer.writeByte(type);
+        writer.writeVarBytes(key);
+        writer.writeVarString(field);
+        writer.writeVarBytes(value);
+    }
+
+    @Override
+    public int getSize() {
+        return 1 + IOUtils.getVarSize(key) + IOUtils.getVarSize(field.getBytes(UTF_8))
+                + IOUtils.getVarSize(value);
+    }
+}
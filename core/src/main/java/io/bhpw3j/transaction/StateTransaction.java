@@ -0,0 +1,33 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes the blockchain state, e.g. votes for validators.
+ */
+public class StateTransaction extends RawTransaction {
+
+    private List<StateDescriptor> descriptors;
+
+    public StateTransaction() { }
+
+    public List<StateDescriptor> getDescriptors() {
+        return Collections.unmodifiableList(descriptors);
+    }
+
+    @Override
+    public void serializeExclusive(BinaryWriter writer) throws IOException {
+        writer.writeSerializableVariable(descriptors);
+    }
+
+    @Override
+    public void deserializeExclusive(BinaryReader reader) throws IOException {
+        this.descriptors = reader.readSerializableList(StateDescriptor::new);
+    }
+}
@@ -0,0 +1,124 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.model.types.TransactionType;
+import io.bhpw3j.utils.Numeric;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>Deserializes transactions of any type from their binary representation, e.g. from the
+ * result of the {@code getrawtransaction} RPC method or from the transactions of a raw block.</p>
+ * <br>
+ * <p>The concrete transaction class is chosen by the type byte at the start of the serialized
+ * transaction. The BHP specific types like {@link TransactionType#DATA_FILE} are not supported
+ * yet and are rejected with an {@link IOException}. Use {@link #canDeserialize(BinaryReader)} to
+ * check the next transaction of a reader beforehand.</p>
+ */
+public class TransactionDeserializer {
+
+    private static final Map<TransactionType, Supplier<? extends RawTransaction>> FACTORIES;
+
+    static {
+        Map<TransactionType, Supplier<? extends RawTransaction>> factories =
+                new EnumMap<>(TransactionType.class);
+        factories.put(TransactionType.MINER_TRANSACTION, MinerTransaction::new);
+        factories.put(TransactionType.ISSUE_TRANSACTION, IssueTransaction::new);
+        factories.put(TransactionType.CLAIM_TRANSACTION, ClaimTransaction::new);
+        factories.put(TransactionType.ENROLLMENT_TRANSACTION, EnrollmentTransaction::new);
+        factories.put(TransactionType.REGISTER_TRANSACTION, RegisterTransaction::new);
+        factories.put(TransactionType.CONTRACT_TRANSACTION, ContractTransaction::new);
+        factories.put(TransactionType.STATE_TRANSACTION, StateTransaction::new);
+        factories.put(TransactionType.PUBLISH_TRANSACTION, PublishTransaction::new);
+        factories.put(TransactionType.INVOCATION_TRANSACTION, InvocationTransaction::new);
+        FACTORIES = Collections.unmodifiableMap(factories);
+    }
+
+    private TransactionDeserializer() { }
+
+    /**
+     * Reads the next transaction from the given reader.
+     *
+     * @param reader the reader positioned at the start of a serialized transaction.
+     * @return the transaction, as an instance of the class matching its type.
+     * @throws IOException if the transaction type is unknown or not supported, or if the
+     *                     transaction can't be read.
+     */
+    public static RawTransaction deserialize(BinaryReader reader) throws IOException {
+        reader.mark(1);
+        byte typeByte = reader.readByte();
+        reader.reset();
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(typeByte);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown transaction type " + Numeric.toHexString(typeByte) + ".", e);
+        }
+        Supplier<? extends RawTransaction> factory = FACTORIES.get(type);
+        if (factory == null) {
+            throw new IOException("Unsupported transaction type " + type.jsonValue() + ".");
+        }
+        RawTransaction transaction = factory.get();
+        transaction.deserialize(reader);
+        return transaction;
+    }
+
+    /**
+     * Deserializes a transaction of any supported type.
+     *
+     * @param bytes the serialized transaction.
+     * @return the transaction.
+     * @throws IllegalArgumentException if the bytes are not a supported transaction.
+     */
+    public static RawTransaction fromArray(byte[] bytes) {
+        try (BinaryReader reader = new BinaryReader(bytes)) {
+            return deserialize(reader);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * Deserializes a transaction of any supported type.
+     *
+     * @param hexString the serialized transaction in hexadecimal, as returned by the
+     *                  {@code getrawtransaction} RPC method.
+     * @return the transaction.
+     * @throws IllegalArgumentException if the string is not a supported transaction.
+     */
+    public static RawTransaction fromHexString(String hexString) {
+        return fromArray(Numeric.hexStringToByteArray(hexString));
+    }
+
+    /**
+     * Checks the type of the next transaction of the given reader, without consuming it.
+     *
+     * @param reader the reader positioned at the start of a serialized transaction.
+     * @return true if the next transaction is of a known and supported type. False, otherwise.
+     * @throws IOException if the type byte can't be read.
+     */
+    public static boolean canDeserialize(BinaryReader reader) throws IOException {
+        reader.mark(1);
+        byte typeByte = reader.readByte();
+        reader.reset();
+        for (TransactionType type : FACTORIES.keySet()) {
+            if (type.byteValue() == typeByte) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param type the transaction type.
+     * @return true if transactions of the given type can be deserialized. False, otherwise.
+     */
+    public static boolean isSupported(TransactionType type) {
+        return FACTORIES.containsKey(type);
+    }
+}
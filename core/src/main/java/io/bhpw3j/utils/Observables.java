@@ -1,8 +1,11 @@
 package io.bhpw3j.utils;
 
 import rx.Observable;
+import rx.observables.SyncOnSubscribe;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Observable utility functions.
@@ -15,7 +18,10 @@ public class Observables {
     }
 
     /**
-     * Simple Observable implementation to emit a range of BigInteger values.
+     * <p>Simple Observable implementation to emit a range of BigInteger values.</p>
+     * <br>
+     * <p>The Observable supports backpressure, i.e. it only emits as many values as its
+     * subscriber requested.</p>
      *
      * @param startValue first value to emit in range
      * @param endValue final value to emit in range
@@ -32,31 +38,52 @@ public class Observables {
         }
 
         if (ascending) {
-            return Observable.create(subscriber -> {
-                for (BigInteger i = startValue;
-                        i.compareTo(endValue) < 1
-                             && !subscriber.isUnsubscribed();
-                        i = i.add(BigInteger.ONE)) {
-                    subscriber.onNext(i);
-                }
-
-                if (!subscriber.isUnsubscribed()) {
-                    subscriber.onCompleted();
-                }
-            });
+            return Observable.create(SyncOnSubscribe.<BigInteger, BigInteger>createStateful(
+                    () -> startValue,
+                    (i, observer) -> {
+                        if (i.compareTo(endValue) < 1) {
+                            observer.onNext(i);
+                        } else {
+                            observer.onCompleted();
+                        }
+                        return i.add(BigInteger.ONE);
+                    }));
         } else {
-            return Observable.create(subscriber -> {
-                for (BigInteger i = endValue;
-                        i.compareTo(startValue) > -1
-                             && !subscriber.isUnsubscribed();
-                        i = i.subtract(BigInteger.ONE)) {
-                    subscriber.onNext(i);
-                }
-
-                if (!subscriber.isUnsubscribed()) {
-                    subscriber.onCompleted();
-                }
-            });
+            return Observable.create(SyncOnSubscribe.<BigInteger, BigInteger>createStateful(
+                    () -> endValue,
+                    (i, observer) -> {
+                        if (i.compareTo(startValue) > -1) {
+                            observer.onNext(i);
+                        } else {
+                            observer.onCompleted();
+                        }
+                        return i.subtract(BigInteger.ONE);
+                    }));
         }
     }
+
+    /**
+     * Creates an Observable that emits the result of the given future once it completes,
+     * without blocking a thread while waiting for it.
+     *
+     * @param future the future to wrap
+     * @param <T>    the type of the future's result
+     * @return Observable that emits the result or the error of the future
+     */
+    public static <T> Observable<T> fromFuture(final CompletableFuture<T> future) {
+        return Observable.create(subscriber ->
+                future.whenComplete((result, throwable) -> {
+                    if (subscriber.isUnsubscribed()) {
+                        return;
+                    }
+                    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                        subscriber.onError(throwable.getCause());
+                    } else if (throwable != null) {
+                        subscriber.onError(throwable);
+                    } else {
+                        subscriber.onNext(result);
+                        subscriber.onCompleted();
+                    }
+                }));
+    }
 }
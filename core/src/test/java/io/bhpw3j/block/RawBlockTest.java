@@ -0,0 +1,80 @@
+package io.bhpw3j.block;
+
+import io.bhpw3j.io.BhpSerializableInterface;
+import io.bhpw3j.transaction.MinerTransaction;
+import io.bhpw3j.utils.Numeric;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class RawBlockTest {
+
+    private static final String HEADER_HEX = "00000000ebaa4ed893333db1ed556bb24145f4e7fe40b9c7c07ff2235c7d3d361ddb27e603da9da4c7420d090d0e29c588cfd701b3f81819375e537c634bd779ddc7e2e2c436cc5ba53f00001952d428256ad0cdbe48d3a3f5d10013ab9ffee489706078714f1ea201c340c44387d762d1bcb2ab0ec650628c7c674021f333ee7666e2a03805ad86df3b826b5dbf5ac607a361807a047d43cf6bba726dcb06a42662aee7e78886c72faef940e6cef9abab82e1e90c6683ac8241b3bf51a10c908f01465f19c3df1099ef5de5d43a648a6e4ab63cc7d5e88146bddbe950e8041e44a2b0b81f21ad706e88258540fd19314f46ad452b4cbedf58bf9d266c0c808374cd33ef18d9a0575b01e47f6bb04abe76036619787c457c49288aeb91ff23cdb85771c0209db184801d5bdd348b532102103a7f7dd016558597f7960d27c516a4394fd968b9e65155eb4b013e4040406e2102a7bc55fe8684e0119768d104ba30795bdcc86619e864add26156723ed185cd622102b3622bf4017bdfe317c58aed5f4c753f206b7db896046fa7d774bbc4bf7f8dc22103d90c07df63e690ce77912e10ab51acc944b66860237b608c4f8f8309e71ee69954ae";
+
+    private static final String BLOCK_HEX = HEADER_HEX + "0100001952d42800000000";
+
+    @Test
+    public void deserializeBlock() {
+        RawBlock block = BhpSerializableInterface.from(Numeric.hexStringToByteArray(BLOCK_HEX), RawBlock::new);
+
+        assertThat(block.getVersion(), is(0));
+        assertThat(block.getPrevHash(), is("e627db1d363d7d5c23f27fc0c7b940fee7f44541b26b55edb13d3393d84eaaeb"));
+        assertThat(block.getMerkleRoot(), is("e2e2c7dd79d74b637c535e371918f8b301d7cf88c5290e0d090d42c7a49dda03"));
+        assertThat(block.getTimestamp(), is(1540110020L));
+        assertThat(block.getIndex(), is(16293L));
+        assertThat(block.getConsensusData(), is(0xcdd06a2528d45219L));
+        assertThat(block.getNextConsensus().toString(), is("a21e4f7178607089e4fe9fab1300d1f5a3d348be"));
+        assertThat(block.getScript().getVerificationScript().getSigningThreshold(), is(3));
+        assertThat(block.getHash(), is("d8992f0a7827961aebd474d5b98a418d4a4ac95866c0c49c2d21b75318b1186d"));
+        assertThat(block.getTransactions().size(), is(1));
+        assertThat(block.isFullyDecoded(), is(true));
+        assertThat(block.getTransactions().get(0), instanceOf(MinerTransaction.class));
+        assertThat(((MinerTransaction) block.getTransactions().get(0)).getNonce(), is(0x28d45219L));
+    }
+
+    @Test
+    public void serializeBlock() {
+        byte[] bytes = Numeric.hexStringToByteArray(BLOCK_HEX);
+        RawBlock block = BhpSerializableInterface.from(bytes, RawBlock::new);
+
+        assertArrayEquals(bytes, block.toArray());
+        assertThat(block.getSize(), is(bytes.length));
+    }
+
+    @Test
+    public void deserializeBlockWithUnsupportedTransaction() {
+        String undecoded = "1200deadbeef";
+        byte[] bytes = Numeric.hexStringToByteArray(
+                HEADER_HEX + "02" + "00001952d42800000000" + undecoded);
+        RawBlock block = BhpSerializableInterface.from(bytes, RawBlock::new);
+
+        assertThat(block.getHash(), is("d8992f0a7827961aebd474d5b98a418d4a4ac95866c0c49c2d21b75318b1186d"));
+        assertThat(block.getTransactionCount(), is(2L));
+        assertThat(block.isFullyDecoded(), is(false));
+        assertThat(block.getTransactions().size(), is(1));
+        assertThat(block.getTransactions().get(0), instanceOf(MinerTransaction.class));
+        assertArrayEquals(Numeric.hexStringToByteArray(undecoded), block.getUndecodedTransactions());
+        assertArrayEquals(bytes, block.toArray());
+        assertThat(block.getSize(), is(bytes.length));
+    }
+
+    @Test
+    public void deserializeBlockHeader() {
+        byte[] bytes = Numeric.hexStringToByteArray(HEADER_HEX + "00");
+        RawBlockHeader header = BhpSerializableInterface.from(bytes, RawBlockHeader::new);
+
+        assertThat(header.getIndex(), is(16293L));
+        assertThat(header.getHash(), is("d8992f0a7827961aebd474d5b98a418d4a4ac95866c0c49c2d21b75318b1186d"));
+        assertArrayEquals(bytes, header.toArray());
+        assertThat(header.getSize(), is(bytes.length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deserializeBlockAsHeader() {
+        BhpSerializableInterface.from(Numeric.hexStringToByteArray(BLOCK_HEX), RawBlockHeader::new);
+    }
+
+}
@@ -6,6 +6,7 @@ import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import okio.Buffer;
 import org.junit.Before;
 
@@ -63,6 +64,7 @@ public abstract class RequestTester {
                     .protocol(Protocol.HTTP_2)
                     .code(200)
                     .message("")
+                    .body(ResponseBody.create(HttpService.JSON_MEDIA_TYPE, "{}"))
                     .build();
 
             return response;
@@ -0,0 +1,290 @@
+package io.bhpw3j.protocol.balancing;
+
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import io.bhpw3j.protocol.core.methods.response.BhpSendRawTransaction;
+import io.bhpw3j.protocol.exceptions.ClientConnectionException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LoadBalancingServiceTest {
+
+    private Bhpw3jService service1;
+    private Bhpw3jService service2;
+    private AtomicLong clock;
+
+    @Before
+    public void setUp() {
+        service1 = mock(Bhpw3jService.class);
+        service2 = mock(Bhpw3jService.class);
+        clock = new AtomicLong();
+    }
+
+    @Test
+    public void testRoundRobin() throws IOException {
+        when(service1.send(any(Request.class), any())).thenReturn(blockCount(1));
+        when(service2.send(any(Request.class), any())).thenReturn(blockCount(2));
+        LoadBalancingService service = builder().build();
+
+        for (int i = 0; i < 4; i++) {
+            service.send(getBlockCount(service), BhpBlockCount.class);
+        }
+
+        verify(service1, times(2)).send(any(Request.class), any());
+        verify(service2, times(2)).send(any(Request.class), any());
+    }
+
+    @Test
+    public void testIdempotentRequestFailsOver() throws IOException {
+        when(service1.send(any(Request.class), any())).thenThrow(new IOException("refused"));
+        when(service2.send(any(Request.class), any())).thenReturn(blockCount(2));
+        LoadBalancingService service = builder().build();
+
+        BhpBlockCount count = service.send(getBlockCount(service), BhpBlockCount.class);
+
+        assertThat(count.getBlockIndex(), is(BigInteger.valueOf(2)));
+        assertThat(service.getEndpoints().get(0).getOutstandingRequests(), is(0));
+    }
+
+    @Test
+    public void testOtherRequestIsNotRetried() throws IOException {
+        when(service1.send(any(Request.class), any()))
+                .thenThrow(new ClientConnectionException("Invalid response received: 502"));
+        LoadBalancingService service = builder().build();
+        Request<String, BhpSendRawTransaction> request = new Request<>("sendrawtransaction",
+                Collections.singletonList("80000001"), service, BhpSendRawTransaction.class);
+
+        try {
+            service.send(request, BhpSendRawTransaction.class);
+            fail("No exception");
+        } catch (ClientConnectionException e) {
+            verify(service2, never()).send(any(Request.class), any());
+        }
+    }
+
+    @Test
+    public void testCircuitBreaker() throws IOException {
+        when(service1.send(any(Request.class), any())).thenThrow(new IOException("refused"));
+        when(service2.send(any(Request.class), any())).thenReturn(blockCount(2));
+        LoadBalancingService service = builder()
+                .loadBalancer(endpoints -> endpoints.get(0))
+                .circuitBreaker(2, 10, TimeUnit.NANOSECONDS)
+                .build();
+        Endpoint endpoint1 = service.getEndpoints().get(0);
+
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        assertFalse(endpoint1.isCircuitOpen());
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        assertTrue(endpoint1.isCircuitOpen());
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        verify(service1, times(2)).send(any(Request.class), any());
+
+        clock.addAndGet(10);
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        verify(service1, times(3)).send(any(Request.class), any());
+        // The failed trial request opens the circuit right away.
+        assertTrue(endpoint1.isCircuitOpen());
+    }
+
+    @Test
+    public void testHealthCheckRemovesLaggingEndpoint() throws IOException {
+        when(service1.sendAsync(any(Request.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(blockCount(100)));
+        when(service2.sendAsync(any(Request.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(blockCount(90)));
+        when(service1.send(any(Request.class), any())).thenReturn(blockCount(100));
+        LoadBalancingService service = builder().healthCheck(0, TimeUnit.SECONDS, 5).build();
+
+        service.checkHealth().join();
+
+        assertTrue(service.getEndpoints().get(0).isHealthy());
+        assertThat(service.getEndpoints().get(1).getHeight(), is(90L));
+        assertFalse(service.getEndpoints().get(1).isHealthy());
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        verify(service2, never()).send(any(Request.class), any());
+    }
+
+    @Test
+    public void testHealthCheckDoesNotWaitForStalledEndpoint() throws Exception {
+        doReturn(new CompletableFuture<>()).when(service1).sendAsync(any(Request.class), any());
+        when(service2.sendAsync(any(Request.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(blockCount(100)));
+        LoadBalancingService service = builder()
+                .healthCheck(20, TimeUnit.MILLISECONDS, 5)
+                .build();
+        Endpoint endpoint1 = service.getEndpoints().get(0);
+        Endpoint endpoint2 = service.getEndpoints().get(1);
+
+        assertFalse(service.checkHealth().isDone());
+        // The periodic check gives up on the stalled endpoint after the check interval.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((endpoint1.isHealthy() || endpoint2.getHeight() != 100)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(endpoint1.isHealthy());
+        assertTrue(endpoint2.isHealthy());
+        service.close();
+    }
+
+    @Test
+    public void testCircuitReopensAfterInconclusiveTrial() throws IOException {
+        when(service1.send(any(Request.class), any()))
+                .thenThrow(new IOException("refused"))
+                .thenThrow(new IllegalStateException("unexpected response"))
+                .thenReturn(blockCount(1));
+        when(service2.send(any(Request.class), any())).thenReturn(blockCount(2));
+        LoadBalancingService service = builder()
+                .loadBalancer(endpoints -> endpoints.get(0))
+                .circuitBreaker(1, 10, TimeUnit.NANOSECONDS)
+                .build();
+        Endpoint endpoint1 = service.getEndpoints().get(0);
+
+        service.send(getBlockCount(service), BhpBlockCount.class);
+        assertTrue(endpoint1.isCircuitOpen());
+
+        clock.addAndGet(10);
+        try {
+            service.send(getBlockCount(service), BhpBlockCount.class);
+            fail("No exception");
+        } catch (IllegalStateException e) {
+            assertTrue(endpoint1.isCircuitOpen());
+        }
+
+        clock.addAndGet(10);
+        BhpBlockCount count = service.send(getBlockCount(service), BhpBlockCount.class);
+        assertThat(count.getBlockIndex(), is(BigInteger.ONE));
+        assertFalse(endpoint1.isCircuitOpen());
+    }
+
+    @Test
+    public void testCircuitReopensAfterTrialLosesHedge() throws Exception {
+        CompletableFuture<BhpBlockCount> refused = new CompletableFuture<>();
+        refused.completeExceptionally(new IOException("refused"));
+        CompletableFuture<BhpBlockCount> slow = new CompletableFuture<>();
+        doReturn(refused)
+                .doReturn(slow)
+                .doReturn(CompletableFuture.completedFuture(blockCount(1)))
+                .when(service1).sendAsync(any(Request.class), any());
+        when(service2.sendAsync(any(Request.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(blockCount(2)));
+        LoadBalancingService service = builder()
+                .loadBalancer(endpoints -> endpoints.get(0))
+                .circuitBreaker(1, 10, TimeUnit.NANOSECONDS)
+                .hedging(10, TimeUnit.MILLISECONDS)
+                .build();
+        Endpoint endpoint1 = service.getEndpoints().get(0);
+
+        service.sendAsync(getBlockCount(service), BhpBlockCount.class).get(5, TimeUnit.SECONDS);
+        assertTrue(endpoint1.isCircuitOpen());
+
+        // The trial request on endpoint 1 is slow and loses against the hedge on endpoint 2.
+        clock.addAndGet(10);
+        BhpBlockCount count = service.sendAsync(getBlockCount(service), BhpBlockCount.class)
+                .get(5, TimeUnit.SECONDS);
+        assertThat(count.getBlockIndex(), is(BigInteger.valueOf(2)));
+        assertTrue(slow.isCancelled());
+        assertTrue(endpoint1.isCircuitOpen());
+
+        clock.addAndGet(10);
+        count = service.sendAsync(getBlockCount(service), BhpBlockCount.class)
+                .get(5, TimeUnit.SECONDS);
+        assertThat(count.getBlockIndex(), is(BigInteger.ONE));
+        assertFalse(endpoint1.isCircuitOpen());
+        service.close();
+    }
+
+    @Test
+    public void testHedgedRequest() throws Exception {
+        CompletableFuture<BhpBlockCount> slow = new CompletableFuture<>();
+        doReturn(slow).when(service1).sendAsync(any(Request.class), any());
+        when(service2.sendAsync(any(Request.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(blockCount(2)));
+        LoadBalancingService service = new LoadBalancingService.Builder()
+                .endpoint(service1)
+                .endpoint(service2)
+                .hedging(10, TimeUnit.MILLISECONDS)
+                .build();
+
+        BhpBlockCount count = service.sendAsync(getBlockCount(service), BhpBlockCount.class)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(count.getBlockIndex(), is(BigInteger.valueOf(2)));
+        assertTrue(slow.isCancelled());
+        service.close();
+    }
+
+    @Test
+    public void testLeastOutstanding() {
+        Endpoint endpoint1 = endpoint("1");
+        Endpoint endpoint2 = endpoint("2");
+        endpoint1.tryAcquire(0);
+
+        assertThat(LoadBalancer.leastOutstanding().select(Arrays.asList(endpoint1, endpoint2)),
+                is(endpoint2));
+    }
+
+    @Test
+    public void testLatencyEwma() {
+        Endpoint fast = endpoint("fast");
+        Endpoint slow = endpoint("slow");
+        Endpoint unmeasured = endpoint("unmeasured");
+        fast.onSuccess(1000);
+        slow.onSuccess(5000);
+        slow.onSuccess(10000);
+
+        assertThat(slow.getLatencyNanos(), is(5000 + Endpoint.LATENCY_EWMA_WEIGHT * 5000));
+        assertThat(LoadBalancer.latencyEwma().select(Arrays.asList(fast, slow)), is(fast));
+        assertThat(LoadBalancer.latencyEwma().select(Arrays.asList(fast, unmeasured)),
+                is(unmeasured));
+        for (int i = 0; i < 10; i++) {
+            fast.tryAcquire(0);
+        }
+        assertThat(LoadBalancer.latencyEwma().select(Arrays.asList(fast, slow)), is(slow));
+    }
+
+    private LoadBalancingService.Builder builder() {
+        return new LoadBalancingService.Builder()
+                .endpoint("node1", service1)
+                .endpoint("node2", service2)
+                .clock(clock::get);
+    }
+
+    private static Endpoint endpoint(String name) {
+        return new Endpoint(name, mock(Bhpw3jService.class), 1, 1);
+    }
+
+    private static Request<String, BhpBlockCount> getBlockCount(Bhpw3jService service) {
+        return new Request<>("getblockcount", Collections.<String>emptyList(), service,
+                BhpBlockCount.class);
+    }
+
+    private static BhpBlockCount blockCount(long count) {
+        BhpBlockCount blockCount = new BhpBlockCount();
+        blockCount.setResult(BigInteger.valueOf(count));
+        return blockCount;
+    }
+}
@@ -0,0 +1,191 @@
+package io.bhpw3j.protocol.caching;
+
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.ObjectMapperFactory;
+import io.bhpw3j.protocol.core.BlockParameterIndex;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import io.bhpw3j.protocol.core.methods.response.BhpGetRawTransaction;
+import io.bhpw3j.protocol.core.methods.response.BhpGetTransaction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingServiceTest {
+
+    private static final String TX_ID =
+            "0x1f31821787b0a53df0ff7d6e0e7ecba3ac19dd517d6d2ea5aaf00432c20831d6";
+
+    private static final String RAW_TX = "80000001195876cb34364dc38b730077156c6bc3a7fc570044a66fbfe"
+            + "ac6df2b8fb3a8d0000";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Bhpw3jService delegate;
+
+    @Before
+    public void setUp() {
+        delegate = mock(Bhpw3jService.class);
+    }
+
+    @Test
+    public void testRawTransactionIsCached() throws Exception {
+        nodeReturnsRawTransaction();
+        CachingService service = new CachingService.Builder(delegate).memoryCache(1 << 20).build();
+        Bhpw3j bhpw3j = Bhpw3j.build(service);
+
+        BhpGetRawTransaction first = bhpw3j.getRawTransaction(TX_ID).send();
+        BhpGetRawTransaction second = bhpw3j.getRawTransaction(TX_ID).send();
+        BhpGetRawTransaction third = bhpw3j.getRawTransaction(TX_ID).sendAsync().get();
+
+        verify(delegate, times(1)).send(any(Request.class), eq(CachingService.RawResult.class));
+        assertThat(second.getRawTransaction(), is(RAW_TX));
+        assertThat(third.getRawTransaction(), is(RAW_TX));
+        assertThat(second, not(sameInstance(first)));
+        assertThat(service.getStats().getHitCount(), is(2L));
+        assertThat(service.getStats().getMissCount(), is(1L));
+        assertThat(service.getStats().getHitRate(), is(2 / 3.0));
+    }
+
+    @Test
+    public void testVerboseTransactionIsNotCached() throws Exception {
+        BhpGetTransaction transaction = new BhpGetTransaction();
+        doReturn(transaction).when(delegate).send(any(Request.class), eq(BhpGetTransaction.class));
+        CachingService service = new CachingService.Builder(delegate).memoryCache(1 << 20).build();
+        Bhpw3j bhpw3j = Bhpw3j.build(service);
+
+        // The confirmations of a verbose transaction grow with every block.
+        bhpw3j.getTransaction(TX_ID).send();
+        bhpw3j.getTransaction(TX_ID).send();
+
+        verify(delegate, times(2)).send(any(Request.class), eq(BhpGetTransaction.class));
+        assertThat(service.getStats().getBypassCount(), is(2L));
+    }
+
+    @Test
+    public void testImmutableResultsPolicy() {
+        CachePolicy policy = CachePolicy.immutableResults();
+        Bhpw3j bhpw3j = Bhpw3j.build(delegate);
+
+        assertThat(policy.isCacheable(bhpw3j.getRawBlock("0xabcd")), is(true));
+        assertThat(policy.isCacheable(bhpw3j.getRawBlockHeader("0xabcd")), is(true));
+        assertThat(policy.isCacheable(bhpw3j.getBlock("0xabcd", true)), is(false));
+        assertThat(policy.isCacheable(bhpw3j.getBlockHeader("0xabcd")), is(false));
+        assertThat(policy.isCacheable(bhpw3j.getRawBlock(
+                new BlockParameterIndex(BigInteger.ONE))), is(false));
+        assertThat(policy.isCacheable(bhpw3j.getAssetState("0xabcd")), is(false));
+    }
+
+    @Test
+    public void testErrorsAreNotCached() throws Exception {
+        doReturn(rawResult("{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":"
+                + "{\"code\":-100,\"message\":\"Unknown transaction\"}}"))
+                .when(delegate).send(any(Request.class), eq(CachingService.RawResult.class));
+        CachingService service = new CachingService.Builder(delegate).memoryCache(1 << 20).build();
+        Bhpw3j bhpw3j = Bhpw3j.build(service);
+
+        BhpGetRawTransaction response = bhpw3j.getRawTransaction(TX_ID).send();
+        bhpw3j.getRawTransaction(TX_ID).send();
+
+        assertThat(response.getError().getCode(), is(-100));
+        assertThat(response.getError().getMessage(), is("Unknown transaction"));
+        verify(delegate, times(2)).send(any(Request.class), eq(CachingService.RawResult.class));
+    }
+
+    @Test
+    public void testMutableResultsBypassTheCache() throws Exception {
+        BhpBlockCount blockCount = new BhpBlockCount();
+        blockCount.setResult(BigInteger.TEN);
+        doReturn(blockCount).when(delegate).send(any(Request.class), eq(BhpBlockCount.class));
+        doReturn(CompletableFuture.completedFuture(blockCount))
+                .when(delegate).sendAsync(any(Request.class), eq(BhpBlockCount.class));
+        CachingService service = new CachingService.Builder(delegate).memoryCache(1 << 20).build();
+        Bhpw3j bhpw3j = Bhpw3j.build(service);
+
+        assertThat(bhpw3j.getBlockCount().send(), is(sameInstance(blockCount)));
+        assertThat(bhpw3j.getBlockCount().sendAsync().get(), is(sameInstance(blockCount)));
+        assertThat(service.getStats().getBypassCount(), is(2L));
+    }
+
+    @Test
+    public void testDiskCacheSurvivesRestart() throws Exception {
+        nodeReturnsRawTransaction();
+        Path directory = folder.getRoot().toPath().resolve("cache");
+        Bhpw3j bhpw3j = Bhpw3j.build(new CachingService.Builder(delegate)
+                .diskCache(directory, 1 << 20).build());
+        bhpw3j.getRawTransaction(TX_ID).send();
+
+        CachingService restarted = new CachingService.Builder(delegate)
+                .memoryCache(1 << 20)
+                .diskCache(directory, 1 << 20)
+                .build();
+        BhpGetRawTransaction second = Bhpw3j.build(restarted).getRawTransaction(TX_ID).send();
+
+        verify(delegate, times(1)).send(any(Request.class), eq(CachingService.RawResult.class));
+        assertThat(second.getRawTransaction(), is(RAW_TX));
+        assertThat(restarted.getStats().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void testMemoryCacheEvictsLeastRecentlyUsed() {
+        MemoryCacheStore store = new MemoryCacheStore(10);
+        store.put("a", new byte[4]);
+        store.put("b", new byte[4]);
+        store.get("a");
+        store.put("c", new byte[4]);
+
+        assertThat(store.get("a").length, is(4));
+        assertThat(store.get("b"), is(nullValue()));
+        assertThat(store.get("c").length, is(4));
+        assertThat(store.getBytes(), is(8L));
+        assertThat(store.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void testDiskCacheEvictsLeastRecentlyUsed() throws IOException {
+        DiskCacheStore store = new DiskCacheStore(folder.getRoot().toPath(), 10);
+        store.put("a", "1234".getBytes(UTF_8));
+        store.put("b", "5678".getBytes(UTF_8));
+        store.get("a");
+        store.put("c", "9012".getBytes(UTF_8));
+
+        assertThat(new String(store.get("a"), UTF_8), is("1234"));
+        assertThat(store.get("b"), is(nullValue()));
+        assertThat(store.size(), is(2));
+        assertThat(folder.getRoot().list().length, is(2));
+    }
+
+    private void nodeReturnsRawTransaction() throws IOException {
+        String response = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"" + RAW_TX + "\"}";
+        doReturn(rawResult(response))
+                .when(delegate).send(any(Request.class), eq(CachingService.RawResult.class));
+        doReturn(CompletableFuture.completedFuture(rawResult(response)))
+                .when(delegate).sendAsync(any(Request.class),
+                eq(CachingService.RawResult.class));
+    }
+
+    private static CachingService.RawResult rawResult(String json) throws IOException {
+        return ObjectMapperFactory.getObjectMapper().readValue(json, CachingService.RawResult.class);
+    }
+}
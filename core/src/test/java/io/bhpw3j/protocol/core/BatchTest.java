@@ -0,0 +1,202 @@
+package io.bhpw3j.protocol.core;
+
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockHash;
+import io.bhpw3j.protocol.exceptions.ClientConnectionException;
+import io.bhpw3j.protocol.http.HttpService;
+import io.bhpw3j.protocol.notifications.Notification;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static io.bhpw3j.protocol.http.HttpService.JSON_MEDIA_TYPE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class BatchTest {
+
+    private BatchInterceptor interceptor;
+    private Bhpw3j bhpw3j;
+
+    @Before
+    public void setUp() {
+        interceptor = new BatchInterceptor();
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .build();
+        bhpw3j = Bhpw3j.build(new HttpService(httpClient));
+    }
+
+    @Test
+    public void testBatchIsSentAsSingleJsonArray() throws Exception {
+        Request<?, BhpBlockCount> blockCount = bhpw3j.getBlockCount();
+        Request<?, BhpBlockHash> blockHash = bhpw3j.getBlockHash(new BlockParameterIndex(1));
+        interceptor.response = "[" + blockCountResponse(blockCount.getId()) + ","
+                + blockHashResponse(blockHash.getId()) + "]";
+
+        bhpw3j.newBatch().add(blockCount).add(blockHash).send();
+
+        assertThat(interceptor.calls, is(1));
+        assertThat(interceptor.requestBody, is("["
+                + "{\"jsonrpc\":\"2.0\",\"method\":\"getblockcount\",\"params\":[],\"id\":"
+                + blockCount.getId() + "},"
+                + "{\"jsonrpc\":\"2.0\",\"method\":\"getblockhash\",\"params\":[1],\"id\":"
+                + blockHash.getId() + "}]"));
+    }
+
+    @Test
+    public void testResponsesAreMatchedById() throws Exception {
+        Request<?, BhpBlockCount> blockCount = bhpw3j.getBlockCount();
+        Request<?, BhpBlockHash> blockHash = bhpw3j.getBlockHash(new BlockParameterIndex(1));
+        // The node may answer in a different order than the requests were sent.
+        interceptor.response = "[" + blockHashResponse(blockHash.getId()) + ","
+                + blockCountResponse(blockCount.getId()) + "]";
+
+        BatchResponse batchResponse = bhpw3j.newBatch().add(blockCount).add(blockHash).send();
+
+        assertThat(batchResponse.getResponses().get(0) instanceof BhpBlockCount, is(true));
+        assertThat(batchResponse.getResponse(blockCount).getBlockIndex(), is(BigInteger.valueOf(1234)));
+        assertThat(batchResponse.getResponse(blockHash).getBlockHash(),
+                is("0x147ad6a26f1d5a9bb2bea3f0b2ca9fab3190d7db52c8c4e5e8d4b7cd8c5d5b33"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResponseOfRequestOutsideOfBatchIsRejected() throws Exception {
+        Request<?, BhpBlockCount> blockCount = bhpw3j.getBlockCount();
+        Request<?, BhpBlockCount> other = bhpw3j.getBlockCount();
+        other.setId(blockCount.getId());
+        interceptor.response = "[" + blockCountResponse(blockCount.getId()) + "]";
+
+        BatchResponse batchResponse = bhpw3j.newBatch().add(blockCount).send();
+
+        batchResponse.getResponse(other);
+    }
+
+    @Test
+    public void testBatchAsync() throws Exception {
+        Request<?, BhpBlockCount> blockCount = bhpw3j.getBlockCount();
+        interceptor.response = "[" + blockCountResponse(blockCount.getId()) + "]";
+
+        BatchResponse batchResponse = bhpw3j.newBatch().add(blockCount).sendAsync().get();
+
+        assertThat(batchResponse.getResponse(blockCount).getBlockIndex(), is(BigInteger.valueOf(1234)));
+    }
+
+    @Test
+    public void testEmptyBatchIsNotSent() throws Exception {
+        BatchResponse batchResponse = bhpw3j.newBatch().send();
+
+        assertThat(interceptor.calls, is(0));
+        assertThat(batchResponse.getResponses().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testNonArrayResponse() throws Exception {
+        interceptor.response = "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                + "\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}";
+        try {
+            bhpw3j.newBatch().add(bhpw3j.getBlockCount()).send();
+        } catch (ClientConnectionException e) {
+            assertThat(e.getMessage(), startsWith("Invalid batch response received"));
+            return;
+        }
+        throw new AssertionError("No exception");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateIdIsRejected() {
+        Request<?, BhpBlockCount> blockCount = bhpw3j.getBlockCount();
+        Request<?, BhpBlockCount> sameId = bhpw3j.getBlockCount();
+        sameId.setId(blockCount.getId());
+
+        bhpw3j.newBatch().add(blockCount).add(sameId);
+    }
+
+    @Test
+    public void testServiceWithoutBatchSupportSendsRequestsSeparately() throws Exception {
+        List<String> methods = new ArrayList<>();
+        Bhpw3jService service = new Bhpw3jService() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends Response> T send(Request request, Class<T> responseType) {
+                methods.add(request.getMethod());
+                BhpBlockCount response = new BhpBlockCount();
+                response.setResult(BigInteger.valueOf(methods.size()));
+                return (T) response;
+            }
+
+            @Override
+            public <T extends Response> CompletableFuture<T> sendAsync(
+                    Request request, Class<T> responseType) {
+                return CompletableFuture.completedFuture(send(request, responseType));
+            }
+
+            @Override
+            public <T extends Notification<?>> Observable<T> subscribe(
+                    Request request, String unsubscribeMethod, Class<T> responseType) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Bhpw3j separate = Bhpw3j.build(service);
+        Request<?, BhpBlockCount> first = separate.getBlockCount();
+        Request<?, BhpBlockCount> second = separate.getBlockCount();
+
+        BatchResponse batchResponse = separate.newBatch().add(first).add(second).send();
+        assertThat(batchResponse.getResponse(first).getBlockIndex(), is(BigInteger.ONE));
+        assertThat(batchResponse.getResponse(second).getBlockIndex(), is(BigInteger.valueOf(2)));
+
+        batchResponse = separate.newBatch().add(first).sendAsync().get();
+        assertThat(batchResponse.getResponse(first).getBlockIndex(), is(BigInteger.valueOf(3)));
+        assertThat(methods.size(), is(3));
+    }
+
+    private static String blockCountResponse(long id) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":1234}";
+    }
+
+    private static String blockHashResponse(long id) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":"
+                + "\"0x147ad6a26f1d5a9bb2bea3f0b2ca9fab3190d7db52c8c4e5e8d4b7cd8c5d5b33\"}";
+    }
+
+    private static class BatchInterceptor implements Interceptor {
+
+        private String response;
+        private String requestBody;
+        private int calls;
+
+        @Override
+        public okhttp3.Response intercept(Chain chain) throws IOException {
+            calls++;
+            Buffer buffer = new Buffer();
+            chain.request().body().writeTo(buffer);
+            requestBody = buffer.readUtf8();
+
+            return new okhttp3.Response.Builder()
+                    .body(ResponseBody.create(JSON_MEDIA_TYPE, response))
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_2)
+                    .code(200)
+                    .message("")
+                    .build();
+        }
+    }
+}
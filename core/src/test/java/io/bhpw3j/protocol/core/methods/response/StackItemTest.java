@@ -308,4 +308,51 @@ public class StackItemTest extends ResponseTester {
         assertEquals(other, item);
         assertEquals(other.hashCode(), item.hashCode());
     }
+
+    @Test
+    public void testDeserializeStackItemWithValueBeforeType() throws IOException {
+        String json = ""
+                + "{"
+                + "  \"value\": ["
+                + "    {"
+                + "      \"value\": \"576f6f6c6f6e67\","
+                + "      \"type\": \"ByteArray\""
+                + "    },"
+                + "    {"
+                + "      \"type\": \"Integer\","
+                + "      \"value\": \"100\""
+                + "    }"
+                + "  ],"
+                + "  \"type\": \"Array\""
+                + "}";
+
+        ArrayStackItem item = OBJECT_MAPPER.readValue(json, StackItem.class).asArray();
+        assertEquals(2, item.size());
+        assertEquals("Woolong", item.get(0).asByteArray().getAsString());
+        assertEquals(BigInteger.valueOf(100), item.get(1).asInteger().getValue());
+    }
+
+    @Test
+    public void testDeserializeStackItemsInsideEnclosingObject() throws IOException {
+        String json = ""
+                + "{"
+                + "  \"stack\": ["
+                + "    {"
+                + "      \"type\": \"Boolean\","
+                + "      \"unknown\": { \"nested\": [1, 2] },"
+                + "      \"value\": true"
+                + "    },"
+                + "    {"
+                + "      \"type\": \"Integer\""
+                + "    }"
+                + "  ],"
+                + "  \"state\": \"HALT\""
+                + "}";
+
+        InvocationResult result = OBJECT_MAPPER.readValue(json, InvocationResult.class);
+        assertEquals("HALT", result.getState());
+        assertEquals(2, result.getStack().size());
+        assertTrue(result.getStack().get(0).asBoolean().getValue());
+        assertEquals(new StackItem(StackItemType.INTEGER, null), result.getStack().get(1));
+    }
 }
@@ -0,0 +1,218 @@
+package io.bhpw3j.protocol.core.polling;
+
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BlockPollingTest {
+
+    private static final long BLOCK_TIME = 16000;
+    private static final long MIN_INTERVAL = 1000;
+    private static final long MAX_INTERVAL = 8000;
+
+    private Bhpw3j bhpw3j;
+    private ScheduledExecutorService executor;
+    private Request<?, BhpBlockCount> getBlockCount;
+    private List<BigInteger> blocks;
+    private List<Throwable> errors;
+    private long now;
+    private BigInteger failAt;
+    private BlockPolling polling;
+    private int polls;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        bhpw3j = mock(Bhpw3j.class);
+        getBlockCount = mock(Request.class);
+        doReturn(getBlockCount).when(bhpw3j).getBlockCount();
+        blocks = new ArrayList<>();
+        errors = new ArrayList<>();
+        startPolling(MAX_INTERVAL);
+    }
+
+    @Test
+    public void testEmitsEveryNewBlockInOrder() throws Exception {
+        blockCount(10);
+        poll();
+        assertThat(blocks.isEmpty(), is(true));
+
+        blockCount(14);
+        poll();
+        assertThat(blocks, is(indices(10, 11, 12, 13)));
+    }
+
+    @Test
+    public void testHandlesIndicesBeyondIntRange() throws Exception {
+        BigInteger large = BigInteger.valueOf(Integer.MAX_VALUE);
+        blockCount(large.add(BigInteger.ONE));
+        poll();
+        blockCount(large.add(BigInteger.valueOf(3)));
+        poll();
+
+        assertThat(blocks, is(Arrays.asList(
+                large.add(BigInteger.ONE), large.add(BigInteger.valueOf(2)))));
+    }
+
+    @Test
+    public void testIntervalTightensTowardsBlockTimeAndBacksOffWhenOverdue() throws Exception {
+        blockCount(10);
+        assertThat(poll(), is(8000L));
+        now += 8000;
+        assertThat(poll(), is(4000L));
+        now += 4000;
+        assertThat(poll(), is(2000L));
+        now += 2000;
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        // Overdue from here on.
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        assertThat(poll(), is(2000L));
+        now += 2000;
+        assertThat(poll(), is(4000L));
+        now += 4000;
+        assertThat(poll(), is(8000L));
+        now += 8000;
+        assertThat(poll(), is(8000L));
+
+        blockCount(11);
+        assertThat(poll(), is(8000L));
+        assertThat(blocks, is(indices(10)));
+    }
+
+    @Test
+    public void testIntervalNeverExceedsMaximum() throws Exception {
+        startPolling(2000);
+        blockCount(10);
+        // Half of the remaining block time exceeds the maximum until the block is 4 seconds away.
+        for (int i = 0; i < 7; i++) {
+            assertThat(poll(), is(2000L));
+            now += 2000;
+        }
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        // Overdue from here on.
+        assertThat(poll(), is(1000L));
+        now += 1000;
+        assertThat(poll(), is(2000L));
+        now += 2000;
+        assertThat(poll(), is(2000L));
+
+        blockCount(11);
+        assertThat(poll(), is(2000L));
+        assertThat(blocks, is(indices(10)));
+    }
+
+    @Test
+    public void testRetriesFailedPollsAndReportsTheFinalError() throws Exception {
+        blockCount(10);
+        poll();
+        IOException error = new IOException("Node unavailable");
+        when(getBlockCount.send()).thenThrow(error);
+
+        assertThat(poll(), is(1000L));
+        assertThat(poll(), is(2000L));
+        assertThat(errors.isEmpty(), is(true));
+        assertThat(poll(), is(nullValue()));
+        assertThat(errors, is(Arrays.<Throwable>asList(error)));
+    }
+
+    @Test
+    public void testNoBlockIsSkippedIfTheCallbackFails() throws Exception {
+        blockCount(10);
+        poll();
+        failAt = BigInteger.valueOf(11);
+        blockCount(13);
+
+        assertThat(poll(), is(1000L));
+        assertThat(blocks, is(indices(10)));
+        assertThat(polling.getCurrentBlock(), is(BigInteger.TEN));
+
+        poll();
+        assertThat(blocks, is(indices(10, 11, 12)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startPolling(long maxInterval) {
+        executor = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(executor)
+                .schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        polls = 0;
+        polling = new BlockPolling(bhpw3j, index -> {
+            if (index.equals(failAt)) {
+                failAt = null;
+                throw new IllegalStateException("Subscriber failed");
+            }
+            blocks.add(index);
+        }, errors::add, () -> now);
+        polling.run(executor, BLOCK_TIME, MIN_INTERVAL, maxInterval, 2);
+    }
+
+    private void blockCount(long count) throws IOException {
+        blockCount(BigInteger.valueOf(count));
+    }
+
+    private void blockCount(BigInteger count) throws IOException {
+        BhpBlockCount response = new BhpBlockCount();
+        response.setResult(count);
+        when(getBlockCount.send()).thenReturn(response);
+    }
+
+    /**
+     * Runs the scheduled poll and returns the delay of the poll it scheduled, or null if it
+     * scheduled none.
+     */
+    private Long poll() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        polls++;
+        verify(executor, times(polls)).schedule(
+                task.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        task.getValue().run();
+        ArgumentCaptor<Long> next = ArgumentCaptor.forClass(Long.class);
+        try {
+            verify(executor, times(polls + 1)).schedule(
+                    any(Runnable.class), next.capture(), eq(TimeUnit.MILLISECONDS));
+        } catch (AssertionError e) {
+            return null;
+        }
+        return next.getValue();
+    }
+
+    private static List<BigInteger> indices(long... values) {
+        List<BigInteger> indices = new ArrayList<>();
+        for (long value : values) {
+            indices.add(BigInteger.valueOf(value));
+        }
+        return indices;
+    }
+}
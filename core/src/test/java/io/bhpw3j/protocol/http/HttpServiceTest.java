@@ -4,18 +4,27 @@ import io.bhpw3j.protocol.core.Request;
 import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
 import io.bhpw3j.protocol.exceptions.ClientConnectionException;
 import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -24,11 +33,19 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 public class HttpServiceTest {
@@ -124,7 +141,10 @@ public class HttpServiceTest {
         Mockito.when(httpClient.newCall(Mockito.any()))
                 .thenAnswer(invocation -> {
                     Call call = Mockito.mock(Call.class);
-                    Mockito.when(call.execute()).thenReturn(response);
+                    Mockito.doAnswer(enqueued -> {
+                        ((Callback) enqueued.getArguments()[0]).onResponse(call, response);
+                        return null;
+                    }).when(call).enqueue(Mockito.any());
                     return call;
                 });
 
@@ -151,6 +171,233 @@ public class HttpServiceTest {
         Assert.assertThat(executor.isCalled(), is(true));
     }
 
+    @Test
+    public void testAsyncFailsWhenExecutorRejectsResponse() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        ResponseBody body = Mockito.spy(ResponseBody.create(null, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":1}"));
+        Response response = new Response.Builder()
+                .code(200)
+                .message("")
+                .body(body)
+                .request(new okhttp3.Request.Builder()
+                        .url(HttpService.DEFAULT_URL)
+                        .build())
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    Call call = Mockito.mock(Call.class);
+                    Mockito.doAnswer(enqueued -> {
+                        ((Callback) enqueued.getArguments()[0]).onResponse(call, response);
+                        return null;
+                    }).when(call).enqueue(Mockito.any());
+                    return call;
+                });
+        HttpService service = new HttpService(httpClient, executor);
+
+        CompletableFuture<BhpBlockCount> result = service.sendAsync(new Request<>(
+                "getblockcount", Collections.emptyList(), service, BhpBlockCount.class),
+                BhpBlockCount.class);
+
+        try {
+            result.get();
+            Assert.fail("No exception");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+        Mockito.verify(body).close();
+    }
+
+    @Test
+    public void testAsyncIsEnqueuedWithoutBlockingCall() throws Exception {
+        Response response = new Response.Builder()
+                .code(200)
+                .message("")
+                .body(ResponseBody.create(null, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":1234}"))
+                .request(new okhttp3.Request.Builder()
+                        .url(HttpService.DEFAULT_URL)
+                        .build())
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+
+        Call call = Mockito.mock(Call.class);
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        HttpService mockedHttpService = new HttpService(httpClient);
+
+        Request<String, BhpBlockCount> request = new Request<>(
+                "getblockcount",
+                Collections.emptyList(),
+                mockedHttpService,
+                BhpBlockCount.class);
+        CompletableFuture<BhpBlockCount> result = request.sendAsync();
+
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(call).enqueue(callback.capture());
+        Mockito.verify(call, Mockito.never()).execute();
+        assertFalse(result.isDone());
+
+        callback.getValue().onResponse(call, response);
+        assertThat(result.get().getBlockIndex(), is(BigInteger.valueOf(1234)));
+    }
+
+    @Test
+    public void testAsyncFailure() {
+        Call call = Mockito.mock(Call.class);
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        HttpService mockedHttpService = new HttpService(httpClient);
+
+        CompletableFuture<BhpBlockCount> result =
+                mockedHttpService.sendAsync(new Request<>(), BhpBlockCount.class);
+
+        ArgumentCaptor<Callback> callback = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(call).enqueue(callback.capture());
+        callback.getValue().onFailure(call, new IOException("connection refused"));
+        try {
+            result.get();
+            Assert.fail("No exception");
+        } catch (InterruptedException | ExecutionException e) {
+            assertThat(e.getCause() instanceof IOException, is(true));
+        }
+    }
+
+    @Test
+    public void testCancelAsyncCancelsCall() {
+        Call call = Mockito.mock(Call.class);
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        HttpService mockedHttpService = new HttpService(httpClient);
+
+        mockedHttpService.sendAsync(new Request<>(), BhpBlockCount.class).cancel(true);
+
+        Mockito.verify(call).cancel();
+    }
+
+    @Test
+    public void testMaxRequestsPerHost() {
+        OkHttpClient httpClient = new OkHttpClient();
+        HttpService service = new HttpService(httpClient);
+        service.setMaxRequestsPerHost(20);
+
+        assertThat(service.getMaxRequestsPerHost(), is(20));
+        // The shared client is left untouched.
+        assertThat(httpClient.dispatcher().getMaxRequestsPerHost(), is(5));
+    }
+
+    @Test
+    public void testBuilderConfiguresHttpClient() {
+        HttpService service = new HttpService.Builder()
+                .connectionPool(10, 1, TimeUnit.MINUTES)
+                .maxRequests(200)
+                .maxRequestsPerHost(100)
+                .connectTimeout(2, TimeUnit.SECONDS)
+                .readTimeout(3, TimeUnit.SECONDS)
+                .writeTimeout(4, TimeUnit.SECONDS)
+                .build();
+        OkHttpClient client = service.getHttpClient();
+
+        assertThat(client.dispatcher().getMaxRequests(), is(200));
+        assertThat(service.getMaxRequestsPerHost(), is(100));
+        assertThat(client.connectTimeoutMillis(), is(2000));
+        assertThat(client.readTimeoutMillis(), is(3000));
+        assertThat(client.writeTimeoutMillis(), is(4000));
+        assertThat(client.connectionPool(), is(not(sameInstance(new OkHttpClient().connectionPool()))));
+    }
+
+    @Test
+    public void testBuilderRaisesMaxRequestsToMaxRequestsPerHost() {
+        HttpService service = new HttpService.Builder().maxRequestsPerHost(100).build();
+
+        assertThat(service.getHttpClient().dispatcher().getMaxRequests(), is(100));
+        assertThat(service.getMaxRequestsPerHost(), is(100));
+    }
+
+    @Test
+    public void testBuilderSharesPoolAndDispatcherOfBaseClient() {
+        OkHttpClient httpClient = new OkHttpClient();
+        HttpService service = new HttpService.Builder()
+                .httpClient(httpClient)
+                .gzipRequests(true)
+                .build();
+
+        assertThat(service.getHttpClient().connectionPool(), is(sameInstance(httpClient.connectionPool())));
+        assertThat(service.getHttpClient().dispatcher(), is(sameInstance(httpClient.dispatcher())));
+        assertThat(service.getHttpClient().interceptors().get(0) instanceof GzipRequestInterceptor, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNonPositiveMaxRequests() {
+        new HttpService.Builder().maxRequestsPerHost(0);
+    }
+
+    @Test
+    public void testHeadersFollowChanges() throws IOException {
+        List<okhttp3.Request> requests = new ArrayList<>();
+        Interceptor respond = chain -> {
+            requests.add(chain.request());
+            return new Response.Builder()
+                    .code(200)
+                    .message("")
+                    .body(ResponseBody.create(null, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":1}"))
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .build();
+        };
+        HttpService service = new HttpService.Builder()
+                .httpClient(new OkHttpClient.Builder().addInterceptor(respond).build())
+                .header("Authorization", "Bearer 1")
+                .build();
+        Request<String, BhpBlockCount> request = new Request<>(
+                "getblockcount", Collections.emptyList(), service, BhpBlockCount.class);
+
+        request.send();
+        request.send();
+        service.addHeader("Authorization", "Bearer 2");
+        request.send();
+        service.getHeaders().put("X-Custom", "value");
+        request.send();
+        service.getHeaders().remove("Authorization");
+        request.send();
+        service.getHeaders().putIfAbsent("X-Other", "1");
+        service.getHeaders().entrySet().removeIf(e -> e.getKey().equals("X-Custom"));
+        request.send();
+
+        assertThat(requests.get(0).header("Authorization"), is("Bearer 1"));
+        assertThat(requests.get(1).header("Authorization"), is("Bearer 1"));
+        assertThat(requests.get(2).header("Authorization"), is("Bearer 2"));
+        assertThat(requests.get(3).header("X-Custom"), is("value"));
+        assertThat(requests.get(4).header("Authorization"), is(nullValue()));
+        assertThat(requests.get(4).header("X-Custom"), is("value"));
+        assertThat(requests.get(5).header("X-Other"), is("1"));
+        assertThat(requests.get(5).header("X-Custom"), is(nullValue()));
+    }
+
+    @Test
+    public void testBuilderHttp2PriorKnowledge() {
+        HttpService service = new HttpService.Builder().http2PriorKnowledge(true).build();
+
+        assertThat(service.getHttpClient().protocols(),
+                is(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE)));
+    }
+
+    @Test
+    public void testGzipRequestBody() throws IOException {
+        String json = "{\"jsonrpc\":\"2.0\",\"method\":\"getblockcount\",\"params\":[],\"id\":1}";
+        RequestBody body = RequestBody.create(HttpService.JSON_MEDIA_TYPE, json);
+
+        RequestBody compressed = GzipRequestInterceptor.gzip(body);
+        Buffer buffer = new Buffer();
+        compressed.writeTo(buffer);
+
+        assertThat(compressed.contentType(), is(HttpService.JSON_MEDIA_TYPE));
+        assertThat(compressed.contentLength(), is(buffer.size()));
+        assertThat(Okio.buffer(new GzipSource(buffer)).readUtf8(), is(json));
+    }
+
     private class TestExecutorService implements ExecutorService {
 
         private boolean isCalled = false;
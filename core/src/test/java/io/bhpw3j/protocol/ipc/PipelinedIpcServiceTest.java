@@ -0,0 +1,269 @@
+package io.bhpw3j.protocol.ipc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bhpw3j.protocol.core.BatchRequest;
+import io.bhpw3j.protocol.core.BatchResponse;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PipelinedIpcServiceTest {
+
+    private Pipe requests;
+    private Pipe responses;
+    private BufferedReader node;
+    private PipelinedIpcService service;
+
+    @Before
+    public void setUp() throws IOException {
+        requests = Pipe.open();
+        responses = Pipe.open();
+        node = new BufferedReader(new InputStreamReader(
+                Channels.newInputStream(requests.source()), UTF_8));
+        service = new TestIpcService(new PipeChannel(responses.source(), requests.sink()));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    public void testPipelinedResponsesAreMatchedById() throws Exception {
+        List<CompletableFuture<BhpBlockCount>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(getBlockCount().sendAsync());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(readRequest().get("id").asLong());
+        }
+        assertThat(service.getPendingRequests(), is(3));
+
+        // Answer in reverse order and split the responses across writes.
+        StringBuilder answers = new StringBuilder();
+        for (int i = 2; i >= 0; i--) {
+            answers.append(blockCountResponse(ids.get(i), i));
+        }
+        respond(answers.substring(0, 10));
+        respond(answers.substring(10));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).getBlockIndex(),
+                    is(BigInteger.valueOf(i)));
+        }
+        assertThat(service.getPendingRequests(), is(0));
+    }
+
+    @Test
+    public void testSend() throws Exception {
+        CompletableFuture<BhpBlockCount> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return getBlockCount().send();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        long id = readRequest().get("id").asLong();
+        respond(blockCountResponse(id, 1234));
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getBlockIndex(), is(BigInteger.valueOf(1234)));
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        Request<String, BhpBlockCount> request1 = getBlockCount();
+        Request<String, BhpBlockCount> request2 = getBlockCount();
+        CompletableFuture<BatchResponse> result =
+                new BatchRequest(service).add(request1).add(request2).sendAsync();
+
+        JsonNode batch = readRequest();
+        assertThat(batch.size(), is(2));
+        respond("[" + blockCountResponse(request2.getId(), 2).trim() + "," +
+                blockCountResponse(request1.getId(), 1).trim() + "]\n");
+
+        BatchResponse response = result.get(5, TimeUnit.SECONDS);
+        assertThat(((BhpBlockCount) response.getResponses().get(0)).getBlockIndex(),
+                is(BigInteger.ONE));
+        assertThat(((BhpBlockCount) response.getResponses().get(1)).getBlockIndex(),
+                is(BigInteger.valueOf(2)));
+    }
+
+    @Test
+    public void testClosedChannelFailsPendingRequests() throws Exception {
+        CompletableFuture<BhpBlockCount> result = getBlockCount().sendAsync();
+        readRequest();
+
+        responses.sink().close();
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("No exception");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+        assertThat(service.getPendingRequests(), is(0));
+    }
+
+    @Test
+    public void testFailingChannelDoesNotFailRequestsOnNewChannel() throws Exception {
+        StallingChannel stale = new StallingChannel();
+        service.close();
+        service = new TestIpcService(stale, new PipeChannel(responses.source(), requests.sink()));
+
+        CompletableFuture<BhpBlockCount> first = getBlockCount().sendAsync();
+        stale.reading.await(5, TimeUnit.SECONDS);
+        // The next request sees the closed channel and opens a new one before the reader of the
+        // old channel got to fail its requests.
+        stale.open = false;
+        CompletableFuture<BhpBlockCount> second = getBlockCount().sendAsync();
+        long id = readRequest().get("id").asLong();
+        stale.fail.countDown();
+
+        try {
+            first.get(5, TimeUnit.SECONDS);
+            fail("No exception");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+        assertThat(second.isDone(), is(false));
+        assertThat(service.getPendingRequests(), is(1));
+
+        respond(blockCountResponse(id, 7));
+        assertThat(second.get(5, TimeUnit.SECONDS).getBlockIndex(), is(BigInteger.valueOf(7)));
+    }
+
+    private Request<String, BhpBlockCount> getBlockCount() {
+        return new Request<>("getblockcount", Collections.<String>emptyList(), service,
+                BhpBlockCount.class);
+    }
+
+    private JsonNode readRequest() throws IOException {
+        return new ObjectMapper().readTree(node.readLine());
+    }
+
+    private void respond(String response) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(response.getBytes(UTF_8));
+        while (buffer.hasRemaining()) {
+            responses.sink().write(buffer);
+        }
+    }
+
+    private static String blockCountResponse(long id, int count) {
+        return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":" + count + "}\n";
+    }
+
+    private static class TestIpcService extends PipelinedIpcService {
+
+        private final Queue<ByteChannel> channels;
+
+        TestIpcService(ByteChannel... channels) {
+            super(false);
+            this.channels = new ArrayDeque<>(Arrays.asList(channels));
+        }
+
+        @Override
+        protected ByteChannel openChannel() {
+            return channels.remove();
+        }
+    }
+
+    /**
+     * A channel whose read blocks until the test lets it fail.
+     */
+    private static class StallingChannel implements ByteChannel {
+
+        private final CountDownLatch reading = new CountDownLatch(1);
+        private final CountDownLatch fail = new CountDownLatch(1);
+        private volatile boolean open = true;
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            reading.countDown();
+            try {
+                fail.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int length = src.remaining();
+            src.position(src.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            fail.countDown();
+        }
+    }
+
+    private static class PipeChannel implements ByteChannel {
+
+        private final Pipe.SourceChannel source;
+        private final Pipe.SinkChannel sink;
+
+        PipeChannel(Pipe.SourceChannel source, Pipe.SinkChannel sink) {
+            this.source = source;
+            this.sink = sink;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return source.read(dst);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return sink.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return source.isOpen() && sink.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+            sink.close();
+        }
+    }
+}
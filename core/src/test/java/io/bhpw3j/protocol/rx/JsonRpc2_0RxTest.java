@@ -0,0 +1,175 @@
+package io.bhpw3j.protocol.rx;
+
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.Bhpw3jService;
+import io.bhpw3j.protocol.core.BlockParameterIndex;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlock;
+import io.bhpw3j.protocol.core.methods.response.BhpGetBlock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JsonRpc2_0RxTest {
+
+    private ScheduledExecutorService scheduledExecutorService;
+    private Bhpw3jService service;
+    private Bhpw3j bhpw3j;
+    private List<CompletableFuture<BhpGetBlock>> pending;
+    private List<Long> indices;
+
+    @Before
+    public void setUp() {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        service = mock(Bhpw3jService.class);
+        bhpw3j = Bhpw3j.build(service, 1000, scheduledExecutorService);
+        pending = new ArrayList<>();
+        indices = new ArrayList<>();
+        when(service.sendAsync(any(Request.class), eq(BhpGetBlock.class))).thenAnswer(invocation -> {
+            Request<?, ?> request = (Request<?, ?>) invocation.getArguments()[0];
+            long index = ((BigInteger) request.getParams().get(0)).longValue();
+            CompletableFuture<BhpGetBlock> future = new CompletableFuture<>();
+            synchronized (pending) {
+                pending.add(future);
+                indices.add(index);
+                pending.notifyAll();
+            }
+            return future;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testReplayBlocksEmitsInOrderWithConcurrentRequests() throws Exception {
+        TestSubscriber<BhpGetBlock> subscriber = new TestSubscriber<>();
+        bhpw3j.replayBlocksObservable(new BlockParameterIndex(0), new BlockParameterIndex(3),
+                false, true, 4).subscribe(subscriber);
+
+        awaitPending(4);
+        // Complete the requests in reverse order.
+        for (int i = 3; i >= 0; i--) {
+            complete(i);
+        }
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoErrors();
+        assertThat(emittedIndices(subscriber), is(listOf(0L, 1L, 2L, 3L)));
+    }
+
+    @Test
+    public void testReplayBlocksDescending() throws Exception {
+        TestSubscriber<BhpGetBlock> subscriber = new TestSubscriber<>();
+        bhpw3j.replayBlocksObservable(new BlockParameterIndex(0), new BlockParameterIndex(2),
+                false, false, 3).subscribe(subscriber);
+
+        awaitPending(3);
+        for (int i = 0; i < 3; i++) {
+            complete(i);
+        }
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoErrors();
+        assertThat(emittedIndices(subscriber), is(listOf(2L, 1L, 0L)));
+    }
+
+    @Test
+    public void testReplayBlocksLimitsRequestsInFlight() throws Exception {
+        TestSubscriber<BhpGetBlock> subscriber = new TestSubscriber<>();
+        bhpw3j.replayBlocksObservable(new BlockParameterIndex(0), new BlockParameterIndex(99),
+                false, true, 2).subscribe(subscriber);
+
+        awaitPending(2);
+        Thread.sleep(100);
+        assertThat(pendingCount(), is(2));
+
+        complete(0);
+        awaitPending(3);
+        Thread.sleep(100);
+        assertThat(pendingCount(), is(3));
+        subscriber.unsubscribe();
+    }
+
+    @Test
+    public void testReplayBlocksPropagatesErrors() throws Exception {
+        TestSubscriber<BhpGetBlock> subscriber = new TestSubscriber<>();
+        bhpw3j.replayBlocksObservable(new BlockParameterIndex(0), new BlockParameterIndex(1),
+                false, true, 2).subscribe(subscriber);
+
+        awaitPending(2);
+        pendingFuture(0).completeExceptionally(new IllegalStateException("node unavailable"));
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertError(IllegalStateException.class);
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        synchronized (pending) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pending.size() < count && System.currentTimeMillis() < deadline) {
+                pending.wait(100);
+            }
+        }
+        assertThat(pendingCount() >= count, is(true));
+    }
+
+    private int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private CompletableFuture<BhpGetBlock> pendingFuture(int i) {
+        synchronized (pending) {
+            return pending.get(i);
+        }
+    }
+
+    private void complete(int i) {
+        long index;
+        synchronized (pending) {
+            index = indices.get(i);
+        }
+        pendingFuture(i).complete(createBlock(index));
+    }
+
+    private static BhpGetBlock createBlock(long index) {
+        BhpBlock block = new BhpBlock(null, 0, 0, null, null, 0, index, null, null, null,
+                Collections.emptyList(), 0, null);
+        BhpGetBlock getBlock = new BhpGetBlock();
+        getBlock.setResult(block);
+        return getBlock;
+    }
+
+    private static List<Long> emittedIndices(TestSubscriber<BhpGetBlock> subscriber) {
+        return subscriber.getOnNextEvents().stream()
+                .map(b -> b.getBlock().getIndex())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> listOf(Long... values) {
+        return Arrays.asList(values);
+    }
+}
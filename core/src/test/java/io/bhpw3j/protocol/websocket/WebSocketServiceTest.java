@@ -0,0 +1,235 @@
+package io.bhpw3j.protocol.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlockCount;
+import io.bhpw3j.protocol.core.methods.response.BhpSubscribe;
+import io.bhpw3j.protocol.websocket.events.NewBlocksNotification;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscription;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class WebSocketServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TestWebSocketClient client;
+    private ScheduledExecutorService scheduler;
+    private WebSocketService service;
+
+    @Before
+    public void setUp() throws Exception {
+        client = new TestWebSocketClient();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        service = new WebSocketService(client, scheduler, false);
+        service.setReconnectDelay(0, 0, TimeUnit.MILLISECONDS);
+        service.connect();
+    }
+
+    @After
+    public void tearDown() {
+        service.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testResponsesAreMatchedById() throws Exception {
+        CompletableFuture<BhpBlockCount> first = getBlockCount().sendAsync();
+        CompletableFuture<BhpBlockCount> second = getBlockCount().sendAsync();
+        long firstId = nextMessage().get("id").asLong();
+        long secondId = nextMessage().get("id").asLong();
+
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + secondId + ",\"result\":2}");
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + firstId + ",\"result\":1}");
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBlockIndex(), is(BigInteger.ONE));
+        assertThat(second.get(5, TimeUnit.SECONDS).getBlockIndex(), is(BigInteger.valueOf(2)));
+    }
+
+    @Test
+    public void testSubscribeReceivesNotificationsAndUnsubscribes() throws Exception {
+        BlockingQueue<NewBlocksNotification> notifications = new LinkedBlockingQueue<>();
+        Subscription subscription = newBlocks().subscribe(notifications::add);
+
+        JsonNode subscribe = nextMessage();
+        assertThat(subscribe.get("method").asText(), is("subscribe"));
+        assertThat(subscribe.get("params").get(0).asText(), is("newBlocks"));
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + subscribe.get("id").asLong()
+                + ",\"result\":\"0x1\"}");
+
+        client.onMessage(newBlockNotification("0x1", 7));
+        NewBlocksNotification notification = notifications.poll(5, TimeUnit.SECONDS);
+        assertThat(notification.getParams().getSubscription(), is("0x1"));
+        assertThat(notification.getParams().getResult().getIndex(), is(7L));
+
+        subscription.unsubscribe();
+        JsonNode unsubscribe = nextMessage();
+        assertThat(unsubscribe.get("method").asText(), is("unsubscribe"));
+        assertThat(unsubscribe.get("params").get(0).asText(), is("0x1"));
+
+        // Late notifications of the closed subscription are dropped.
+        client.onMessage(newBlockNotification("0x1", 8));
+        assertThat(notifications.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testPendingRequestsFailAndSubscriptionsAreRestoredOnReconnect() throws Exception {
+        BlockingQueue<NewBlocksNotification> notifications = new LinkedBlockingQueue<>();
+        newBlocks().subscribe(notifications::add);
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + nextMessage().get("id").asLong()
+                + ",\"result\":\"0x1\"}");
+        CompletableFuture<BhpBlockCount> pending = getBlockCount().sendAsync();
+        nextMessage();
+
+        client.onClose(1006, "", true);
+
+        try {
+            pending.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+        JsonNode resubscribe = nextMessage();
+        assertThat(resubscribe.get("method").asText(), is("subscribe"));
+        assertThat(client.reconnects, is(1));
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + resubscribe.get("id").asLong()
+                + ",\"result\":\"0x2\"}");
+
+        client.onMessage(newBlockNotification("0x2", 9));
+        assertThat(notifications.poll(5, TimeUnit.SECONDS).getParams().getResult().getIndex(),
+                is(9L));
+    }
+
+    @Test
+    public void testSubscriptionWaitingForReplyIsRestoredOnReconnect() throws Exception {
+        BlockingQueue<NewBlocksNotification> notifications = new LinkedBlockingQueue<>();
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        newBlocks().subscribe(notifications::add, errors::add);
+        assertThat(nextMessage().get("method").asText(), is("subscribe"));
+
+        client.onClose(1006, "", true);
+
+        JsonNode resubscribe = nextMessage();
+        assertThat(resubscribe.get("method").asText(), is("subscribe"));
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + resubscribe.get("id").asLong()
+                + ",\"result\":\"0x2\"}");
+
+        client.onMessage(newBlockNotification("0x2", 9));
+        assertThat(notifications.poll(5, TimeUnit.SECONDS).getParams().getResult().getIndex(),
+                is(9L));
+        assertThat(errors.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFailedReconnectAttemptsDoNotMultiply() throws Exception {
+        newBlocks().subscribe();
+        client.onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + nextMessage().get("id").asLong()
+                + ",\"result\":\"0x1\"}");
+        client.failedReconnects = 3;
+
+        client.onClose(1006, "", true);
+
+        assertThat(nextMessage().get("method").asText(), is("subscribe"));
+        // Let any further attempt that was scheduled run.
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        }
+        assertThat(client.reconnects, is(4));
+        assertThat(client.sent.isEmpty(), is(true));
+    }
+
+    private Request<?, BhpBlockCount> getBlockCount() {
+        return new Request<>("getblockcount", Collections.<String>emptyList(), service,
+                BhpBlockCount.class);
+    }
+
+    private Observable<NewBlocksNotification> newBlocks() {
+        return service.subscribe(new Request<>("subscribe", Collections.singletonList("newBlocks"),
+                service, BhpSubscribe.class), "unsubscribe", NewBlocksNotification.class);
+    }
+
+    private JsonNode nextMessage() throws Exception {
+        String message = client.sent.poll(5, TimeUnit.SECONDS);
+        if (message == null) {
+            fail("No message was sent.");
+        }
+        return objectMapper.readTree(message);
+    }
+
+    private static String newBlockNotification(String subscriptionId, long index) {
+        return "{\"jsonrpc\":\"2.0\",\"method\":\"newBlocks\",\"params\":{\"subscription\":\""
+                + subscriptionId + "\",\"result\":{\"hash\":\"0x01\",\"index\":" + index + "}}}";
+    }
+
+    private static class TestWebSocketClient extends WebSocketClient {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile boolean open;
+        private volatile int reconnects;
+        private volatile int failedReconnects;
+
+        private TestWebSocketClient() {
+            super(URI.create("ws://localhost"));
+        }
+
+        @Override
+        public void send(String text) {
+            sent.add(text);
+        }
+
+        @Override
+        public boolean connectBlocking() {
+            open = true;
+            return true;
+        }
+
+        @Override
+        public boolean reconnectBlocking() {
+            reconnects++;
+            if (failedReconnects > 0) {
+                // Java-WebSocket closes the connection when the connect fails.
+                failedReconnects--;
+                onClose(-1, "", false);
+                return false;
+            }
+            open = true;
+            return true;
+        }
+
+        @Override
+        public void closeBlocking() {
+            open = false;
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            open = false;
+            super.onClose(code, reason, remote);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigInteger;
 import java.util.Arrays;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -50,6 +51,7 @@ public class ClaimTransactionTest {
 
 
     @Test
+    @SuppressWarnings("deprecation")
     public void deserialize_Signed() throws IllegalAccessException, InstantiationException {
 
         String receivingAdr = "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y";
@@ -68,6 +70,20 @@ public class ClaimTransactionTest {
                 claimTransaction.getOutputs().get(0));
     }
 
+    @Test
+    public void deserialize_Signed_with_supplier() {
+        String txId = "4ba4d1f1acf7c6648ced8824aa2cd3e8f836f59e7071340e0c440d099a508cff";
+        String rawTransaction = "020001ff8c509a090d440c0e3471709ef536f8e8d32caa2488ed8c64c6f7acf1d1a44b0000000001e72d286979ee6cb1b7e65dfddfb2e384100b8d148e7758de42e4168b71792c600060d020a900000023ba2703c53263e8d6e522dc32203339dcd8eee90141400c40efd5f4a37b09fb8dca3e9cd6486c1b2d46c0319ac216c348f546ff44bb5fc3a328a43f2f49c9b2aa4cb1ce3f40327fd8403966e117745eb5c1266614f7d42321031a6c6fbbdf02ca351745fa86b9ba5a9452d785ac4f7fc2b7548ca2a46c4fcf4aac";
+        byte[] rawTransactionArray = Numeric.hexStringToByteArray(rawTransaction);
+        ClaimTransaction claimTransaction = BhpSerializableInterface.from(rawTransactionArray, ClaimTransaction::new);
+        assertNotNull(claimTransaction);
+        assertEquals(
+                new RawTransactionInput(txId, 0),
+                claimTransaction.getClaims().get(0));
+        assertEquals(1, claimTransaction.getScripts().size());
+        assertArrayEquals(rawTransactionArray, claimTransaction.toArray());
+    }
+
     @Test
     public void create_raw_transaction() {
 
@@ -3,12 +3,21 @@ package io.bhpw3j.transaction;
 import io.bhpw3j.contract.ScriptHash;
 import io.bhpw3j.crypto.transaction.RawScript;
 import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.crypto.transaction.RawTransactionInput;
+import io.bhpw3j.crypto.transaction.RawTransactionOutput;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.model.types.BhpAsset;
 import io.bhpw3j.utils.Numeric;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class RawTransactionTest {
 
@@ -82,4 +91,59 @@ public class RawTransactionTest {
         assertEquals(tx.getScripts().get(2).getScriptHash(), s2.getScriptHash());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void cachedTxIdAndUnsignedBytesSurviveAddingScripts() {
+        byte[] m1 = Numeric.hexStringToByteArray("01a402d8");
+        RawTransaction tx = new ContractTransaction.Builder()
+                .input(new RawTransactionInput("c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", 0))
+                .output(new RawTransactionOutput(BhpAsset.HASH_ID, "10.0", "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y"))
+                .build();
+        String txId = tx.getTxId();
+        byte[] unsigned = tx.toArrayWithoutScripts();
+        int size = tx.getSize();
+
+        assertSame(txId, tx.getTxId());
+        tx.addScript(new RawScript(m1, ScriptHash.fromScript(m1)));
+
+        assertEquals(txId, tx.getTxId());
+        assertArrayEquals(unsigned, tx.toArrayWithoutScripts());
+        assertEquals(tx.toArray().length, tx.getSize());
+        assertTrue(tx.getSize() > size);
+    }
+
+    @Test
+    public void modifyingTheBuilderOrUnsignedBytesDoesNotChangeTheTransaction() {
+        ContractTransaction.Builder builder = new ContractTransaction.Builder()
+                .input(new RawTransactionInput("c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", 0));
+        RawTransaction tx = builder.build();
+        String txId = tx.getTxId();
+
+        builder.input(new RawTransactionInput("c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", 1));
+        tx.toArrayWithoutScripts()[0] = 0x00;
+
+        assertEquals(1, tx.getInputs().size());
+        assertEquals(txId, tx.getTxId());
+        assertNotEquals(txId, builder.build().getTxId());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void inputsOfBuiltTransactionCannotBeModified() {
+        RawTransaction tx = new ContractTransaction.Builder().build();
+        tx.getInputs().add(new RawTransactionInput("c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", 0));
+    }
+
+    @Test
+    public void deserializingResetsTheCachedValues() throws Exception {
+        RawTransaction tx = new ContractTransaction.Builder().build();
+        String emptyTxId = tx.getTxId();
+        RawTransaction other = new ContractTransaction.Builder()
+                .input(new RawTransactionInput("c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", 0))
+                .build();
+
+        tx.deserialize(new BinaryReader(new ByteArrayInputStream(other.toArray())));
+
+        assertNotEquals(emptyTxId, tx.getTxId());
+        assertEquals(other.getTxId(), tx.getTxId());
+        assertEquals(other.getSize(), tx.getSize());
+    }
+}
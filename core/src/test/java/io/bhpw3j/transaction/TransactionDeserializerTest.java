@@ -0,0 +1,179 @@
+package io.bhpw3j.transaction;
+
+import io.bhpw3j.crypto.transaction.RawTransaction;
+import io.bhpw3j.crypto.transaction.RawTransactionInput;
+import io.bhpw3j.crypto.transaction.RawTransactionOutput;
+import io.bhpw3j.model.types.AssetType;
+import io.bhpw3j.model.types.ContractParameterType;
+import io.bhpw3j.model.types.GASAsset;
+import io.bhpw3j.model.types.TransactionType;
+import io.bhpw3j.utils.Numeric;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionDeserializerTest {
+
+    private static final String PUBLIC_KEY =
+            "0265bf906bf385fbf3f777832e55a87991bcfbe19b097fb7c5ca2e4025a4d5e5d6";
+
+    @Test
+    public void deserializeMinerTransaction() {
+        RawTransaction tx = TransactionDeserializer.fromHexString("00001952d42800000000");
+
+        assertThat(tx, instanceOf(MinerTransaction.class));
+        assertThat(tx.getTransactionType(), is(TransactionType.MINER_TRANSACTION));
+        assertThat(((MinerTransaction) tx).getNonce(), is(0x28d45219L));
+        assertThat(tx.getSize(), is(10));
+    }
+
+    @Test
+    public void minerTransactionWithUnsignedNonce() {
+        MinerTransaction tx = new MinerTransaction.Builder().nonce(0xffffffffL).build();
+
+        RawTransaction deserialized = TransactionDeserializer.fromArray(tx.toArray());
+
+        assertThat(((MinerTransaction) deserialized).getNonce(), is(0xffffffffL));
+        assertThat(deserialized.getTxId(), is(tx.getTxId()));
+    }
+
+    @Test
+    public void deserializeContractAndInvocationTransactions() {
+        RawTransaction contractTx = new ContractTransaction.Builder()
+                .input(new RawTransactionInput("d28e2bb7ad6f0e670da0ac466e584366a1ff30c623a34da1e1a27c710bfeeb41", 0))
+                .output(new RawTransactionOutput(GASAsset.HASH_ID, "1", "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y"))
+                .build();
+        RawTransaction invocationTx = new InvocationTransaction.Builder()
+                .contractScript(new byte[]{0x51})
+                .systemFee(BigDecimal.ONE)
+                .build();
+
+        RawTransaction deserializedContractTx = TransactionDeserializer.fromArray(contractTx.toArray());
+        RawTransaction deserializedInvocationTx = TransactionDeserializer.fromArray(invocationTx.toArray());
+
+        assertThat(deserializedContractTx, instanceOf(ContractTransaction.class));
+        assertThat(deserializedContractTx.getTxId(), is(contractTx.getTxId()));
+        assertThat(deserializedInvocationTx, instanceOf(InvocationTransaction.class));
+        assertThat(deserializedInvocationTx.getTxId(), is(invocationTx.getTxId()));
+    }
+
+    @Test
+    public void deserializeStateTransaction() {
+        String hex = "9000014014000102030405060708090a0b0c0d0e0f1011121305566f746573220102111111" +
+                "111111111111111111111111111111111111111111111111111111111100000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(StateTransaction.class));
+        StateDescriptor descriptor = ((StateTransaction) tx).getDescriptors().get(0);
+        assertThat(descriptor.getType(), is(StateDescriptor.TYPE_ACCOUNT));
+        assertThat(descriptor.getKey().length, is(20));
+        assertThat(descriptor.getField(), is("Votes"));
+        assertThat(descriptor.getValue().length, is(34));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+        assertThat(tx.getSize(), is(hex.length() / 2));
+    }
+
+    @Test
+    public void deserializeRegisterTransaction() {
+        String hex = "400001034741530000c16ff286230008" + PUBLIC_KEY +
+                "111111111111111111111111111111111111111100000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(RegisterTransaction.class));
+        RegisterTransaction registerTx = (RegisterTransaction) tx;
+        assertThat(registerTx.getAssetType(), is(AssetType.UTILITY_TOKEN));
+        assertThat(registerTx.getName(), is("GAS"));
+        assertThat(registerTx.getAmount().compareTo(new BigDecimal(100000000)), is(0));
+        assertThat(registerTx.getPrecision(), is((byte) 8));
+        assertThat(Numeric.toHexStringNoPrefix(registerTx.getOwner().getEncoded(true)),
+                is(PUBLIC_KEY));
+        assertThat(Numeric.toHexStringNoPrefix(registerTx.getAdmin().toArray()),
+                is("1111111111111111111111111111111111111111"));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+    }
+
+    @Test
+    public void deserializePublishTransaction() {
+        String hex = "d0000151020705ff045465737403312e3001610165016400000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(PublishTransaction.class));
+        PublishTransaction publishTx = (PublishTransaction) tx;
+        assertArrayEquals(new byte[]{0x51}, publishTx.getScript());
+        assertThat(publishTx.getParameterList(), is(Arrays.asList(
+                ContractParameterType.STRING, ContractParameterType.BYTE_ARRAY)));
+        assertThat(publishTx.getReturnType(), is(ContractParameterType.VOID));
+        assertFalse(publishTx.getNeedStorage());
+        assertThat(publishTx.getName(), is("Test"));
+        assertThat(publishTx.getCodeVersion(), is("1.0"));
+        assertThat(publishTx.getAuthor(), is("a"));
+        assertThat(publishTx.getEmail(), is("e"));
+        assertThat(publishTx.getDescription(), is("d"));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+    }
+
+    @Test
+    public void deserializeEnrollmentTransaction() {
+        String hex = "2000" + PUBLIC_KEY + "00000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(EnrollmentTransaction.class));
+        assertThat(Numeric.toHexStringNoPrefix(
+                ((EnrollmentTransaction) tx).getPublicKey().getEncoded(true)), is(PUBLIC_KEY));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+    }
+
+    @Test
+    public void deserializeIssueTransaction() {
+        String hex = "010000000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(IssueTransaction.class));
+        assertThat(tx.getTransactionType(), is(TransactionType.ISSUE_TRANSACTION));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+    }
+
+    @Test
+    public void deserializeInvocationTransactionVersion0() {
+        String hex = "d100015100000000";
+
+        RawTransaction tx = TransactionDeserializer.fromHexString(hex);
+
+        assertThat(tx, instanceOf(InvocationTransaction.class));
+        assertThat(tx.getVersion(), is((byte) 0));
+        InvocationTransaction invocationTx = (InvocationTransaction) tx;
+        assertArrayEquals(new byte[]{0x51}, invocationTx.getContractScript());
+        assertThat(invocationTx.getSystemFee(), is(BigDecimal.ZERO));
+        assertArrayEquals(Numeric.hexStringToByteArray(hex), tx.toArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedTransactionType() {
+        TransactionDeserializer.fromHexString("120000000000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTransactionType() {
+        TransactionDeserializer.fromHexString("ff0000000000");
+    }
+
+    @Test
+    public void isSupported() {
+        assertTrue(TransactionDeserializer.isSupported(TransactionType.CLAIM_TRANSACTION));
+        assertFalse(TransactionDeserializer.isSupported(TransactionType.DATA_FILE));
+    }
+
+}
@@ -6,9 +6,13 @@ import io.bhpw3j.utils.ArrayUtils;
 import io.bhpw3j.utils.Keys;
 import io.bhpw3j.utils.Numeric;
 import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECMultiplier;
 import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
 import org.bouncycastle.math.ec.custom.sec.SecP256R1Curve;
 
 import java.math.BigInteger;
@@ -21,6 +25,16 @@ public class Sign {
 
     private static final int LOWER_REAL_V = 27;
 
+    /**
+     * Multiplier for the curve's generator point. Its precomputed comb table is built once, when
+     * this class is loaded, and is attached to the generator point shared by all threads.
+     */
+    private static final ECMultiplier GENERATOR_MULTIPLIER = new FixedPointCombMultiplier();
+
+    static {
+        FixedPointUtil.precompute(BHPConstants.CURVE.getG());
+    }
+
     public static SignatureData signMessage(byte[] message, ECKeyPair keyPair) {
         return signMessage(message, keyPair, true);
     }
@@ -59,6 +73,72 @@ public class Sign {
         return new SignatureData(v, r, s);
     }
 
+    /**
+     * <p>Signs the given message without computing the recovery id of the signature.</p>
+     * <br>
+     * <p>Use this for transaction witnesses. They only carry r and s, so the public key recovery
+     * done by {@link #signMessage(byte[], ECKeyPair)} to find the recovery id is wasted work. The
+     * signature is normalized to a low s value and the v of the returned signature data is 0.</p>
+     *
+     * @param message the message to hash and sign.
+     * @param keyPair the key pair to sign with.
+     * @return the r and s components of the signature.
+     */
+    public static SignatureData signMessageWithoutRecoveryId(byte[] message, ECKeyPair keyPair) {
+        return signMessageWithoutRecoveryId(message, keyPair, true);
+    }
+
+    /**
+     * <p>Signs the given message without computing the recovery id of the signature.</p>
+     * <br>
+     * <p>See {@link #signMessageWithoutRecoveryId(byte[], ECKeyPair)}.</p>
+     *
+     * @param message    the message to sign.
+     * @param keyPair    the key pair to sign with.
+     * @param needToHash whether the message still needs to be hashed with SHA-256.
+     * @return the r and s components of the signature.
+     */
+    public static SignatureData signMessageWithoutRecoveryId(byte[] message, ECKeyPair keyPair,
+                                                             boolean needToHash) {
+        byte[] messageHash = needToHash ? Hash.sha256(message) : message;
+        ECDSASignature sig = keyPair.signAndGetECDSASignature(messageHash).toCanonicalised();
+        return new SignatureData((byte) 0x00,
+                Numeric.toBytesPadded(sig.r, 32),
+                Numeric.toBytesPadded(sig.s, 32));
+    }
+
+    /**
+     * Verifies the given signature of the given message.
+     *
+     * @param message   the message that was signed.
+     * @param signature the signature. Only r and s are used.
+     * @param publicKey the public key of the presumed signer.
+     * @return true if the signature is valid. False, otherwise.
+     */
+    public static boolean verifySignature(byte[] message, SignatureData signature,
+                                          ECPoint publicKey) {
+        return verifySignature(message, signature, publicKey, true);
+    }
+
+    /**
+     * Verifies the given signature of the given message.
+     *
+     * @param message    the message that was signed.
+     * @param signature  the signature. Only r and s are used.
+     * @param publicKey  the public key of the presumed signer.
+     * @param needToHash whether the message still needs to be hashed with SHA-256.
+     * @return true if the signature is valid. False, otherwise.
+     */
+    public static boolean verifySignature(byte[] message, SignatureData signature,
+                                          ECPoint publicKey, boolean needToHash) {
+        byte[] messageHash = needToHash ? Hash.sha256(message) : message;
+        ECDSASigner verifier = new ECDSASigner();
+        verifier.init(false, new ECPublicKeyParameters(publicKey, BHPConstants.CURVE));
+        return verifier.verifySignature(messageHash,
+                new BigInteger(1, signature.getR()),
+                new BigInteger(1, signature.getS()));
+    }
+
     /**
      * <p>Given the components of a signature and a selector value, recover and return the public
      * key that generated the signature according to the algorithm in SEC1v2 section 4.1.6.</p>
@@ -210,7 +290,7 @@ public class Sign {
         if (privKey.bitLength() > BHPConstants.CURVE.getN().bitLength()) {
             privKey = privKey.mod(BHPConstants.CURVE.getN());
         }
-        return new FixedPointCombMultiplier().multiply(BHPConstants.CURVE.getG(), privKey).normalize();
+        return GENERATOR_MULTIPLIER.multiply(BHPConstants.CURVE.getG(), privKey).normalize();
     }
 
     /**
@@ -1,5 +1,6 @@
 package io.bhpw3j.crypto.transaction;
 
+import io.bhpw3j.constants.OpCode;
 import io.bhpw3j.contract.ScriptBuilder;
 import io.bhpw3j.crypto.ECKeyPair;
 import io.bhpw3j.crypto.Sign;
@@ -7,9 +8,11 @@ import io.bhpw3j.crypto.Sign.SignatureData;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.IOUtils;
 import io.bhpw3j.utils.Numeric;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -22,6 +25,8 @@ import java.util.Objects;
  */
 public class RawInvocationScript extends BhpSerializable {
 
+    private static final int SIGNATURE_PUSH_SIZE = 1 + 64;
+
     private byte[] script;
 
     public RawInvocationScript() {
@@ -60,14 +65,15 @@ public class RawInvocationScript extends BhpSerializable {
 
     /**
      * Creates an invocation script constructed from the signature of the given message, signed with
-     * the given key pair.
+     * the given key pair. The invocation script only holds r and s of the signature, so no
+     * recovery id is computed.
      *
      * @param message Message to sign.
      * @param keyPair Key pair to use for signing
      * @return the constructed invocation script.
      */
     public static RawInvocationScript fromMessageAndKeyPair(byte[] message, ECKeyPair keyPair) {
-        SignatureData signature = Sign.signMessage(message, keyPair);
+        SignatureData signature = Sign.signMessageWithoutRecoveryId(message, keyPair);
         return fromSignature(signature);
     }
 
@@ -81,6 +87,30 @@ public class RawInvocationScript extends BhpSerializable {
         return script;
     }
 
+    /**
+     * Extracts the signatures from this invocation script. The script has to consist of
+     * {@link io.bhpw3j.constants.OpCode#PUSHBYTES64} pushes only, as created by
+     * {@link RawInvocationScript#fromSignatures(List)}.
+     *
+     * @return the signatures in the order they appear in the script.
+     * @throws IllegalArgumentException if the script contains anything but signatures.
+     */
+    public List<SignatureData> getSignatures() {
+        List<SignatureData> signatures = new ArrayList<>();
+        int position = 0;
+        while (position < script.length) {
+            if (script[position] != OpCode.PUSHBYTES64.getValue()
+                    || position + SIGNATURE_PUSH_SIZE > script.length) {
+                throw new IllegalArgumentException("The script is not a valid signature " +
+                        "invocation script.");
+            }
+            signatures.add(SignatureData.fromByteArray(
+                    Arrays.copyOfRange(script, position + 1, position + SIGNATURE_PUSH_SIZE)));
+            position += SIGNATURE_PUSH_SIZE;
+        }
+        return signatures;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -109,4 +139,9 @@ public class RawInvocationScript extends BhpSerializable {
     public void serialize(BinaryWriter writer) throws IOException {
         writer.writeVarBytes(script);
     }
+
+    @Override
+    public int getSize() {
+        return IOUtils.getVarSize(script);
+    }
 }
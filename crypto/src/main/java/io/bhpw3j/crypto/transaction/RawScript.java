@@ -6,8 +6,6 @@ import io.bhpw3j.crypto.Sign.SignatureData;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -21,8 +19,6 @@ import java.util.Objects;
  */
 public class RawScript extends BhpSerializable {
 
-    private static final Logger LOG = LoggerFactory.getLogger(RawScript.class);
-
     private RawInvocationScript invocationScript;
     private RawVerificationScript verificationScript;
     private ScriptHash scriptHash;
@@ -191,15 +187,9 @@ public class RawScript extends BhpSerializable {
 
     @Override
     public void deserialize(BinaryReader reader) throws IOException {
-        try {
-            this.invocationScript = reader.readSerializable(RawInvocationScript.class);
-            this.verificationScript = reader.readSerializable(RawVerificationScript.class);
-            this.scriptHash = verificationScript.getScriptHash();
-        } catch (IllegalAccessException e) {
-            LOG.error("Can't access the specified object.", e);
-        } catch (InstantiationException e) {
-            LOG.error("Can't instantiate the specified object type.", e);
-        }
+        this.invocationScript = reader.readSerializable(RawInvocationScript::new);
+        this.verificationScript = reader.readSerializable(RawVerificationScript::new);
+        this.scriptHash = verificationScript.getScriptHash();
     }
 
     @Override
@@ -207,4 +197,9 @@ public class RawScript extends BhpSerializable {
         invocationScript.serialize(writer);
         verificationScript.serialize(writer);
     }
+
+    @Override
+    public int getSize() {
+        return invocationScript.getSize() + verificationScript.getSize();
+    }
 }
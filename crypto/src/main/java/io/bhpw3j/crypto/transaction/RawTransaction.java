@@ -4,27 +4,29 @@ import io.bhpw3j.crypto.Hash;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.IOUtils;
 import io.bhpw3j.model.types.TransactionType;
 import io.bhpw3j.utils.ArrayUtils;
 import io.bhpw3j.utils.Numeric;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
 /**
  * <p>Transaction class used for signing transactions locally.</p>
+ * <br>
+ * <p>The serialized transaction without scripts, the transaction id and the size are computed
+ * once and cached. The transaction's inputs, outputs and attributes are fixed when it is built,
+ * therefore the lists returned by the getters can't be modified. Witnesses can only be added with
+ * {@link #addScript(RawScript)}, which resets the cached size.</p>
  */
 @SuppressWarnings("unchecked")
 public abstract class RawTransaction extends BhpSerializable {
 
-    private static final Logger LOG = LoggerFactory.getLogger(RawTransaction.class);
-
     private TransactionType transactionType;
     private byte version;
     private List<RawTransactionAttribute> attributes;
@@ -32,16 +34,21 @@ public abstract class RawTransaction extends BhpSerializable {
     private List<RawTransactionOutput> outputs;
     private List<RawScript> scripts;
 
+    private volatile byte[] unsignedBytes;
+    private volatile String txId;
+    private volatile int size = -1;
+
     public RawTransaction() {
     }
 
     protected RawTransaction(Builder builder) {
         this.transactionType = builder.transactionType;
         this.version = builder.version;
-        this.attributes = builder.attributes;
-        this.inputs = builder.inputs;
-        this.outputs = builder.outputs;
-        this.scripts = builder.scripts;
+        // Copy the lists so that later changes on the builder don't affect the cached values.
+        this.attributes = new ArrayList<>(builder.attributes);
+        this.inputs = new ArrayList<>(builder.inputs);
+        this.outputs = new ArrayList<>(builder.outputs);
+        this.scripts = new ArrayList<>(builder.scripts);
     }
 
     public TransactionType getTransactionType() {
@@ -53,19 +60,19 @@ public abstract class RawTransaction extends BhpSerializable {
     }
 
     public List<RawTransactionAttribute> getAttributes() {
-        return attributes;
+        return Collections.unmodifiableList(attributes);
     }
 
     public List<RawTransactionInput> getInputs() {
-        return inputs;
+        return Collections.unmodifiableList(inputs);
     }
 
     public List<RawTransactionOutput> getOutputs() {
-        return outputs;
+        return Collections.unmodifiableList(outputs);
     }
 
     public List<RawScript> getScripts() {
-        return scripts;
+        return Collections.unmodifiableList(scripts);
     }
 
     /**
@@ -86,35 +93,45 @@ public abstract class RawTransaction extends BhpSerializable {
         }
         this.scripts.add(script);
         this.scripts.sort(Comparator.comparing(RawScript::getScriptHash));
+        this.size = -1;
     }
 
     public String getTxId() {
-        byte[] hash = Hash.sha256(Hash.sha256(toArrayWithoutScripts()));
-        return Numeric.toHexStringNoPrefix(ArrayUtils.reverseArray(hash));
+        String id = this.txId;
+        if (id == null) {
+            byte[] hash = Hash.hash256(getUnsignedBytes());
+            id = Numeric.toHexStringNoPrefix(ArrayUtils.reverseArray(hash));
+            this.txId = id;
+        }
+        return id;
     }
 
+    @Override
     public int getSize() {
-        // TODO 2019-08-05 claude:
-        // Implement more efficiently, e.g. with fixed byte values and calls to the getSize() of
-        // the transaction components.
-        return toArray().length;
+        int s = this.size;
+        if (s < 0) {
+            s = getUnsignedBytes().length + IOUtils.getVarSize(this.scripts);
+            this.size = s;
+        }
+        return s;
     }
 
     @Override
     public void deserialize(BinaryReader reader) throws IOException {
+        resetCachedValues();
         this.transactionType = TransactionType.valueOf(reader.readByte());
         this.version = reader.readByte();
         try {
             deserializeExclusive(reader);
-            this.attributes = reader.readSerializableList(RawTransactionAttribute.class);
-            this.inputs = reader.readSerializableList(RawTransactionInput.class);
-            this.outputs = reader.readSerializableList(RawTransactionOutput.class);
-            this.scripts = reader.readSerializableList(RawScript.class);
-        } catch (IllegalAccessException e) {
-            LOG.error("Can't access the specified object.", e);
-        } catch (InstantiationException e) {
-            LOG.error("Can't instantiate the specified object type.", e);
+        } catch (IllegalAccessException | InstantiationException e) {
+            // Only thrown by subclasses that still read their fields with the reflection-based
+            // methods of the BinaryReader.
+            throw new IOException("Can't instantiate a field of the transaction.", e);
         }
+        this.attributes = reader.readSerializableList(RawTransactionAttribute::new);
+        this.inputs = reader.readSerializableList(RawTransactionInput::new);
+        this.outputs = reader.readSerializableList(RawTransactionOutput::new);
+        this.scripts = reader.readSerializableList(RawScript::new);
     }
 
     private void serializeWithoutScripts(BinaryWriter writer) throws IOException {
@@ -128,13 +145,19 @@ public abstract class RawTransaction extends BhpSerializable {
 
     @Override
     public void serialize(BinaryWriter writer) throws IOException {
-        serializeWithoutScripts(writer);
+        writer.write(getUnsignedBytes());
         writer.writeSerializableVariable(this.scripts);
     }
 
     public abstract void serializeExclusive(BinaryWriter writer) throws IOException;
 
-    public abstract void deserializeExclusive(BinaryReader reader) throws IOException, IllegalAccessException, InstantiationException;
+    /**
+     * Reads the fields specific to the transaction type. Implementations don't need to declare
+     * the reflection exceptions, which are only kept for compatibility with subclasses that use
+     * the deprecated, reflection-based methods of the {@link BinaryReader}.
+     */
+    public abstract void deserializeExclusive(BinaryReader reader)
+            throws IOException, IllegalAccessException, InstantiationException;
 
     /**
      * Serializes this transaction to a raw byte array without any scripts. This is required if the
@@ -143,15 +166,37 @@ public abstract class RawTransaction extends BhpSerializable {
      * @return the serialized transaction
      */
     public byte[] toArrayWithoutScripts() {
-        try (ByteArrayOutputStream ms = new ByteArrayOutputStream()) {
-            try (BinaryWriter writer = new BinaryWriter(ms)) {
+        return getUnsignedBytes().clone();
+    }
+
+    /**
+     * Gets the cached serialization of this transaction without scripts. The returned array must
+     * not be modified.
+     *
+     * @return the serialized transaction without scripts.
+     */
+    byte[] getUnsignedBytes() {
+        byte[] bytes = this.unsignedBytes;
+        if (bytes == null) {
+            try (BinaryWriter writer = new BinaryWriter()) {
                 serializeWithoutScripts(writer);
-                writer.flush();
-                return ms.toByteArray();
+                bytes = writer.toByteArray();
+            } catch (IOException ex) {
+                throw new UnsupportedOperationException(ex);
             }
-        } catch (IOException ex) {
-            throw new UnsupportedOperationException(ex);
+            this.unsignedBytes = bytes;
         }
+        return bytes;
+    }
+
+    /**
+     * Resets the cached serialization, transaction id and size. Subclasses have to call this if
+     * they change a value that is part of the serialized transaction after it was built.
+     */
+    protected void resetCachedValues() {
+        this.unsignedBytes = null;
+        this.txId = null;
+        this.size = -1;
     }
 
     /**
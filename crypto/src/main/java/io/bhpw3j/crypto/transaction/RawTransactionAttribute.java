@@ -3,6 +3,7 @@ package io.bhpw3j.crypto.transaction;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.IOUtils;
 import io.bhpw3j.model.types.TransactionAttributeUsageType;
 import io.bhpw3j.utils.Numeric;
 
@@ -93,4 +94,12 @@ public class RawTransactionAttribute extends BhpSerializable {
             writer.writeVarBytes(data);
         }
     }
+
+    @Override
+    public int getSize() {
+        if (usage.fixedDataLength() != null) {
+            return 1 + data.length;
+        }
+        return 1 + IOUtils.getVarSize(data);
+    }
 }
@@ -66,4 +66,10 @@ public class RawTransactionInput extends BhpSerializable {
         writer.write(ArrayUtils.reverseArray(Numeric.hexStringToByteArray(this.prevHash)));
         writer.write(BigIntegers.toLittleEndianByteArrayZeroPadded(this.prevIndex, 2));
     }
+
+    @Override
+    public int getSize() {
+        // The hash of the previous transaction plus the 2 byte index of its output.
+        return 32 + 2;
+    }
 }
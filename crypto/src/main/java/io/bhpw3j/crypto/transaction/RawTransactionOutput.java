@@ -1,5 +1,6 @@
 package io.bhpw3j.crypto.transaction;
 
+import io.bhpw3j.constants.BHPConstants;
 import io.bhpw3j.contract.ScriptHash;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
@@ -100,4 +101,10 @@ public class RawTransactionOutput extends BhpSerializable {
         writer.write(Numeric.fromDecimalToFixed8ByteArray(this.value));
         writer.write(ScriptHash.fromAddress(this.address).toArray());
     }
+
+    @Override
+    public int getSize() {
+        return BHPConstants.ASSET_ID_LENGHT_BYTES + BHPConstants.FIXED8_LENGTH +
+                BHPConstants.SCRIPTHASH_LENGHT_BYTES;
+    }
 }
@@ -2,16 +2,21 @@ package io.bhpw3j.crypto.transaction;
 
 import io.bhpw3j.constants.OpCode;
 import io.bhpw3j.contract.ScriptHash;
+import io.bhpw3j.crypto.ECPointCache;
 import io.bhpw3j.io.BinaryReader;
 import io.bhpw3j.io.BinaryWriter;
 import io.bhpw3j.io.BhpSerializable;
+import io.bhpw3j.io.IOUtils;
 import io.bhpw3j.utils.Keys;
 import io.bhpw3j.utils.Numeric;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -83,6 +88,42 @@ public class RawVerificationScript extends BhpSerializable {
         }
     }
 
+    /**
+     * Extracts the public keys from this verification script. Only standard single-signature
+     * ({@link OpCode#CHECKSIG}) and multi-signature ({@link OpCode#CHECKMULTISIG}) scripts are
+     * supported. The keys are decoded through the shared {@link ECPointCache}.
+     *
+     * @return the public keys in the order they appear in the script.
+     * @throws IllegalArgumentException if the script is no standard verification script.
+     */
+    public List<ECPoint> getPublicKeys() {
+        int last = this.script.length - 1;
+        if (last < 0) {
+            throw new IllegalArgumentException("The script is not a valid verification script.");
+        }
+        byte pushBytes33 = OpCode.PUSHBYTES33.getValue();
+        if (this.script[last] == OpCode.CHECKSIG.getValue() && last == 34
+                && this.script[0] == pushBytes33) {
+            return Collections.singletonList(
+                    ECPointCache.getDefault().decode(Arrays.copyOfRange(this.script, 1, 34)));
+        }
+        if (this.script[last] == OpCode.CHECKMULTISIG.getValue()) {
+            try (BinaryReader reader = new BinaryReader(this.script)) {
+                reader.readPushInteger();
+                List<ECPoint> publicKeys = new ArrayList<>();
+                while (reader.getPosition() < last && this.script[reader.getPosition()] == pushBytes33) {
+                    publicKeys.add(ECPointCache.getDefault().decode(reader.readPushData()));
+                }
+                if (reader.readPushInteger() == publicKeys.size() && reader.getPosition() == last) {
+                    return publicKeys;
+                }
+            } catch (IOException e) {
+                // the script ended early, fall through
+            }
+        }
+        throw new IllegalArgumentException("The script is not a valid verification script.");
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -112,4 +153,9 @@ public class RawVerificationScript extends BhpSerializable {
         writer.writeVarBytes(script);
     }
 
+    @Override
+    public int getSize() {
+        return IOUtils.getVarSize(script);
+    }
+
 }
@@ -0,0 +1,184 @@
+package io.bhpw3j.crypto.transaction;
+
+import io.bhpw3j.crypto.Hash;
+import io.bhpw3j.crypto.Sign;
+import io.bhpw3j.crypto.Sign.SignatureData;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>Verifies the signatures in the witnesses of transactions.</p>
+ * <br>
+ * <p>Witnesses with standard single-signature and multi-signature verification scripts are
+ * supported. Multi-signature witnesses are checked like the CHECKMULTISIG opcode does it, i.e. the
+ * signatures have to be in the same order as their public keys in the verification script.</p>
+ * <br>
+ * <p>Only the signatures are checked. Whether a witness is actually required by the transaction,
+ * e.g. for the inputs it spends, is not part of this verification.</p>
+ * <br>
+ * <p>The work is spread over a {@link ForkJoinPool}, one task per transaction and witness. The
+ * unsigned bytes of each transaction are serialized and hashed only once for all its
+ * witnesses.</p>
+ */
+public class WitnessVerifier {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a verifier that runs on the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public WitnessVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a verifier that runs on the given pool.
+     *
+     * @param pool the pool to verify the signatures on.
+     */
+    public WitnessVerifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Verifies all witnesses of the given transaction.
+     *
+     * @param transaction the transaction.
+     * @return the results, in the order of the transaction's witnesses.
+     */
+    public List<Result> verify(RawTransaction transaction) {
+        return pool.invoke(ForkJoinTask.adapt(() -> verifyTransaction(transaction)));
+    }
+
+    /**
+     * Verifies all witnesses of the given transactions.
+     *
+     * @param transactions the transactions, e.g. of a block.
+     * @return the results per transaction, in the order of the transactions and their witnesses.
+     */
+    public List<List<Result>> verify(List<? extends RawTransaction> transactions) {
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            List<ForkJoinTask<List<Result>>> tasks = new ArrayList<>(transactions.size());
+            for (RawTransaction transaction : transactions) {
+                tasks.add(ForkJoinTask.adapt(() -> verifyTransaction(transaction)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            List<List<Result>> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<List<Result>> task : tasks) {
+                results.add(task.join());
+            }
+            return results;
+        }));
+    }
+
+    private List<Result> verifyTransaction(RawTransaction transaction) {
+        List<RawScript> witnesses = transaction.getScripts();
+        if (witnesses == null || witnesses.isEmpty()) {
+            return Collections.emptyList();
+        }
+        byte[] messageHash = Hash.sha256(transaction.getUnsignedBytes());
+        if (witnesses.size() == 1) {
+            return Collections.singletonList(verifyWitness(0, witnesses.get(0), messageHash));
+        }
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(witnesses.size());
+        for (int i = 0; i < witnesses.size(); i++) {
+            int index = i;
+            tasks.add(ForkJoinTask.adapt(
+                    () -> verifyWitness(index, witnesses.get(index), messageHash)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        List<Result> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<Result> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Verifies a single witness against the hash of the unsigned transaction.
+     */
+    static Result verifyWitness(int index, RawScript witness, byte[] messageHash) {
+        List<SignatureData> signatures;
+        List<ECPoint> publicKeys;
+        int signingThreshold;
+        try {
+            publicKeys = witness.getVerificationScript().getPublicKeys();
+            signingThreshold = witness.getVerificationScript().getSigningThreshold();
+            signatures = witness.getInvocationScript().getSignatures();
+        } catch (IllegalArgumentException e) {
+            return new Result(index, witness, e.getMessage());
+        }
+        if (signatures.size() != signingThreshold) {
+            return new Result(index, witness, "Expected " + signingThreshold +
+                    " signatures but got " + signatures.size() + ".");
+        }
+        int s = 0;
+        int k = 0;
+        while (s < signatures.size() && signatures.size() - s <= publicKeys.size() - k) {
+            if (Sign.verifySignature(messageHash, signatures.get(s), publicKeys.get(k), false)) {
+                s++;
+            }
+            k++;
+        }
+        if (s < signatures.size()) {
+            return new Result(index, witness, "Signature " + s + " does not match any of the " +
+                    "remaining public keys.");
+        }
+        return new Result(index, witness, null);
+    }
+
+    /**
+     * The verification result of a single witness.
+     */
+    public static class Result {
+
+        private final int index;
+        private final RawScript witness;
+        private final String failureReason;
+
+        Result(int index, RawScript witness, String failureReason) {
+            this.index = index;
+            this.witness = witness;
+            this.failureReason = failureReason;
+        }
+
+        /**
+         * @return the index of the witness in the transaction's witnesses.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public RawScript getWitness() {
+            return witness;
+        }
+
+        /**
+         * @return true if all signatures of the witness are valid. False, otherwise.
+         */
+        public boolean isValid() {
+            return failureReason == null;
+        }
+
+        /**
+         * @return why the witness is invalid, or null if it is valid.
+         */
+        public String getFailureReason() {
+            return failureReason;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "index=" + index +
+                    ", valid=" + isValid() +
+                    (isValid() ? "" : ", failureReason='" + failureReason + '\'') +
+                    '}';
+        }
+    }
+}
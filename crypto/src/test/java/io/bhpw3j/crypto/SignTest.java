@@ -1,6 +1,9 @@
 package io.bhpw3j.crypto;
 
+import io.bhpw3j.constants.BHPConstants;
 import io.bhpw3j.utils.Numeric;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.junit.Test;
 
 import java.math.BigInteger;
@@ -9,6 +12,7 @@ import java.security.SignatureException;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class SignTest {
 
@@ -43,6 +47,37 @@ public class SignTest {
                 equalTo(SampleKeys.PUBLIC_KEY_1));
     }
 
+    @Test
+    public void testSignMessageWithoutRecoveryId() {
+        ECPublicKeyParameters publicKey = new ECPublicKeyParameters(
+                Sign.publicPointFromPrivateKey(SampleKeys.KEY_PAIR_1.getPrivateKey()),
+                BHPConstants.CURVE);
+        ECDSASigner verifier = new ECDSASigner();
+        verifier.init(false, publicKey);
+        BigInteger halfCurveOrder = BHPConstants.CURVE.getN().shiftRight(1);
+
+        for (int i = 0; i < 16; i++) {
+            byte[] message = (new String(TEST_MESSAGE) + i).getBytes();
+            Sign.SignatureData signatureData =
+                    Sign.signMessageWithoutRecoveryId(message, SampleKeys.KEY_PAIR_1);
+
+            assertThat(signatureData.getV(), is((byte) 0));
+            assertThat(signatureData.getR().length, is(32));
+            assertThat(signatureData.getS().length, is(32));
+            BigInteger r = new BigInteger(1, signatureData.getR());
+            BigInteger s = new BigInteger(1, signatureData.getS());
+            assertTrue(s.compareTo(halfCurveOrder) <= 0);
+            assertTrue(verifier.verifySignature(Hash.sha256(message), r, s));
+        }
+    }
+
+    @Test
+    public void testSignMessageWithoutRecoveryIdOfHashedMessage() {
+        byte[] messageHash = Hash.sha256(TEST_MESSAGE);
+        assertThat(Sign.signMessageWithoutRecoveryId(messageHash, SampleKeys.KEY_PAIR_1, false),
+                is(Sign.signMessageWithoutRecoveryId(TEST_MESSAGE, SampleKeys.KEY_PAIR_1)));
+    }
+
     @Test(expected = RuntimeException.class)
     public void testInvalidSignature() throws SignatureException {
         Sign.signedMessageToKey(
@@ -26,7 +26,7 @@ public class RawInvocationScriptTest {
         Arrays.fill(message, (byte) 10);
         ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
         RawInvocationScript invScript = RawInvocationScript.fromMessageAndKeyPair(message, keyPair);
-        SignatureData expectedSignature = Sign.signMessage(message, keyPair);
+        SignatureData expectedSignature = Sign.signMessageWithoutRecoveryId(message, keyPair);
         byte[] expectedScript = ArrayUtils.concatenate(PUSHBYTES64.getValue(), expectedSignature.getConcatenated());
         assertArrayEquals(expectedScript, invScript.getScript());
     }
@@ -39,7 +39,7 @@ public class RawInvocationScriptTest {
         Arrays.fill(message, (byte) 10);
         ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
         RawInvocationScript invScript = RawInvocationScript.fromMessageAndKeyPair(message, keyPair);
-        byte[] signature = Sign.signMessage(message, keyPair).getConcatenated();
+        byte[] signature = Sign.signMessageWithoutRecoveryId(message, keyPair).getConcatenated();
 
         byte[] expectedScript = ByteBuffer.allocate(1+1+64)
                 .put((byte)65)
@@ -60,6 +60,7 @@ public class RawInvocationScriptTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testDeserialize() throws IllegalAccessException, InstantiationException,
             InvalidAlgorithmParameterException, NoSuchAlgorithmException, NoSuchProviderException {
 
@@ -71,7 +72,7 @@ public class RawInvocationScriptTest {
         assertArrayEquals(message, script.getScript());
 
         ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
-        byte[] signature = Sign.signMessage(message, keyPair).getConcatenated();
+        byte[] signature = Sign.signMessageWithoutRecoveryId(message, keyPair).getConcatenated();
         byte[] expectedScript = ArrayUtils.concatenate(PUSHBYTES64.getValue(), signature);
         serializedScript = ArrayUtils.concatenate((byte)65, expectedScript);
         script = BhpSerializableInterface.from(serializedScript, RawInvocationScript.class);
@@ -91,4 +92,36 @@ public class RawInvocationScriptTest {
         assertArrayEquals(message, script.getScript());
     }
 
+    @Test
+    public void testDeserializeWithSupplier() throws InvalidAlgorithmParameterException,
+            NoSuchAlgorithmException, NoSuchProviderException {
+
+        int messageSize = 32;
+        byte[] message = new byte[messageSize];
+        Arrays.fill(message, (byte) 1);
+        byte[] serializedScript = ArrayUtils.concatenate((byte)messageSize, message);
+        RawInvocationScript script = BhpSerializableInterface.from(serializedScript, RawInvocationScript::new);
+        assertArrayEquals(message, script.getScript());
+
+        ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
+        byte[] signature = Sign.signMessageWithoutRecoveryId(message, keyPair).getConcatenated();
+        byte[] expectedScript = ArrayUtils.concatenate(PUSHBYTES64.getValue(), signature);
+        serializedScript = ArrayUtils.concatenate((byte)65, expectedScript);
+        script = BhpSerializableInterface.from(serializedScript, RawInvocationScript::new);
+        assertArrayEquals(expectedScript, script.getScript());
+
+        messageSize = 256;
+        message = new byte[messageSize];
+        Arrays.fill(message, (byte)1);
+        ByteBuffer buf = ByteBuffer.allocate(3 + messageSize);
+        // Message size is bigger than one byte and needs encoding with byte 0xFD, which signifies
+        // that a uint16 follows in little endian format, i.e. least significant byte first.
+        buf.put((byte)0xFD);
+        buf.put((byte)0x00);
+        buf.put((byte)0x01);
+        buf.put(message);
+        script = BhpSerializableInterface.from(buf.array(), RawInvocationScript::new);
+        assertArrayEquals(message, script.getScript());
+    }
+
 }
\ No newline at end of file
@@ -37,7 +37,7 @@ public class RawScriptTest {
         ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
         RawScript witness = RawScript.createWitness(message, keyPair);
 
-        SignatureData expectedSignature = Sign.signMessage(message, keyPair);
+        SignatureData expectedSignature = Sign.signMessageWithoutRecoveryId(message, keyPair);
         byte[] expectedInvScript = ArrayUtils.concatenate(PUSHBYTES64.getValue(), expectedSignature.getConcatenated());
         assertArrayEquals(expectedInvScript, witness.getInvocationScript().getScript());
 
@@ -134,10 +134,12 @@ public class RawScriptTest {
         byte[] halfOfScript = ArrayUtils.concatenate((byte) message.length, message);
         byte[] expectedScript = ArrayUtils.concatenate(halfOfScript, halfOfScript);
         assertArrayEquals(expectedScript, script.toArray());
+        assertEquals(expectedScript.length, script.getSize());
     }
 
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testDeserializeWithWitness() throws InvalidAlgorithmParameterException,
             NoSuchAlgorithmException, NoSuchProviderException, IllegalAccessException, InstantiationException {
 
@@ -169,6 +171,38 @@ public class RawScriptTest {
         assertArrayEquals(buf.array(), script.getVerificationScript().getScript());
     }
 
+    @Test
+    public void testDeserializeWithWitnessWithSupplier() throws InvalidAlgorithmParameterException,
+            NoSuchAlgorithmException, NoSuchProviderException {
+
+        int messageSize = 10;
+        byte[] message = new byte[messageSize];
+        Arrays.fill(message, (byte) 1);
+        ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
+
+        ByteBuffer buf = ByteBuffer.allocate(1 + 1 + 64 + 1 + 1 + 33 + 1);
+        buf.put((byte) 65);
+        buf.put(PUSHBYTES64.getValue());
+        buf.put(Sign.signMessage(message, keyPair).getConcatenated());
+        buf.put((byte) 35);
+        buf.put(PUSHBYTES33.getValue());
+        buf.put(keyPair.getPublicKey().toByteArray());
+        buf.put(CHECKSIG.getValue());
+
+        RawScript script = BhpSerializableInterface.from(buf.array(), RawScript::new);
+
+        buf = ByteBuffer.allocate(1 + 64);
+        buf.put(PUSHBYTES64.getValue());
+        buf.put(Sign.signMessage(message, keyPair).getConcatenated());
+        assertArrayEquals(buf.array(), script.getInvocationScript().getScript());
+
+        buf = ByteBuffer.allocate(1 + 33 + 1);
+        buf.put(PUSHBYTES33.getValue());
+        buf.put(keyPair.getPublicKey().toByteArray());
+        buf.put(CHECKSIG.getValue());
+        assertArrayEquals(buf.array(), script.getVerificationScript().getScript());
+    }
+
     @Test
     public void testGetScriptHash() {
         ECKeyPair keyPair = SampleKeys.CREDENTIALS_1.getEcKeyPair();
@@ -92,6 +92,7 @@ public class RawTransactionAttributeTest {
             ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
             attr.serialize(new BinaryWriter(byteStream));
             byte[] output = byteStream.toByteArray();
+            assertEquals(output.length, attr.getSize());
             assertEquals(type.byteValue(), output[0]);
             if (type.fixedDataLength() != null) {
                 assertEquals(data.length + 1, output.length);
@@ -14,4 +14,11 @@ public class RawTransactionOutputTest {
         assertEquals(o1, o2);
     }
 
+    @Test
+    public void testGetSize() {
+        RawTransactionOutput output = new RawTransactionOutput(BhpAsset.HASH_ID, "15983.0",
+                "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y");
+        assertEquals(output.toArray().length, output.getSize());
+    }
+
 }
\ No newline at end of file
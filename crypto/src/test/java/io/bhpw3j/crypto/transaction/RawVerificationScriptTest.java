@@ -81,6 +81,7 @@ public class RawVerificationScriptTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testDeserialize() throws InvalidAlgorithmParameterException,
             NoSuchAlgorithmException, NoSuchProviderException, IllegalAccessException, InstantiationException {
 
@@ -111,6 +112,38 @@ public class RawVerificationScriptTest {
         script = BhpSerializableInterface.from(buf.array(), RawVerificationScript.class);
         assertArrayEquals(message, script.getScript());
     }
+
+    @Test
+    public void testDeserializeWithSupplier() throws InvalidAlgorithmParameterException,
+            NoSuchAlgorithmException, NoSuchProviderException {
+
+        int messageSize = 32;
+        byte[] message = new byte[messageSize];
+        Arrays.fill(message, (byte) 1);
+        byte[] serializedScript = ArrayUtils.concatenate((byte)messageSize, message);
+        RawVerificationScript script = BhpSerializableInterface.from(serializedScript, RawVerificationScript::new);
+        assertArrayEquals(message, script.getScript());
+
+        ECKeyPair keyPair = ECKeyPair.createEcKeyPair();
+        byte[] pub = ArrayUtils.concatenate(PUSHBYTES33.getValue(), keyPair.getPublicKey().toByteArray());
+        byte[] expectedScript = ArrayUtils.concatenate(pub, CHECKSIG.getValue());
+        serializedScript = ArrayUtils.concatenate((byte)35, expectedScript);
+        script = BhpSerializableInterface.from(serializedScript, RawVerificationScript::new);
+        assertArrayEquals(expectedScript, script.getScript());
+
+        messageSize = 256;
+        message = new byte[messageSize];
+        Arrays.fill(message, (byte)1);
+        ByteBuffer buf = ByteBuffer.allocate(3 + messageSize);
+        // Message size is bigger than one byte and needs encoding with byte 0xFD, which signifies
+        // that a uint16 follows in little endian format, i.e. least significant byte first.
+        buf.put((byte)0xFD);
+        buf.put((byte)0x00);
+        buf.put((byte)0x01);
+        buf.put(message);
+        script = BhpSerializableInterface.from(buf.array(), RawVerificationScript::new);
+        assertArrayEquals(message, script.getScript());
+    }
     
     @Test
     public void testGetSigningThreshold() {
@@ -0,0 +1,186 @@
+package io.bhpw3j.crypto.transaction;
+
+import io.bhpw3j.constants.BHPConstants;
+import io.bhpw3j.crypto.ECKeyPair;
+import io.bhpw3j.crypto.Sign;
+import io.bhpw3j.crypto.Sign.SignatureData;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.io.BinaryWriter;
+import io.bhpw3j.model.types.TransactionType;
+import io.bhpw3j.utils.Numeric;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class WitnessVerifierTest {
+
+    private ECKeyPair keyPair1;
+    private ECKeyPair keyPair2;
+    private ECKeyPair keyPair3;
+    private WitnessVerifier verifier;
+
+    @Before
+    public void setUp() throws Exception {
+        keyPair1 = ECKeyPair.createEcKeyPair();
+        keyPair2 = ECKeyPair.createEcKeyPair();
+        keyPair3 = ECKeyPair.createEcKeyPair();
+        verifier = new WitnessVerifier(new ForkJoinPool(2));
+    }
+
+    @Test
+    public void testValidSingleSigWitness() {
+        TestTransaction tx = transaction(0);
+        tx.addScript(RawScript.createWitness(tx.toArrayWithoutScripts(), keyPair1));
+
+        List<WitnessVerifier.Result> results = verifier.verify(tx);
+
+        assertThat(results, hasSize(1));
+        assertTrue(results.get(0).isValid());
+        assertThat(results.get(0).getIndex(), is(0));
+        assertThat(results.get(0).getFailureReason(), is(nullValue()));
+    }
+
+    @Test
+    public void testSingleSigWitnessOfOtherTransaction() {
+        TestTransaction tx = transaction(0);
+        tx.addScript(RawScript.createWitness(transaction(1).toArrayWithoutScripts(), keyPair1));
+
+        assertFalse(verifier.verify(tx).get(0).isValid());
+    }
+
+    @Test
+    public void testHighSSignaturesAreAccepted() {
+        TestTransaction tx = transaction(0);
+        SignatureData signature = Sign.signMessageWithoutRecoveryId(tx.toArrayWithoutScripts(), keyPair1);
+        SignatureData highS = new SignatureData((byte) 0, signature.getR(),
+                Numeric.toBytesPadded(BHPConstants.CURVE.getN().subtract(
+                        new BigInteger(1, signature.getS())), 32));
+        tx.addScript(new RawScript(RawInvocationScript.fromSignature(highS),
+                RawVerificationScript.fromPublicKey(keyPair1.getPublicKey())));
+
+        assertTrue(verifier.verify(tx).get(0).isValid());
+    }
+
+    @Test
+    public void testMultiSigWitness() {
+        TestTransaction tx = transaction(0);
+        byte[] message = tx.toArrayWithoutScripts();
+        List<BigInteger> publicKeys = Arrays.asList(
+                keyPair1.getPublicKey(), keyPair2.getPublicKey(), keyPair3.getPublicKey());
+        tx.addScript(RawScript.createMultiSigWitness(2, Arrays.asList(
+                Sign.signMessageWithoutRecoveryId(message, keyPair1),
+                Sign.signMessageWithoutRecoveryId(message, keyPair3)), publicKeys));
+
+        assertTrue(verifier.verify(tx).get(0).isValid());
+    }
+
+    @Test
+    public void testMultiSigWitnessWithSignaturesInWrongOrder() {
+        TestTransaction tx = transaction(0);
+        byte[] message = tx.toArrayWithoutScripts();
+        List<BigInteger> publicKeys = Arrays.asList(
+                keyPair1.getPublicKey(), keyPair2.getPublicKey(), keyPair3.getPublicKey());
+        tx.addScript(RawScript.createMultiSigWitness(2, Arrays.asList(
+                Sign.signMessageWithoutRecoveryId(message, keyPair3),
+                Sign.signMessageWithoutRecoveryId(message, keyPair1)), publicKeys));
+
+        assertFalse(verifier.verify(tx).get(0).isValid());
+    }
+
+    @Test
+    public void testMultiSigWitnessWithTooFewSignatures() {
+        TestTransaction tx = transaction(0);
+        byte[] message = tx.toArrayWithoutScripts();
+        RawVerificationScript verificationScript = RawVerificationScript.fromPublicKeys(2,
+                Arrays.asList(keyPair1.getPublicKey(), keyPair2.getPublicKey()));
+        tx.addScript(new RawScript(
+                RawInvocationScript.fromSignatures(Arrays.asList(
+                        Sign.signMessageWithoutRecoveryId(message, keyPair1))),
+                verificationScript));
+
+        WitnessVerifier.Result result = verifier.verify(tx).get(0);
+        assertFalse(result.isValid());
+        assertThat(result.getFailureReason(), is("Expected 2 signatures but got 1."));
+    }
+
+    @Test
+    public void testNonStandardVerificationScript() {
+        TestTransaction tx = transaction(0);
+        tx.addScript(new RawScript(new RawInvocationScript(new byte[]{0x51}),
+                new RawVerificationScript(new byte[]{0x51})));
+
+        WitnessVerifier.Result result = verifier.verify(tx).get(0);
+        assertFalse(result.isValid());
+        assertThat(result.getFailureReason(), is("The script is not a valid verification script."));
+    }
+
+    @Test
+    public void testResultsPerWitnessAndTransaction() {
+        TestTransaction tx1 = transaction(0);
+        byte[] message = tx1.toArrayWithoutScripts();
+        tx1.addScript(RawScript.createWitness(message, keyPair1));
+        tx1.addScript(RawScript.createWitness(transaction(1).toArrayWithoutScripts(), keyPair2));
+        TestTransaction tx2 = transaction(2);
+        TestTransaction tx3 = transaction(3);
+        tx3.addScript(RawScript.createWitness(tx3.toArrayWithoutScripts(), keyPair3));
+
+        List<List<WitnessVerifier.Result>> results = verifier.verify(Arrays.asList(tx1, tx2, tx3));
+
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0), hasSize(2));
+        for (WitnessVerifier.Result result : results.get(0)) {
+            boolean signedByKeyPair1 = result.getWitness().getVerificationScript().equals(
+                    RawVerificationScript.fromPublicKey(keyPair1.getPublicKey()));
+            assertThat(result.isValid(), is(signedByKeyPair1));
+            assertThat(result.getWitness(), is(tx1.getScripts().get(result.getIndex())));
+        }
+        assertThat(results.get(1), hasSize(0));
+        assertThat(results.get(2), hasSize(1));
+        assertTrue(results.get(2).get(0).isValid());
+    }
+
+    private static TestTransaction transaction(int prevIndex) {
+        return new TestTransaction.Builder()
+                .input(new RawTransactionInput(
+                        "c94d0f94b0ac9bacd86737c428344cb2d8be9aad296659e85c065d4f88cd2dd2", prevIndex))
+                .build();
+    }
+
+    private static class TestTransaction extends RawTransaction {
+
+        private TestTransaction(Builder builder) {
+            super(builder);
+        }
+
+        @Override
+        public void serializeExclusive(BinaryWriter writer) {
+        }
+
+        @Override
+        public void deserializeExclusive(BinaryReader reader) {
+        }
+
+        private static class Builder extends RawTransaction.Builder<Builder> {
+
+            private Builder() {
+                transactionType(TransactionType.CONTRACT_TRANSACTION);
+            }
+
+            @Override
+            public TestTransaction build() {
+                return new TestTransaction(this);
+            }
+        }
+    }
+}
@@ -81,7 +81,7 @@ public class ScriptHash implements Comparable<ScriptHash> {
         byte[] data = new byte[1];
         data[0] = BHPConstants.COIN_VERSION;
         byte[] dataAndScriptHash = ArrayUtils.concatenate(data, scriptHash);
-        byte[] checksum = Hash.sha256(Hash.sha256(dataAndScriptHash));
+        byte[] checksum = Hash.hash256(dataAndScriptHash);
         byte[] first4BytesCheckSum = new byte[4];
         System.arraycopy(checksum, 0, first4BytesCheckSum, 0, 4);
         byte[] dataToEncode = ArrayUtils.concatenate(dataAndScriptHash, first4BytesCheckSum);
@@ -147,7 +147,7 @@ public class ScriptHash implements Comparable<ScriptHash> {
     public static ScriptHash fromScript(byte[] script) {
         // There is no need to reverse the hash. The hashing method returns the script hash in
         // little-endian format.
-        return new ScriptHash(Hash.sha256AndThenRipemd160(script));
+        return new ScriptHash(Hash.hash160(script));
     }
 
     /**
@@ -0,0 +1,128 @@
+package io.bhpw3j.crypto;
+
+import io.bhpw3j.constants.BHPConstants;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Bounded cache of decoded public keys, keyed by their compressed encoding.</p>
+ * <br>
+ * <p>Decoding a compressed point needs a modular square root, which dominates parsing of
+ * verification scripts and validator sets that contain the same keys over and over. The least
+ * recently used points are evicted once the capacity is reached. Instances are thread-safe and
+ * the returned points are immutable, so they can be shared between threads.</p>
+ */
+public class ECPointCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int COMPRESSED_POINT_SIZE = 33;
+
+    private static final ECPointCache DEFAULT_CACHE = new ECPointCache(DEFAULT_CAPACITY);
+
+    private final Map<ByteBuffer, ECPoint> points;
+
+    /**
+     * Creates a cache holding at most the given number of points.
+     *
+     * @param capacity the maximum number of cached points.
+     */
+    public ECPointCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1.");
+        }
+        this.points = new LinkedHashMap<ByteBuffer, ECPoint>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, ECPoint> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache shared by the library, e.g. by
+     * {@link io.bhpw3j.io.BinaryReader#readECPoint()}.
+     *
+     * @return the shared cache.
+     */
+    public static ECPointCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    /**
+     * Decodes the given encoded point on the BHP curve. Compressed points are served from and
+     * added to this cache, other encodings are decoded directly.
+     *
+     * @param encoded the encoded point. The array is not modified or retained.
+     * @return the decoded point.
+     * @throws IllegalArgumentException if the encoding is not a valid point on the curve.
+     */
+    public ECPoint decode(byte[] encoded) {
+        if (encoded.length != COMPRESSED_POINT_SIZE) {
+            return decodePoint(encoded);
+        }
+        ECPoint point;
+        synchronized (points) {
+            point = points.get(ByteBuffer.wrap(encoded));
+        }
+        if (point != null) {
+            return point;
+        }
+        // decode outside of the lock, concurrent misses on the same key just decode twice
+        point = decodePoint(encoded);
+        synchronized (points) {
+            points.put(ByteBuffer.wrap(encoded.clone()), point);
+        }
+        return point;
+    }
+
+    /**
+     * Decodes the encoded point in the remaining bytes of the given buffer. A cached point is
+     * looked up without copying the bytes, e.g. from a slice of a raw block.
+     *
+     * @param encoded the encoded point. The buffer's position is not changed.
+     * @return the decoded point.
+     * @throws IllegalArgumentException if the encoding is not a valid point on the curve.
+     */
+    public ECPoint decode(ByteBuffer encoded) {
+        if (encoded.remaining() == COMPRESSED_POINT_SIZE) {
+            ECPoint point;
+            synchronized (points) {
+                point = points.get(encoded);
+            }
+            if (point != null) {
+                return point;
+            }
+        }
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.duplicate().get(bytes);
+        return decode(bytes);
+    }
+
+    /**
+     * Returns the number of cached points.
+     *
+     * @return the number of cached points.
+     */
+    public int size() {
+        synchronized (points) {
+            return points.size();
+        }
+    }
+
+    /**
+     * Removes all cached points.
+     */
+    public void clear() {
+        synchronized (points) {
+            points.clear();
+        }
+    }
+
+    private static ECPoint decodePoint(byte[] encoded) {
+        return BHPConstants.CURVE.getCurve().decodePoint(encoded);
+    }
+}
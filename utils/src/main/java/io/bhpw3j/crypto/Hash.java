@@ -3,7 +3,9 @@ package io.bhpw3j.crypto;
 import io.bhpw3j.utils.Numeric;
 import org.bouncycastle.jcajce.provider.digest.Keccak;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -12,10 +14,22 @@ import java.security.NoSuchAlgorithmException;
  */
 public class Hash {
 
+    /**
+     * The length of a SHA-256 hash in bytes.
+     */
+    public static final int SHA256_LENGTH = 32;
+
+    /**
+     * The length of a RIPEMD-160 hash in bytes.
+     */
+    public static final int RIPEMD160_LENGTH = 20;
+
     static {
         SecurityProviderChecker.addBouncyCastle();
     }
 
+    private static final ThreadLocal<Digests> DIGESTS = ThreadLocal.withInitial(Digests::new);
+
     private Hash() {
     }
 
@@ -26,8 +40,7 @@ public class Hash {
      * @return hash value as byte array
      */
     public static byte[] sha256AndThenRipemd160(byte[] input) {
-        byte[] sha256 = sha256(input);
-        return ripemd160(sha256);
+        return hash160(input);
     }
 
     /**
@@ -50,12 +63,21 @@ public class Hash {
      * @throws RuntimeException If we couldn't find any RipeMD160 provider
      */
     public static byte[] ripemd160(byte[] input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("RipeMD160");
-            return md.digest(input);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Couldn't find a RipeMD160 provider", e);
-        }
+        return ripemd160(input, 0, input.length);
+    }
+
+    /**
+     * Generates RipeMD-160 digest for the given range of {@code input}.
+     *
+     * @param input  The input to digest
+     * @param offset The offset of the data to digest
+     * @param length The length of the data to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] ripemd160(byte[] input, int offset, int length) {
+        MessageDigest ripemd160 = DIGESTS.get().ripemd160;
+        ripemd160.update(input, offset, length);
+        return ripemd160.digest();
     }
 
     /**
@@ -112,21 +134,184 @@ public class Hash {
      * @throws RuntimeException If we couldn't find any SHA-256 provider
      */
     public static byte[] sha256(byte[] input) {
+        return sha256(input, 0, input.length);
+    }
+
+    /**
+     * Generates SHA-256 digest for the given range of {@code input}.
+     *
+     * @param input  The input to digest
+     * @param offset The offset of the data to digest
+     * @param length The length of the data to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] sha256(byte[] input, int offset, int length) {
+        byte[] output = new byte[SHA256_LENGTH];
+        sha256(input, offset, length, output, 0);
+        return output;
+    }
+
+    /**
+     * Generates SHA-256 digest for the remaining bytes of the given buffer. The buffer's position
+     * is moved to its limit.
+     *
+     * @param input The input to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] sha256(ByteBuffer input) {
+        MessageDigest sha256 = DIGESTS.get().sha256;
+        sha256.update(input);
+        return sha256.digest();
+    }
+
+    /**
+     * Generates SHA-256 digest for the given range of {@code input} and writes it to
+     * {@code output}.
+     *
+     * @param input        The input to digest
+     * @param offset       The offset of the data to digest
+     * @param length       The length of the data to digest
+     * @param output       The array to write the 32 byte hash value to
+     * @param outputOffset The offset in {@code output} to start writing at
+     */
+    public static void sha256(byte[] input, int offset, int length,
+                              byte[] output, int outputOffset) {
+
+        MessageDigest sha256 = DIGESTS.get().sha256;
+        sha256.update(input, offset, length);
+        digest(sha256, output, outputOffset, SHA256_LENGTH);
+    }
+
+    /**
+     * Performs a double SHA-256, e.g. for transaction ids and Base58 checksums.
+     *
+     * @param input The input to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] hash256(byte[] input) {
+        return hash256(input, 0, input.length);
+    }
+
+    /**
+     * Performs a double SHA-256 on the given range of {@code input}.
+     *
+     * @param input  The input to digest
+     * @param offset The offset of the data to digest
+     * @param length The length of the data to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] hash256(byte[] input, int offset, int length) {
+        byte[] output = new byte[SHA256_LENGTH];
+        hash256(input, offset, length, output, 0);
+        return output;
+    }
+
+    /**
+     * Performs a double SHA-256 on the remaining bytes of the given buffer. The buffer's position
+     * is moved to its limit.
+     *
+     * @param input The input to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] hash256(ByteBuffer input) {
+        MessageDigest sha256 = DIGESTS.get().sha256;
+        sha256.update(input);
+        byte[] output = new byte[SHA256_LENGTH];
+        digest(sha256, output, 0, SHA256_LENGTH);
+        sha256.update(output);
+        digest(sha256, output, 0, SHA256_LENGTH);
+        return output;
+    }
+
+    /**
+     * Performs a double SHA-256 on the given range of {@code input} and writes the result to
+     * {@code output}.
+     *
+     * @param input        The input to digest
+     * @param offset       The offset of the data to digest
+     * @param length       The length of the data to digest
+     * @param output       The array to write the 32 byte hash value to
+     * @param outputOffset The offset in {@code output} to start writing at
+     */
+    public static void hash256(byte[] input, int offset, int length,
+                               byte[] output, int outputOffset) {
+
+        MessageDigest sha256 = DIGESTS.get().sha256;
+        sha256.update(input, offset, length);
+        digest(sha256, output, outputOffset, SHA256_LENGTH);
+        sha256.update(output, outputOffset, SHA256_LENGTH);
+        digest(sha256, output, outputOffset, SHA256_LENGTH);
+    }
+
+    /**
+     * Performs a SHA-256 followed by a RIPEMD-160, e.g. for script hashes.
+     *
+     * @param input The input to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] hash160(byte[] input) {
+        return hash160(input, 0, input.length);
+    }
+
+    /**
+     * Performs a SHA-256 followed by a RIPEMD-160 on the given range of {@code input}.
+     *
+     * @param input  The input to digest
+     * @param offset The offset of the data to digest
+     * @param length The length of the data to digest
+     * @return The hash value for the given input
+     */
+    public static byte[] hash160(byte[] input, int offset, int length) {
+        byte[] output = new byte[RIPEMD160_LENGTH];
+        hash160(input, offset, length, output, 0);
+        return output;
+    }
+
+    /**
+     * Performs a SHA-256 followed by a RIPEMD-160 on the given range of {@code input} and writes
+     * the result to {@code output}.
+     *
+     * @param input        The input to digest
+     * @param offset       The offset of the data to digest
+     * @param length       The length of the data to digest
+     * @param output       The array to write the 20 byte hash value to
+     * @param outputOffset The offset in {@code output} to start writing at
+     */
+    public static void hash160(byte[] input, int offset, int length,
+                               byte[] output, int outputOffset) {
+
+        Digests digests = DIGESTS.get();
+        digests.sha256.update(input, offset, length);
+        digest(digests.sha256, digests.buffer, 0, SHA256_LENGTH);
+        digests.ripemd160.update(digests.buffer, 0, SHA256_LENGTH);
+        digest(digests.ripemd160, output, outputOffset, RIPEMD160_LENGTH);
+    }
+
+    private static void digest(MessageDigest digest, byte[] output, int offset, int length) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            return digest.digest(input);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Couldn't find a SHA-256 provider", e);
+            digest.digest(output, offset, length);
+        } catch (DigestException | IllegalArgumentException e) {
+            digest.reset();
+            throw new IllegalArgumentException("The output array is too small for the hash.", e);
         }
     }
 
-    public static byte[] sha256(byte[] input, int offset, int length) {
-        if (offset != 0 || length != input.length) {
-            byte[] array = new byte[length];
-            System.arraycopy(input, offset, array, 0, length);
-            input = array;
+    private static MessageDigest getDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Couldn't find a " + algorithm + " provider", e);
         }
-        return sha256(input);
     }
 
+    /**
+     * The digests of a thread. {@link MessageDigest#getInstance(String)} looks up the provider on
+     * every call, so the instances are created once per thread and reset by each digest.
+     */
+    private static class Digests {
+
+        private final MessageDigest sha256 = getDigest("SHA-256");
+        private final MessageDigest ripemd160 = getDigest("RipeMD160");
+        private final byte[] buffer = new byte[SHA256_LENGTH];
+    }
 }
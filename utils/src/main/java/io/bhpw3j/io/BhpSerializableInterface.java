@@ -1,9 +1,8 @@
 package io.bhpw3j.io;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 public interface BhpSerializableInterface {
 
@@ -11,33 +10,82 @@ public interface BhpSerializableInterface {
 
     void serialize(BinaryWriter writer) throws IOException;
 
+    /**
+     * Gets the number of bytes written by {@link #serialize(BinaryWriter)}. The default
+     * implementation serializes the object, so implementations should override it with a
+     * computation based on their fields, e.g. with the help of {@link IOUtils}.
+     *
+     * @return the size of the serialized object.
+     */
+    default int getSize() {
+        return toArray().length;
+    }
+
     default byte[] toArray() {
-        try (ByteArrayOutputStream ms = new ByteArrayOutputStream()) {
-            try (BinaryWriter writer = new BinaryWriter(ms)) {
-                serialize(writer);
-                writer.flush();
-                return ms.toByteArray();
-            }
+        try (BinaryWriter writer = new BinaryWriter()) {
+            serialize(writer);
+            return writer.toByteArray();
         } catch (IOException ex) {
             throw new UnsupportedOperationException(ex);
         }
     }
 
+    /**
+     * Deserializes an object created by the given factory from the given bytes.
+     *
+     * @param value   the serialized object.
+     * @param factory creates the empty object, e.g. a constructor reference.
+     * @param <T>     the type of the object.
+     * @return the deserialized object.
+     * @throws IllegalArgumentException if the bytes can't be deserialized.
+     */
+    static <T extends BhpSerializable> T from(byte[] value, Supplier<T> factory) {
+        try (BinaryReader reader = new BinaryReader(value)) {
+            return reader.readSerializable(factory);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * Deserializes objects created by the given factory from the given bytes, which are prefixed
+     * with their total size.
+     *
+     * @param value   the serialized objects.
+     * @param factory creates the empty objects, e.g. a constructor reference.
+     * @param <T>     the type of the objects.
+     * @return the deserialized objects.
+     * @throws IllegalArgumentException if the bytes can't be deserialized.
+     */
+    static <T extends BhpSerializable> List<T> fromAsList(byte[] value, Supplier<T> factory) {
+        try (BinaryReader reader = new BinaryReader(value)) {
+            return reader.readSerializableListVarBytes(factory);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * @deprecated Creates the object with reflection. Use {@link #from(byte[], Supplier)}.
+     */
+    @Deprecated
+    @SuppressWarnings("deprecation")
     static <T extends BhpSerializable> T from(byte[] value, Class<T> t) throws InstantiationException, IllegalAccessException {
-        try (ByteArrayInputStream ms = new ByteArrayInputStream(value)) {
-            try (BinaryReader reader = new BinaryReader(ms)) {
-                return reader.readSerializable(t);
-            }
+        try (BinaryReader reader = new BinaryReader(value)) {
+            return reader.readSerializable(t);
         } catch (IOException ex) {
             throw new IllegalArgumentException(ex);
         }
     }
 
+    /**
+     * @deprecated Creates the objects with reflection. Use {@link #fromAsList(byte[], Supplier)}.
+     */
+    @Deprecated
+    @SuppressWarnings("deprecation")
     static <T extends BhpSerializable> List<T> fromAsList(byte[] value, Class<T> t) throws InstantiationException, IllegalAccessException {
-        try (ByteArrayInputStream ms = new ByteArrayInputStream(value)) {
-            try (BinaryReader reader = new BinaryReader(ms)) {
-                return reader.readSerializableListVarBytes(t);
-            }
+        try (BinaryReader reader = new BinaryReader(value)) {
+            return reader.readSerializableListVarBytes(t);
         } catch (IOException ex) {
             throw new IllegalArgumentException(ex);
         }
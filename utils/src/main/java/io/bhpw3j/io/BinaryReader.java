@@ -24,13 +24,14 @@
  */
 package io.bhpw3j.io;
 
-import io.bhpw3j.constants.BHPConstants;
 import io.bhpw3j.constants.OpCode;
+import io.bhpw3j.crypto.ECPointCache;
 import io.bhpw3j.utils.BigIntegers;
 import org.bouncycastle.math.ec.ECPoint;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
@@ -38,12 +39,23 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static io.bhpw3j.utils.Numeric.toBigInt;
-
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>Reads the binary format of BHP structures, little-endian.</p>
+ * <br>
+ * <p>A reader either reads from an {@link InputStream} or directly from a {@link ByteBuffer}, e.g.
+ * a heap, direct or memory-mapped buffer. The latter reads fixed-width fields straight from the
+ * buffer and can return zero-copy slices with {@link #readSlice(int)}.</p>
+ */
 public class BinaryReader implements AutoCloseable {
 
     private DataInputStream reader;
+    private ByteBuffer input;
+    private int inputMark = -1;
     private byte[] array = new byte[8];
     private ByteBuffer buffer = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
     private int position = 0;
@@ -54,7 +66,17 @@ public class BinaryReader implements AutoCloseable {
     }
 
     public BinaryReader(byte[] input) {
-        this(new ByteArrayInputStream(input, 0, input.length));
+        this(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Creates a reader that reads the remaining bytes of the given buffer. The reader works on a
+     * view of the buffer, so neither the position nor the byte order of the given buffer change.
+     *
+     * @param input the buffer to read from.
+     */
+    public BinaryReader(ByteBuffer input) {
+        this.input = input.slice().order(ByteOrder.LITTLE_ENDIAN);
     }
 
     public int getPosition() {
@@ -67,148 +89,320 @@ public class BinaryReader implements AutoCloseable {
 
     @Override
     public void close() throws IOException {
-        reader.close();
+        if (reader != null) {
+            reader.close();
+        }
     }
 
     public void mark(int readlimit) {
-        reader.mark(readlimit);
+        if (input != null) {
+            inputMark = input.position();
+        } else {
+            reader.mark(readlimit);
+        }
         mark = getPosition();
     }
 
     public void reset() throws IOException {
-        reader.reset();
+        if (input != null) {
+            if (inputMark < 0) {
+                throw new IOException("Resetting to invalid mark");
+            }
+            input.position(inputMark);
+        } else {
+            reader.reset();
+        }
         position = getMark();
     }
 
 
     public void read(byte[] buffer) throws IOException {
-        reader.readFully(buffer);
-        position += buffer.length;
+        read(buffer, 0, buffer.length);
     }
 
     public void read(byte[] buffer, int index, int length) throws IOException {
-        reader.readFully(buffer, index, length);
+        if (input != null) {
+            ensureRemaining(length);
+            input.get(buffer, index, length);
+        } else {
+            reader.readFully(buffer, index, length);
+        }
         position += length;
     }
 
     public boolean readBoolean() throws IOException {
-        boolean result = reader.readBoolean();
-        position += Byte.BYTES;
-        return result;
+        return readByte() != 0;
     }
 
     public int readUnsignedByte() throws IOException {
-        int result = reader.readUnsignedByte();
-        position += Byte.BYTES;
-        return result;
+        return Byte.toUnsignedInt(readByte());
     }
 
     public byte readByteKeepPosition() throws IOException {
-        byte result = reader.readByte();
-        return result;
+        if (input != null) {
+            ensureRemaining(Byte.BYTES);
+            return input.get();
+        }
+        return reader.readByte();
     }
 
     public byte readByte() throws IOException {
-        byte result = reader.readByte();
+        byte result = readByteKeepPosition();
         position += Byte.BYTES;
         return result;
     }
 
     public byte[] readBytes(int count) throws IOException {
         byte[] buffer = new byte[count];
-        reader.readFully(buffer);
-        position += buffer.length;
+        read(buffer);
         return buffer;
     }
 
+    /**
+     * Reads the given number of bytes. If this reader reads from a buffer, the bytes are not
+     * copied but returned as a read-only view of the underlying buffer. This is useful for
+     * hashes and scripts that are only hashed or passed on.
+     *
+     * @param count the number of bytes to read.
+     * @return the bytes, positioned at 0 with a limit of {@code count}.
+     * @throws IOException if there are less than {@code count} bytes left.
+     */
+    public ByteBuffer readSlice(int count) throws IOException {
+        if (input == null) {
+            return ByteBuffer.wrap(readBytes(count)).asReadOnlyBuffer();
+        }
+        ensureRemaining(count);
+        ByteBuffer slice = input.slice();
+        slice.limit(count);
+        input.position(input.position() + count);
+        position += count;
+        return slice.asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads bytes prefixed with their length as a variable-length integer, like
+     * {@link #readVarBytes(int)}, but without copying them if possible.
+     *
+     * @param max the maximum number of bytes.
+     * @return the bytes.
+     * @throws IOException if the length exceeds {@code max} or there are not enough bytes left.
+     * @see #readSlice(int)
+     */
+    public ByteBuffer readVarSlice(int max) throws IOException {
+        return readSlice((int) readVarInt(max));
+    }
+
+    /**
+     * Skips the given number of bytes.
+     *
+     * @param count the number of bytes to skip.
+     * @throws IOException if there are less than {@code count} bytes left.
+     */
+    public void skip(int count) throws IOException {
+        if (input != null) {
+            ensureRemaining(count);
+            input.position(input.position() + count);
+        } else if (reader.skipBytes(count) < count) {
+            throw new EOFException();
+        }
+        position += count;
+    }
+
+    /**
+     * Reads all bytes up to the end of the input.
+     *
+     * @return the remaining bytes.
+     * @throws IOException if the input can't be read.
+     */
+    public byte[] readToEnd() throws IOException {
+        if (input != null) {
+            return readBytes(input.remaining());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int count;
+        while ((count = reader.read(chunk)) != -1) {
+            out.write(chunk, 0, count);
+        }
+        position += out.size();
+        return out.toByteArray();
+    }
+
     public double readDouble() throws IOException {
-        reader.readFully(array, 0, 8);
-        position += 8;
-        return buffer.getDouble(0);
+        return Double.longBitsToDouble(readLong());
     }
 
     public ECPoint readECPoint() throws IOException {
         // based on: https://tools.ietf.org/html/rfc5480#section-2.2
-        byte[] encoded;
-        byte fb = reader.readByte();
-        position += Byte.BYTES;
+        byte fb = readByte();
+        int length;
         switch (fb) {
             case 0x00:
-                encoded = new byte[1];
+                length = 1;
                 break;
             case 0x02:
             case 0x03:
-                encoded = new byte[33];
-                encoded[0] = fb;
-                reader.readFully(encoded, 1, 32);
-                position += 32;
+                length = 33;
                 break;
             case 0x04:
-                encoded = new byte[65];
-                encoded[0] = fb;
-                reader.readFully(encoded, 1, 64);
-                position += 64;
+                length = 65;
                 break;
             default:
                 throw new IOException();
         }
-        return BHPConstants.CURVE.getCurve().decodePoint(encoded);
+        if (input != null) {
+            // the first byte has already been read, decode from a view including it
+            ensureRemaining(length - 1);
+            int start = input.position() - 1;
+            ByteBuffer encoded = input.duplicate();
+            encoded.position(start).limit(start + length);
+            input.position(start + length);
+            position += length - 1;
+            return ECPointCache.getDefault().decode(encoded);
+        }
+        byte[] encoded = new byte[length];
+        encoded[0] = fb;
+        read(encoded, 1, length - 1);
+        return ECPointCache.getDefault().decode(encoded);
     }
 
     public float readFloat() throws IOException {
-        reader.readFully(array, 0, 4);
-        position += 4;
-        return buffer.getFloat(0);
+        return Float.intBitsToFloat(readInt());
     }
 
     public int readInt() throws IOException {
-        reader.readFully(array, 0, 4);
+        int result;
+        if (input != null) {
+            ensureRemaining(4);
+            result = input.getInt();
+        } else {
+            reader.readFully(array, 0, 4);
+            result = buffer.getInt(0);
+        }
         position += 4;
-        return buffer.getInt(0);
+        return result;
     }
 
     public long readLong() throws IOException {
-        reader.readFully(array, 0, 8);
+        long result;
+        if (input != null) {
+            ensureRemaining(8);
+            result = input.getLong();
+        } else {
+            reader.readFully(array, 0, 8);
+            result = buffer.getLong(0);
+        }
         position += 8;
-        return buffer.getLong(0);
+        return result;
+    }
+
+    /**
+     * Reads an object created by the given factory, e.g. a constructor reference like
+     * {@code RawTransactionInput::new}.
+     *
+     * @param factory creates the empty object to deserialize into.
+     * @param <T>     the type of the object.
+     * @return the deserialized object.
+     * @throws IOException if the object can't be read.
+     */
+    public <T extends BhpSerializable> T readSerializable(Supplier<T> factory) throws IOException {
+        T obj = factory.get();
+        obj.deserialize(this);
+        return obj;
+    }
+
+    /**
+     * Reads objects created by the given factory, prefixed with their total size in bytes.
+     *
+     * @param factory creates the empty objects to deserialize into.
+     * @param <T>     the type of the objects.
+     * @return the deserialized objects.
+     * @throws IOException if the objects can't be read.
+     */
+    public <T extends BhpSerializable> List<T> readSerializableListVarBytes(Supplier<T> factory) throws IOException {
+        int length = (int) readVarInt(0x10000000);
+        int bytesRead = 0;
+        int initialOffset = getPosition();
+        List<T> list = new ArrayList<>();
+        while (bytesRead < length) {
+            list.add(readSerializable(factory));
+            int currentOffset = getPosition();
+            bytesRead = (currentOffset - initialOffset);
+        }
+        return list;
+    }
+
+    /**
+     * Reads objects created by the given factory, prefixed with their number.
+     *
+     * @param factory creates the empty objects to deserialize into.
+     * @param <T>     the type of the objects.
+     * @return the deserialized objects.
+     * @throws IOException if the objects can't be read.
+     */
+    public <T extends BhpSerializable> List<T> readSerializableList(Supplier<T> factory) throws IOException {
+        int length = (int) readVarInt(0x10000000);
+        // every object takes at least one byte, don't trust the length beyond the available input
+        List<T> list = new ArrayList<>(input != null ? Math.min(length, input.remaining()) : Math.min(length, 1024));
+        for (int i = 0; i < length; i++) {
+            list.add(readSerializable(factory));
+        }
+        return list;
     }
 
+    /**
+     * @deprecated Creates the object with reflection. Use {@link #readSerializable(Supplier)}.
+     */
+    @Deprecated
     public <T extends BhpSerializable> T readSerializable(Class<T> t) throws InstantiationException, IllegalAccessException, IOException {
         T obj = t.newInstance();
         obj.deserialize(this);
         return obj;
     }
 
+    /**
+     * @deprecated Creates the objects with reflection. Use
+     * {@link #readSerializableListVarBytes(Supplier)}.
+     */
+    @Deprecated
     public <T extends BhpSerializable> List<T> readSerializableListVarBytes(Class<T> t) throws IOException, IllegalAccessException, InstantiationException {
         int length = (int) readVarInt(0x10000000);
         int bytesRead = 0;
         int initialOffset = getPosition();
         List<T> list = new ArrayList<>();
         while (bytesRead < length) {
-            T objInstance = t.newInstance();
-            list.add(objInstance);
-            objInstance.deserialize(this);
+            list.add(readSerializable(t));
             int currentOffset = getPosition();
             bytesRead = (currentOffset - initialOffset);
         }
         return list;
     }
 
+    /**
+     * @deprecated Creates the objects with reflection. Use
+     * {@link #readSerializableList(Supplier)}.
+     */
+    @Deprecated
     public <T extends BhpSerializable> List<T> readSerializableList(Class<T> t) throws IOException, IllegalAccessException, InstantiationException {
         int length = (int) readVarInt(0x10000000);
         List<T> list = new ArrayList<>(length);
         for (int i = 0; i < length; i++) {
-            T objInstance = t.newInstance();
-            list.add(objInstance);
-            objInstance.deserialize(this);
+            list.add(readSerializable(t));
         }
         return list;
     }
 
     public short readShort() throws IOException {
-        reader.readFully(array, 0, 2);
+        short result;
+        if (input != null) {
+            ensureRemaining(2);
+            result = input.getShort();
+        } else {
+            reader.readFully(array, 0, 2);
+            result = buffer.getShort(0);
+        }
         position += 2;
-        return buffer.getShort(0);
+        return result;
     }
 
     public byte[] readVarBytes() throws IOException {
@@ -266,6 +460,17 @@ public class BinaryReader implements AutoCloseable {
         return value;
     }
 
+    /**
+     * Reads a UTF-8 string prefixed with its length in bytes as a variable-length integer.
+     *
+     * @param max the maximum length in bytes.
+     * @return the string.
+     * @throws IOException if the length exceeds {@code max} or there are not enough bytes left.
+     */
+    public String readVarString(int max) throws IOException {
+        return new String(readVarBytes(max), UTF_8);
+    }
+
     public String readPushString() throws IOException {
         return new String(readPushData(), "UTF-8");
     }
@@ -293,4 +498,12 @@ public class BinaryReader implements AutoCloseable {
         }
     }
 
+    private void ensureRemaining(int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Negative number of bytes: " + count);
+        }
+        if (input.remaining() < count) {
+            throw new EOFException();
+        }
+    }
 }
@@ -31,52 +31,145 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * <p>Writes the binary format of BHP structures, little-endian.</p>
+ * <br>
+ * <p>A writer either writes to an {@link OutputStream} or into its own growable buffer. The
+ * buffer can be read with {@link #toByteArray()} or {@link #toByteBuffer()} and reused for the
+ * next object after a {@link #reset()}.</p>
+ */
 public class BinaryWriter implements AutoCloseable {
 
+    private static final int DEFAULT_CAPACITY = 256;
+
     private DataOutputStream writer;
     private byte[] array = new byte[8];
     private ByteBuffer buffer = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+    private int count;
 
     public BinaryWriter(OutputStream stream) {
         this.writer = new DataOutputStream(stream);
     }
 
+    /**
+     * Creates a writer that writes into a growable buffer.
+     */
+    public BinaryWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer that writes into a growable buffer of the given initial capacity, e.g. the
+     * {@link BhpSerializable#getSize() size} of the object to serialize.
+     *
+     * @param initialCapacity the initial capacity of the buffer.
+     */
+    public BinaryWriter(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative initial capacity: " + initialCapacity);
+        }
+        this.array = new byte[Math.max(initialCapacity, 8)];
+        this.buffer = null;
+    }
+
     @Override
     public void close() throws IOException {
-        writer.close();
+        if (writer != null) {
+            writer.close();
+        }
     }
 
     public void flush() throws IOException {
-        writer.flush();
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Gets the number of bytes written into the buffer of this writer.
+     *
+     * @return the number of bytes written.
+     * @throws IllegalStateException if this writer writes to a stream.
+     */
+    public int size() {
+        checkBuffered();
+        return count;
+    }
+
+    /**
+     * Discards the bytes written into the buffer of this writer, keeping the buffer for reuse.
+     *
+     * @throws IllegalStateException if this writer writes to a stream.
+     */
+    public void reset() {
+        checkBuffered();
+        count = 0;
+    }
+
+    /**
+     * Copies the bytes written into the buffer of this writer.
+     *
+     * @return the written bytes.
+     * @throws IllegalStateException if this writer writes to a stream.
+     */
+    public byte[] toByteArray() {
+        checkBuffered();
+        return Arrays.copyOf(array, count);
+    }
+
+    /**
+     * Returns a read-only view of the bytes written into the buffer of this writer, without
+     * copying them. The view is only valid until the next write or {@link #reset()}.
+     *
+     * @return the written bytes.
+     * @throws IllegalStateException if this writer writes to a stream.
+     */
+    public ByteBuffer toByteBuffer() {
+        checkBuffered();
+        return ByteBuffer.wrap(array, 0, count).slice().asReadOnlyBuffer();
     }
 
     public void write(byte[] buffer) throws IOException {
-        writer.write(buffer);
+        write(buffer, 0, buffer.length);
     }
 
     public void write(byte[] buffer, int index, int length) throws IOException {
-        writer.write(buffer, index, length);
+        if (writer != null) {
+            writer.write(buffer, index, length);
+            return;
+        }
+        if (index < 0 || length < 0 || length > buffer.length - index) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(length);
+        System.arraycopy(buffer, index, array, count, length);
+        count += length;
     }
 
     public void writeBoolean(boolean v) throws IOException {
-        writer.writeBoolean(v);
+        writeByte(v ? (byte) 1 : (byte) 0);
     }
 
     public void writeByte(byte v) throws IOException {
-        writer.writeByte(v);
+        if (writer != null) {
+            writer.writeByte(v);
+            return;
+        }
+        ensureCapacity(1);
+        array[count++] = v;
     }
 
     public void writeDouble(double v) throws IOException {
-        buffer.putDouble(0, v);
-        writer.write(array, 0, 8);
+        writeLong(Double.doubleToRawLongBits(v));
     }
 
     public void writeECPoint(ECPoint v) throws IOException {
-        writer.write(v.getEncoded(true));
+        write(v.getEncoded(true));
     }
 
     public void writeFixedString(String v, int length) throws IOException {
@@ -90,29 +183,26 @@ public class BinaryWriter implements AutoCloseable {
         if (bytes.length > length) {
             throw new IllegalArgumentException();
         }
-        writer.write(bytes);
+        write(bytes);
         if (bytes.length < length) {
-            writer.write(new byte[length - bytes.length]);
+            write(new byte[length - bytes.length]);
         }
     }
 
     public void writeFloat(float v) throws IOException {
-        buffer.putFloat(0, v);
-        writer.write(array, 0, 4);
+        writeInt(Float.floatToRawIntBits(v));
     }
 
     public void writeInt(int v) throws IOException {
-        buffer.putInt(0, v);
-        writer.write(array, 0, 4);
+        writeLittleEndian(v, 4);
     }
 
     public void writeLong(long v) throws IOException {
-        buffer.putLong(0, v);
-        writer.write(array, 0, 8);
+        writeLittleEndian(v, 8);
     }
 
     public void writeSerializableVariableBytes(BhpSerializable v) throws IOException {
-        writeVarInt(v.toArray().length);
+        writeVarInt(v.getSize());
         v.serialize(this);
     }
 
@@ -122,11 +212,7 @@ public class BinaryWriter implements AutoCloseable {
     }
 
     public void writeSerializableVariableBytes(List<? extends BhpSerializable> v) throws IOException {
-        int sumLength = 0;
-        for (int i = 0; i < v.size(); i++) {
-            sumLength += v.get(i).toArray().length;
-        }
-        writeVarInt(sumLength);
+        writeVarInt(IOUtils.getSize(v));
         writeSerializableFixed(v);
     }
 
@@ -141,13 +227,22 @@ public class BinaryWriter implements AutoCloseable {
     }
 
     public void writeShort(short v) throws IOException {
-        buffer.putShort(0, v);
-        writer.write(array, 0, 2);
+        writeLittleEndian(v, 2);
     }
 
     public void writeVarBytes(byte[] v) throws IOException {
         writeVarInt(v.length);
-        writer.write(v);
+        write(v);
+    }
+
+    /**
+     * Writes the given string UTF-8 encoded, prefixed with its length in bytes.
+     *
+     * @param v the string.
+     * @throws IOException if the string can't be written.
+     */
+    public void writeVarString(String v) throws IOException {
+        writeVarBytes(v.getBytes(UTF_8));
     }
 
     public void writeVarInt(long v) throws IOException {
@@ -159,7 +254,7 @@ public class BinaryWriter implements AutoCloseable {
         } else if (v <= 0xFFFF) {
             writeByte((byte) 0xFD);
             writeShort((short) v);
-        } else if (v <= 0xFFFFFFFF) {
+        } else if (v <= 0xFFFFFFFFL) {
             writeByte((byte) 0xFE);
             writeInt((int) v);
         } else {
@@ -168,4 +263,32 @@ public class BinaryWriter implements AutoCloseable {
         }
     }
 
+    private void writeLittleEndian(long v, int length) throws IOException {
+        if (writer != null) {
+            buffer.putLong(0, v);
+            writer.write(array, 0, length);
+            return;
+        }
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            array[count++] = (byte) (v >>> (8 * i));
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (length > array.length - count) {
+            int required = count + length;
+            if (required < 0) {
+                throw new OutOfMemoryError("The written data exceeds the maximum array size.");
+            }
+            int capacity = Math.max(array.length << 1, required);
+            array = Arrays.copyOf(array, capacity < 0 ? required : capacity);
+        }
+    }
+
+    private void checkBuffered() {
+        if (writer != null) {
+            throw new IllegalStateException("This writer writes to a stream.");
+        }
+    }
 }
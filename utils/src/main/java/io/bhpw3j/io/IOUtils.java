@@ -0,0 +1,67 @@
+package io.bhpw3j.io;
+
+import java.util.List;
+
+/**
+ * Sizes of the binary encodings written by {@link BinaryWriter}, used to compute the size of a
+ * {@link BhpSerializable} without serializing it.
+ */
+public class IOUtils {
+
+    private IOUtils() {
+    }
+
+    /**
+     * Gets the number of bytes needed to encode the given value as a variable-length integer.
+     *
+     * @param value the value.
+     * @return the size of the encoded value.
+     */
+    public static int getVarSize(long value) {
+        if (value < 0xFD) {
+            return 1;
+        } else if (value <= 0xFFFF) {
+            return 1 + 2;
+        } else if (value <= 0xFFFFFFFFL) {
+            return 1 + 4;
+        } else {
+            return 1 + 8;
+        }
+    }
+
+    /**
+     * Gets the size of the given bytes when written with {@link BinaryWriter#writeVarBytes(byte[])}.
+     *
+     * @param value the bytes.
+     * @return the size of the length prefix plus the size of the bytes.
+     */
+    public static int getVarSize(byte[] value) {
+        return getVarSize(value.length) + value.length;
+    }
+
+    /**
+     * Gets the size of the given list when written with
+     * {@link BinaryWriter#writeSerializableVariable(List)}.
+     *
+     * @param value the list.
+     * @return the size of the length prefix plus the size of all elements.
+     */
+    public static int getVarSize(List<? extends BhpSerializableInterface> value) {
+        return getVarSize(value.size()) + getSize(value);
+    }
+
+    /**
+     * Gets the size of the given list when written with
+     * {@link BinaryWriter#writeSerializableFixed(List)}.
+     *
+     * @param value the list.
+     * @return the sum of the size of all elements.
+     */
+    public static int getSize(List<? extends BhpSerializableInterface> value) {
+        int size = 0;
+        for (int i = 0; i < value.size(); i++) {
+            size += value.get(i).getSize();
+        }
+        return size;
+    }
+}
@@ -80,7 +80,7 @@ public class Keys {
         } else {
             verificationScript = getVerificationScriptFromPublicKeys(amountSignatures, publicKeys);
         }
-        return Hash.sha256AndThenRipemd160(verificationScript);
+        return Hash.hash160(verificationScript);
     }
 
     /**
@@ -232,7 +232,7 @@ public class Keys {
         byte[] data = new byte[1];
         data[0] = BHPConstants.COIN_VERSION;
         byte[] dataAndScriptHash = concatenate(data, scriptHash);
-        byte[] checksum = Hash.sha256(Hash.sha256(dataAndScriptHash));
+        byte[] checksum = Hash.hash256(dataAndScriptHash);
         byte[] first4BytesCheckSum = new byte[4];
         System.arraycopy(checksum, 0, first4BytesCheckSum, 0, 4);
         byte[] dataToEncode = concatenate(dataAndScriptHash, first4BytesCheckSum);
@@ -249,7 +249,7 @@ public class Keys {
         }
         if (data.length != 25) return false;
         if (data[0] != BHPConstants.COIN_VERSION) return false;
-        byte[] checksum = Hash.sha256(Hash.sha256(data, 0, 21));
+        byte[] checksum = Hash.hash256(data, 0, 21);
         for (int i = 0; i < 4; i++) {
             if (data[data.length - 4 + i] != checksum[i]) return false;
         }
@@ -170,6 +170,25 @@ public final class Numeric {
         return toHexStringNoPrefix(ArrayUtils.reverseArray(fromDecimalToFixed8ByteArray(value)));
     }
 
+    /**
+     * Converts the given decimal number to a Fixed8 number.
+     * @param value The decimal number to convert.
+     * @return the Fixed8 number.
+     * @throws ArithmeticException if the number doesn't fit into a Fixed8 number.
+     */
+    public static long fromDecimalToFixed8(BigDecimal value) {
+        return value.multiply(FIXED8_DECIMALS).toBigInteger().longValueExact();
+    }
+
+    /**
+     * Converts the given Fixed8 number to a BigDecimal.
+     * @param value The Fixed8 number.
+     * @return converted BigDecimal value.
+     */
+    public static BigDecimal fromFixed8ToDecimal(long value) {
+        return fromFixed8ToDecimal(BigInteger.valueOf(value));
+    }
+
     public static BigInteger toBigInt(byte[] value, int offset, int length) {
         return toBigInt((Arrays.copyOfRange(value, offset, offset + length)));
     }
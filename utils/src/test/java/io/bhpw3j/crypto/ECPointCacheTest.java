@@ -0,0 +1,89 @@
+package io.bhpw3j.crypto;
+
+import io.bhpw3j.constants.BHPConstants;
+import io.bhpw3j.io.BinaryReader;
+import io.bhpw3j.utils.Numeric;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ECPointCacheTest {
+
+    private static final byte[] PUBLIC_KEY = Numeric.hexStringToByteArray(
+            "0265bf906bf385fbf3f777832e55a87991bcfbe19b097fb7c5ca2e4025a4d5e5d6");
+
+    @Test
+    public void testDecodeReturnsCachedPoint() {
+        ECPointCache cache = new ECPointCache(10);
+        ECPoint point = cache.decode(PUBLIC_KEY);
+
+        assertThat(point, is(BHPConstants.CURVE.getCurve().decodePoint(PUBLIC_KEY)));
+        assertThat(cache.decode(PUBLIC_KEY.clone()), sameInstance(point));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void testCachedKeyIsNotAffectedByCallerModifications() {
+        ECPointCache cache = new ECPointCache(10);
+        byte[] encoded = PUBLIC_KEY.clone();
+        ECPoint point = cache.decode(encoded);
+        encoded[1] = 0;
+
+        assertThat(cache.decode(PUBLIC_KEY), sameInstance(point));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedPoint() {
+        ECPointCache cache = new ECPointCache(2);
+        byte[] first = compressedPoint(1);
+        byte[] second = compressedPoint(2);
+        byte[] third = compressedPoint(3);
+        ECPoint firstPoint = cache.decode(first);
+        ECPoint secondPoint = cache.decode(second);
+        cache.decode(first);
+        cache.decode(third);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.decode(first), sameInstance(firstPoint));
+        assertThat(cache.decode(second), not(sameInstance(secondPoint)));
+    }
+
+    @Test
+    public void testUncompressedPointsAreNotCached() {
+        ECPointCache cache = new ECPointCache(10);
+        byte[] uncompressed = BHPConstants.CURVE.getCurve().decodePoint(PUBLIC_KEY).getEncoded(false);
+
+        assertThat(cache.decode(uncompressed), is(cache.decode(PUBLIC_KEY)));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPoint() {
+        byte[] encoded = PUBLIC_KEY.clone();
+        encoded[0] = 0x05;
+        new ECPointCache(10).decode(encoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new ECPointCache(0);
+    }
+
+    @Test
+    public void testBinaryReaderUsesDefaultCache() throws IOException {
+        ECPoint point = new BinaryReader(PUBLIC_KEY).readECPoint();
+
+        assertThat(ECPointCache.getDefault().decode(PUBLIC_KEY), sameInstance(point));
+    }
+
+    private byte[] compressedPoint(long privateKey) {
+        return BHPConstants.CURVE.getG().multiply(BigInteger.valueOf(privateKey)).getEncoded(true);
+    }
+}
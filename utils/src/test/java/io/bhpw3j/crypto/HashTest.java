@@ -3,8 +3,17 @@ package io.bhpw3j.crypto;
 import io.bhpw3j.utils.Numeric;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class HashTest {
 
@@ -104,4 +113,93 @@ public class HashTest {
         final String result = Hash.ripemd160(hexStringToHash);
         assertThat(result, is(expected));
     }
+
+    @Test
+    public void testSha256() {
+        assertThat(Numeric.toHexStringNoPrefix(Hash.sha256("Hello World.".getBytes())),
+                is("f4bb1975bf1f81f76ce824f7536c1e101a8060a632a52289d530a6f600d52c92"));
+    }
+
+    @Test
+    public void testSha256WithOffsetAndLength() {
+        byte[] input = "__Hello World.__".getBytes();
+        assertThat(Hash.sha256(input, 2, input.length - 4), is(Hash.sha256("Hello World.".getBytes())));
+    }
+
+    @Test
+    public void testSha256OfByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("__Hello World.__".getBytes(), 2, 12);
+        assertThat(Hash.sha256(buffer), is(Hash.sha256("Hello World.".getBytes())));
+        assertThat(buffer.remaining(), is(0));
+    }
+
+    @Test
+    public void testSha256IntoOutputArray() {
+        byte[] output = new byte[Hash.SHA256_LENGTH + 4];
+        Hash.sha256("Hello World.".getBytes(), 0, 12, output, 2);
+        assertThat(Arrays.copyOfRange(output, 2, 2 + Hash.SHA256_LENGTH),
+                is(Hash.sha256("Hello World.".getBytes())));
+        assertThat(output[0], is((byte) 0));
+        assertThat(output[output.length - 1], is((byte) 0));
+    }
+
+    @Test
+    public void testHash256() {
+        String expected = "5cc94a8d22db7ed6105fe886b6e37b44a0d586bb5833efab85b546bad066c4e7";
+        byte[] input = "__Hello World.__".getBytes();
+        assertThat(Numeric.toHexStringNoPrefix(Hash.hash256("Hello World.".getBytes())), is(expected));
+        assertThat(Numeric.toHexStringNoPrefix(Hash.hash256(input, 2, 12)), is(expected));
+        assertThat(Numeric.toHexStringNoPrefix(Hash.hash256(ByteBuffer.wrap(input, 2, 12))),
+                is(expected));
+
+        byte[] output = new byte[Hash.SHA256_LENGTH + 1];
+        Hash.hash256(input, 2, 12, output, 1);
+        assertThat(Numeric.toHexStringNoPrefix(Arrays.copyOfRange(output, 1, output.length)),
+                is(expected));
+    }
+
+    @Test
+    public void testHash160() {
+        String expected = "2550445c8eabb8ac45916925f78a29c86b409df8";
+        byte[] input = "__Hello World.__".getBytes();
+        assertThat(Numeric.toHexStringNoPrefix(Hash.hash160("Hello World.".getBytes())), is(expected));
+        assertThat(Numeric.toHexStringNoPrefix(Hash.hash160(input, 2, 12)), is(expected));
+        assertThat(Hash.sha256AndThenRipemd160("Hello World.".getBytes()),
+                is(Hash.ripemd160(Hash.sha256("Hello World.".getBytes()))));
+
+        byte[] output = new byte[Hash.RIPEMD160_LENGTH + 1];
+        Hash.hash160(input, 2, 12, output, 1);
+        assertThat(Numeric.toHexStringNoPrefix(Arrays.copyOfRange(output, 1, output.length)),
+                is(expected));
+    }
+
+    @Test
+    public void testOutputArrayTooSmall() {
+        try {
+            Hash.sha256("Hello World.".getBytes(), 0, 12, new byte[Hash.SHA256_LENGTH], 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        // The digest of this thread must not keep the input of the failed call.
+        assertThat(Numeric.toHexStringNoPrefix(Hash.sha256("Hello World.".getBytes())),
+                is("f4bb1975bf1f81f76ce824f7536c1e101a8060a632a52289d530a6f600d52c92"));
+    }
+
+    @Test
+    public void testHashFromMultipleThreads() throws Exception {
+        byte[] expected = Hash.hash256("Hello World.".getBytes());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> Hash.hash256("Hello World.".getBytes())));
+            }
+            for (Future<byte[]> future : futures) {
+                assertThat(future.get(), is(expected));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -1,9 +1,15 @@
 package io.bhpw3j.io;
 
+import io.bhpw3j.utils.ArrayUtils;
+import io.bhpw3j.utils.Numeric;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -301,6 +307,119 @@ public class BinaryReaderTest extends TestBinaryUtils {
         assertThat(this.readResultString, is(new String(this.arrayBuilder.getData())));
     }
 
+    @Test
+    public void readFixedWidthFieldsFromBuffer() throws IOException {
+        byte[] data = Numeric.hexStringToByteArray("01" + "0201" + "04030201" + "0807060504030201" + "fd0001");
+        BinaryReader reader = new BinaryReader(ByteBuffer.wrap(data));
+
+        assertThat(reader.readByte(), is((byte) 0x01));
+        assertThat(reader.readShort(), is((short) 0x0102));
+        assertThat(reader.readInt(), is(0x01020304));
+        assertThat(reader.readLong(), is(0x0102030405060708L));
+        assertThat(reader.readVarInt(), is(0x100L));
+        assertThat(reader.getPosition(), is(data.length));
+    }
+
+    @Test
+    public void readSliceDoesNotCopy() throws IOException {
+        byte[] data = Numeric.hexStringToByteArray("03aabbcc00");
+        BinaryReader reader = new BinaryReader(data);
+
+        ByteBuffer slice = reader.readVarSlice(10);
+
+        assertThat(slice.remaining(), is(3));
+        assertThat(slice.isReadOnly(), is(true));
+        assertThat(reader.getPosition(), is(4));
+        data[2] = 0x11;
+        assertThat(slice.get(1), is((byte) 0x11));
+    }
+
+    @Test
+    public void readSliceFromStream() throws IOException {
+        buildBinaryReader(Numeric.hexStringToByteArray("aabbcc"));
+
+        ByteBuffer slice = this.testBinaryReader.readSlice(2);
+
+        assertThat(slice.remaining(), is(2));
+        assertThat(slice.get(0), is((byte) 0xaa));
+        assertThat(this.testBinaryReader.readByte(), is((byte) 0xcc));
+    }
+
+    @Test
+    public void readFromBufferDoesNotMoveItsPosition() throws IOException {
+        ByteBuffer input = ByteBuffer.wrap(Numeric.hexStringToByteArray("00aabb"));
+        input.position(1);
+
+        BinaryReader reader = new BinaryReader(input);
+
+        assertThat(reader.readByte(), is((byte) 0xaa));
+        assertThat(input.position(), is(1));
+        assertThat(input.order(), is(ByteOrder.BIG_ENDIAN));
+    }
+
+    @Test
+    public void readPushIntegerFromBufferResetsToMark() throws IOException {
+        BinaryReader reader = new BinaryReader(Numeric.hexStringToByteArray("0111" + "53"));
+
+        assertThat(reader.readPushInteger(), is(0x11));
+        assertThat(reader.readPushInteger(), is(3));
+        assertThat(reader.getPosition(), is(3));
+    }
+
+    @Test
+    public void readECPointFromBuffer() throws IOException {
+        byte[] encoded = Numeric.hexStringToByteArray(
+                "0265bf906bf385fbf3f777832e55a87991bcfbe19b097fb7c5ca2e4025a4d5e5d6");
+        BinaryReader reader = new BinaryReader(ArrayUtils.concatenate(encoded, (byte) 0x01));
+
+        assertThat(reader.readECPoint().getEncoded(true), is(encoded));
+        assertThat(reader.readByte(), is((byte) 0x01));
+    }
+
+    @Test
+    public void skipBytes() throws IOException {
+        BinaryReader reader = new BinaryReader(Numeric.hexStringToByteArray("aabbcc"));
+        reader.skip(2);
+        assertThat(reader.readByte(), is((byte) 0xcc));
+
+        buildBinaryReader(Numeric.hexStringToByteArray("aabbcc"));
+        this.testBinaryReader.skip(2);
+        assertThat(this.testBinaryReader.readByte(), is((byte) 0xcc));
+    }
+
+    @Test(expected = EOFException.class)
+    public void readBeyondTheEndOfTheBuffer() throws IOException {
+        new BinaryReader(Numeric.hexStringToByteArray("aabb")).readInt();
+    }
+
+    @Test
+    public void readSerializableListWithFactory() throws IOException {
+        BinaryReader reader = new BinaryReader(Numeric.hexStringToByteArray("02" + "01aa" + "02bbcc"));
+
+        List<VarBytes> list = reader.readSerializableList(VarBytes::new);
+
+        assertThat(list.size(), is(2));
+        assertThat(list.get(0).data, is(new byte[]{(byte) 0xaa}));
+        assertThat(list.get(1).data, is(new byte[]{(byte) 0xbb, (byte) 0xcc}));
+    }
+
+    @Test
+    public void readSerializableListVarBytesWithFactory() throws IOException {
+        BinaryReader reader = new BinaryReader(Numeric.hexStringToByteArray("05" + "01aa" + "02bbcc"));
+
+        List<VarBytes> list = reader.readSerializableListVarBytes(VarBytes::new);
+
+        assertThat(list.size(), is(2));
+        assertThat(reader.getPosition(), is(6));
+    }
+
+    @Test(expected = EOFException.class)
+    public void readSerializableListLongerThanTheInput() throws IOException {
+        // claims 0x0fffffff elements but contains only one
+        new BinaryReader(Numeric.hexStringToByteArray("feffffff0f" + "01aa"))
+                .readSerializableList(VarBytes::new);
+    }
+
     private void buildBinaryReader(byte[] data) {
         this.is = new ByteArrayInputStream(data);
         this.testBinaryReader = new BinaryReader(is);
@@ -327,4 +446,18 @@ public class BinaryReaderTest extends TestBinaryUtils {
         this.readResultInt = this.testBinaryReader.readPushInteger();
     }
 
+    private static class VarBytes extends BhpSerializable {
+
+        private byte[] data;
+
+        @Override
+        public void deserialize(BinaryReader reader) throws IOException {
+            data = reader.readVarBytes();
+        }
+
+        @Override
+        public void serialize(BinaryWriter writer) throws IOException {
+            writer.writeVarBytes(data);
+        }
+    }
 }
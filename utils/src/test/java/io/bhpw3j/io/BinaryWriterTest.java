@@ -0,0 +1,77 @@
+package io.bhpw3j.io;
+
+import io.bhpw3j.utils.Numeric;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class BinaryWriterTest extends TestBinaryUtils {
+
+    @Test
+    public void writeIntoBufferMatchesStream() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        BinaryWriter streamWriter = new BinaryWriter(stream);
+        BinaryWriter bufferWriter = new BinaryWriter(1);
+        for (BinaryWriter writer : new BinaryWriter[]{streamWriter, bufferWriter}) {
+            writer.writeByte((byte) 0x01);
+            writer.writeBoolean(true);
+            writer.writeShort((short) 0x0102);
+            writer.writeInt(0x01020304);
+            writer.writeLong(0x0102030405060708L);
+            writer.writeDouble(1.5);
+            writer.writeFloat(1.5f);
+            writer.writeVarBytes(buildArray(300));
+            writer.writeFixedString("ab", 4);
+            writer.flush();
+        }
+
+        assertThat(bufferWriter.toByteArray(), is(stream.toByteArray()));
+        assertThat(bufferWriter.size(), is(stream.size()));
+        assertThat(Numeric.toHexStringNoPrefix(bufferWriter.toByteArray()).substring(0, 30),
+                is("010102010403020108070605040302"));
+    }
+
+    @Test
+    public void resetReusesTheBuffer() throws IOException {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeInt(1);
+        writer.reset();
+        writer.writeByte((byte) 0x02);
+
+        assertThat(writer.toByteArray(), is(new byte[]{0x02}));
+    }
+
+    @Test
+    public void toByteBufferIsAViewOfTheWrittenBytes() throws IOException {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeShort((short) 0x0102);
+
+        ByteBuffer view = writer.toByteBuffer();
+
+        assertThat(view.remaining(), is(2));
+        assertThat(view.isReadOnly(), is(true));
+        assertThat(view.get(0), is((byte) 0x02));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void toByteArrayOfStreamWriter() {
+        new BinaryWriter(new ByteArrayOutputStream()).toByteArray();
+    }
+
+    @Test
+    public void varStringRoundTrip() throws IOException {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarString("Votes \u00e4");
+
+        byte[] bytes = writer.toByteArray();
+
+        assertThat(bytes[0], is((byte) 8));
+        assertThat(new BinaryReader(bytes).readVarString(8), is("Votes \u00e4"));
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.bhpw3j.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class IOUtilsTest extends TestBinaryUtils {
+
+    @Test
+    public void getVarSizeMatchesTheWrittenVarInt() throws IOException {
+        for (long value : new long[]{0, 0xFC, 0xFD, 0xFFFF, 0x10000, 0xFFFFFFFFL, 0x100000000L}) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            BinaryWriter writer = new BinaryWriter(stream);
+            writer.writeVarInt(value);
+            writer.flush();
+            byte[] written = stream.toByteArray();
+
+            assertThat(IOUtils.getVarSize(value), is(written.length));
+            assertThat(new BinaryReader(new ByteArrayInputStream(written)).readVarInt(), is(value));
+        }
+    }
+
+    @Test
+    public void getVarSizeOfBytes() {
+        assertThat(IOUtils.getVarSize(new byte[0]), is(1));
+        assertThat(IOUtils.getVarSize(buildArray(0xFC)), is(1 + 0xFC));
+        assertThat(IOUtils.getVarSize(buildArray(0xFD)), is(3 + 0xFD));
+    }
+
+    @Test
+    public void getSizeOfList() throws IOException {
+        SizedSerializable s1 = new SizedSerializable(buildArray(3));
+        SizedSerializable s2 = new SizedSerializable(buildArray(300));
+
+        assertThat(IOUtils.getSize(Arrays.asList(s1, s2)), is(4 + 303));
+        assertThat(IOUtils.getVarSize(Arrays.asList(s1, s2)), is(1 + 4 + 303));
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        BinaryWriter writer = new BinaryWriter(stream);
+        writer.writeSerializableVariableBytes(Arrays.asList(s1, s2));
+        writer.flush();
+        assertThat(stream.size(), is(3 + 4 + 303));
+    }
+
+    @Test
+    public void defaultGetSizeSerializes() {
+        BhpSerializable serializable = new BhpSerializable() {
+            @Override
+            public void deserialize(BinaryReader reader) {
+            }
+
+            @Override
+            public void serialize(BinaryWriter writer) throws IOException {
+                writer.writeVarBytes(buildArray(10));
+            }
+        };
+        assertThat(serializable.getSize(), is(11));
+    }
+
+    private static class SizedSerializable extends BhpSerializable {
+
+        private final byte[] data;
+
+        private SizedSerializable(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public void deserialize(BinaryReader reader) {
+        }
+
+        @Override
+        public void serialize(BinaryWriter writer) throws IOException {
+            writer.writeVarBytes(data);
+        }
+
+        @Override
+        public int getSize() {
+            return IOUtils.getVarSize(data);
+        }
+    }
+}
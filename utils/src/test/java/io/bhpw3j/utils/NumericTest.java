@@ -274,6 +274,21 @@ public class NumericTest {
         assertEquals(i, "0000000000000000");
     }
 
+    @Test
+    public void testFromDecimalToFixed8() {
+        assertEquals(1000000000L, Numeric.fromDecimalToFixed8(BigDecimal.TEN));
+        assertEquals(100000L, Numeric.fromDecimalToFixed8(new BigDecimal("0.001")));
+        assertEquals(1L, Numeric.fromDecimalToFixed8(new BigDecimal("0.00000001")));
+        assertEquals(0L, Numeric.fromDecimalToFixed8(new BigDecimal("0.000000001")));
+        assertEquals(0, new BigDecimal("100.00000001")
+                .compareTo(Numeric.fromFixed8ToDecimal(10000000001L)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testFromDecimalToFixed8Overflow() {
+        Numeric.fromDecimalToFixed8(new BigDecimal("100000000000"));
+    }
+
     @Test
     public void testFromDecimalToFixed8ByteArray() {
         BigDecimal d = BigDecimal.TEN;
@@ -49,6 +49,9 @@ public class Account {
     private boolean isLocked;
     private BRC6Contract contract;
     private Balances balances;
+    private String pendingPassword;
+    private ScryptParams pendingScryptParams;
+    private Exception decryptionFailure;
 
     private Account() {
     }
@@ -75,6 +78,7 @@ public class Account {
     }
 
     public ECKeyPair getECKeyPair() {
+        decryptPendingPrivateKey();
         if (privateKey != null && publicKey != null) {
             return new ECKeyPair(privateKey, publicKey);
         } else if (privateKey != null) {
@@ -85,6 +89,7 @@ public class Account {
     }
 
     public BigInteger getPrivateKey() {
+        decryptPendingPrivateKey();
         return privateKey;
     }
 
@@ -168,16 +173,23 @@ public class Account {
             throw new IllegalStateException("Account does not have any asset balances. " +
                     "Update account's asset balances first.");
         }
-        if (!getBalances().hasAsset(assetId)) {
+        AssetBalance balance = getBalances().getAssetBalance(assetId);
+        if (balance == null) {
             throw new InsufficientFundsException("Account balance does not contain the asset " +
                     "with ID " + assetId);
         }
-        AssetBalance balance = getBalances().getAssetBalance(assetId);
-        if (balance.getAmount().compareTo(amount) < 0) {
+        // The amount and the outputs are read together, since a UtxoTracker may update them.
+        BigDecimal available;
+        List<Utxo> utxos;
+        synchronized (balance) {
+            available = balance.getAmount();
+            utxos = balance.getUtxos();
+        }
+        if (available.compareTo(amount) < 0) {
             throw new InsufficientFundsException("Needed " + amount + " but only found " +
-                    balance.getAmount() + " for asset with ID " + assetId);
+                    available + " for asset with ID " + assetId);
         }
-        return strategy.calculateInputs(balance.getUtxos(), amount);
+        return strategy.calculateInputs(utxos, amount);
     }
 
     /**
@@ -201,6 +213,58 @@ public class Account {
             publicKey = ecKeyPair.getPublicKey();
             tryAddVerificationScriptContract();
         }
+        pendingPassword = null;
+        pendingScryptParams = null;
+        decryptionFailure = null;
+    }
+
+    /**
+     * <p>Prepares this account's private key to be decrypted when it is first used, i.e. on the
+     * first call to {@link #getPrivateKey()} or {@link #getECKeyPair()}. Does nothing if the
+     * private key is decrypted already.</p>
+     * <br>
+     * <p>The password is kept in memory until then. If the decryption fails, the getters throw an
+     * {@link IllegalStateException} on every call, until the private key is decrypted with the
+     * right password, e.g. by calling this method again.</p>
+     *
+     * @param password     The passphrase used to decrypt this account's private key.
+     * @param scryptParams The Scrypt parameters used for decryption.
+     */
+    public synchronized void decryptPrivateKeyOnFirstUse(String password,
+                                                         ScryptParams scryptParams) {
+        if (privateKey == null) {
+            if (encryptedPrivateKey == null) {
+                throw new IllegalStateException("The account does not hold an encrypted private key.");
+            }
+            this.pendingPassword = password;
+            this.pendingScryptParams = scryptParams;
+            this.decryptionFailure = null;
+        }
+    }
+
+    private synchronized void decryptPendingPrivateKey() {
+        if (decryptionFailure != null) {
+            throw decryptionFailed(decryptionFailure);
+        }
+        if (pendingPassword == null) {
+            return;
+        }
+        String password = pendingPassword;
+        ScryptParams scryptParams = pendingScryptParams;
+        pendingPassword = null;
+        pendingScryptParams = null;
+        try {
+            decryptPrivateKey(password, scryptParams);
+        } catch (BRC2InvalidFormat | CipherException | BRC2InvalidPassphrase e) {
+            // Kept, so that later calls fail as well instead of returning no private key.
+            decryptionFailure = e;
+            throw decryptionFailed(e);
+        }
+    }
+
+    private IllegalStateException decryptionFailed(Exception cause) {
+        return new IllegalStateException("Failed to decrypt the private key of account "
+                + address + ".", cause);
     }
 
     /**
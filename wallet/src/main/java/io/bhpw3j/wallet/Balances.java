@@ -2,13 +2,30 @@ package io.bhpw3j.wallet;
 
 import io.bhpw3j.protocol.core.methods.response.BhpGetBrc5Balances;
 import io.bhpw3j.protocol.core.methods.response.BhpGetUnspents;
+import io.bhpw3j.utils.Numeric;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * <p>The asset and token balances of an account.</p>
+ * <br>
+ * <p>Asset ids are compared without their {@code 0x} prefix and case, so the hashes of a
+ * {@code getunspents} response, the ids of {@link io.bhpw3j.model.types.BhpAsset} and the outputs
+ * added by a {@link UtxoTracker} refer to the same {@link AssetBalance}.</p>
+ * <br>
+ * <p>Instances are thread-safe. The balances are guarded by the lock of this object, and each
+ * {@link AssetBalance} by its own lock. A {@link UtxoTracker} holds the lock of the balances
+ * while it applies or rolls back a block, so readers that hold it see the balances as of a block.
+ * Hold the lock of an asset balance to read its amount and outputs, or its
+ * {@link AssetBalance#getUtxoSet()}, consistently.</p>
+ */
 public class Balances {
 
     private Map<String, AssetBalance> assetBalances;
@@ -25,33 +42,34 @@ public class Balances {
      * Overrides the asset balances with the provided information in the unspents.
      * @param unspents The unspents fetched from a RPC node.
      */
-    public void updateAssetBalances(BhpGetUnspents.Unspents unspents) {
+    public synchronized void updateAssetBalances(BhpGetUnspents.Unspents unspents) {
         if (!unspents.getAddress().equals(account.getAddress())) {
             throw new IllegalArgumentException("The provided unspents are not related to the " +
                     "account of this balance");
         }
         assetBalances = new HashMap<>(unspents.getBalances().size());
         unspents.getBalances().forEach(b -> {
+            String assetId = normalizeAssetId(b.getAssetHash());
             List<Utxo> utxos = b.getUnspentTransactions().stream()
-                    .map(utxo -> new Utxo(b.getAssetHash(), utxo.getTxId(), utxo.getIndex(), utxo.getValue()))
+                    .map(utxo -> new Utxo(assetId, utxo.getTxId(), utxo.getIndex(), utxo.getValue()))
                     .collect(Collectors.toList());
-            assetBalances.put(b.getAssetHash(), new AssetBalance(utxos));
+            assetBalances.put(assetId, new AssetBalance(utxos));
         });
     }
 
-    public boolean hasAsset(String assetId) {
-        return assetBalances.containsKey(assetId);
+    public synchronized boolean hasAsset(String assetId) {
+        return assetBalances.containsKey(normalizeAssetId(assetId));
     }
 
-    public AssetBalance getAssetBalance(String assetId) {
-        return assetBalances.get(assetId);
+    public synchronized AssetBalance getAssetBalance(String assetId) {
+        return assetBalances.get(normalizeAssetId(assetId));
     }
 
     /**
      * Overrides the token balances with the provided balances.
      * @param balances The BRC5 token balances fetched from a RPC node.
      */
-    public void updateTokenBalances(BhpGetBrc5Balances.Balances balances) {
+    public synchronized void updateTokenBalances(BhpGetBrc5Balances.Balances balances) {
         if (!balances.getAddress().equals(account.getAddress())) {
             throw new IllegalArgumentException("The provided token balances are not related to the " +
                     "account of this balance");
@@ -61,45 +79,119 @@ public class Balances {
                 b -> this.tokenBalances.put(b.getAssetHash(), new BigDecimal(b.getAmount())));
     }
 
-    public boolean hasToken(String tokenId) {
+    public synchronized boolean hasToken(String tokenId) {
         return tokenBalances.containsKey(tokenId);
     }
 
-    public BigDecimal getTokenBalance(String tokenId) {
+    public synchronized BigDecimal getTokenBalance(String tokenId) {
         return tokenBalances.get(tokenId);
     }
 
+    /**
+     * <p>Adds an unspent transaction output, e.g. the output of a new transaction to this
+     * account's address, without refetching all outputs from a node.</p>
+     * <br>
+     * <p>Outputs must be added in the order of the blocks they appeared in.</p>
+     *
+     * @param utxo The unspent transaction output.
+     */
+    public synchronized void addUtxo(Utxo utxo) {
+        assetBalances.computeIfAbsent(normalizeAssetId(utxo.getAssetId()),
+                k -> new AssetBalance(new ArrayList<>())).addUtxo(utxo);
+    }
+
+    /**
+     * Removes a spent transaction output, e.g. an input of a transaction sent from this account,
+     * without refetching all outputs from a node.
+     *
+     * @param txId  The id of the transaction that created the output.
+     * @param index The index of the output in that transaction.
+     * @return the spent output, or null if this balance didn't contain it.
+     */
+    public synchronized Utxo spendUtxo(String txId, int index) {
+        Iterator<AssetBalance> it = assetBalances.values().iterator();
+        while (it.hasNext()) {
+            AssetBalance balance = it.next();
+            Utxo spent = balance.spendUtxo(txId, index);
+            if (spent != null) {
+                if (balance.isEmpty()) {
+                    it.remove();
+                }
+                return spent;
+            }
+        }
+        return null;
+    }
+
+    synchronized Collection<AssetBalance> getAssetBalances() {
+        return new ArrayList<>(assetBalances.values());
+    }
+
+    synchronized void clearAssetBalances() {
+        assetBalances = new HashMap<>();
+    }
+
+    private static String normalizeAssetId(String assetId) {
+        return Numeric.prependHexPrefix(Numeric.cleanHexPrefix(assetId).toLowerCase());
+    }
+
     public static class AssetBalance {
 
-        List<Utxo> utxos;
+        UtxoSet utxos;
         BigDecimal amount;
 
         public AssetBalance(List<Utxo> utxos, BigDecimal amount) {
-            this.utxos = utxos;
+            this.utxos = new UtxoSet(utxos);
             this.amount = amount;
         }
 
         public AssetBalance(List<Utxo> utxos) {
-            this.utxos = utxos;
+            this.utxos = new UtxoSet(utxos);
             calculateAmountFormUtxos();
         }
 
-        public List<Utxo> getUtxos() {
+        /**
+         * @return a copy of the unspent transaction outputs, oldest first.
+         */
+        public synchronized List<Utxo> getUtxos() {
+            return utxos.getUtxos();
+        }
+
+        /**
+         * @return the unspent transaction outputs, indexed by outpoint and ordered by value. The
+         * set is not copied, hold the lock of this balance while using it if the balances are
+         * updated concurrently.
+         */
+        public UtxoSet getUtxoSet() {
             return utxos;
         }
 
-        public BigDecimal getAmount() {
+        public synchronized BigDecimal getAmount() {
             if (amount == null) {
                 calculateAmountFormUtxos();
             }
             return amount;
         }
 
-        public void calculateAmountFormUtxos() {
-            amount = utxos.stream()
-                    .map(Utxo::getValue)
-                    .reduce(BigDecimal::add)
-                    .orElse(BigDecimal.ZERO);
+        public synchronized void calculateAmountFormUtxos() {
+            amount = utxos.getTotalAmount();
+        }
+
+        synchronized void addUtxo(Utxo utxo) {
+            utxos.add(utxo);
+            calculateAmountFormUtxos();
+        }
+
+        synchronized Utxo spendUtxo(String txId, int index) {
+            Utxo spent = utxos.spend(txId, index);
+            if (spent != null) {
+                calculateAmountFormUtxos();
+            }
+            return spent;
+        }
+
+        synchronized boolean isEmpty() {
+            return utxos.isEmpty();
         }
     }
 }
@@ -0,0 +1,142 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.utils.Numeric;
+
+import java.math.BigDecimal;
+
+/**
+ * <p>Searches for a set of UTXOs that matches the required amount exactly, so that the
+ * transaction needs no change output.</p>
+ * <br>
+ * <p>The search is a depth-first branch and bound over the UTXOs sorted by value, largest first.
+ * A branch is cut as soon as its sum exceeds the required amount plus the cost of change, or the
+ * remaining UTXOs can't reach the required amount anymore. Among the matches found, the one with
+ * the least excess and then the fewest inputs is selected. If the search finds no match within the
+ * maximum number of tries, the fallback strategy selects the UTXOs.</p>
+ */
+public class BranchAndBoundInputCalculationStrategy extends Fixed8InputCalculationStrategy {
+
+    /**
+     * The number of search steps before giving up, if not specified otherwise.
+     */
+    public static final int DEFAULT_MAX_TRIES = 100000;
+
+    private final long costOfChange;
+    private final int maxTries;
+    private final Fixed8InputCalculationStrategy fallback;
+
+    /**
+     * Creates a strategy that only accepts exact matches and falls back to
+     * {@link LargestFirstInputCalculationStrategy}.
+     */
+    public BranchAndBoundInputCalculationStrategy() {
+        this(BigDecimal.ZERO, DEFAULT_MAX_TRIES, new LargestFirstInputCalculationStrategy());
+    }
+
+    /**
+     * @param costOfChange the excess that is accepted as a match, e.g. the cost of adding a
+     *                     change output.
+     * @param maxTries     the number of search steps before giving up.
+     * @param fallback     the strategy to use if no match is found.
+     */
+    public BranchAndBoundInputCalculationStrategy(BigDecimal costOfChange, int maxTries,
+                                                  Fixed8InputCalculationStrategy fallback) {
+        if (costOfChange.signum() < 0) {
+            throw new IllegalArgumentException("The cost of change must not be negative.");
+        }
+        if (maxTries < 1) {
+            throw new IllegalArgumentException("The number of tries must be positive.");
+        }
+        this.costOfChange = Numeric.fromDecimalToFixed8(costOfChange);
+        this.maxTries = maxTries;
+        this.fallback = fallback;
+    }
+
+    @Override
+    protected int[] selectInputs(long[] values, long target) {
+        int[] match = findMatch(values, target);
+        return match != null ? match : fallback.selectInputs(values, target);
+    }
+
+    private int[] findMatch(long[] values, long target) {
+        long upper = target > Long.MAX_VALUE - costOfChange ? Long.MAX_VALUE
+                : target + costOfChange;
+        int[] order = sortByValue(values, true);
+        // Values above the upper bound can't be part of a match.
+        int start = 0;
+        while (start < order.length && values[order[start]] > upper) {
+            start++;
+        }
+        int n = order.length - start;
+        long[] pool = new long[n];
+        long available = 0;
+        for (int i = 0; i < n; i++) {
+            pool[i] = values[order[start + i]];
+            available += pool[i];
+        }
+        if (available < target) {
+            return null;
+        }
+
+        boolean[] selection = new boolean[n];
+        int depth = 0;
+        long current = 0;
+        int count = 0;
+        boolean[] best = null;
+        long bestExcess = Long.MAX_VALUE;
+        int bestCount = Integer.MAX_VALUE;
+        for (int tries = 0; tries < maxTries; tries++) {
+            boolean backtrack = false;
+            if (current + available < target || current > upper) {
+                backtrack = true;
+            } else if (current >= target) {
+                long excess = current - target;
+                if (excess < bestExcess || excess == bestExcess && count < bestCount) {
+                    best = new boolean[n];
+                    System.arraycopy(selection, 0, best, 0, depth);
+                    bestExcess = excess;
+                    bestCount = count;
+                }
+                if (excess == 0 && count == 1) {
+                    break;
+                }
+                backtrack = true;
+            }
+            if (backtrack) {
+                // Go back to the last included value and continue with the branch without it.
+                while (depth > 0 && !selection[depth - 1]) {
+                    depth--;
+                    available += pool[depth];
+                }
+                if (depth == 0) {
+                    break;
+                }
+                selection[depth - 1] = false;
+                current -= pool[depth - 1];
+                count--;
+            } else {
+                long value = pool[depth];
+                available -= value;
+                // Including a value equal to the one just excluded would repeat that branch.
+                if (depth > 0 && !selection[depth - 1] && value == pool[depth - 1]) {
+                    selection[depth++] = false;
+                } else {
+                    selection[depth++] = true;
+                    current += value;
+                    count++;
+                }
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        int[] selected = new int[bestCount];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (best[i]) {
+                selected[k++] = order[start + i];
+            }
+        }
+        return selected;
+    }
+}
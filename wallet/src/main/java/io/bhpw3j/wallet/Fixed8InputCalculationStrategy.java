@@ -0,0 +1,130 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.constants.BHPConstants;
+import io.bhpw3j.wallet.exceptions.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Base class of input calculation strategies that select UTXOs on their values as Fixed8
+ * numbers.</p>
+ * <br>
+ * <p>The values of the given UTXOs are converted to a {@code long} array once, the selection then
+ * works on that array and on arrays of indices into it, without creating objects per UTXO. The
+ * required amount is rounded up to the next Fixed8 number.</p>
+ */
+public abstract class Fixed8InputCalculationStrategy implements InputCalculationStrategy {
+
+    @Override
+    public List<Utxo> calculateInputs(List<Utxo> utxos, BigDecimal requiredAmount) {
+        if (utxos.isEmpty()) {
+            throw new IllegalArgumentException("No unspent transaction outputs where available " +
+                    "to cover the required amount (" + requiredAmount.toPlainString() + ").");
+        }
+        String assetId = utxos.get(0).getAssetId();
+        long[] values = new long[utxos.size()];
+        long total = 0;
+        for (int i = 0; i < values.length; i++) {
+            Utxo utxo = utxos.get(i);
+            if (!utxo.getAssetId().equals(assetId)) {
+                throw new IllegalArgumentException("The given unspent transaction outputs where " +
+                        "of different asset types.");
+            }
+            values[i] = toFixed8(utxo.getValue(), RoundingMode.DOWN);
+            total = Math.addExact(total, values[i]);
+        }
+        long target = toFixed8(requiredAmount, RoundingMode.CEILING);
+        if (target <= 0) {
+            return Collections.emptyList();
+        }
+        if (total < target) {
+            throw new InsufficientFundsException("Couldn't cover the required amount (" +
+                    requiredAmount.toPlainString() + ") with the available unspent transaction " +
+                    "outputs for asset with hash " + assetId + ".");
+        }
+        int[] selected = selectInputs(values, target);
+        List<Utxo> inputs = new ArrayList<>(selected.length);
+        for (int i : selected) {
+            inputs.add(utxos.get(i));
+        }
+        return inputs;
+    }
+
+    /**
+     * Selects the UTXOs to use.
+     *
+     * @param values the values of the available UTXOs as Fixed8 numbers.
+     * @param target the required amount as a Fixed8 number. It is positive and not larger than the
+     *               sum of the values.
+     * @return the indices of the selected values. The selected values must cover the target.
+     */
+    protected abstract int[] selectInputs(long[] values, long target);
+
+    /**
+     * Sorts the indices of the given values by value. Indices of equal values stay in ascending
+     * order, i.e. older UTXOs come first.
+     *
+     * @param values     the values.
+     * @param descending true to put the largest value first.
+     * @return the sorted indices.
+     */
+    protected static int[] sortByValue(long[] values, boolean descending) {
+        int n = values.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        // A bottom-up merge sort, which is stable and doesn't need boxed comparators.
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                System.arraycopy(order, lo, buffer, lo, hi - lo);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi
+                            || !comesBefore(values[buffer[j]], values[buffer[i]], descending))) {
+                        order[k] = buffer[i++];
+                    } else {
+                        order[k] = buffer[j++];
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Takes the values in the given order until they cover the target.
+     *
+     * @param values the values.
+     * @param order  the indices of the values in the order to take them.
+     * @param target the amount to cover.
+     * @return the indices of the taken values.
+     */
+    protected static int[] takeUntilCovered(long[] values, int[] order, long target) {
+        long sum = 0;
+        int count = 0;
+        while (sum < target) {
+            sum += values[order[count++]];
+        }
+        int[] selected = new int[count];
+        System.arraycopy(order, 0, selected, 0, count);
+        return selected;
+    }
+
+    private static boolean comesBefore(long a, long b, boolean descending) {
+        return descending ? a > b : a < b;
+    }
+
+    private static long toFixed8(BigDecimal value, RoundingMode roundingMode) {
+        return value.movePointRight(BHPConstants.FIXED8_SCALE).setScale(0, roundingMode)
+                .longValueExact();
+    }
+}
@@ -0,0 +1,133 @@
+package io.bhpw3j.wallet;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>Selects the UTXOs whose sum exceeds the required amount the least, found by a randomized
+ * approximation of the subset sum problem.</p>
+ * <br>
+ * <p>A single UTXO matching the amount exactly is used right away. Otherwise the UTXOs smaller
+ * than the amount are combined in random subsets, largest first, and the subset with the smallest
+ * sum that covers the amount is kept. The smallest single UTXO larger than the amount is used
+ * instead if no subset matches exactly and that UTXO doesn't exceed the best subset.</p>
+ */
+public class KnapsackInputCalculationStrategy extends Fixed8InputCalculationStrategy {
+
+    /**
+     * The number of random subsets tried, if not specified otherwise.
+     */
+    public static final int DEFAULT_ITERATIONS = 1000;
+
+    private final int iterations;
+    private final Random random;
+
+    public KnapsackInputCalculationStrategy() {
+        this(DEFAULT_ITERATIONS, new Random());
+    }
+
+    /**
+     * @param iterations the number of random subsets to try.
+     * @param random     the source of randomness, e.g. with a fixed seed for reproducible results.
+     */
+    public KnapsackInputCalculationStrategy(int iterations, Random random) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("The number of iterations must be positive.");
+        }
+        this.iterations = iterations;
+        this.random = random;
+    }
+
+    @Override
+    protected int[] selectInputs(long[] values, long target) {
+        int lowestLarger = -1;
+        int lowerCount = 0;
+        long lowerTotal = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == target) {
+                return new int[]{i};
+            } else if (values[i] < target) {
+                lowerCount++;
+                lowerTotal += values[i];
+            } else if (lowestLarger < 0 || values[i] < values[lowestLarger]) {
+                lowestLarger = i;
+            }
+        }
+        if (lowerTotal < target) {
+            return new int[]{lowestLarger};
+        }
+        long[] lowers = new long[lowerCount];
+        int[] lowerIndices = new int[lowerCount];
+        for (int i = 0, k = 0; i < values.length; i++) {
+            if (values[i] < target) {
+                lowers[k] = values[i];
+                lowerIndices[k++] = i;
+            }
+        }
+        if (lowerTotal == target) {
+            return lowerIndices;
+        }
+
+        int[] order = sortByValue(lowers, true);
+        long[] sorted = new long[lowerCount];
+        for (int i = 0; i < lowerCount; i++) {
+            sorted[i] = lowers[order[i]];
+        }
+        boolean[] best = approximateBestSubset(sorted, lowerTotal, target);
+        long bestTotal = 0;
+        int bestCount = 0;
+        for (int i = 0; i < lowerCount; i++) {
+            if (best[i]) {
+                bestTotal += sorted[i];
+                bestCount++;
+            }
+        }
+        if (lowestLarger >= 0 && bestTotal != target && values[lowestLarger] <= bestTotal) {
+            return new int[]{lowestLarger};
+        }
+        int[] selected = new int[bestCount];
+        for (int i = 0, k = 0; i < lowerCount; i++) {
+            if (best[i]) {
+                selected[k++] = lowerIndices[order[i]];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Tries random subsets of the given values. In each iteration, the first pass includes every
+     * value with a probability of one half, the second pass includes the values left out. Whenever
+     * the sum covers the target, it is compared to the best sum so far and the last value is taken
+     * out again to look for a closer sum.
+     */
+    private boolean[] approximateBestSubset(long[] values, long total, long target) {
+        int n = values.length;
+        boolean[] best = new boolean[n];
+        Arrays.fill(best, true);
+        long bestTotal = total;
+        boolean[] included = new boolean[n];
+        for (int iteration = 0; iteration < iterations && bestTotal != target; iteration++) {
+            Arrays.fill(included, false);
+            long sum = 0;
+            boolean reachedTarget = false;
+            for (int pass = 0; pass < 2 && !reachedTarget; pass++) {
+                for (int i = 0; i < n; i++) {
+                    if (pass == 0 ? random.nextBoolean() : !included[i]) {
+                        sum += values[i];
+                        included[i] = true;
+                        if (sum >= target) {
+                            reachedTarget = true;
+                            if (sum < bestTotal) {
+                                bestTotal = sum;
+                                System.arraycopy(included, 0, best, 0, n);
+                            }
+                            sum -= values[i];
+                            included[i] = false;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,13 @@
+package io.bhpw3j.wallet;
+
+/**
+ * Selects the UTXOs with the largest values first, which keeps the number of inputs, and with it
+ * the size of the transaction, as low as possible. UTXOs with equal values are taken oldest first.
+ */
+public class LargestFirstInputCalculationStrategy extends Fixed8InputCalculationStrategy {
+
+    @Override
+    protected int[] selectInputs(long[] values, long target) {
+        return takeUntilCovered(values, sortByValue(values, true), target);
+    }
+}
@@ -0,0 +1,13 @@
+package io.bhpw3j.wallet;
+
+/**
+ * Selects the UTXOs with the smallest values first. This consolidates a fragmented account into
+ * fewer UTXOs, at the cost of larger transactions. UTXOs with equal values are taken oldest first.
+ */
+public class SmallestFirstInputCalculationStrategy extends Fixed8InputCalculationStrategy {
+
+    @Override
+    protected int[] selectInputs(long[] values, long target) {
+        return takeUntilCovered(values, sortByValue(values, false), target);
+    }
+}
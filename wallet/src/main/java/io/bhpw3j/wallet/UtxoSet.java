@@ -0,0 +1,238 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.utils.Numeric;
+import io.bhpw3j.wallet.exceptions.InsufficientFundsException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * <p>A set of unspent transaction outputs of one asset, indexed by outpoint (transaction id and
+ * output index) and ordered both by value and by age.</p>
+ * <br>
+ * <p>Values are kept as Fixed8 numbers. Looking up, adding and spending an output takes
+ * O(log n), as does finding the smallest output that covers an amount. The total is kept up to
+ * date with every change, so the set can follow new blocks and sent transactions without
+ * refetching all unspent outputs from a node.</p>
+ * <br>
+ * <p>The age of an output is the order in which it was added, i.e. outputs should be added in the
+ * order of the blocks they appeared in.</p>
+ * <br>
+ * <p>Instances are not thread-safe.</p>
+ */
+public class UtxoSet {
+
+    private static final Comparator<Entry> VALUE_ORDER = Comparator
+            .comparingLong((Entry e) -> e.value)
+            .thenComparingLong(e -> e.sequence);
+
+    private final Map<Outpoint, Entry> byOutpoint = new LinkedHashMap<>();
+    private final TreeSet<Entry> byValue = new TreeSet<>(VALUE_ORDER);
+    private long total;
+    private long sequence;
+
+    public UtxoSet() {
+    }
+
+    /**
+     * @param utxos the outputs to add, oldest first.
+     * @throws IllegalArgumentException if an output is contained twice.
+     */
+    public UtxoSet(List<Utxo> utxos) {
+        utxos.forEach(this::add);
+    }
+
+    /**
+     * Adds an output. It becomes the youngest output in the set.
+     *
+     * @param utxo the output.
+     * @throws IllegalArgumentException if the set already contains an output with the same
+     *                                  outpoint.
+     * @throws ArithmeticException      if the value of the output or the total doesn't fit into
+     *                                  a Fixed8 number.
+     */
+    public void add(Utxo utxo) {
+        Outpoint outpoint = new Outpoint(utxo.getTxId(), utxo.getIndex());
+        if (byOutpoint.containsKey(outpoint)) {
+            throw new IllegalArgumentException("The unspent transaction output " + outpoint
+                    + " was already added.");
+        }
+        long value = Numeric.fromDecimalToFixed8(utxo.getValue());
+        long newTotal = Math.addExact(total, value);
+        Entry entry = new Entry(utxo, value, sequence++);
+        byOutpoint.put(outpoint, entry);
+        byValue.add(entry);
+        total = newTotal;
+    }
+
+    /**
+     * Removes the output with the given outpoint.
+     *
+     * @param txId  the id of the transaction that created the output.
+     * @param index the index of the output in that transaction.
+     * @return the removed output, or null if the set didn't contain it.
+     */
+    public Utxo spend(String txId, Integer index) {
+        Entry entry = byOutpoint.remove(new Outpoint(txId, index));
+        if (entry == null) {
+            return null;
+        }
+        byValue.remove(entry);
+        total -= entry.value;
+        return entry.utxo;
+    }
+
+    /**
+     * @param txId  the id of the transaction that created the output.
+     * @param index the index of the output in that transaction.
+     * @return the output, or null if the set doesn't contain it.
+     */
+    public Utxo get(String txId, Integer index) {
+        Entry entry = byOutpoint.get(new Outpoint(txId, index));
+        return entry == null ? null : entry.utxo;
+    }
+
+    public boolean contains(String txId, Integer index) {
+        return byOutpoint.containsKey(new Outpoint(txId, index));
+    }
+
+    public int size() {
+        return byOutpoint.size();
+    }
+
+    public boolean isEmpty() {
+        return byOutpoint.isEmpty();
+    }
+
+    /**
+     * @return the sum of all output values as a Fixed8 number.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the sum of all output values.
+     */
+    public BigDecimal getTotalAmount() {
+        return Numeric.fromFixed8ToDecimal(total);
+    }
+
+    /**
+     * @return the outputs, oldest first.
+     */
+    public List<Utxo> getUtxos() {
+        List<Utxo> utxos = new ArrayList<>(byOutpoint.size());
+        for (Entry entry : byOutpoint.values()) {
+            utxos.add(entry.utxo);
+        }
+        return utxos;
+    }
+
+    /**
+     * @return the outputs, smallest value first.
+     */
+    public List<Utxo> getUtxosByValue() {
+        List<Utxo> utxos = new ArrayList<>(byValue.size());
+        for (Entry entry : byValue) {
+            utxos.add(entry.utxo);
+        }
+        return utxos;
+    }
+
+    /**
+     * Finds the smallest output whose value covers the given amount on its own.
+     *
+     * @param amount the amount as a Fixed8 number.
+     * @return the output, or null if no single output covers the amount.
+     */
+    public Utxo getSmallestCovering(long amount) {
+        Entry entry = byValue.ceiling(new Entry(null, amount, Long.MIN_VALUE));
+        return entry == null ? null : entry.utxo;
+    }
+
+    /**
+     * <p>Selects outputs that cover the given amount.</p>
+     * <br>
+     * <p>If a single output covers the amount, the smallest such output is selected. Otherwise,
+     * the largest outputs are selected until the amount is covered. This keeps the number of
+     * inputs low and takes O(k log n) for k selected outputs.</p>
+     *
+     * @param amount the amount as a Fixed8 number.
+     * @return the selected outputs.
+     * @throws InsufficientFundsException if the total of all outputs doesn't cover the amount.
+     */
+    public List<Utxo> select(long amount) {
+        if (total < amount) {
+            throw new InsufficientFundsException("Needed " + Numeric.fromFixed8ToDecimal(amount)
+                    + " but only found " + getTotalAmount() + ".");
+        }
+        List<Utxo> selected = new ArrayList<>();
+        Utxo covering = getSmallestCovering(amount);
+        if (covering != null) {
+            selected.add(covering);
+            return selected;
+        }
+        long sum = 0;
+        Iterator<Entry> it = byValue.descendingIterator();
+        while (sum < amount) {
+            Entry entry = it.next();
+            selected.add(entry.utxo);
+            sum += entry.value;
+        }
+        return selected;
+    }
+
+    private static class Entry {
+
+        private final Utxo utxo;
+        private final long value;
+        private final long sequence;
+
+        private Entry(Utxo utxo, long value, long sequence) {
+            this.utxo = utxo;
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * The transaction id and output index of an output. Transaction ids are compared without
+     * their hex prefix and case.
+     */
+    private static class Outpoint {
+
+        private final String txId;
+        private final Integer index;
+
+        private Outpoint(String txId, Integer index) {
+            this.txId = txId == null ? null : Numeric.cleanHexPrefix(txId).toLowerCase();
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Outpoint)) return false;
+            Outpoint that = (Outpoint) o;
+            return Objects.equals(txId, that.txId) && Objects.equals(index, that.index);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(txId, index);
+        }
+
+        @Override
+        public String toString() {
+            return txId + ":" + index;
+        }
+    }
+}
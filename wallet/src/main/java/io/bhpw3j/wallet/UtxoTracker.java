@@ -0,0 +1,640 @@
+package io.bhpw3j.wallet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.core.BlockParameterIndex;
+import io.bhpw3j.protocol.core.methods.response.BhpBlock;
+import io.bhpw3j.protocol.core.methods.response.BhpGetBlock;
+import io.bhpw3j.protocol.core.methods.response.Transaction;
+import io.bhpw3j.protocol.core.methods.response.TransactionInput;
+import io.bhpw3j.protocol.core.methods.response.TransactionOutput;
+import io.bhpw3j.protocol.core.polling.Callback;
+import io.bhpw3j.protocol.exceptions.ErrorResponseException;
+import io.bhpw3j.utils.Numeric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Subscription;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Keeps the asset balances of a set of accounts up to date by following the blocks of the
+ * chain, instead of asking the node for the unspent outputs of each account.</p>
+ * <br>
+ * <p>The tracker subscribes to
+ * {@link io.bhpw3j.protocol.rx.Bhpw3jRx#catchUpToLatestAndSubscribeToNewBlocksObservable}. For
+ * each block, the outputs of its transactions that go to a watched address are added to the
+ * account's {@link Balances}, and the outputs its transactions spend are removed. The changes of
+ * the most recent blocks are kept, so that a reorganization of the chain can be rolled back to the
+ * block where the chains fork. Blocks of the new chain are then fetched from the node and
+ * applied.</p>
+ * <br>
+ * <p>If a state file is given, the balances and the last processed block are written to it
+ * periodically and when the tracker stops. On restart, the tracker resumes after the last
+ * written block. Without a state file, or if it doesn't exist yet, the tracker starts with the
+ * current balances of the accounts, which must match the chain up to the block before the start
+ * block, e.g. fetched with {@link Account#updateAssetBalances(Bhpw3j)} or empty for a new
+ * account.</p>
+ * <br>
+ * <p>Outputs restored by a rollback become the youngest outputs of their
+ * {@link Balances.AssetBalance}.</p>
+ * <br>
+ * <p>Blocks are applied on the thread that delivers them. While a block is applied or rolled
+ * back, the tracker holds the locks of the {@link Balances} of all watched accounts, in the order
+ * of their addresses. Readers that hold the lock of a {@code Balances} see it as of a block, see
+ * {@link Balances} for the details. They must not call the tracker while holding it.</p>
+ */
+public class UtxoTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(UtxoTracker.class);
+
+    /**
+     * The number of blocks that can be rolled back, if not specified otherwise.
+     */
+    public static final int DEFAULT_MAX_REORG_DEPTH = 20;
+
+    /**
+     * The number of blocks after which the state is written, if not specified otherwise.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Bhpw3j bhpw3J;
+    private final Map<String, Account> accounts;
+    /**
+     * The balances of the watched accounts, in the order their locks are taken.
+     */
+    private final List<Balances> balancesInLockOrder;
+    private final Path stateFile;
+    private final int maxReorgDepth;
+    private final int checkpointInterval;
+    private final Callback<Throwable> errorCallback;
+
+    /**
+     * The owner of each tracked output, by outpoint.
+     */
+    private final Map<String, String> owners = new HashMap<>();
+    /**
+     * The changes of the most recent blocks, the latest last.
+     */
+    private final Deque<BlockChanges> journal = new ArrayDeque<>();
+
+    private long lastIndex;
+    private String lastHash;
+    private int blocksSinceCheckpoint;
+    private Subscription subscription;
+
+    private UtxoTracker(Builder builder) throws IOException {
+        this.bhpw3J = builder.bhpw3J;
+        this.accounts = builder.accounts;
+        this.balancesInLockOrder = new ArrayList<>();
+        new TreeMap<>(accounts).values()
+                .forEach(account -> balancesInLockOrder.add(account.getBalances()));
+        this.stateFile = builder.stateFile;
+        this.maxReorgDepth = builder.maxReorgDepth;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.errorCallback = builder.errorCallback;
+        this.lastIndex = builder.startBlock.longValueExact() - 1;
+        if (stateFile != null && Files.exists(stateFile)) {
+            load();
+        } else {
+            for (Account account : accounts.values()) {
+                for (Balances.AssetBalance balance : account.getBalances().getAssetBalances()) {
+                    for (Utxo utxo : balance.getUtxos()) {
+                        owners.put(outpoint(utxo.getTxId(), utxo.getIndex()),
+                                account.getAddress());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the index of the last processed block, or -1 if no block was processed yet.
+     */
+    public synchronized long getLastBlockIndex() {
+        return lastIndex;
+    }
+
+    /**
+     * @return the hash of the last processed block, or null if the tracker hasn't processed a
+     * block yet.
+     */
+    public synchronized String getLastBlockHash() {
+        return lastHash;
+    }
+
+    /**
+     * Starts following the chain after the last processed block.
+     *
+     * @throws IllegalStateException if the tracker is already running.
+     */
+    public synchronized void start() {
+        if (subscription != null) {
+            throw new IllegalStateException("The tracker is already running.");
+        }
+        subscription = bhpw3J.catchUpToLatestAndSubscribeToNewBlocksObservable(
+                new BlockParameterIndex(lastIndex + 1), true)
+                .subscribe(this::onBlock, this::onError);
+    }
+
+    /**
+     * Stops following the chain and writes the state, if a state file is given.
+     *
+     * @throws IOException if the state can't be written.
+     */
+    public void stop() throws IOException {
+        synchronized (this) {
+            if (subscription != null) {
+                subscription.unsubscribe();
+                subscription = null;
+            }
+        }
+        checkpoint();
+    }
+
+    /**
+     * Writes the state to the state file, if one is given. The file is replaced atomically.
+     *
+     * @throws IOException if the state can't be written.
+     */
+    public synchronized void checkpoint() throws IOException {
+        blocksSinceCheckpoint = 0;
+        if (stateFile == null) {
+            return;
+        }
+        ObjectNode state = OBJECT_MAPPER.createObjectNode();
+        state.put("index", lastIndex);
+        state.put("hash", lastHash);
+        ObjectNode balances = state.putObject("balances");
+        for (Account account : accounts.values()) {
+            ArrayNode utxos = balances.putArray(account.getAddress());
+            synchronized (account.getBalances()) {
+                for (Balances.AssetBalance balance : account.getBalances().getAssetBalances()) {
+                    for (Utxo utxo : balance.getUtxos()) {
+                        utxos.add(toJson(utxo));
+                    }
+                }
+            }
+        }
+        ArrayNode journalNode = state.putArray("journal");
+        for (BlockChanges block : journal) {
+            journalNode.add(block.toJson());
+        }
+
+        Path directory = stateFile.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, stateFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, OBJECT_MAPPER.writeValueAsBytes(state));
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * <p>Applies a block to the balances of the watched accounts.</p>
+     * <br>
+     * <p>Blocks must be passed in the order of their indices. A block that doesn't follow the
+     * last processed block, because the chain was reorganized, rolls the balances back to the
+     * block where the chains fork. The blocks of the new chain up to the given block are then
+     * fetched from the node and applied. Blocks that were already processed are ignored.</p>
+     *
+     * @param block the block with its full transactions.
+     * @throws IOException           if blocks can't be fetched from the node or the state can't
+     *                               be written.
+     * @throws IllegalStateException if the chain was reorganized deeper than the blocks kept for
+     *                               rollback.
+     */
+    public synchronized void processBlock(BhpBlock block) throws IOException {
+        if (block.getIndex() <= lastIndex) {
+            BlockChanges known = findInJournal(block.getIndex());
+            if (known == null || sameHash(known.hash, block.getHash())) {
+                return;
+            }
+        }
+        if (lastHash != null && (block.getIndex() != lastIndex + 1
+                || !sameHash(block.getPrevBlockHash(), lastHash))) {
+            rollBackToFork(block.getIndex() - 1);
+            for (long i = lastIndex + 1; i < block.getIndex(); i++) {
+                apply(fetchBlock(i));
+            }
+            if (!sameHash(block.getPrevBlockHash(), lastHash)) {
+                // The chain was reorganized again after the block was fetched.
+                return;
+            }
+        } else if (lastHash == null && block.getIndex() > lastIndex + 1) {
+            for (long i = lastIndex + 1; i < block.getIndex(); i++) {
+                apply(fetchBlock(i));
+            }
+        }
+        apply(block);
+        if (++blocksSinceCheckpoint >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    private void onBlock(BhpGetBlock response) {
+        try {
+            response.throwOnError();
+            processBlock(response.getBlock());
+        } catch (Throwable e) {
+            onError(e);
+        }
+    }
+
+    private void onError(Throwable e) {
+        log.error("Tracking the unspent transaction outputs failed.", e);
+        synchronized (this) {
+            if (subscription != null) {
+                subscription.unsubscribe();
+                subscription = null;
+            }
+        }
+        errorCallback.onEvent(e);
+    }
+
+    private void apply(BhpBlock block) {
+        withBalancesLocked(0, () -> applyLocked(block));
+    }
+
+    private void applyLocked(BhpBlock block) {
+        BlockChanges changes = new BlockChanges(block.getIndex(), block.getHash(), lastHash);
+        try {
+            for (Transaction tx : block.getTransactions()) {
+                applyLocked(tx, changes);
+            }
+        } catch (RuntimeException e) {
+            // Leave the balances as they were before the block.
+            revert(changes);
+            throw e;
+        }
+        journal.addLast(changes);
+        while (journal.size() > maxReorgDepth) {
+            journal.removeFirst();
+        }
+        lastIndex = block.getIndex();
+        lastHash = block.getHash();
+    }
+
+    private void applyLocked(Transaction tx, BlockChanges changes) {
+        for (TransactionInput input : tx.getInputs()) {
+            String outpoint = outpoint(input.getPrevHash(), input.getPrevIndex());
+            String address = owners.remove(outpoint);
+            if (address != null) {
+                Utxo spent = accounts.get(address).getBalances()
+                        .spendUtxo(input.getPrevHash(), input.getPrevIndex());
+                if (spent != null) {
+                    changes.add(new Change(false, address, spent));
+                }
+            }
+        }
+        List<TransactionOutput> outputs = tx.getOutputs();
+        for (int i = 0; i < outputs.size(); i++) {
+            TransactionOutput output = outputs.get(i);
+            Account account = accounts.get(output.getAddress());
+            if (account != null) {
+                int index = output.getIndex() == null ? i : output.getIndex();
+                String outpoint = outpoint(tx.getTransactionId(), index);
+                if (owners.containsKey(outpoint)) {
+                    // Already part of the balances the tracker was started with, e.g. if they
+                    // were seeded from getunspents at a later block than the start block.
+                    continue;
+                }
+                Utxo utxo = new Utxo(normalizeHash(output.getAssetId()),
+                        normalizeHash(tx.getTransactionId()), index,
+                        new BigDecimal(output.getValue()));
+                account.getBalances().addUtxo(utxo);
+                owners.put(outpoint, account.getAddress());
+                changes.add(new Change(true, account.getAddress(), utxo));
+            }
+        }
+    }
+
+    /**
+     * Undoes the most recent blocks until the last processed block is part of the node's chain,
+     * looking at most at the given index.
+     */
+    private void rollBackToFork(long index) throws IOException {
+        while (lastIndex > index && !journal.isEmpty()) {
+            undo(journal.removeLast());
+        }
+        // Without a hash, the balances are the ones the tracker was started with.
+        while (lastHash != null && !sameHash(lastHash, fetchBlockHash(lastIndex))) {
+            if (journal.isEmpty()) {
+                throw new IllegalStateException("The chain was reorganized deeper than the "
+                        + maxReorgDepth + " blocks that can be rolled back.");
+            }
+            undo(journal.removeLast());
+        }
+        log.info("Rolled back to block {} after a reorganization of the chain.", lastIndex);
+    }
+
+    private void undo(BlockChanges block) {
+        withBalancesLocked(0, () -> undoLocked(block));
+    }
+
+    private void undoLocked(BlockChanges block) {
+        revert(block);
+        lastIndex = block.index - 1;
+        lastHash = block.prevHash;
+    }
+
+    private void revert(BlockChanges block) {
+        for (int i = block.changes.size() - 1; i >= 0; i--) {
+            Change change = block.changes.get(i);
+            Balances balances = accounts.get(change.address).getBalances();
+            String outpoint = outpoint(change.utxo.getTxId(), change.utxo.getIndex());
+            if (change.added) {
+                balances.spendUtxo(change.utxo.getTxId(), change.utxo.getIndex());
+                owners.remove(outpoint);
+            } else {
+                balances.addUtxo(change.utxo);
+                owners.put(outpoint, change.address);
+            }
+        }
+    }
+
+    /**
+     * Runs the action with the locks of the watched balances held, starting at the given one.
+     */
+    private void withBalancesLocked(int i, Runnable action) {
+        if (i == balancesInLockOrder.size()) {
+            action.run();
+            return;
+        }
+        synchronized (balancesInLockOrder.get(i)) {
+            withBalancesLocked(i + 1, action);
+        }
+    }
+
+    private BlockChanges findInJournal(long index) {
+        for (BlockChanges block : journal) {
+            if (block.index == index) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    private BhpBlock fetchBlock(long index) throws IOException {
+        BhpGetBlock response = bhpw3J.getBlock(new BlockParameterIndex(index), true).send();
+        throwOnError(response);
+        return response.getBlock();
+    }
+
+    private String fetchBlockHash(long index) throws IOException {
+        return fetchBlock(index).getHash();
+    }
+
+    private static void throwOnError(BhpGetBlock response) throws IOException {
+        try {
+            response.throwOnError();
+        } catch (ErrorResponseException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void load() throws IOException {
+        JsonNode state = OBJECT_MAPPER.readTree(stateFile.toFile());
+        lastIndex = state.get("index").asLong();
+        lastHash = textOrNull(state.get("hash"));
+        for (Account account : accounts.values()) {
+            account.getBalances().clearAssetBalances();
+            JsonNode utxos = state.get("balances").get(account.getAddress());
+            if (utxos == null) {
+                throw new IOException("The state file " + stateFile + " doesn't contain the "
+                        + "account " + account.getAddress() + ".");
+            }
+            for (JsonNode utxoNode : utxos) {
+                Utxo utxo = utxoFromJson(utxoNode);
+                account.getBalances().addUtxo(utxo);
+                owners.put(outpoint(utxo.getTxId(), utxo.getIndex()), account.getAddress());
+            }
+        }
+        for (JsonNode blockNode : state.get("journal")) {
+            journal.addLast(BlockChanges.fromJson(blockNode));
+        }
+        log.info("Resuming after block {}.", lastIndex);
+    }
+
+    private static ObjectNode toJson(Utxo utxo) {
+        ObjectNode node = OBJECT_MAPPER.createObjectNode();
+        node.put("asset", utxo.getAssetId());
+        node.put("txid", utxo.getTxId());
+        node.put("n", utxo.getIndex());
+        node.put("value", utxo.getValue().toPlainString());
+        return node;
+    }
+
+    private static Utxo utxoFromJson(JsonNode node) {
+        JsonNode index = node.get("n");
+        return new Utxo(node.get("asset").asText(), node.get("txid").asText(),
+                index == null || index.isNull() ? null : index.asInt(),
+                node.get("value").asText());
+    }
+
+    private static String outpoint(String txId, Integer index) {
+        return Numeric.cleanHexPrefix(txId).toLowerCase() + ":" + index;
+    }
+
+    private static String normalizeHash(String hash) {
+        return Numeric.prependHexPrefix(Numeric.cleanHexPrefix(hash).toLowerCase());
+    }
+
+    private static boolean sameHash(String a, String b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Numeric.cleanHexPrefix(a).equalsIgnoreCase(Numeric.cleanHexPrefix(b));
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    /**
+     * An output added to or spent from a watched account.
+     */
+    private static class Change {
+
+        private final boolean added;
+        private final String address;
+        private final Utxo utxo;
+
+        private Change(boolean added, String address, Utxo utxo) {
+            this.added = added;
+            this.address = address;
+            this.utxo = utxo;
+        }
+    }
+
+    /**
+     * The changes a block made to the watched accounts, in the order they were made.
+     */
+    private static class BlockChanges {
+
+        private final long index;
+        private final String hash;
+        private final String prevHash;
+        private final List<Change> changes = new ArrayList<>();
+
+        private BlockChanges(long index, String hash, String prevHash) {
+            this.index = index;
+            this.hash = hash;
+            this.prevHash = prevHash;
+        }
+
+        private void add(Change change) {
+            changes.add(change);
+        }
+
+        private ObjectNode toJson() {
+            ObjectNode node = OBJECT_MAPPER.createObjectNode();
+            node.put("index", index);
+            node.put("hash", hash);
+            node.put("prevHash", prevHash);
+            ArrayNode changesNode = node.putArray("changes");
+            for (Change change : changes) {
+                ObjectNode changeNode = UtxoTracker.toJson(change.utxo);
+                changeNode.put("added", change.added);
+                changeNode.put("address", change.address);
+                changesNode.add(changeNode);
+            }
+            return node;
+        }
+
+        private static BlockChanges fromJson(JsonNode node) {
+            BlockChanges block = new BlockChanges(node.get("index").asLong(),
+                    textOrNull(node.get("hash")), textOrNull(node.get("prevHash")));
+            for (JsonNode changeNode : node.get("changes")) {
+                block.add(new Change(changeNode.get("added").asBoolean(),
+                        changeNode.get("address").asText(), utxoFromJson(changeNode)));
+            }
+            return block;
+        }
+    }
+
+    public static class Builder {
+
+        private final Bhpw3j bhpw3J;
+        private final Map<String, Account> accounts = new HashMap<>();
+        private Path stateFile;
+        private BigInteger startBlock = BigInteger.ZERO;
+        private int maxReorgDepth = DEFAULT_MAX_REORG_DEPTH;
+        private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        private Callback<Throwable> errorCallback = e -> { };
+
+        /**
+         * @param bhpw3J the client to follow the chain with.
+         */
+        public Builder(Bhpw3j bhpw3J) {
+            this.bhpw3J = bhpw3J;
+        }
+
+        /**
+         * Adds an account to watch. Its {@link Balances} are updated by the tracker.
+         *
+         * @param account the account.
+         * @return this builder.
+         */
+        public Builder account(Account account) {
+            accounts.put(account.getAddress(), account);
+            return this;
+        }
+
+        /**
+         * Adds accounts to watch.
+         *
+         * @param accounts the accounts.
+         * @return this builder.
+         */
+        public Builder accounts(List<Account> accounts) {
+            accounts.forEach(this::account);
+            return this;
+        }
+
+        /**
+         * Sets the file the state is kept in. If the file exists, the tracker resumes from it and
+         * the start block is ignored.
+         *
+         * @param stateFile the state file.
+         * @return this builder.
+         */
+        public Builder stateFile(Path stateFile) {
+            this.stateFile = stateFile;
+            return this;
+        }
+
+        /**
+         * Sets the first block to process when there is no state to resume from. Defaults to the
+         * genesis block.
+         *
+         * @param startBlock the index of the block.
+         * @return this builder.
+         */
+        public Builder startBlock(BigInteger startBlock) {
+            this.startBlock = startBlock;
+            return this;
+        }
+
+        /**
+         * @param maxReorgDepth the number of blocks that can be rolled back.
+         * @return this builder.
+         */
+        public Builder maxReorgDepth(int maxReorgDepth) {
+            this.maxReorgDepth = maxReorgDepth;
+            return this;
+        }
+
+        /**
+         * @param checkpointInterval the number of blocks after which the state is written.
+         * @return this builder.
+         */
+        public Builder checkpointInterval(int checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        /**
+         * @param errorCallback receives the error that stopped the tracker.
+         * @return this builder.
+         */
+        public Builder errorCallback(Callback<Throwable> errorCallback) {
+            this.errorCallback = errorCallback;
+            return this;
+        }
+
+        /**
+         * @return the tracker. It is started with {@link UtxoTracker#start()}.
+         * @throws IOException if the state file exists but can't be read.
+         */
+        public UtxoTracker build() throws IOException {
+            if (accounts.isEmpty()) {
+                throw new IllegalStateException("At least one account is required.");
+            }
+            if (maxReorgDepth < 1 || checkpointInterval < 1) {
+                throw new IllegalStateException("The maximum reorganization depth and the "
+                        + "checkpoint interval must be positive.");
+            }
+            return new UtxoTracker(this);
+        }
+    }
+}
@@ -16,6 +16,11 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static io.bhpw3j.crypto.SecurityProviderChecker.addBouncyCastle;
@@ -125,6 +130,63 @@ public class Wallet {
         }
     }
 
+    /**
+     * Decrypts the private keys of all accounts in parallel, using at most a quarter of the
+     * maximum heap for the Scrypt key derivations.
+     *
+     * @param password The passphrase used to decrypt the private keys.
+     * @param executor The executor to decrypt on.
+     * @throws BRC2InvalidFormat     throws if an encrypted private key has an invalid format.
+     * @throws CipherException       throws if failed to decrypt a private key.
+     * @throws BRC2InvalidPassphrase throws if the passphrase is not valid.
+     * @see #decryptAllAccounts(String, ExecutorService, long)
+     */
+    public void decryptAllAccounts(String password, ExecutorService executor)
+            throws BRC2InvalidFormat, CipherException, BRC2InvalidPassphrase {
+        decryptAllAccounts(password, executor, defaultScryptMemoryBudget());
+    }
+
+    /**
+     * <p>Decrypts the private keys of all accounts in parallel.</p>
+     * <br>
+     * <p>Each decryption runs Scrypt, which needs about {@link #getScryptMemoryUsage()} bytes.
+     * The number of decryptions running at once is limited so that they stay within the memory
+     * budget, but at least one runs at a time. The calling thread blocks until all accounts are
+     * decrypted. After the first failure no more decryptions are started and the failure is
+     * thrown once the running ones are done.</p>
+     *
+     * @param password     The passphrase used to decrypt the private keys.
+     * @param executor     The executor to decrypt on.
+     * @param memoryBudget The memory in bytes that the concurrent Scrypt runs may use.
+     * @throws BRC2InvalidFormat     throws if an encrypted private key has an invalid format.
+     * @throws CipherException       throws if failed to decrypt a private key.
+     * @throws BRC2InvalidPassphrase throws if the passphrase is not valid.
+     */
+    public void decryptAllAccounts(String password, ExecutorService executor, long memoryBudget)
+            throws BRC2InvalidFormat, CipherException, BRC2InvalidPassphrase {
+        try {
+            forAllAccountsInParallel(a -> a.decryptPrivateKey(password, scryptParams), executor,
+                    memoryBudget);
+        } catch (BRC2InvalidFormat | CipherException | BRC2InvalidPassphrase | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Prepares the private keys of all accounts to be decrypted when the accounts are first used,
+     * e.g. to sign a transaction. Saves decrypting the keys of accounts that are never used.
+     *
+     * @param password The passphrase used to decrypt the private keys.
+     * @see Account#decryptPrivateKeyOnFirstUse(String, ScryptParams)
+     */
+    public void decryptAllAccountsOnFirstUse(String password) {
+        for (Account acct : accounts) {
+            acct.decryptPrivateKeyOnFirstUse(password, scryptParams);
+        }
+    }
+
     public void encryptAllAccounts(String password) throws CipherException {
 
         for (Account acct : accounts) {
@@ -132,6 +194,105 @@ public class Wallet {
         }
     }
 
+    /**
+     * Encrypts the private keys of all accounts in parallel, using at most a quarter of the
+     * maximum heap for the Scrypt key derivations.
+     *
+     * @param password The passphrase used to encrypt the private keys.
+     * @param executor The executor to encrypt on.
+     * @throws CipherException throws if failed to encrypt a private key.
+     * @see #encryptAllAccounts(String, ExecutorService, long)
+     */
+    public void encryptAllAccounts(String password, ExecutorService executor)
+            throws CipherException {
+        encryptAllAccounts(password, executor, defaultScryptMemoryBudget());
+    }
+
+    /**
+     * Encrypts the private keys of all accounts in parallel. The number of encryptions running
+     * at once is limited by the memory budget like for
+     * {@link #decryptAllAccounts(String, ExecutorService, long)}.
+     *
+     * @param password     The passphrase used to encrypt the private keys.
+     * @param executor     The executor to encrypt on.
+     * @param memoryBudget The memory in bytes that the concurrent Scrypt runs may use.
+     * @throws CipherException throws if failed to encrypt a private key.
+     */
+    public void encryptAllAccounts(String password, ExecutorService executor, long memoryBudget)
+            throws CipherException {
+        try {
+            forAllAccountsInParallel(a -> a.encryptPrivateKey(password, scryptParams), executor,
+                    memoryBudget);
+        } catch (CipherException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes a single Scrypt run with this wallet's Scrypt
+     * parameters allocates.
+     */
+    public long getScryptMemoryUsage() {
+        // The block mixing buffer (128 * r * N) plus the input blocks (128 * r * p) and the
+        // working blocks (256 * r).
+        long r = scryptParams.getR();
+        return 128 * r * ((long) scryptParams.getN() + scryptParams.getP() + 2);
+    }
+
+    private static long defaultScryptMemoryBudget() {
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    private void forAllAccountsInParallel(AccountOperation operation, ExecutorService executor,
+                                          long memoryBudget) throws Exception {
+        List<Account> accts = new ArrayList<>(accounts);
+        int parallelism = (int) Math.max(1,
+                Math.min(accts.size(), memoryBudget / getScryptMemoryUsage()));
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<?>> tasks = new ArrayList<>(accts.size());
+        try {
+            for (Account acct : accts) {
+                permits.acquire();
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+                try {
+                    tasks.add(executor.submit(() -> {
+                        try {
+                            operation.apply(acct);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.forEach(t -> t.cancel(true));
+            throw new IllegalStateException("Interrupted while processing the accounts.", e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface AccountOperation {
+        void apply(Account account) throws Exception;
+    }
+
     public BRC6Wallet toBRC6Wallet() {
         List<BRC6Account> accts = accounts.stream().map(
                 a -> a.toBRC6Account()).collect(Collectors.toList());
@@ -0,0 +1,488 @@
+package io.bhpw3j.wallet.brc6;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bhpw3j.crypto.ScryptParams;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>A BRC-6 wallet file whose accounts are read on demand and saved incrementally, for wallets
+ * with many accounts.</p>
+ * <br>
+ * <p>Opening the file only scans it with Jackson's streaming parser to find the name, version,
+ * scrypt parameters and extra data as well as the position of every account in the file. The
+ * accounts themselves are read when they are requested. With the optional sidecar index, a binary
+ * file next to the wallet file that holds the header and the account positions, opening doesn't
+ * even have to scan the wallet file. The index is rebuilt if it doesn't match the wallet file, e.g.
+ * because the wallet file was changed by another application.</p>
+ * <br>
+ * <p>Saving writes a new file and moves it over the old one atomically. Added and changed accounts
+ * are serialized, all others are copied byte for byte from the old file. The result is a regular
+ * BRC-6 file that can be read with {@link io.bhpw3j.wallet.WalletUtils#loadWalletFile}.</p>
+ * <br>
+ * <p>Instances are not thread-safe.</p>
+ */
+public class BRC6WalletFile {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final byte[] COMMA = {','};
+
+    private final Path file;
+    private final boolean useIndex;
+    private final List<Entry> entries;
+    private final Map<String, Entry> entriesByAddress;
+    private String name;
+    private String version;
+    private ScryptParams scrypt;
+    private Object extra;
+
+    private BRC6WalletFile(Path file, boolean useIndex, Header header, List<Entry> entries) {
+        this.file = file;
+        this.useIndex = useIndex;
+        this.name = header.name;
+        this.version = header.version;
+        this.scrypt = header.scrypt;
+        this.extra = header.extra;
+        this.entries = entries;
+        this.entriesByAddress = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            if (entry.address != null) {
+                entriesByAddress.put(entry.address, entry);
+            }
+        }
+    }
+
+    /**
+     * Opens an existing wallet file.
+     *
+     * @param file     the wallet file.
+     * @param useIndex if true, the sidecar index is read, or created if it is missing or doesn't
+     *                 match the wallet file, and kept up to date when saving.
+     * @return the opened wallet file.
+     * @throws IOException if the wallet file can't be read or is not a BRC-6 wallet.
+     */
+    public static BRC6WalletFile open(Path file, boolean useIndex) throws IOException {
+        if (useIndex) {
+            BRC6WalletIndex index = BRC6WalletIndex.read(indexFile(file), file);
+            if (index != null) {
+                return new BRC6WalletFile(file, true, index.getHeader(), index.getEntries());
+            }
+        }
+        List<Entry> entries = new ArrayList<>();
+        Header header;
+        try (InputStream in = Files.newInputStream(file)) {
+            header = scan(in, entries);
+        }
+        BRC6WalletFile walletFile = new BRC6WalletFile(file, useIndex, header, entries);
+        if (useIndex) {
+            walletFile.writeIndex();
+        }
+        return walletFile;
+    }
+
+    /**
+     * Creates a new wallet file, replacing any existing file.
+     *
+     * @param file     the wallet file.
+     * @param wallet   the wallet to write.
+     * @param useIndex if true, a sidecar index is written and kept up to date when saving.
+     * @return the created wallet file.
+     * @throws IOException if the file can't be written.
+     */
+    public static BRC6WalletFile create(Path file, BRC6Wallet wallet, boolean useIndex)
+            throws IOException {
+        Header header = new Header(wallet.getName(), wallet.getVersion(), wallet.getScrypt(),
+                wallet.getExtra());
+        BRC6WalletFile walletFile = new BRC6WalletFile(file, useIndex, header, new ArrayList<>());
+        for (BRC6Account account : wallet.getAccounts()) {
+            walletFile.putAccount(account);
+        }
+        walletFile.save();
+        return walletFile;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public ScryptParams getScrypt() {
+        return scrypt;
+    }
+
+    public Object getExtra() {
+        return extra;
+    }
+
+    /**
+     * @return the number of accounts, including the unsaved changes.
+     */
+    public int getAccountCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the addresses of the accounts in the order they are stored in, including the unsaved
+     * changes.
+     */
+    public List<String> getAddresses() {
+        List<String> addresses = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            addresses.add(entry.address);
+        }
+        return addresses;
+    }
+
+    /**
+     * Reads the account with the given address.
+     *
+     * @param address the address of the account.
+     * @return the account, or null if the wallet has no account with that address.
+     * @throws IOException if the wallet file can't be read.
+     */
+    public BRC6Account getAccount(String address) throws IOException {
+        Entry entry = entriesByAddress.get(address);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.account != null) {
+            return entry.account;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, entry);
+        }
+    }
+
+    /**
+     * Reads the accounts one after another while iterating. Only one account is held in memory
+     * at a time, apart from the unsaved changes. The wallet file must not be saved while
+     * iterating.
+     *
+     * @return an iterator over all accounts, including the unsaved changes.
+     */
+    public Iterator<BRC6Account> accounts() {
+        return new Iterator<BRC6Account>() {
+
+            private int next;
+            private FileChannel channel;
+
+            @Override
+            public boolean hasNext() {
+                return next < entries.size();
+            }
+
+            @Override
+            public BRC6Account next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Entry entry = entries.get(next++);
+                if (entry.account != null) {
+                    return entry.account;
+                }
+                try {
+                    if (channel == null) {
+                        channel = FileChannel.open(file, StandardOpenOption.READ);
+                    }
+                    BRC6Account account = read(channel, entry);
+                    if (!hasNext()) {
+                        channel.close();
+                    }
+                    return account;
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to read the wallet file.", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds an account or replaces the account with the same address. The change is written on
+     * the next {@link #save()}.
+     *
+     * @param account the account.
+     */
+    public void putAccount(BRC6Account account) {
+        Entry entry = account.getAddress() == null ? null
+                : entriesByAddress.get(account.getAddress());
+        if (entry == null) {
+            entry = new Entry(account.getAddress(), -1, -1);
+            entries.add(entry);
+            if (entry.address != null) {
+                entriesByAddress.put(entry.address, entry);
+            }
+        }
+        entry.account = account;
+    }
+
+    /**
+     * Removes the account with the given address. The change is written on the next
+     * {@link #save()}.
+     *
+     * @param address the address of the account.
+     * @return true if an account was removed, false if there was no account with that address.
+     */
+    public boolean removeAccount(String address) {
+        Entry entry = entriesByAddress.remove(address);
+        return entry != null && entries.remove(entry);
+    }
+
+    /**
+     * Writes the changes since opening or the last save. The wallet is written to a temporary
+     * file that replaces the wallet file once it is complete, so the wallet file is never left
+     * half written.
+     *
+     * @throws IOException if the wallet file can't be written.
+     */
+    public void save() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        long[] offsets = new long[entries.size()];
+        int[] lengths = new int[entries.size()];
+        try {
+            FileChannel source = null;
+            FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+            try (CountingOutputStream out =
+                         new CountingOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+                out.write(("{\"name\":" + OBJECT_MAPPER.writeValueAsString(name)
+                        + ",\"version\":" + OBJECT_MAPPER.writeValueAsString(version)
+                        + ",\"scrypt\":" + OBJECT_MAPPER.writeValueAsString(scrypt)
+                        + ",\"accounts\":[").getBytes(UTF_8));
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    if (i > 0) {
+                        out.write(COMMA);
+                    }
+                    byte[] bytes;
+                    if (entry.account != null) {
+                        bytes = OBJECT_MAPPER.writeValueAsBytes(entry.account);
+                    } else {
+                        if (source == null) {
+                            source = FileChannel.open(file, StandardOpenOption.READ);
+                        }
+                        bytes = readBytes(source, entry);
+                    }
+                    offsets[i] = out.getCount();
+                    lengths[i] = bytes.length;
+                    out.write(bytes);
+                }
+                out.write(("],\"extra\":" + OBJECT_MAPPER.writeValueAsString(extra) + "}")
+                        .getBytes(UTF_8));
+                out.flush();
+                fileOut.getFD().sync();
+            } finally {
+                if (source != null) {
+                    source.close();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            entry.offset = offsets[i];
+            entry.length = lengths[i];
+            entry.account = null;
+        }
+        if (useIndex) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Reads the whole wallet into memory.
+     *
+     * @return the wallet, including the unsaved changes.
+     * @throws IOException if the wallet file can't be read.
+     */
+    public BRC6Wallet toBRC6Wallet() throws IOException {
+        List<BRC6Account> accounts = new ArrayList<>(entries.size());
+        Iterator<BRC6Account> iterator = accounts();
+        while (iterator.hasNext()) {
+            accounts.add(iterator.next());
+        }
+        return new BRC6Wallet(name, version, scrypt, accounts, extra);
+    }
+
+    private void writeIndex() throws IOException {
+        BRC6WalletIndex.write(indexFile(file), file,
+                new Header(name, version, scrypt, extra), Collections.unmodifiableList(entries));
+    }
+
+    static Path indexFile(Path file) {
+        return file.resolveSibling(file.getFileName() + INDEX_SUFFIX);
+    }
+
+    private static BRC6Account read(FileChannel channel, Entry entry) throws IOException {
+        return OBJECT_MAPPER.readValue(readBytes(channel, entry), BRC6Account.class);
+    }
+
+    private static byte[] readBytes(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        long position = entry.offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("The wallet file ends before account " + entry.address
+                        + ".");
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Scans a wallet file with the streaming parser. Reads the header fields and records the
+     * address and byte range of each account without binding the accounts.
+     */
+    private static Header scan(InputStream in, List<Entry> entries) throws IOException {
+        Header header = new Header(null, null, null, null);
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The wallet file is not a JSON object.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        header.name = parser.getValueAsString();
+                        break;
+                    case "version":
+                        header.version = parser.getValueAsString();
+                        break;
+                    case "scrypt":
+                        header.scrypt = parser.readValueAs(ScryptParams.class);
+                        break;
+                    case "extra":
+                        header.extra = parser.readValueAs(Object.class);
+                        break;
+                    case "accounts":
+                        if (value == JsonToken.START_ARRAY) {
+                            scanAccounts(parser, entries);
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        return header;
+    }
+
+    private static void scanAccounts(JsonParser parser, List<Entry> entries) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            long start = parser.getTokenLocation().getByteOffset();
+            String address = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("address".equals(field)) {
+                    address = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            long end = parser.getTokenLocation().getByteOffset() + 1;
+            entries.add(new Entry(address, start, (int) (end - start)));
+        }
+    }
+
+    static class Header {
+
+        String name;
+        String version;
+        ScryptParams scrypt;
+        Object extra;
+
+        Header(String name, String version, ScryptParams scrypt, Object extra) {
+            this.name = name;
+            this.version = version;
+            this.scrypt = scrypt;
+            this.extra = extra;
+        }
+    }
+
+    /**
+     * The position of an account in the wallet file, or the account itself if it has unsaved
+     * changes.
+     */
+    static class Entry {
+
+        final String address;
+        long offset;
+        int length;
+        BRC6Account account;
+
+        Entry(String address, long offset, int length) {
+            this.address = address;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
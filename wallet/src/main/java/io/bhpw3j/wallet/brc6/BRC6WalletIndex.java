@@ -0,0 +1,138 @@
+package io.bhpw3j.wallet.brc6;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.bhpw3j.crypto.ScryptParams;
+import io.bhpw3j.wallet.brc6.BRC6WalletFile.Entry;
+import io.bhpw3j.wallet.brc6.BRC6WalletFile.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The sidecar index of a {@link BRC6WalletFile}. Holds the header of the wallet and the address
+ * and byte range of each account, together with the size and modification time of the wallet file
+ * it was created for. An index that doesn't match its wallet file is ignored.
+ */
+class BRC6WalletIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BRC6WalletIndex.class);
+
+    private static final int MAGIC = 0x42364958;
+    private static final byte VERSION = 1;
+
+    private final Header header;
+    private final List<Entry> entries;
+
+    private BRC6WalletIndex(Header header, List<Entry> entries) {
+        this.header = header;
+        this.entries = entries;
+    }
+
+    Header getHeader() {
+        return header;
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the index, or null if there is no index or it doesn't match the wallet file.
+     */
+    static BRC6WalletIndex read(Path indexFile, Path walletFile) throws IOException {
+        BasicFileAttributes attributes =
+                Files.readAttributes(walletFile, BasicFileAttributes.class);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION
+                    || in.readLong() != attributes.size()
+                    || in.readLong() != attributes.lastModifiedTime().toMillis()) {
+                log.debug("The index {} doesn't match the wallet file.", indexFile);
+                return null;
+            }
+            byte[] headerBytes = new byte[in.readInt()];
+            in.readFully(headerBytes);
+            JsonNode headerNode = BRC6WalletFile.OBJECT_MAPPER.readTree(headerBytes);
+            Header header = new Header(
+                    textOrNull(headerNode.get("name")),
+                    textOrNull(headerNode.get("version")),
+                    BRC6WalletFile.OBJECT_MAPPER.treeToValue(
+                            headerNode.get("scrypt"), ScryptParams.class),
+                    BRC6WalletFile.OBJECT_MAPPER.treeToValue(
+                            headerNode.get("extra"), Object.class));
+            int count = in.readInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String address = in.readUTF();
+                entries.add(new Entry(address.isEmpty() ? null : address, in.readLong(),
+                        in.readInt()));
+            }
+            return new BRC6WalletIndex(header, entries);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read the index {}, rebuilding it.", indexFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the index for the current state of the wallet file. The index is replaced atomically.
+     */
+    static void write(Path indexFile, Path walletFile, Header header, List<Entry> entries)
+            throws IOException {
+        BasicFileAttributes attributes =
+                Files.readAttributes(walletFile, BasicFileAttributes.class);
+        ObjectNode headerNode = BRC6WalletFile.OBJECT_MAPPER.createObjectNode();
+        headerNode.put("name", header.name);
+        headerNode.put("version", header.version);
+        headerNode.set("scrypt", BRC6WalletFile.OBJECT_MAPPER.valueToTree(header.scrypt));
+        headerNode.set("extra", BRC6WalletFile.OBJECT_MAPPER.valueToTree(header.extra));
+        byte[] headerBytes = BRC6WalletFile.OBJECT_MAPPER.writeValueAsBytes(headerNode);
+
+        Path directory = indexFile.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+        try {
+            FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+            try (DataOutputStream out =
+                         new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeLong(attributes.size());
+                out.writeLong(attributes.lastModifiedTime().toMillis());
+                out.writeInt(headerBytes.length);
+                out.write(headerBytes);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    out.writeUTF(entry.address == null ? "" : entry.address);
+                    out.writeLong(entry.offset);
+                    out.writeInt(entry.length);
+                }
+                out.flush();
+                fileOut.getFD().sync();
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+}
@@ -0,0 +1,46 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.model.types.GASAsset;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BalancesTest {
+
+    @Test
+    public void testAddAndSpendUtxos() {
+        Balances balances = new Balances(
+                Account.fromAddress("AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y").build());
+        Utxo bhp1 = new Utxo(BhpAsset.HASH_ID, "0x01", 0, "10");
+        Utxo bhp2 = new Utxo(BhpAsset.HASH_ID, "0x02", 1, "5");
+        Utxo gas = new Utxo(GASAsset.HASH_ID, "0x02", 0, "0.5");
+
+        balances.addUtxo(bhp1);
+        balances.addUtxo(bhp2);
+        balances.addUtxo(gas);
+
+        assertThat(balances.getAssetBalance(BhpAsset.HASH_ID).getAmount()
+                .compareTo(new BigDecimal(15)), is(0));
+        assertThat(balances.getAssetBalance(BhpAsset.HASH_ID).getUtxos(),
+                is(Arrays.asList(bhp1, bhp2)));
+        assertThat(balances.getAssetBalance(GASAsset.HASH_ID).getAmount()
+                .compareTo(new BigDecimal("0.5")), is(0));
+
+        assertThat(balances.spendUtxo("0x01", 0), is(bhp1));
+        assertThat(balances.spendUtxo("0x01", 0), is(nullValue()));
+        assertThat(balances.getAssetBalance(BhpAsset.HASH_ID).getAmount()
+                .compareTo(new BigDecimal(5)), is(0));
+
+        assertThat(balances.spendUtxo("0x02", 0), is(gas));
+        assertFalse(balances.hasAsset(GASAsset.HASH_ID));
+        assertTrue(balances.hasAsset(BhpAsset.HASH_ID));
+    }
+}
@@ -0,0 +1,66 @@
+package io.bhpw3j.wallet;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.txIds;
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.utxo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BranchAndBoundInputCalculationStrategyTest {
+
+    private final List<Utxo> utxos = Arrays.asList(
+            utxo(0, "1"), utxo(1, "2"), utxo(2, "3"), utxo(3, "4"), utxo(4, "20"));
+
+    @Test
+    public void testFindsExactMatch() {
+        BranchAndBoundInputCalculationStrategy strategy =
+                new BranchAndBoundInputCalculationStrategy();
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(7))), is("3,2"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(10))), is("3,2,1,0"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(26))), is("4,3,1"));
+    }
+
+    @Test
+    public void testPrefersFewerInputs() {
+        List<Utxo> utxos = Arrays.asList(
+                utxo(0, "1"), utxo(1, "1"), utxo(2, "1"), utxo(3, "3"), utxo(4, "2"));
+        BranchAndBoundInputCalculationStrategy strategy =
+                new BranchAndBoundInputCalculationStrategy();
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(3))), is("3"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(6))), is("3,4,0"));
+    }
+
+    @Test
+    public void testAcceptsCostOfChange() {
+        BranchAndBoundInputCalculationStrategy strategy =
+                new BranchAndBoundInputCalculationStrategy(new BigDecimal("0.5"), 1000,
+                        new LargestFirstInputCalculationStrategy());
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal("6.5"))), is("3,2"));
+    }
+
+    @Test
+    public void testFallsBackWithoutMatch() {
+        BranchAndBoundInputCalculationStrategy strategy =
+                new BranchAndBoundInputCalculationStrategy();
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal("6.5"))), is("4"));
+    }
+
+    @Test
+    public void testFallsBackAfterMaxTries() {
+        List<Utxo> utxos = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            utxos.add(utxo(i, "2"));
+        }
+        utxos.add(utxo(40, "1"));
+        BranchAndBoundInputCalculationStrategy strategy =
+                new BranchAndBoundInputCalculationStrategy(BigDecimal.ZERO, 10,
+                        new LargestFirstInputCalculationStrategy());
+        assertThat(strategy.calculateInputs(utxos, new BigDecimal(41)).size(), is(21));
+    }
+}
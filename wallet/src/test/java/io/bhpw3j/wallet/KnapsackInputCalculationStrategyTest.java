@@ -0,0 +1,48 @@
+package io.bhpw3j.wallet;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.txIds;
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.utxo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class KnapsackInputCalculationStrategyTest {
+
+    private final KnapsackInputCalculationStrategy strategy =
+            new KnapsackInputCalculationStrategy(1000, new Random(1));
+
+    @Test
+    public void testSingleExactMatch() {
+        List<Utxo> utxos = Arrays.asList(utxo(0, "1"), utxo(1, "5"), utxo(2, "2"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(5))), is("1"));
+    }
+
+    @Test
+    public void testAllSmallerValuesMatch() {
+        List<Utxo> utxos = Arrays.asList(utxo(0, "1"), utxo(1, "50"), utxo(2, "2"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(3))), is("0,2"));
+    }
+
+    @Test
+    public void testSmallestLargerValue() {
+        List<Utxo> utxos = Arrays.asList(
+                utxo(0, "1"), utxo(1, "50"), utxo(2, "2"), utxo(3, "7"), utxo(4, "6"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(5))), is("4"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(12))), is("3,4"));
+    }
+
+    @Test
+    public void testSubsetSum() {
+        List<Utxo> utxos = Arrays.asList(
+                utxo(0, "5"), utxo(1, "9"), utxo(2, "4"), utxo(3, "30"), utxo(4, "2"));
+        List<Utxo> inputs = strategy.calculateInputs(utxos, new BigDecimal(13));
+        BigDecimal sum = inputs.stream().map(Utxo::getValue).reduce(BigDecimal::add).get();
+        assertThat(sum.compareTo(new BigDecimal(13)), is(0));
+    }
+}
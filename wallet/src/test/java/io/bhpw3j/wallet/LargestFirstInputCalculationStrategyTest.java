@@ -0,0 +1,72 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.model.types.GASAsset;
+import io.bhpw3j.wallet.exceptions.InsufficientFundsException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LargestFirstInputCalculationStrategyTest {
+
+    private final LargestFirstInputCalculationStrategy strategy =
+            new LargestFirstInputCalculationStrategy();
+
+    private final List<Utxo> utxos = Arrays.asList(
+            utxo(0, "3"), utxo(1, "10"), utxo(2, "1"), utxo(3, "10"), utxo(4, "0.5"));
+
+    @Test
+    public void testTakesLargestFirst() {
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(4))), is("1"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(11))), is("1,3"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal("23.1"))), is("1,3,0,2"));
+    }
+
+    @Test
+    public void testRoundsRequiredAmountUp() {
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal("24.000000001"))),
+                is("1,3,0,2,4"));
+    }
+
+    @Test
+    public void testZeroAmount() {
+        assertThat(strategy.calculateInputs(utxos, BigDecimal.ZERO).isEmpty(), is(true));
+    }
+
+    @Test(expected = InsufficientFundsException.class)
+    public void testInsufficientFunds() {
+        strategy.calculateInputs(utxos, new BigDecimal("24.5000001"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failWithDifferentAssetUtxos() {
+        strategy.calculateInputs(Arrays.asList(utxo(0, "1"),
+                new Utxo(GASAsset.HASH_ID, "txId", 0, BigDecimal.ONE)), BigDecimal.ONE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failWithoutUtxos() {
+        strategy.calculateInputs(Collections.emptyList(), BigDecimal.ONE);
+    }
+
+    static Utxo utxo(int id, String value) {
+        return new Utxo(BhpAsset.HASH_ID, Integer.toString(id), 0, value);
+    }
+
+    static String txIds(List<Utxo> utxos) {
+        StringBuilder ids = new StringBuilder();
+        for (Utxo utxo : utxos) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(utxo.getTxId());
+        }
+        return ids.toString();
+    }
+}
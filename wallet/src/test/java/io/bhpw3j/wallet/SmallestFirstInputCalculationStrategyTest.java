@@ -0,0 +1,27 @@
+package io.bhpw3j.wallet;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.txIds;
+import static io.bhpw3j.wallet.LargestFirstInputCalculationStrategyTest.utxo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SmallestFirstInputCalculationStrategyTest {
+
+    private final SmallestFirstInputCalculationStrategy strategy =
+            new SmallestFirstInputCalculationStrategy();
+
+    @Test
+    public void testTakesSmallestFirst() {
+        List<Utxo> utxos = Arrays.asList(
+                utxo(0, "3"), utxo(1, "1"), utxo(2, "10"), utxo(3, "1"), utxo(4, "0.5"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal("0.5"))), is("4"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(2))), is("4,1,3"));
+        assertThat(txIds(strategy.calculateInputs(utxos, new BigDecimal(6))), is("4,1,3,0,2"));
+    }
+}
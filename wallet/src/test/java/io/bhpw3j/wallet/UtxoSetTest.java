@@ -0,0 +1,103 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.wallet.exceptions.InsufficientFundsException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class UtxoSetTest {
+
+    private static final long ONE = 100000000L;
+
+    private Utxo utxo1;
+    private Utxo utxo5;
+    private Utxo utxo2;
+    private UtxoSet set;
+
+    @Before
+    public void setUp() {
+        utxo1 = utxo("0xaa", 0, "1");
+        utxo5 = utxo("0xbb", 1, "5");
+        utxo2 = utxo("0xcc", 0, "2.5");
+        set = new UtxoSet(Arrays.asList(utxo1, utxo5, utxo2));
+    }
+
+    @Test
+    public void testOrders() {
+        assertThat(set.size(), is(3));
+        assertThat(set.getTotal(), is(850000000L));
+        assertThat(set.getTotalAmount().compareTo(new BigDecimal("8.5")), is(0));
+        assertThat(set.getUtxos(), is(Arrays.asList(utxo1, utxo5, utxo2)));
+        assertThat(set.getUtxosByValue(), is(Arrays.asList(utxo1, utxo2, utxo5)));
+    }
+
+    @Test
+    public void testLookupIgnoresHexPrefixAndCase() {
+        assertThat(set.get("BB", 1), is(utxo5));
+        assertTrue(set.contains("0xaa", 0));
+        assertFalse(set.contains("0xaa", 1));
+        assertThat(set.get("0xdd", 0), is(nullValue()));
+    }
+
+    @Test
+    public void testAddAndSpend() {
+        Utxo utxo3 = utxo("0xdd", 2, "3");
+        set.add(utxo3);
+        assertThat(set.getTotal(), is(1150000000L));
+        assertThat(set.getUtxos(), is(Arrays.asList(utxo1, utxo5, utxo2, utxo3)));
+
+        assertThat(set.spend("bb", 1), is(utxo5));
+        assertThat(set.spend("bb", 1), is(nullValue()));
+        assertThat(set.getTotal(), is(650000000L));
+        assertThat(set.getUtxosByValue(), is(Arrays.asList(utxo1, utxo2, utxo3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddTwice() {
+        set.add(utxo("aa", 0, "1"));
+    }
+
+    @Test
+    public void testSelectSmallestCovering() {
+        assertThat(set.select(2 * ONE), is(Collections.singletonList(utxo2)));
+        assertThat(set.select(250000000L), is(Collections.singletonList(utxo2)));
+        assertThat(set.select(250000001L), is(Collections.singletonList(utxo5)));
+    }
+
+    @Test
+    public void testSelectLargestFirst() {
+        List<Utxo> selected = set.select(6 * ONE);
+        assertThat(selected, is(Arrays.asList(utxo5, utxo2)));
+        selected = set.select(850000000L);
+        assertThat(selected, is(Arrays.asList(utxo5, utxo2, utxo1)));
+    }
+
+    @Test(expected = InsufficientFundsException.class)
+    public void testSelectMoreThanTotal() {
+        set.select(850000001L);
+    }
+
+    @Test
+    public void testEqualValues() {
+        Utxo other = utxo("0xee", 0, "1");
+        set.add(other);
+        assertThat(set.getUtxosByValue(), is(Arrays.asList(utxo1, other, utxo2, utxo5)));
+        assertThat(set.spend("0xaa", 0), is(utxo1));
+        assertThat(set.getSmallestCovering(ONE), is(other));
+    }
+
+    private static Utxo utxo(String txId, int index, String value) {
+        return new Utxo(BhpAsset.HASH_ID, txId, index, value);
+    }
+}
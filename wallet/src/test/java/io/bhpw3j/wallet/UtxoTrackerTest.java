@@ -0,0 +1,266 @@
+package io.bhpw3j.wallet;
+
+import io.bhpw3j.model.types.BhpAsset;
+import io.bhpw3j.model.types.TransactionType;
+import io.bhpw3j.protocol.Bhpw3j;
+import io.bhpw3j.protocol.ObjectMapperFactory;
+import io.bhpw3j.protocol.core.BlockParameterIndex;
+import io.bhpw3j.protocol.core.Request;
+import io.bhpw3j.protocol.core.methods.response.BhpBlock;
+import io.bhpw3j.protocol.core.methods.response.BhpGetBlock;
+import io.bhpw3j.protocol.core.methods.response.BhpGetUnspents;
+import io.bhpw3j.protocol.core.methods.response.Transaction;
+import io.bhpw3j.protocol.core.methods.response.TransactionInput;
+import io.bhpw3j.protocol.core.methods.response.TransactionOutput;
+import io.bhpw3j.utils.Numeric;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import rx.Observable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class UtxoTrackerTest {
+
+    private static final String ADDRESS = "AK2nJJpJr6o664CWJKi1QRXjqeic2zRp8y";
+    private static final String OTHER_ADDRESS = "AThCriBXLBQxyPNYHUwa8NVoKYM5JwL1Yg";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Bhpw3j bhpw3j;
+    private Map<Long, BhpBlock> chain;
+    private Account account;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        bhpw3j = mock(Bhpw3j.class);
+        chain = new HashMap<>();
+        doAnswer(invocation -> {
+            long index = ((BlockParameterIndex) invocation.getArguments()[0])
+                    .getBlockIndex().longValueExact();
+            BhpGetBlock response = new BhpGetBlock();
+            response.setResult(chain.get(index));
+            Request<?, BhpGetBlock> request = mock(Request.class);
+            doReturn(response).when(request).send();
+            return request;
+        }).when(bhpw3j).getBlock(any(BlockParameterIndex.class), eq(true));
+        account = Account.fromAddress(ADDRESS).build();
+    }
+
+    @Test
+    public void testAppliesOutputsAndInputs() throws IOException {
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+
+        tracker.processBlock(block(0, "h0", null,
+                tx("t0", Collections.emptyList(),
+                        output(ADDRESS, "100"), output(OTHER_ADDRESS, "1"))));
+        tracker.processBlock(block(1, "h1", "h0",
+                tx("t1", Collections.singletonList(input("t0", 0)),
+                        output(OTHER_ADDRESS, "30"), output(ADDRESS, "70")),
+                tx("t2", Collections.singletonList(input("t1", 1)), output(ADDRESS, "70"))));
+
+        assertThat(tracker.getLastBlockIndex(), is(1L));
+        assertThat(tracker.getLastBlockHash(), is("h1"));
+        assertAmount("70");
+        assertThat(txIds(), is(Collections.singletonList("0xt2")));
+    }
+
+    @Test
+    public void testIgnoresBlocksAlreadyProcessed() throws IOException {
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+        BhpBlock block = block(0, "h0", null, tx("t0", Collections.emptyList(),
+                output(ADDRESS, "100")));
+
+        tracker.processBlock(block);
+        tracker.processBlock(block);
+
+        assertAmount("100");
+    }
+
+    @Test
+    public void testRollsBackReorganization() throws IOException {
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+        apply(tracker, block(0, "h0", null, tx("t0", Collections.emptyList(),
+                output(ADDRESS, "100"))));
+        apply(tracker, block(1, "h1", "h0", tx("t1", Collections.singletonList(input("t0", 0)),
+                output(OTHER_ADDRESS, "100"))));
+        apply(tracker, block(2, "h2", "h1", tx("t2", Collections.emptyList(),
+                output(ADDRESS, "5"))));
+        assertAmount("5");
+
+        // The node switches to a chain in which t1 is replaced by t1b.
+        chain.put(1L, block(1, "h1b", "h0", tx("t1b", Collections.singletonList(input("t0", 0)),
+                output(ADDRESS, "60"), output(OTHER_ADDRESS, "40"))));
+        chain.put(2L, block(2, "h2b", "h1b"));
+        tracker.processBlock(block(3, "h3b", "h2b", tx("t3b", Collections.emptyList(),
+                output(ADDRESS, "1"))));
+
+        assertThat(tracker.getLastBlockIndex(), is(3L));
+        assertThat(tracker.getLastBlockHash(), is("h3b"));
+        assertAmount("61");
+        assertThat(txIds(), is(Arrays.asList("0xt1b", "0xt3b")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailsOnReorganizationDeeperThanJournal() throws IOException {
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account)
+                .maxReorgDepth(1).build();
+        apply(tracker, block(0, "h0", null));
+        apply(tracker, block(1, "h1", "h0"));
+        chain.put(0L, block(0, "h0b", null));
+        chain.put(1L, block(1, "h1b", "h0b"));
+
+        tracker.processBlock(block(2, "h2b", "h1b"));
+    }
+
+    @Test
+    public void testResumesFromStateFile() throws IOException {
+        Path stateFile = folder.getRoot().toPath().resolve("utxos.json");
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account)
+                .stateFile(stateFile).startBlock(BigInteger.TEN).build();
+        apply(tracker, block(10, "h10", "h9", tx("t10", Collections.emptyList(),
+                output(ADDRESS, "100"))));
+        apply(tracker, block(11, "h11", "h10",
+                tx("t11", Collections.singletonList(input("t10", 0)), output(ADDRESS, "99.5"))));
+        tracker.stop();
+
+        account = Account.fromAddress(ADDRESS).build();
+        UtxoTracker resumed = new UtxoTracker.Builder(bhpw3j).account(account)
+                .stateFile(stateFile).build();
+        assertThat(resumed.getLastBlockIndex(), is(11L));
+        assertThat(resumed.getLastBlockHash(), is("h11"));
+        assertAmount("99.5");
+
+        // The journal is restored as well, so the resumed tracker can still roll back.
+        chain.put(11L, block(11, "h11b", "h10"));
+        resumed.processBlock(block(12, "h12b", "h11b"));
+        assertAmount("100");
+
+        doReturn(Observable.empty()).when(bhpw3j)
+                .catchUpToLatestAndSubscribeToNewBlocksObservable(any(), eq(true));
+        resumed.start();
+        ArgumentCaptor<BlockParameterIndex> startBlock =
+                ArgumentCaptor.forClass(BlockParameterIndex.class);
+        verify(bhpw3j).catchUpToLatestAndSubscribeToNewBlocksObservable(
+                startBlock.capture(), eq(true));
+        assertThat(startBlock.getValue().getBlockIndex().longValue(), is(13L));
+    }
+
+    @Test
+    public void testUnwatchedOutputs() throws IOException {
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+        tracker.processBlock(block(0, "h0", null, tx("t0", Collections.emptyList(),
+                output(OTHER_ADDRESS, "100"))));
+        assertFalse(account.getBalances().hasAsset(BhpAsset.HASH_ID));
+        assertThat(account.getAssetBalance(BhpAsset.HASH_ID), is(nullValue()));
+    }
+
+    @Test
+    public void testContinuesBalancesSeededFromUnspents() throws IOException {
+        // The node sends the asset hash without the 0x prefix.
+        String assetHash = Numeric.cleanHexPrefix(BhpAsset.HASH_ID);
+        BhpGetUnspents unspents = ObjectMapperFactory.getObjectMapper().readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"balance\":[{\"unspent\":["
+                        + "{\"txid\":\"t0\",\"n\":0,\"value\":100}],\"asset_hash\":\""
+                        + assetHash + "\",\"asset\":\"BHP\",\"asset_symbol\":\"BHP\","
+                        + "\"amount\":100}],\"address\":\"" + ADDRESS + "\"}}",
+                BhpGetUnspents.class);
+        account.getBalances().updateAssetBalances(unspents.getUnspents());
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+
+        tracker.processBlock(block(0, "h0", null,
+                tx("t1", Collections.singletonList(input("t0", 0)),
+                        output(OTHER_ADDRESS, "30"), output(ADDRESS, "70")),
+                tx("t2", Collections.emptyList(), output(ADDRESS, "5"))));
+
+        assertThat(account.getBalances().getAssetBalances().size(), is(1));
+        assertAmount("75");
+        assertThat(txIds(), is(Arrays.asList("0xt1", "0xt2")));
+        assertThat(account.getAssetBalance(assetHash.toUpperCase()),
+                is(sameInstance(account.getAssetBalance(BhpAsset.HASH_ID))));
+    }
+
+    @Test
+    public void testSkipsOutputsAlreadySeededFromUnspents() throws IOException {
+        BhpGetUnspents unspents = ObjectMapperFactory.getObjectMapper().readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"balance\":[{\"unspent\":["
+                        + "{\"txid\":\"t0\",\"n\":0,\"value\":100}],\"asset_hash\":\""
+                        + BhpAsset.HASH_ID + "\",\"asset\":\"BHP\",\"asset_symbol\":\"BHP\","
+                        + "\"amount\":100}],\"address\":\"" + ADDRESS + "\"}}",
+                BhpGetUnspents.class);
+        account.getBalances().updateAssetBalances(unspents.getUnspents());
+        UtxoTracker tracker = new UtxoTracker.Builder(bhpw3j).account(account).build();
+
+        // The tracker starts at a block older than the unspents.
+        tracker.processBlock(block(0, "h0", null,
+                tx("t0", Collections.emptyList(), output(ADDRESS, "100"))));
+        assertAmount("100");
+        assertThat(txIds().size(), is(1));
+
+        tracker.processBlock(block(1, "h1", "h0",
+                tx("t1", Collections.singletonList(input("t0", 0)), output(ADDRESS, "60"))));
+        assertAmount("60");
+        assertThat(txIds(), is(Collections.singletonList("0xt1")));
+        assertThat(tracker.getLastBlockIndex(), is(1L));
+    }
+
+    private void apply(UtxoTracker tracker, BhpBlock block) throws IOException {
+        chain.put(block.getIndex(), block);
+        tracker.processBlock(block);
+    }
+
+    private void assertAmount(String expected) {
+        BigDecimal amount = account.getAssetBalance(BhpAsset.HASH_ID).getAmount();
+        assertThat(amount.compareTo(new BigDecimal(expected)), is(0));
+    }
+
+    private List<String> txIds() {
+        return Arrays.asList(account.getAssetBalance(BhpAsset.HASH_ID).getUtxos().stream()
+                .map(Utxo::getTxId).toArray(String[]::new));
+    }
+
+    private static BhpBlock block(long index, String hash, String prevHash,
+                                  Transaction... transactions) {
+        return new BhpBlock(hash, 0, 0, prevHash, null, 0, index, null, null, null,
+                Arrays.asList(transactions), 0, null);
+    }
+
+    private static Transaction tx(String id, List<TransactionInput> inputs,
+                                  TransactionOutput... outputs) {
+        return new Transaction(id, 0, TransactionType.CONTRACT_TRANSACTION, 0,
+                Collections.emptyList(), inputs, Arrays.asList(outputs), "0", "0",
+                Collections.emptyList(), null, null, null);
+    }
+
+    private static TransactionInput input(String txId, int index) {
+        return new TransactionInput(txId, index);
+    }
+
+    private static TransactionOutput output(String address, String value) {
+        return new TransactionOutput(BhpAsset.HASH_ID, value, address);
+    }
+}
@@ -3,6 +3,7 @@ package io.bhpw3j.wallet;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.bhpw3j.crypto.ECKeyPair;
 import io.bhpw3j.crypto.BRC2;
+import io.bhpw3j.crypto.ScryptParams;
 import io.bhpw3j.crypto.exceptions.CipherException;
 import io.bhpw3j.crypto.exceptions.BRC2InvalidFormat;
 import io.bhpw3j.crypto.exceptions.BRC2InvalidPassphrase;
@@ -12,22 +13,29 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class WalletTest {
 
@@ -252,6 +260,97 @@ public class WalletTest {
         assertThat(w.getDefaultAccount(), is(a));
     }
 
+    @Test
+    public void testEncryptAndDecryptAllAccountsInParallel() throws Exception {
+        Wallet w = walletWithAccounts(6);
+        List<BigInteger> privateKeys = w.getAccounts().stream()
+                .map(Account::getPrivateKey).collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // A budget for a single Scrypt run at a time.
+            w.encryptAllAccounts("12345678", executor, w.getScryptMemoryUsage());
+            for (Account a : w.getAccounts()) {
+                assertThat(a.getPrivateKey(), nullValue());
+                assertThat(a.getEncryptedPrivateKey(), notNullValue());
+            }
+
+            w.decryptAllAccounts("12345678", executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(w.getAccounts().stream().map(Account::getPrivateKey)
+                .collect(Collectors.toList()), is(privateKeys));
+    }
+
+    @Test(expected = BRC2InvalidPassphrase.class)
+    public void testDecryptAllAccountsInParallelWithWrongPassword() throws Exception {
+        Wallet w = walletWithAccounts(4);
+        w.encryptAllAccounts("12345678");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            w.decryptAllAccounts("87654321", executor, Long.MAX_VALUE);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDecryptAllAccountsOnFirstUse() throws Exception {
+        Wallet w = walletWithAccounts(2);
+        BigInteger privateKey = w.getAccounts().get(0).getPrivateKey();
+        w.encryptAllAccounts("12345678");
+
+        w.decryptAllAccountsOnFirstUse("12345678");
+
+        assertThat(w.getAccounts().get(0).getECKeyPair().getPrivateKey(), is(privateKey));
+        assertThat(w.getAccounts().get(1).getPrivateKey(), notNullValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDecryptAllAccountsOnFirstUseWithWrongPassword() throws Exception {
+        Wallet w = walletWithAccounts(1);
+        w.encryptAllAccounts("12345678");
+
+        w.decryptAllAccountsOnFirstUse("87654321");
+
+        w.getAccounts().get(0).getPrivateKey();
+    }
+
+    @Test
+    public void testFailedDecryptionOnFirstUseFailsEveryAccess() throws Exception {
+        Wallet w = walletWithAccounts(1);
+        Account account = w.getAccounts().get(0);
+        BigInteger privateKey = account.getPrivateKey();
+        w.encryptAllAccounts("12345678");
+        w.decryptAllAccountsOnFirstUse("87654321");
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                account.getPrivateKey();
+                fail("No exception");
+            } catch (IllegalStateException e) {
+                assertThat(e.getCause(), instanceOf(BRC2InvalidPassphrase.class));
+            }
+        }
+        try {
+            account.getECKeyPair();
+            fail("No exception");
+        } catch (IllegalStateException e) {
+            assertThat(e.getCause(), instanceOf(BRC2InvalidPassphrase.class));
+        }
+
+        w.decryptAllAccountsOnFirstUse("12345678");
+        assertThat(account.getPrivateKey(), is(privateKey));
+    }
+
+    private static Wallet walletWithAccounts(int count) {
+        Wallet.Builder b = new Wallet.Builder().scryptParams(new ScryptParams(256, 8, 1));
+        for (int i = 0; i < count; i++) {
+            b.account(Account.createAccount());
+        }
+        return b.build();
+    }
+
     private File createTempFile() throws IOException {
         File testFile = File.createTempFile("bhpw3j", "-test");
         testFile.deleteOnExit();
@@ -0,0 +1,152 @@
+package io.bhpw3j.wallet.brc6;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.bhpw3j.crypto.ScryptParams;
+import io.bhpw3j.wallet.Wallet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BRC6WalletFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOpenWithoutIndex() throws IOException {
+        Path file = copyResource("wallet.json");
+
+        BRC6WalletFile walletFile = BRC6WalletFile.open(file, false);
+
+        assertThat(walletFile.getName(), is("Wallet"));
+        assertThat(walletFile.getVersion(), is(Wallet.CURRENT_VERSION));
+        assertThat(walletFile.getScrypt(), is(new ScryptParams(16384, 8, 8)));
+        assertThat(walletFile.getAddresses(), is(Arrays.asList(
+                "AWUfbdLYUeJ5X6gvbPQYkjL4JZ78z2X9Pk", "AThCriBXLBQxyPNYHUwa8NVoKYM5JwL1Yg")));
+        BRC6Account account = walletFile.getAccount("AThCriBXLBQxyPNYHUwa8NVoKYM5JwL1Yg");
+        assertThat(account.getLabel(), is("Account2"));
+        assertThat(account.getKey(),
+                is("6PYRUJuaSqrvkQVdfn9MBdzJDNDwXMdHNNiNAMYJhGk7MUgdiU4KshyuGX"));
+        assertThat(walletFile.getAccount("AKnown1Address2That3Is4Not5In6Wal"), is(nullValue()));
+        assertFalse(Files.exists(BRC6WalletFile.indexFile(file)));
+    }
+
+    @Test
+    public void testCreateAndOpenWithIndex() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("wallet.json");
+        BRC6Wallet wallet = wallet(100);
+
+        BRC6WalletFile.create(file, wallet, true);
+        assertTrue(Files.exists(BRC6WalletFile.indexFile(file)));
+
+        BRC6WalletFile walletFile = BRC6WalletFile.open(file, true);
+        assertThat(walletFile.getName(), is("Wallet"));
+        assertThat(walletFile.getScrypt(), is(new ScryptParams(256, 8, 1)));
+        assertThat(walletFile.getAccountCount(), is(100));
+        assertThat(walletFile.getAccount("address42").getLabel(), is("label42"));
+        assertLoadsAs(file, wallet);
+    }
+
+    @Test
+    public void testSaveChangedAccounts() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("wallet.json");
+        BRC6Wallet wallet = wallet(10);
+        BRC6WalletFile.create(file, wallet, true);
+
+        BRC6WalletFile walletFile = BRC6WalletFile.open(file, true);
+        walletFile.putAccount(account(3, "changed"));
+        walletFile.putAccount(account(10, "added"));
+        assertTrue(walletFile.removeAccount("address5"));
+        assertFalse(walletFile.removeAccount("address5"));
+        walletFile.setName("Renamed");
+        walletFile.save();
+
+        List<BRC6Account> accounts = new ArrayList<>(wallet.getAccounts());
+        accounts.set(3, account(3, "changed"));
+        accounts.remove(5);
+        accounts.add(account(10, "added"));
+        BRC6Wallet expected = new BRC6Wallet("Renamed", Wallet.CURRENT_VERSION,
+                new ScryptParams(256, 8, 1), accounts, null);
+        assertLoadsAs(file, expected);
+        assertThat(walletFile.getAccount("address3").getLabel(), is("changed"));
+        assertThat(walletFile.getAccount("address9").getLabel(), is("label9"));
+
+        BRC6WalletFile reopened = BRC6WalletFile.open(file, true);
+        assertThat(reopened.getName(), is("Renamed"));
+        assertThat(reopened.getAccount("address10").getLabel(), is("added"));
+        assertThat(reopened.getAccount("address5"), is(nullValue()));
+        assertThat(labels(reopened.toBRC6Wallet()), is(labels(expected)));
+    }
+
+    @Test
+    public void testOpenWithStaleIndex() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("wallet.json");
+        BRC6WalletFile.create(file, wallet(3), true);
+        Path staleIndex = folder.getRoot().toPath().resolve("stale.idx");
+        Files.copy(BRC6WalletFile.indexFile(file), staleIndex);
+
+        BRC6WalletFile walletFile = BRC6WalletFile.open(file, false);
+        walletFile.putAccount(account(0, "a longer label that moves the other accounts"));
+        walletFile.save();
+        Files.copy(staleIndex, BRC6WalletFile.indexFile(file),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        BRC6WalletFile reopened = BRC6WalletFile.open(file, true);
+        assertThat(reopened.getAccount("address0").getLabel(),
+                is("a longer label that moves the other accounts"));
+        assertThat(reopened.getAccount("address2").getLabel(), is("label2"));
+    }
+
+    private void assertLoadsAs(Path file, BRC6Wallet expected) throws IOException {
+        BRC6Wallet actual = new ObjectMapper().readValue(file.toFile(), BRC6Wallet.class);
+        assertThat(actual.getName(), is(expected.getName()));
+        assertThat(actual.getScrypt(), is(expected.getScrypt()));
+        assertThat(actual.getAccounts(), is(expected.getAccounts()));
+        assertThat(labels(actual), is(labels(expected)));
+    }
+
+    private Path copyResource(String name) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        try (InputStream in = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream(name)) {
+            Files.copy(in, file);
+        }
+        return file;
+    }
+
+    private static List<String> labels(BRC6Wallet wallet) {
+        List<String> labels = new ArrayList<>();
+        for (BRC6Account account : wallet.getAccounts()) {
+            labels.add(account.getLabel());
+        }
+        return labels;
+    }
+
+    private static BRC6Wallet wallet(int accounts) {
+        List<BRC6Account> list = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            list.add(account(i, "label" + i));
+        }
+        return new BRC6Wallet("Wallet", Wallet.CURRENT_VERSION, new ScryptParams(256, 8, 1),
+                list, null);
+    }
+
+    private static BRC6Account account(int i, String label) {
+        return new BRC6Account("address" + i, label, false, false, "key" + i, null, null);
+    }
+}